@@ -0,0 +1,61 @@
+package com.nitor.config;
+
+import com.nitor.util.FlightEvents;
+import com.nitor.util.StatementStats;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Emits a JFR event per Spring Data repository call while a recording is running
+ *
+ * Added to every repository proxy the same way Boot attaches its
+ * repository metrics, so the event knows the entity type of the repository.
+ */
+@Configuration
+public class FlightRecorderConfig {
+
+    @Bean
+    public static BeanPostProcessor jpaQueryEventPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(jpaQueryEvents(
+                                    information.getDomainType().getSimpleName(),
+                                    information.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor jpaQueryEvents(String entityType, String repository) {
+        return invocation -> {
+            FlightEvents.JpaQueryEvent event = new FlightEvents.JpaQueryEvent();
+            if (!event.isEnabled()) {
+                return invocation.proceed();
+            }
+
+            StatementStats stats = StatementStats.current();
+            int statementsBefore = stats != null ? stats.statements() : 0;
+            event.begin();
+            try {
+                return invocation.proceed();
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.endpoint = FlightEvents.currentEndpoint();
+                    event.entityType = entityType;
+                    event.repository = repository;
+                    event.method = invocation.getMethod().getName();
+                    event.statements = stats != null ? stats.statements() - statementsBefore : 0;
+                    event.commit();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,162 @@
+package com.nitor.config;
+
+import com.nitor.security.AuthenticatedUser;
+import com.nitor.service.AdminService;
+import com.nitor.util.FlightEvents;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Actuator endpoint (/actuator/jfr) recording the application with Java
+ * Flight Recorder for a while and returning the .jfr file
+ *
+ * GET /actuator/jfr?duration=30s blocks for the duration, then streams the
+ * recording: the app's own events (see FlightEvents) with no threshold,
+ * CPU sampling, allocation sampling and the rest of the configured JFR
+ * settings. Admins only; one recording at a time, others get 429.
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "jfr")
+public class FlightRecordingEndpoint {
+
+    private final AdminService adminService;
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final String settings;
+    private final Duration samplingPeriod;
+    private final AtomicBoolean recording = new AtomicBoolean();
+
+    public FlightRecordingEndpoint(
+            AdminService adminService,
+            @Value("${app.jfr.default-duration:PT30S}") Duration defaultDuration,
+            @Value("${app.jfr.max-duration:PT5M}") Duration maxDuration,
+            @Value("${app.jfr.settings:profile}") String settings,
+            @Value("${app.jfr.sampling-period:PT0.01S}") Duration samplingPeriod) {
+        this.adminService = adminService;
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+        this.settings = settings;
+        this.samplingPeriod = samplingPeriod;
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> record(@Nullable Duration duration)
+            throws IOException, ParseException, InterruptedException {
+        if (!isAdmin()) {
+            return new WebEndpointResponse<>(HttpStatus.FORBIDDEN.value());
+        }
+        Duration length = duration != null ? duration : defaultDuration;
+        if (length.isNegative() || length.isZero() || length.compareTo(maxDuration) > 0) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        if (!recording.compareAndSet(false, true)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+
+        Path file = Files.createTempFile("nitor-", ".jfr");
+        try {
+            record(length, file);
+            return new WebEndpointResponse<>(new TemporaryFileResource(file), WebEndpointResponse.STATUS_OK);
+        } catch (IOException | ParseException | InterruptedException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        } finally {
+            recording.set(false);
+        }
+    }
+
+    private void record(Duration length, Path file) throws IOException, ParseException, InterruptedException {
+        Configuration configuration = settings.endsWith(".jfc")
+                ? Configuration.create(Path.of(settings))
+                : Configuration.getConfiguration(settings);
+        try (Recording jfr = new Recording(configuration)) {
+            jfr.setName("nitor-actuator");
+            for (Class<? extends Event> type : FlightEvents.TYPES) {
+                jfr.enable(type).withThreshold(Duration.ZERO);
+            }
+            jfr.enable("jdk.ExecutionSample").withPeriod(samplingPeriod);
+            jfr.enable("jdk.NativeMethodSample").withPeriod(samplingPeriod);
+            jfr.enable("jdk.ObjectAllocationSample");
+            jfr.setToDisk(true);
+            jfr.setDestination(file);
+
+            log.info("Starting JFR recording for {}", length);
+            jfr.start();
+            try {
+                Thread.sleep(length.toMillis());
+            } finally {
+                // Writes the recording to the destination
+                jfr.stop();
+            }
+            log.info("JFR recording written, {} bytes", Files.size(file));
+        }
+    }
+
+    private boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user
+                && adminService.isAdmin(user.getUserId());
+    }
+
+    /**
+     * The recording file, deleted once the response has been written
+     *
+     * Not reported as a file, so the response is copied from the stream
+     * below rather than transferred directly from the path.
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        TemporaryFileResource(Path path) {
+            super(path);
+        }
+
+        @Override
+        public boolean isFile() {
+            return false;
+        }
+
+        @Override
+        public ReadableByteChannel readableChannel() throws IOException {
+            return Channels.newChannel(getInputStream());
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+    }
+}
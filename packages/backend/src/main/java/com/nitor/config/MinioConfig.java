@@ -3,20 +3,22 @@ package com.nitor.config;
 import io.minio.MinioClient;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "minio", matchIfMissing = true)
 @Slf4j
 public class MinioConfig {
 
-    @Value("${minio.endpoint}")
+    @Value("${app.minio.endpoint}")
     private String endpoint;
 
-    @Value("${minio.access-key}")
+    @Value("${app.minio.access-key}")
     private String accessKey;
 
-    @Value("${minio.secret-key}")
+    @Value("${app.minio.secret-key}")
     private String secretKey;
 
     @Bean
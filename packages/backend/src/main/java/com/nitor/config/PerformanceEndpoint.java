@@ -0,0 +1,134 @@
+package com.nitor.config;
+
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Statistic;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Actuator endpoint (/actuator/performance) summarising the hot-path
+ * subsystems from the meters they already publish
+ *
+ * Cache figures come from the cache.* meters of every monitored cache,
+ * rate limiting from nitor.ratelimit.requests, and queue depths from every
+ * *.queue.size gauge plus Hikari's pending connection requests. Counts are
+ * totals since startup; use Prometheus for rates over time.
+ */
+@Component
+@Endpoint(id = "performance")
+public class PerformanceEndpoint {
+
+    private static final String RATE_LIMIT_REQUESTS = "nitor.ratelimit.requests";
+    private static final String QUEUE_SIZE_SUFFIX = ".queue.size";
+    private static final String HIKARI_PENDING = "hikaricp.connections.pending";
+
+    private final MeterRegistry meterRegistry;
+
+    public PerformanceEndpoint(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ReadOperation
+    public Summary summary() {
+        return new Summary(caches(), rateLimits(), queues());
+    }
+
+    private Map<String, CacheStats> caches() {
+        Set<String> names = new TreeSet<>();
+        for (Meter meter : meterRegistry.find("cache.gets").meters()) {
+            String name = meter.getId().getTag("cache");
+            if (name != null) {
+                names.add(name);
+            }
+        }
+
+        Map<String, CacheStats> caches = new TreeMap<>();
+        for (String name : names) {
+            long hits = (long) sum("cache.gets", Statistic.COUNT, "cache", name, "result", "hit");
+            long misses = (long) sum("cache.gets", Statistic.COUNT, "cache", name, "result", "miss");
+            caches.put(name, new CacheStats(
+                    hits,
+                    misses,
+                    ratio(hits, hits + misses),
+                    (long) sum("cache.evictions", Statistic.COUNT, "cache", name),
+                    (long) sum("cache.size", Statistic.VALUE, "cache", name)));
+        }
+        return caches;
+    }
+
+    private RateLimits rateLimits() {
+        Map<String, RateLimitCounts> byType = new TreeMap<>();
+        long allowedTotal = 0;
+        long rejectedTotal = 0;
+        for (Meter meter : meterRegistry.find(RATE_LIMIT_REQUESTS).tag("result", "allowed").meters()) {
+            String type = meter.getId().getTag("type");
+            long allowed = (long) sum(RATE_LIMIT_REQUESTS, Statistic.COUNT, "type", type, "result", "allowed");
+            long rejected = (long) sum(RATE_LIMIT_REQUESTS, Statistic.COUNT, "type", type, "result", "rejected");
+            allowedTotal += allowed;
+            rejectedTotal += rejected;
+            // Types nobody has hit yet would only add noise
+            if (allowed + rejected > 0) {
+                byType.put(type, new RateLimitCounts(allowed, rejected, ratio(rejected, allowed + rejected)));
+            }
+        }
+        return new RateLimits(allowedTotal, rejectedTotal, ratio(rejectedTotal, allowedTotal + rejectedTotal),
+                byType);
+    }
+
+    private Map<String, Long> queues() {
+        Map<String, Long> queues = new TreeMap<>();
+        for (Meter meter : meterRegistry.getMeters()) {
+            String name = meter.getId().getName();
+            if (name.endsWith(QUEUE_SIZE_SUFFIX) || name.equals(HIKARI_PENDING)) {
+                queues.merge(name, (long) value(meter, Statistic.VALUE), Long::sum);
+            }
+        }
+        return queues;
+    }
+
+    private double sum(String name, Statistic statistic, String... tags) {
+        double total = 0;
+        for (Meter meter : meterRegistry.find(name).tags(tags).meters()) {
+            total += value(meter, statistic);
+        }
+        return total;
+    }
+
+    private static double value(Meter meter, Statistic statistic) {
+        double total = 0;
+        for (Measurement measurement : meter.measure()) {
+            if (measurement.getStatistic() == statistic && Double.isFinite(measurement.getValue())) {
+                total += measurement.getValue();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * part / whole, or null before anything was counted
+     */
+    private static Double ratio(long part, long whole) {
+        return whole == 0 ? null : (double) part / whole;
+    }
+
+    public record Summary(Map<String, CacheStats> caches, RateLimits rateLimits, Map<String, Long> queues) {
+    }
+
+    public record CacheStats(long hits, long misses, Double hitRatio, long evictions, long size) {
+    }
+
+    public record RateLimits(long allowed, long rejected, Double rejectionRatio,
+            Map<String, RateLimitCounts> byType) {
+    }
+
+    public record RateLimitCounts(long allowed, long rejected, Double rejectionRatio) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.nitor.config;
+
+import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.redis.lettuce.cas.LettuceBasedProxyManager;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Distributed rate limiting backend
+ *
+ * Only active with app.security.rate-limit.backend=redis. Buckets are stored in
+ * Redis and updated with compare-and-swap, so every replica shares the same limits.
+ * Without this configuration RateLimitingService falls back to per-pod buckets.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.security.rate-limit.backend", havingValue = "redis")
+@Slf4j
+public class RateLimitConfig {
+
+    @Value("${spring.data.redis.host:localhost}")
+    private String redisHost;
+
+    @Value("${spring.data.redis.port:6379}")
+    private int redisPort;
+
+    @Value("${spring.data.redis.password:}")
+    private String redisPassword;
+
+    @Bean(destroyMethod = "shutdown")
+    public RedisClient rateLimitRedisClient() {
+        RedisURI.Builder uri = RedisURI.builder()
+                .withHost(redisHost)
+                .withPort(redisPort);
+
+        if (redisPassword != null && !redisPassword.isEmpty()) {
+            uri.withPassword(redisPassword.toCharArray());
+        }
+
+        return RedisClient.create(uri.build());
+    }
+
+    @Bean(destroyMethod = "close")
+    public StatefulRedisConnection<byte[], byte[]> rateLimitRedisConnection(RedisClient rateLimitRedisClient) {
+        return rateLimitRedisClient.connect(ByteArrayCodec.INSTANCE);
+    }
+
+    @Bean
+    public ProxyManager<byte[]> rateLimitProxyManager(StatefulRedisConnection<byte[], byte[]> rateLimitRedisConnection) {
+        log.info("Using Redis-backed rate limit buckets at {}:{}", redisHost, redisPort);
+
+        // Keep a bucket in Redis only as long as it takes to refill completely
+        return LettuceBasedProxyManager.builderFor(rateLimitRedisConnection.async())
+                .withExpirationStrategy(
+                        ExpirationAfterWriteStrategy.basedOnTimeForRefillingBucketUpToMax(Duration.ofSeconds(10)))
+                .build();
+    }
+}
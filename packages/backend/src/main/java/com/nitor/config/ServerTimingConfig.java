@@ -0,0 +1,105 @@
+package com.nitor.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nitor.util.ServerTiming;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Timing of the Server-Timing phases that happen outside our own code:
+ * JSON serialisation and calls to MinIO, SMTP and the OAuth providers
+ */
+@Configuration
+public class ServerTimingConfig {
+
+    /**
+     * Replaces Boot's JSON converter (same ObjectMapper)
+     *
+     * When the request reports Server-Timing, the body is serialised to
+     * memory first so its time is known before the header goes out with the
+     * first byte; otherwise it streams as before.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(@NonNull Object object, @Nullable Type type,
+                    @NonNull HttpOutputMessage outputMessage) throws IOException {
+                ServerTiming timing = ServerTiming.current();
+                if (timing == null || !timing.isReported()) {
+                    super.writeInternal(object, type, outputMessage);
+                    return;
+                }
+
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+                long start = System.nanoTime();
+                super.writeInternal(object, type, new HttpOutputMessage() {
+                    @Override
+                    public OutputStream getBody() {
+                        return buffer;
+                    }
+
+                    @Override
+                    public HttpHeaders getHeaders() {
+                        return outputMessage.getHeaders();
+                    }
+                });
+                timing.record(ServerTiming.Phase.SERIALIZATION, System.nanoTime() - start);
+
+                outputMessage.getHeaders().setContentLength(buffer.size());
+                buffer.writeTo(outputMessage.getBody());
+            }
+        };
+    }
+
+    /**
+     * RestTemplates built from Boot's RestTemplateBuilder (OAuth token and user-info calls)
+     */
+    @Bean
+    public RestTemplateCustomizer serverTimingRestTemplateCustomizer() {
+        return restTemplate -> restTemplate.getInterceptors().add((request, body, execution) -> {
+            long start = ServerTiming.start();
+            try {
+                return execution.execute(request, body);
+            } finally {
+                ServerTiming.stop(ServerTiming.Phase.EXTERNAL, start);
+            }
+        });
+    }
+
+    @Bean
+    public ExternalCallTiming externalCallTiming() {
+        return new ExternalCallTiming();
+    }
+
+    /**
+     * Every call into the object store and the mail client
+     */
+    @Aspect
+    public static class ExternalCallTiming {
+
+        @Around("within(com.nitor.storage.MinioObjectStorage) || within(com.nitor.service.EmailService)")
+        public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+            long start = ServerTiming.start();
+            try {
+                return joinPoint.proceed();
+            } finally {
+                ServerTiming.stop(ServerTiming.Phase.EXTERNAL, start);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.nitor.config;
+
+import com.nitor.util.StatementStats;
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Feeds Hibernate's statements into StatementStats
+ *
+ * The inspector sees the SQL of every statement Hibernate prepares; the
+ * session listener (one instance per session) times every execution and
+ * batch. Both are no-ops on threads without an open StatementStats scope.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.db.statement-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class StatementStatsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementStatsCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new Inspector());
+            // Instantiated by Hibernate for each session, so it can only be given by name
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, Listener.class.getName());
+        };
+    }
+
+    public static class Inspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            StatementStats.statementPrepared(sql);
+            return sql;
+        }
+    }
+
+    public static class Listener extends BaseSessionEventListener {
+
+        private long executeStart;
+        private long batchStart;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            executeStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            StatementStats.statementExecuted(System.nanoTime() - executeStart);
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            batchStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            StatementStats.statementExecuted(System.nanoTime() - batchStart);
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package com.nitor.config;
 
 import com.nitor.interceptor.RateLimitInterceptor;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -12,17 +13,28 @@ import org.springframework.lang.NonNull;
 /**
  * Web MVC Configuration
  * - CORS settings
- * - Interceptors (rate limiting)
+ * - Interceptors (rate limiting, unless app.security.rate-limit.enabled is false)
  */
 @Configuration
-@RequiredArgsConstructor
+@Slf4j
 public class WebConfig implements WebMvcConfigurer {
 
     private final RateLimitInterceptor rateLimitInterceptor;
+    private final boolean rateLimitEnabled;
+
+    public WebConfig(RateLimitInterceptor rateLimitInterceptor,
+            @Value("${app.security.rate-limit.enabled:true}") boolean rateLimitEnabled) {
+        this.rateLimitInterceptor = rateLimitInterceptor;
+        this.rateLimitEnabled = rateLimitEnabled;
+    }
 
     @Override
     @SuppressWarnings("null")
     public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        if (!rateLimitEnabled) {
+            log.warn("Rate limiting is disabled (app.security.rate-limit.enabled=false)");
+            return;
+        }
         registry.addInterceptor(rateLimitInterceptor)
                 .addPathPatterns("/api/**");
     }
@@ -1,24 +1,33 @@
 package com.nitor.controller;
 
+import com.nitor.dto.admin.BulkModerationRequest;
 import com.nitor.model.AuditLog;
+import com.nitor.model.ModerationJob;
 import com.nitor.model.Profile;
 import com.nitor.model.Report;
 import com.nitor.model.User;
 import com.nitor.service.AdminService;
+import com.nitor.service.BulkModerationService;
 import com.nitor.util.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -35,6 +44,7 @@ import java.util.UUID;
 public class AdminController {
 
     private final AdminService adminService;
+    private final BulkModerationService bulkModerationService;
     private final SecurityUtils securityUtils;
 
     @GetMapping("/stats")
@@ -42,7 +52,7 @@ public class AdminController {
     public ResponseEntity<AdminService.PlatformStats> getPlatformStats(
             @AuthenticationPrincipal UserDetails userDetails) {
 
-        UUID adminId = securityUtils.getUserIdFromEmail(userDetails.getUsername());
+        UUID adminId = securityUtils.getUserId(userDetails);
         AdminService.PlatformStats stats = adminService.getPlatformStats(adminId);
         return ResponseEntity.ok(stats);
     }
@@ -53,7 +63,7 @@ public class AdminController {
             @AuthenticationPrincipal UserDetails userDetails,
             @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
 
-        UUID adminId = securityUtils.getUserIdFromEmail(userDetails.getUsername());
+        UUID adminId = securityUtils.getUserId(userDetails);
         Page<User> users = adminService.getAllUsers(adminId, pageable);
         return ResponseEntity.ok(users);
     }
@@ -64,7 +74,7 @@ public class AdminController {
             @AuthenticationPrincipal UserDetails userDetails,
             @RequestParam String query) {
 
-        UUID adminId = securityUtils.getUserIdFromEmail(userDetails.getUsername());
+        UUID adminId = securityUtils.getUserId(userDetails);
         List<User> users = adminService.searchUsers(adminId, query);
         return ResponseEntity.ok(users);
     }
@@ -75,7 +85,7 @@ public class AdminController {
             @AuthenticationPrincipal UserDetails userDetails,
             @PathVariable UUID userId) {
 
-        UUID adminId = securityUtils.getUserIdFromEmail(userDetails.getUsername());
+        UUID adminId = securityUtils.getUserId(userDetails);
         User user = adminService.setUserActiveStatus(adminId, userId, true);
         return ResponseEntity.ok(user);
     }
@@ -86,7 +96,7 @@ public class AdminController {
             @AuthenticationPrincipal UserDetails userDetails,
             @PathVariable UUID userId) {
 
-        UUID adminId = securityUtils.getUserIdFromEmail(userDetails.getUsername());
+        UUID adminId = securityUtils.getUserId(userDetails);
         User user = adminService.setUserActiveStatus(adminId, userId, false);
         return ResponseEntity.ok(user);
     }
@@ -97,7 +107,7 @@ public class AdminController {
             @AuthenticationPrincipal UserDetails userDetails,
             @PathVariable UUID profileId) {
 
-        UUID adminId = securityUtils.getUserIdFromEmail(userDetails.getUsername());
+        UUID adminId = securityUtils.getUserId(userDetails);
         Profile profile = adminService.verifyProfile(adminId, profileId);
         return ResponseEntity.ok(profile);
     }
@@ -109,11 +119,55 @@ public class AdminController {
             @PathVariable UUID contentId,
             @RequestParam(required = false, defaultValue = "Violates community guidelines") String reason) {
 
-        UUID adminId = securityUtils.getUserIdFromEmail(userDetails.getUsername());
+        UUID adminId = securityUtils.getUserId(userDetails);
         adminService.removeContent(adminId, contentId, reason);
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/moderation-jobs")
+    @Operation(summary = "Start bulk moderation", description = "Admin only: Remove content or (de)activate users in bulk, by id list or filter")
+    public ResponseEntity<ModerationJob> submitModerationJob(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Valid @RequestBody BulkModerationRequest request) {
+
+        UUID adminId = securityUtils.getUserId(userDetails);
+        ModerationJob job = bulkModerationService.submit(adminId, request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping("/moderation-jobs")
+    @Operation(summary = "Get moderation jobs", description = "Admin only: List bulk moderation jobs, newest first")
+    public ResponseEntity<Page<ModerationJob>> getModerationJobs(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PageableDefault(size = 20) Pageable pageable) {
+
+        UUID adminId = securityUtils.getUserId(userDetails);
+        Page<ModerationJob> jobs = bulkModerationService.getJobs(adminId, pageable);
+        return ResponseEntity.ok(jobs);
+    }
+
+    @GetMapping("/moderation-jobs/{jobId}")
+    @Operation(summary = "Get moderation job", description = "Admin only: Get status and progress of a bulk moderation job")
+    public ResponseEntity<ModerationJob> getModerationJob(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable UUID jobId) {
+
+        UUID adminId = securityUtils.getUserId(userDetails);
+        ModerationJob job = bulkModerationService.getJob(adminId, jobId);
+        return ResponseEntity.ok(job);
+    }
+
+    @PostMapping("/moderation-jobs/{jobId}/cancel")
+    @Operation(summary = "Cancel moderation job", description = "Admin only: Stop a bulk moderation job after the current chunk")
+    public ResponseEntity<ModerationJob> cancelModerationJob(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable UUID jobId) {
+
+        UUID adminId = securityUtils.getUserId(userDetails);
+        ModerationJob job = bulkModerationService.cancel(adminId, jobId);
+        return ResponseEntity.ok(job);
+    }
+
     @GetMapping("/reports")
     @Operation(summary = "Get reports", description = "Admin only: Get all content reports")
     public ResponseEntity<Page<Report>> getReports(
@@ -121,7 +175,7 @@ public class AdminController {
             @RequestParam(required = false) Report.ReportStatus status,
             @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
 
-        UUID adminId = securityUtils.getUserIdFromEmail(userDetails.getUsername());
+        UUID adminId = securityUtils.getUserId(userDetails);
         Page<Report> reports = adminService.getReports(adminId, status, pageable);
         return ResponseEntity.ok(reports);
     }
@@ -134,7 +188,7 @@ public class AdminController {
             @RequestParam Report.ReportStatus status,
             @RequestParam(required = false, defaultValue = "") String resolution) {
 
-        UUID adminId = securityUtils.getUserIdFromEmail(userDetails.getUsername());
+        UUID adminId = securityUtils.getUserId(userDetails);
         Report report = adminService.updateReportStatus(adminId, reportId, status, resolution);
         return ResponseEntity.ok(report);
     }
@@ -145,11 +199,25 @@ public class AdminController {
             @AuthenticationPrincipal UserDetails userDetails,
             @PageableDefault(size = 50, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
 
-        UUID adminId = securityUtils.getUserIdFromEmail(userDetails.getUsername());
+        UUID adminId = securityUtils.getUserId(userDetails);
         Page<AuditLog> auditLogs = adminService.getAuditLogs(adminId, pageable);
         return ResponseEntity.ok(auditLogs);
     }
 
+    @GetMapping(value = "/audit-logs/export", produces = "application/x-ndjson")
+    @Operation(summary = "Export audit logs", description = "Admin only: Stream audit logs in a time range as NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        UUID adminId = securityUtils.getUserId(userDetails);
+        StreamingResponseBody body = adminService.exportAuditLogs(adminId, from, to);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"audit-log.ndjson\"")
+                .body(body);
+    }
+
     @GetMapping("/audit-logs/user/{userId}")
     @Operation(summary = "Get user audit logs", description = "Admin only: Get audit logs for specific user")
     public ResponseEntity<Page<AuditLog>> getUserAuditLogs(
@@ -157,7 +225,7 @@ public class AdminController {
             @PathVariable UUID userId,
             @PageableDefault(size = 50, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
 
-        UUID adminId = securityUtils.getUserIdFromEmail(userDetails.getUsername());
+        UUID adminId = securityUtils.getUserId(userDetails);
         Page<AuditLog> auditLogs = adminService.getUserAuditLogs(adminId, userId, pageable);
         return ResponseEntity.ok(auditLogs);
     }
@@ -14,7 +14,6 @@ public class BaseController {
     private final SecurityUtils securityUtils;
 
     protected UUID extractUserIdFromPrincipal(UserDetails userDetails) {
-        String email = userDetails.getUsername();
-        return securityUtils.getUserIdFromEmail(email);
+        return securityUtils.getUserId(userDetails);
     }
 }
@@ -1,5 +1,6 @@
 package com.nitor.controller;
 
+import com.nitor.dto.cv.CVExportFormat;
 import com.nitor.dto.cv.CVResponse;
 import com.nitor.dto.cv.EducationRequest;
 import com.nitor.dto.cv.ExperienceRequest;
@@ -7,6 +8,7 @@ import com.nitor.dto.cv.ProjectRequest;
 import com.nitor.model.Education;
 import com.nitor.model.Experience;
 import com.nitor.model.Project;
+import com.nitor.service.CVExportService;
 import com.nitor.service.CVService;
 import com.nitor.util.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,11 +16,16 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.UUID;
 
@@ -29,12 +36,33 @@ import java.util.UUID;
 public class CVController {
 
     private final CVService cvService;
+    private final CVExportService cvExportService;
     private final SecurityUtils securityUtils;
 
     @GetMapping("/{userId}")
     @Operation(summary = "Get user CV")
-    public ResponseEntity<CVResponse> getUserCV(@PathVariable UUID userId) {
-        return ResponseEntity.ok(cvService.getUserCV(userId));
+    public ResponseEntity<CVResponse> getUserCV(@PathVariable UUID userId, WebRequest webRequest) {
+        String etag = cvService.getCVETag(userId);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        CVResponse response = cvService.getUserCV(userId, etag);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(response);
+    }
+
+    @GetMapping("/{userId}/export")
+    @Operation(summary = "Export user CV", description = "Download the CV as pdf or html")
+    public ResponseEntity<StreamingResponseBody> exportUserCV(
+            @PathVariable UUID userId,
+            @RequestParam(defaultValue = "pdf") String format) {
+
+        CVExportFormat exportFormat = CVExportFormat.parse(format);
+        StreamingResponseBody body = cvExportService.export(userId, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"cv-" + userId + "." + exportFormat.getExtension() + "\"")
+                .body(body);
     }
 
     // Education endpoints
@@ -126,7 +154,6 @@ public class CVController {
     }
 
     private UUID extractUserIdFromPrincipal(UserDetails userDetails) {
-        String email = userDetails.getUsername();
-        return securityUtils.getUserIdFromEmail(email);
+        return securityUtils.getUserId(userDetails);
     }
 }
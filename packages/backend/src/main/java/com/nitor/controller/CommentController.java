@@ -76,7 +76,6 @@ public class CommentController {
     }
 
     private UUID extractUserIdFromPrincipal(UserDetails userDetails) {
-        String email = userDetails.getUsername();
-        return securityUtils.getUserIdFromEmail(email);
+        return securityUtils.getUserId(userDetails);
     }
 }
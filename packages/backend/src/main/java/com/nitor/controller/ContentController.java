@@ -11,11 +11,13 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -30,8 +32,13 @@ public class ContentController {
 
     @GetMapping("/feed")
     @Operation(summary = "Get content feed")
-    public ResponseEntity<Page<ContentResponse>> getFeed(Pageable pageable) {
-        return ResponseEntity.ok(contentService.getFeed(pageable));
+    public ResponseEntity<Page<ContentResponse>> getFeed(Pageable pageable, WebRequest webRequest) {
+        String etag = contentService.getFeedETag(pageable);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        Page<ContentResponse> feed = contentService.getFeed(pageable);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(feed);
     }
 
     @PostMapping
@@ -49,8 +56,13 @@ public class ContentController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get content by ID")
-    public ResponseEntity<ContentResponse> getContent(@PathVariable UUID id) {
-        return ResponseEntity.ok(contentService.getContent(id));
+    public ResponseEntity<ContentResponse> getContent(@PathVariable UUID id, WebRequest webRequest) {
+        String etag = contentService.getContentETag(id);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        ContentResponse response = contentService.getContent(id);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(response);
     }
 
     @PutMapping("/{id}")
@@ -94,8 +106,7 @@ public class ContentController {
     }
 
     private UUID extractUserIdFromPrincipal(UserDetails userDetails) {
-        String email = userDetails.getUsername();
-        return securityUtils.getUserIdFromEmail(email);
+        return securityUtils.getUserId(userDetails);
     }
 
     @PostMapping("/{id}/report")
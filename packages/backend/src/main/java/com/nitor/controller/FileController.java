@@ -0,0 +1,211 @@
+package com.nitor.controller;
+
+import com.nitor.exception.ResourceNotFoundException;
+import com.nitor.storage.LocalObjectStorage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Serves stored files when the local filesystem backend is active
+ *
+ * Supports conditional requests (ETag / If-None-Match), single byte ranges
+ * (Range / If-Range) and long-lived caching, since stored objects never
+ * change. The body is written with Tomcat's sendfile when the connector
+ * supports it, otherwise with FileChannel.transferTo; neither copies the file
+ * through a heap buffer in this code.
+ *
+ * Files are served from the app's own origin, and their content type is
+ * whatever the uploader sent. Only raster images are shown inline; anything
+ * else, SVG included, is sent as an octet-stream attachment under a sandbox
+ * CSP, so an uploaded HTML page cannot run script as the app.
+ */
+@RestController
+@RequestMapping("/api/files")
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+@Tag(name = "Files", description = "Download stored files (local storage backend)")
+public class FileController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final Set<String> INLINE_TYPES = Set.of(
+            "image/png", "image/jpeg", "image/gif", "image/webp", "image/avif");
+
+    private final LocalObjectStorage storage;
+    private final String cacheControl;
+
+    public FileController(
+            LocalObjectStorage storage,
+            @Value("${app.storage.local.cache-control:public, max-age=31536000, immutable}") String cacheControl) {
+
+        this.storage = storage;
+        this.cacheControl = cacheControl;
+    }
+
+    @GetMapping("/{*key}")
+    @Operation(summary = "Download file", description = "Supports Range and If-None-Match")
+    public void getFile(@PathVariable String key, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        String objectKey = key.startsWith("/") ? key.substring(1) : key;
+        Path file = storage.getPath(objectKey);
+        if (!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("File not found");
+        }
+
+        long length = Files.size(file);
+        String etag = LocalObjectStorage.etag(length, Files.getLastModifiedTime(file).toMillis());
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("Content-Security-Policy", "sandbox");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+
+        HttpRange range = singleRange(request, etag);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                start = length;
+            }
+            // getRangeStart does not check the start against the length
+            if (start >= length || start > end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        long count = end - start + 1;
+        String contentType = inlineType(storage.getContentType(objectKey));
+        if (contentType == null) {
+            contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename(file.getFileName().toString(), StandardCharsets.UTF_8)
+                    .build()
+                    .toString());
+        }
+        response.setContentType(contentType);
+        response.setContentLengthLong(count);
+
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat writes the file after this method returns, via sendfile(2)
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            transfer(channel, start, end, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    /**
+     * Writes bytes start..end (inclusive) of the channel to out
+     *
+     * transferTo returns 0 once the position is past the end of the file, so
+     * a file truncated while being sent fails here instead of looping forever.
+     */
+    static void transfer(FileChannel channel, long start, long end, WritableByteChannel out) throws IOException {
+        long position = start;
+        while (position <= end) {
+            long transferred = channel.transferTo(position, end + 1 - position, out);
+            if (transferred <= 0) {
+                throw new EOFException("File ended at byte " + position + " of " + (end + 1));
+            }
+            position += transferred;
+        }
+    }
+
+    /**
+     * The stored type if it is a raster image safe to show inline, otherwise null
+     */
+    static String inlineType(String storedType) {
+        if (storedType == null) {
+            return null;
+        }
+        int parameters = storedType.indexOf(';');
+        String type = (parameters < 0 ? storedType : storedType.substring(0, parameters))
+                .trim()
+                .toLowerCase(Locale.ROOT);
+        return INLINE_TYPES.contains(type) ? type : null;
+    }
+
+    /**
+     * The requested range, or null to send the whole file (no Range header,
+     * multiple ranges, or an If-Range that no longer matches)
+     */
+    private static HttpRange singleRange(HttpServletRequest request, String etag) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+}
@@ -1,15 +1,28 @@
 package com.nitor.controller;
 
+import com.nitor.dto.upload.FileUploadResponse;
+import com.nitor.dto.upload.PresignedUploadRequest;
+import com.nitor.dto.upload.PresignedUploadResponse;
+import com.nitor.dto.upload.UploadPurpose;
 import com.nitor.service.FileUploadService;
+import com.nitor.util.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/upload")
@@ -19,18 +32,83 @@ import java.util.Map;
 public class FileUploadController {
 
     private final FileUploadService fileUploadService;
+    private final SecurityUtils securityUtils;
 
     @PostMapping("/avatar")
-    @Operation(summary = "Upload avatar")
-    public ResponseEntity<Map<String, String>> uploadAvatar(@RequestParam("file") MultipartFile file) {
-        String fileUrl = fileUploadService.uploadAvatar(file);
-        return ResponseEntity.ok(Map.of("url", fileUrl));
+    @Operation(summary = "Upload avatar", description = "Thumbnail URLs are listed once rendered, see GET /api/upload/{uploadId}")
+    public ResponseEntity<Map<String, Object>> uploadAvatar(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam("file") MultipartFile file) {
+
+        UUID userId = securityUtils.getUserId(userDetails);
+        return ResponseEntity.ok(toUrls(fileUploadService.uploadMultipart(userId, UploadPurpose.AVATAR, file)));
     }
 
     @PostMapping("/content")
-    @Operation(summary = "Upload content media")
-    public ResponseEntity<Map<String, String>> uploadContentMedia(@RequestParam("file") MultipartFile file) {
-        String fileUrl = fileUploadService.uploadContentMedia(file);
-        return ResponseEntity.ok(Map.of("url", fileUrl));
+    @Operation(summary = "Upload content media", description = "Thumbnail URLs are listed once rendered, see GET /api/upload/{uploadId}")
+    public ResponseEntity<Map<String, Object>> uploadContentMedia(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam("file") MultipartFile file) {
+
+        UUID userId = securityUtils.getUserId(userDetails);
+        return ResponseEntity.ok(toUrls(fileUploadService.uploadMultipart(userId, UploadPurpose.CONTENT, file)));
+    }
+
+    @PostMapping("/presigned")
+    @Operation(summary = "Create presigned upload", description = "Get a URL (PUT) or form (POST) to upload directly to storage")
+    public ResponseEntity<PresignedUploadResponse> createPresignedUpload(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Valid @RequestBody PresignedUploadRequest request) {
+
+        UUID userId = securityUtils.getUserId(userDetails);
+        return ResponseEntity.ok(fileUploadService.createPresignedUpload(userId, request));
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    @Operation(summary = "Complete presigned upload", description = "Confirm a direct upload once the file is in storage")
+    public ResponseEntity<FileUploadResponse> completeUpload(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable UUID uploadId) {
+
+        UUID userId = securityUtils.getUserId(userDetails);
+        return ResponseEntity.ok(fileUploadService.completeUpload(userId, uploadId));
+    }
+
+    @PutMapping("/stream/{purpose}")
+    @Operation(summary = "Stream upload", description = "Upload the raw request body; large files are not buffered")
+    public ResponseEntity<FileUploadResponse> streamUpload(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable UploadPurpose purpose,
+            @RequestParam String fileName,
+            HttpServletRequest request) throws IOException {
+
+        UUID userId = securityUtils.getUserId(userDetails);
+        String contentType = request.getContentType() != null
+                ? request.getContentType()
+                : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+
+        FileUploadResponse upload = fileUploadService.streamUpload(
+                userId, purpose, fileName, contentType, request.getContentLengthLong(), request.getInputStream());
+        return ResponseEntity.status(HttpStatus.CREATED).body(upload);
+    }
+
+    @GetMapping("/{uploadId}")
+    @Operation(summary = "Get upload status")
+    public ResponseEntity<FileUploadResponse> getUpload(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable UUID uploadId) {
+
+        UUID userId = securityUtils.getUserId(userDetails);
+        return ResponseEntity.ok(fileUploadService.getUpload(userId, uploadId));
+    }
+
+    /**
+     * The upload id, its URL and the thumbnail URLs rendered so far
+     */
+    private static Map<String, Object> toUrls(FileUploadResponse upload) {
+        return Map.of(
+                "id", upload.getId(),
+                "url", upload.getFileUrl(),
+                "variants", upload.getVariants());
     }
 }
@@ -94,7 +94,6 @@ public class FollowController {
     }
 
     private UUID extractUserIdFromPrincipal(UserDetails userDetails) {
-        String email = userDetails.getUsername();
-        return securityUtils.getUserIdFromEmail(email);
+        return securityUtils.getUserId(userDetails);
     }
 }
@@ -1,10 +1,10 @@
 package com.nitor.controller;
 
+import com.nitor.dto.interaction.BookmarkResponse;
 import com.nitor.dto.interaction.EndorsementResponse;
 import com.nitor.dto.interaction.InteractionStatsResponse;
 import com.nitor.dto.interaction.RepostRequest;
-import com.nitor.model.Bookmark;
-import com.nitor.model.Repost;
+import com.nitor.dto.interaction.RepostResponse;
 import com.nitor.service.InteractionService;
 import com.nitor.util.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
@@ -139,7 +139,7 @@ public class InteractionController {
 
     @GetMapping("/reposts/user/{userId}")
     @Operation(summary = "Get user's reposts")
-    public ResponseEntity<Page<Repost>> getUserReposts(
+    public ResponseEntity<Page<RepostResponse>> getUserReposts(
             @PathVariable UUID contentId,
             @PathVariable UUID userId,
             Pageable pageable) {
@@ -150,7 +150,7 @@ public class InteractionController {
     @GetMapping("/bookmarks/user")
     @SecurityRequirement(name = "bearerAuth")
     @Operation(summary = "Get user's bookmarks")
-    public ResponseEntity<Page<Bookmark>> getUserBookmarks(
+    public ResponseEntity<Page<BookmarkResponse>> getUserBookmarks(
             @PathVariable UUID contentId,
             @AuthenticationPrincipal UserDetails userDetails,
             Pageable pageable) {
@@ -160,7 +160,6 @@ public class InteractionController {
     }
 
     private UUID extractUserIdFromPrincipal(UserDetails userDetails) {
-        String email = userDetails.getUsername();
-        return securityUtils.getUserIdFromEmail(email);
+        return securityUtils.getUserId(userDetails);
     }
 }
@@ -10,8 +10,11 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -25,8 +28,13 @@ public class ProfileController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get profile by ID")
-    public ResponseEntity<ProfileResponse> getProfile(@PathVariable UUID id) {
-        return ResponseEntity.ok(profileService.getProfile(id));
+    public ResponseEntity<ProfileResponse> getProfile(@PathVariable UUID id, WebRequest webRequest) {
+        String etag = profileService.getProfileETag(id);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        ProfileResponse response = profileService.getProfile(id);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(response);
     }
 
     @GetMapping("/handle/{handle}")
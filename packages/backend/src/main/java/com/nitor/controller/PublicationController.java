@@ -0,0 +1,67 @@
+package com.nitor.controller;
+
+import com.nitor.model.PublicationImportJob;
+import com.nitor.service.PublicationImportService;
+import com.nitor.util.SecurityUtils;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/publications")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Publications", description = "Publication bulk import")
+public class PublicationController {
+
+    private final PublicationImportService publicationImportService;
+    private final SecurityUtils securityUtils;
+
+    @PostMapping("/import")
+    @Operation(summary = "Import publications",
+            description = "Upload a BibTeX or RIS file as the raw request body; the import runs in the background")
+    public ResponseEntity<PublicationImportJob> importPublications(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) String fileName,
+            @RequestParam(required = false) String format,
+            HttpServletRequest request) throws IOException {
+
+        UUID userId = securityUtils.getUserId(userDetails);
+        PublicationImportJob job = publicationImportService.submit(
+                userId, fileName, format, request.getContentLengthLong(), request.getInputStream());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping("/import")
+    @Operation(summary = "Get publication imports", description = "List your imports, newest first")
+    public ResponseEntity<Page<PublicationImportJob>> getImports(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PageableDefault(size = 20) Pageable pageable) {
+
+        UUID userId = securityUtils.getUserId(userDetails);
+        return ResponseEntity.ok(publicationImportService.getJobs(userId, pageable));
+    }
+
+    @GetMapping("/import/{jobId}")
+    @Operation(summary = "Get publication import", description = "Status and progress of an import")
+    public ResponseEntity<PublicationImportJob> getImport(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable UUID jobId) {
+
+        UUID userId = securityUtils.getUserId(userDetails);
+        return ResponseEntity.ok(publicationImportService.getJob(userId, jobId));
+    }
+}
@@ -0,0 +1,54 @@
+package com.nitor.dto.admin;
+
+import com.nitor.model.ModerationJob;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk moderation job request: either an explicit id list or a filter
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkModerationRequest {
+
+    @NotNull
+    private ModerationJob.Action action;
+
+    // Content or user ids, depending on the action
+    @Size(max = 100000)
+    private List<UUID> ids;
+
+    // Filter: content by this author (content actions only)
+    private UUID authorId;
+
+    // Filter: content or users created in [createdAfter, createdBefore)
+    private LocalDateTime createdAfter;
+
+    private LocalDateTime createdBefore;
+
+    private String reason;
+
+    @Min(1)
+    @Max(1000)
+    private Integer chunkSize;
+
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    public boolean hasFilter() {
+        return authorId != null || createdAfter != null || createdBefore != null;
+    }
+}
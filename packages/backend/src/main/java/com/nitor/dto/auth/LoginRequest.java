@@ -19,4 +19,7 @@ public class LoginRequest {
 
     @NotBlank(message = "Password is required")
     private String password;
+
+    // Optional client device identifier, one refresh session per device in multi-session mode
+    private String deviceId;
 }
@@ -0,0 +1,37 @@
+package com.nitor.dto.cv;
+
+import com.nitor.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * Download formats of a CV
+ */
+public enum CVExportFormat {
+    HTML("text/html;charset=UTF-8", "html"),
+    PDF("application/pdf", "pdf");
+
+    private final String contentType;
+    private final String extension;
+
+    CVExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static CVExportFormat parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new BadRequestException("Unsupported CV format: " + value);
+        }
+    }
+}
@@ -1,21 +1,113 @@
 package com.nitor.dto.cv;
 
-import com.nitor.model.Education;
-import com.nitor.model.Experience;
-import com.nitor.model.Project;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.UUID;
 
-@Data
+/**
+ * Read model of a full CV
+ *
+ * Immutable because instances are cached and shared between requests.
+ */
+@Value
 @Builder
-@NoArgsConstructor
-@AllArgsConstructor
 public class CVResponse {
-    private List<Education> education;
-    private List<Experience> experience;
-    private List<Project> projects;
+    Header profile;
+    List<EducationEntry> education;
+    List<ExperienceEntry> experience;
+    List<ProjectEntry> projects;
+    List<PublicationEntry> publications;
+    List<SkillEntry> skills;
+    List<AwardEntry> awards;
+
+    @Value
+    @Builder
+    public static class Header {
+        UUID id;
+        String fullName;
+        String handle;
+        String academicTitle;
+        String institution;
+        String discipline;
+        String bio;
+        String orcid;
+        String avatarUrl;
+    }
+
+    @Value
+    @Builder
+    public static class EducationEntry {
+        UUID id;
+        String institution;
+        String degree;
+        String fieldOfStudy;
+        String grade;
+        LocalDate startDate;
+        LocalDate endDate;
+        Boolean isCurrent;
+        String description;
+    }
+
+    @Value
+    @Builder
+    public static class ExperienceEntry {
+        UUID id;
+        String company;
+        String role;
+        String location;
+        LocalDate startDate;
+        LocalDate endDate;
+        Boolean isCurrent;
+        String description;
+    }
+
+    @Value
+    @Builder
+    public static class ProjectEntry {
+        UUID id;
+        String title;
+        String link;
+        List<String> technologies;
+        LocalDate startDate;
+        LocalDate endDate;
+        Boolean isCurrent;
+        String description;
+    }
+
+    @Value
+    @Builder
+    public static class PublicationEntry {
+        UUID id;
+        String title;
+        List<String> authors;
+        String journal;
+        String conference;
+        LocalDate publicationDate;
+        String doi;
+        String url;
+        Integer citationCount;
+    }
+
+    @Value
+    @Builder
+    public static class SkillEntry {
+        UUID id;
+        String name;
+        String category;
+        String proficiencyLevel;
+        Integer yearsOfExperience;
+    }
+
+    @Value
+    @Builder
+    public static class AwardEntry {
+        UUID id;
+        String title;
+        String issuer;
+        LocalDate issueDate;
+        String description;
+    }
 }
@@ -0,0 +1,24 @@
+package com.nitor.dto.interaction;
+
+import com.nitor.dto.content.ContentResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepostResponse {
+    private UUID id;
+    private UUID userId;
+    private UUID contentId;
+    private String comment;
+    private LocalDateTime createdAt;
+    // Null when the content has since been deleted
+    private ContentResponse content;
+}
@@ -0,0 +1,28 @@
+package com.nitor.dto.upload;
+
+import com.nitor.model.FileUpload;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileUploadResponse {
+    private UUID id;
+    private String originalName;
+    private String mimeType;
+    private Long fileSize;
+    private String fileUrl;
+    private FileUpload.UploadStatus uploadStatus;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    // Thumbnail URLs by size in px, empty until rendered
+    private Map<Integer, String> variants;
+}
@@ -0,0 +1,42 @@
+package com.nitor.dto.upload;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresignedUploadRequest {
+
+    @NotNull
+    private UploadPurpose purpose;
+
+    @NotBlank
+    @Size(max = 255)
+    private String fileName;
+
+    @NotBlank
+    @Size(max = 100)
+    private String contentType;
+
+    // Declared size in bytes, checked against the configured maximum
+    @NotNull
+    @Positive
+    private Long size;
+
+    // PUT (default) or POST; only POST lets storage enforce the size limit
+    @Builder.Default
+    private Method method = Method.PUT;
+
+    public enum Method {
+        PUT,
+        POST
+    }
+}
@@ -0,0 +1,24 @@
+package com.nitor.dto.upload;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresignedUploadResponse {
+    private UUID uploadId;
+    private PresignedUploadRequest.Method method;
+    private String url;
+    // Form fields to send with a POST upload (the file goes last)
+    private Map<String, String> formData;
+    private String objectKey;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,26 @@
+package com.nitor.dto.upload;
+
+/**
+ * What an upload is for; decides the storage folder and the recorded file type
+ */
+public enum UploadPurpose {
+    AVATAR("avatars"),
+    CONTENT("content");
+
+    private final String folder;
+
+    UploadPurpose(String folder) {
+        this.folder = folder;
+    }
+
+    public String getFolder() {
+        return folder;
+    }
+
+    public String fileType(String contentType) {
+        if (this == AVATAR) {
+            return "avatar";
+        }
+        return contentType != null && contentType.startsWith("image/") ? "content_image" : "content_document";
+    }
+}
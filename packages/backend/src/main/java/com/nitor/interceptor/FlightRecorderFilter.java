@@ -0,0 +1,56 @@
+package com.nitor.interceptor;
+
+import com.nitor.util.FlightEvents;
+import com.nitor.util.StatementStats;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Emits a JFR request event per HTTP request while a recording is running
+ *
+ * Sits inside StatementStatsFilter, so the request's statement scope is
+ * still open when the event is committed.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+public class FlightRecorderFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        FlightEvents.RequestEvent event = new FlightEvents.RequestEvent();
+        if (!event.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        event.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.endpoint = FlightEvents.endpoint(request);
+                event.status = response.getStatus();
+                StatementStats stats = StatementStats.current();
+                if (stats != null) {
+                    event.statements = stats.statements();
+                    event.databaseTime = stats.nanos();
+                }
+                event.commit();
+            }
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package com.nitor.interceptor;
 
 import com.nitor.annotation.RateLimited;
+import com.nitor.security.AuthenticatedUser;
 import com.nitor.service.RateLimitingService;
-import com.nitor.util.SecurityUtils;
+import io.github.bucket4j.ConsumptionProbe;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -13,8 +14,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 
-import java.util.UUID;
-
 import org.springframework.lang.NonNull;
 
 /**
@@ -27,7 +26,6 @@ import org.springframework.lang.NonNull;
 public class RateLimitInterceptor implements HandlerInterceptor {
 
     private final RateLimitingService rateLimitingService;
-    private final SecurityUtils securityUtils;
 
     @Override
     public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
@@ -46,13 +44,12 @@ public class RateLimitInterceptor implements HandlerInterceptor {
         // Determine the rate limit key based on configuration
         String key = getRateLimitKey(request, rateLimited.keyPrefix());
 
-        // Check rate limit
-        rateLimitingService.checkLimit(key, rateLimited.type());
+        // Check rate limit (one bucket operation covers both the decision and the headers)
+        ConsumptionProbe probe = rateLimitingService.checkLimit(key, rateLimited.type());
 
         // Add rate limit headers to response
-        long remainingTokens = rateLimitingService.getRemainingTokens(key, rateLimited.type());
         response.setHeader("X-RateLimit-Limit", String.valueOf(rateLimited.type().getCapacity()));
-        response.setHeader("X-RateLimit-Remaining", String.valueOf(remainingTokens));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(probe.getRemainingTokens()));
 
         return true;
     }
@@ -63,16 +60,10 @@ public class RateLimitInterceptor implements HandlerInterceptor {
     private String getRateLimitKey(HttpServletRequest request, String keyPrefix) {
         return switch (keyPrefix) {
             case "user" -> {
-                // Rate limit by authenticated user
+                // Rate limit by authenticated user (ID comes from the JWT principal)
                 Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-                if (auth != null && auth.isAuthenticated()) {
-                    try {
-                        UUID userId = securityUtils.getUserIdFromEmail(auth.getName());
-                        yield userId.toString();
-                    } catch (Exception e) {
-                        log.warn("Failed to extract user ID for rate limiting, falling back to IP");
-                        yield getClientIp(request);
-                    }
+                if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser user) {
+                    yield user.getUserId().toString();
                 }
                 yield getClientIp(request);
             }
@@ -0,0 +1,104 @@
+package com.nitor.interceptor;
+
+import com.nitor.security.AuthenticatedUser;
+import com.nitor.service.AdminService;
+import com.nitor.util.ServerTiming;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Adds a Server-Timing header with the request's phase breakdown (see ServerTiming)
+ *
+ * Every request is timed - a few nanoTime reads - but the header is only
+ * sent when app.server-timing.enabled is set or, with
+ * app.server-timing.admins, to admin users. Runs in the security chain just
+ * before JwtAuthenticationFilter, so authentication is timed and the user
+ * is known when the header is written, right before the response commits.
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    private final AdminService adminService;
+    private final boolean enabled;
+    private final boolean admins;
+
+    public ServerTimingFilter(
+            AdminService adminService,
+            @Value("${app.server-timing.enabled:false}") boolean enabled,
+            @Value("${app.server-timing.admins:true}") boolean admins) {
+        this.adminService = adminService;
+        this.enabled = enabled;
+        this.admins = admins;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (!enabled && !admins) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ServerTiming timing = ServerTiming.open(this::isReported);
+        TimingResponse timed = new TimingResponse(response, timing);
+        try {
+            filterChain.doFilter(request, timed);
+        } finally {
+            // Responses without a body (204, 304, ...) are only committed after the chain
+            if (!response.isCommitted()) {
+                timed.writeHeader();
+            }
+            timing.close();
+        }
+    }
+
+    private boolean isReported() {
+        if (enabled) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user
+                && adminService.isAdmin(user.getUserId());
+    }
+
+    private static final class TimingResponse extends OnCommittedResponseWrapper {
+
+        private final ServerTiming timing;
+
+        TimingResponse(HttpServletResponse response, ServerTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeader();
+        }
+
+        void writeHeader() {
+            if (isDisableOnResponseCommitted()) {
+                return;
+            }
+            disableOnResponseCommitted();
+            if (timing.isReported()) {
+                setHeader(HEADER, timing.header());
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.nitor.interceptor;
+
+import com.nitor.util.StatementStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statement count and database time of each HTTP request, by endpoint
+ *
+ * Runs outside the security chain so lookups made during authentication
+ * count too. Publishes nitor.db.statements and nitor.db.time tagged with the
+ * method and the matched URI pattern (as http.server.requests does), and
+ * flags requests that prepare the same statement shape repeatedly: those
+ * are counted in nitor.db.repeated and logged at WARN the first time per
+ * endpoint and shape, at DEBUG afterwards.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnProperty(name = "app.db.statement-stats.enabled", havingValue = "true", matchIfMissing = true)
+@SuppressWarnings("null")
+public class StatementStatsFilter extends OncePerRequestFilter {
+
+    // Bounds the memory spent remembering which repeats were already reported
+    private static final int MAX_REPORTED = 1000;
+
+    private final MeterRegistry meterRegistry;
+    private final int repeatThreshold;
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+
+    public StatementStatsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.db.statement-stats.repeat-threshold:5}") int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        StatementStats stats = StatementStats.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            stats.close();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, StatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        DistributionSummary.builder("nitor.db.statements")
+                .description("JDBC statements executed per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.statements());
+        Timer.builder("nitor.db.time")
+                .description("Time spent executing JDBC statements per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.nanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.statements() < repeatThreshold) {
+            return;
+        }
+        Map<String, Integer> repeated = stats.repeated(repeatThreshold);
+        if (repeated.isEmpty()) {
+            return;
+        }
+        Counter.builder("nitor.db.repeated")
+                .description("HTTP requests that prepared the same statement shape repeatedly (likely N+1)")
+                .tags(tags)
+                .register(meterRegistry)
+                .increment();
+        repeated.forEach((shape, count) -> {
+            String key = request.getMethod() + " " + uri + " " + shape;
+            if (reported.size() < MAX_REPORTED && reported.add(key)) {
+                log.warn("{} {} prepared the same statement {} times (likely N+1): {}",
+                        request.getMethod(), uri, count, shape);
+            } else {
+                log.debug("{} {} prepared the same statement {} times: {}", request.getMethod(), uri, count, shape);
+            }
+        });
+    }
+}
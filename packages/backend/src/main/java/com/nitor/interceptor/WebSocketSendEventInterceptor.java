@@ -0,0 +1,52 @@
+package com.nitor.interceptor;
+
+import com.nitor.util.FlightEvents;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+
+/**
+ * Emits a JFR event per frame sent to a WebSocket client while a recording is running
+ *
+ * Registered on the client outbound channel, whose executor threads do the
+ * actual session writes; the event spans the handler on that thread.
+ */
+public class WebSocketSendEventInterceptor implements ExecutorChannelInterceptor {
+
+    private final ThreadLocal<FlightEvents.WebSocketSendEvent> current = new ThreadLocal<>();
+
+    @Override
+    public Message<?> beforeHandle(@NonNull Message<?> message, @NonNull MessageChannel channel,
+            @NonNull MessageHandler handler) {
+        FlightEvents.WebSocketSendEvent event = new FlightEvents.WebSocketSendEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            current.set(event);
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(@NonNull Message<?> message, @NonNull MessageChannel channel,
+            @NonNull MessageHandler handler, @Nullable Exception ex) {
+        FlightEvents.WebSocketSendEvent event = current.get();
+        if (event == null) {
+            return;
+        }
+        current.remove();
+        event.end();
+        if (event.shouldCommit()) {
+            SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+            event.destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+            event.messageType = type != null ? type.name() : null;
+            event.sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+            event.payloadSize = message.getPayload() instanceof byte[] payload ? payload.length : 0;
+            event.commit();
+        }
+    }
+}
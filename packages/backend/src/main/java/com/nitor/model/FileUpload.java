@@ -46,12 +46,29 @@ public class FileUpload {
     @Column(name = "mime_type")
     private String mimeType;
 
-    @Column(name = "file_url")
+    @Column(name = "file_url", length = 1000)
     private String fileUrl;
 
     @Builder.Default
-    @Column(name = "upload_status", nullable = false)
-    private String uploadStatus = "COMPLETED"; // PENDING, COMPLETED, FAILED
+    @Enumerated(EnumType.STRING)
+    @Column(name = "upload_status", nullable = false, length = 20)
+    private UploadStatus uploadStatus = UploadStatus.COMPLETED;
+
+    // SHA-256 of the contents (hex); uploads with the same hash share one object
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "variant_status", nullable = false, length = 20)
+    private VariantStatus variantStatus = VariantStatus.NONE;
+
+    // Deadline for a presigned upload to be completed
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
 
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -60,4 +77,26 @@ public class FileUpload {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", insertable = false, updatable = false)
     private User user;
+
+    /**
+     * PENDING -> COMPLETED or FAILED
+     *
+     * Presigned uploads stay PENDING until the client confirms them; streamed
+     * uploads are PENDING while the body is being transferred.
+     */
+    public enum UploadStatus {
+        PENDING,
+        COMPLETED,
+        FAILED
+    }
+
+    /**
+     * Thumbnail variants, generated in the background for images
+     */
+    public enum VariantStatus {
+        NONE,
+        PENDING,
+        READY,
+        FAILED
+    }
 }
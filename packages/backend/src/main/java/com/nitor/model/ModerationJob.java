@@ -0,0 +1,88 @@
+package com.nitor.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A bulk moderation job and its progress
+ */
+@Entity
+@Table(name = "moderation_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModerationJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "admin_id")
+    private UUID adminId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private Action action;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(columnDefinition = "TEXT")
+    private String reason;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    // Known up front for id lists, counted when the job starts for filters
+    @Column(name = "total_items")
+    private Long totalItems;
+
+    @Builder.Default
+    @Column(name = "processed_items", nullable = false)
+    private Long processedItems = 0L;
+
+    // Items actually changed (already removed or already in the target state are skipped)
+    @Builder.Default
+    @Column(name = "affected_items", nullable = false)
+    private Long affectedItems = 0L;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    // Set when the job starts and on every progress update; a stale one means the runner is gone
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum Action {
+        REMOVE_CONTENT,
+        DEACTIVATE_USERS,
+        ACTIVATE_USERS
+    }
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+}
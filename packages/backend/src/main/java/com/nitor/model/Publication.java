@@ -5,8 +5,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,22 +29,35 @@ public class Publication {
     @JoinColumn(name = "user_id", nullable = false)
     private Profile user;
 
-    @Column(nullable = false)
+    @Column(nullable = false, length = 500)
     private String title;
 
-    @Column(nullable = false)
-    private String publisher;
+    @Column(columnDefinition = "TEXT[]", nullable = false)
+    private List<String> authors;
+
+    private String journal;
+
+    private String conference;
 
     @Column(name = "publication_date")
     private LocalDate publicationDate;
 
+    private String doi;
+
+    @Column(length = 500)
     private String url;
 
-    @Column(columnDefinition = "TEXT")
-    private String description;
+    @Column(name = "abstract", columnDefinition = "TEXT")
+    private String abstractText;
 
-    @Column(columnDefinition = "TEXT[]")
-    private List<String> authors;
+    @Column(name = "citation_count")
+    @Builder.Default
+    private Integer citationCount = 0;
 
-    private String doi;
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 }
@@ -0,0 +1,112 @@
+package com.nitor.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * A BibTeX/RIS publication import and its progress
+ */
+@Entity
+@Table(name = "publication_import_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PublicationImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Format format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    // Size of the uploaded file; processedBytes / totalBytes is the progress
+    @Builder.Default
+    @Column(name = "total_bytes", nullable = false)
+    private Long totalBytes = 0L;
+
+    @Builder.Default
+    @Column(name = "processed_bytes", nullable = false)
+    private Long processedBytes = 0L;
+
+    @Builder.Default
+    @Column(name = "processed_entries", nullable = false)
+    private Long processedEntries = 0L;
+
+    @Builder.Default
+    @Column(name = "imported_entries", nullable = false)
+    private Long importedEntries = 0L;
+
+    // Same DOI (or, without a DOI, same title) as an existing publication or an earlier entry
+    @Builder.Default
+    @Column(name = "duplicate_entries", nullable = false)
+    private Long duplicateEntries = 0L;
+
+    // Unparseable, or missing a title or authors
+    @Builder.Default
+    @Column(name = "invalid_entries", nullable = false)
+    private Long invalidEntries = 0L;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    // Set when the job starts and on every progress update; a stale one means the runner is gone
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum Format {
+        BIBTEX,
+        RIS;
+
+        /**
+         * Format from a file name extension (.bib, .bibtex, .ris), or null
+         */
+        public static Format fromFileName(String fileName) {
+            if (fileName == null) {
+                return null;
+            }
+            String name = fileName.toLowerCase(Locale.ROOT);
+            if (name.endsWith(".bib") || name.endsWith(".bibtex")) {
+                return BIBTEX;
+            }
+            return name.endsWith(".ris") ? RIS : null;
+        }
+    }
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -25,8 +25,12 @@ public class RefreshToken {
     @Column(name = "user_id", nullable = false)
     private UUID userId;
 
-    @Column(nullable = false, unique = true, length = 512)
-    private String token;
+    // SHA-256 of the token, the token itself is never persisted
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(name = "device_info", length = 255)
+    private String deviceInfo;
 
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
@@ -35,6 +39,9 @@ public class RefreshToken {
     @Column(name = "revoked", nullable = false)
     private Boolean revoked = false;
 
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
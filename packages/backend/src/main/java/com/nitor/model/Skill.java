@@ -5,7 +5,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
@@ -27,9 +30,19 @@ public class Skill {
     @Column(nullable = false)
     private String name;
 
+    @Column(length = 50)
+    private String category;
+
     @Column(name = "proficiency_level")
     private String proficiencyLevel; // Beginner, Intermediate, Advanced, Expert
 
     @Column(name = "years_of_experience")
     private Integer yearsOfExperience;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 }
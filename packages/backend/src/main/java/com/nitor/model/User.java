@@ -50,6 +50,10 @@ public class User {
     @Column
     private LocalDateTime lastLogin;
 
+    // Access tokens issued before this instant are rejected (token epoch)
+    @Column
+    private LocalDateTime tokensValidAfter;
+
     @Column(nullable = false)
     @Builder.Default
     private Boolean isActive = true;
@@ -19,9 +19,11 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, UUID> {
 
     Page<AuditLog> findByAction(String action, Pageable pageable);
 
+    // Paged: a long range can hold millions of rows (use AuditLogExportService for full exports)
     @Query("SELECT a FROM AuditLog a WHERE a.createdAt >= :startDate AND a.createdAt <= :endDate ORDER BY a.createdAt DESC")
-    List<AuditLog> findByDateRange(@Param("startDate") LocalDateTime startDate,
-                                    @Param("endDate") LocalDateTime endDate);
+    Page<AuditLog> findByDateRange(@Param("startDate") LocalDateTime startDate,
+                                    @Param("endDate") LocalDateTime endDate,
+                                    Pageable pageable);
 
     @Query("SELECT a FROM AuditLog a WHERE a.userId = :userId AND a.action = :action ORDER BY a.createdAt DESC")
     List<AuditLog> findByUserIdAndAction(@Param("userId") UUID userId,
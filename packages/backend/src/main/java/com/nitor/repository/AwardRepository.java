@@ -0,0 +1,17 @@
+package com.nitor.repository;
+
+import com.nitor.model.Award;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AwardRepository extends JpaRepository<Award, UUID> {
+
+    @Query("SELECT a FROM Award a WHERE a.user.id = :userId ORDER BY a.issueDate DESC NULLS LAST")
+    List<Award> findCVSection(@Param("userId") UUID userId);
+}
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,4 +24,7 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
     Page<Comment> findRootCommentsByContentId(@Param("contentId") UUID contentId, Pageable pageable);
 
     Long countByContentAndIsDeletedFalse(Content content);
+
+    @Query("SELECT c FROM Comment c WHERE c.parentComment.id IN :parentIds AND c.isDeleted = false ORDER BY c.createdAt DESC")
+    List<Comment> findRepliesByParentIds(@Param("parentIds") Collection<UUID> parentIds);
 }
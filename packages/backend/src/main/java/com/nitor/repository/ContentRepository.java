@@ -4,11 +4,18 @@ import com.nitor.model.Content;
 import com.nitor.model.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -21,6 +28,17 @@ public interface ContentRepository extends JpaRepository<Content, UUID> {
     @Query("SELECT c FROM Content c WHERE c.isDeleted = false ORDER BY c.createdAt DESC")
     Page<Content> findAllActiveContent(Pageable pageable);
 
+    // Conditional GET: timestamp and author id only, no content body or author entity
+    @Query("SELECT c.id AS id, c.updatedAt AS updatedAt, c.author.id AS authorId " +
+           "FROM Content c WHERE c.id = :id AND c.isDeleted = false")
+    Optional<ContentVersion> findVersionById(@Param("id") UUID id);
+
+    // Same page and order as findAllActiveContent
+    @Query(value = "SELECT c.id AS id, c.updatedAt AS updatedAt, c.author.id AS authorId " +
+                   "FROM Content c WHERE c.isDeleted = false ORDER BY c.createdAt DESC",
+           countQuery = "SELECT COUNT(c) FROM Content c WHERE c.isDeleted = false")
+    Page<ContentVersion> findActiveContentVersions(Pageable pageable);
+
     @Query("SELECT c FROM Content c WHERE c.author = :author AND c.type = :type AND c.isDeleted = false ORDER BY c.createdAt DESC")
     Page<Content> findByAuthorAndType(@Param("author") Profile author, @Param("type") Content.ContentType type, Pageable pageable);
 
@@ -35,4 +53,37 @@ public interface ContentRepository extends JpaRepository<Content, UUID> {
 
     @Query("SELECT c FROM Content c WHERE c.author IN :authors AND c.isDeleted = false ORDER BY c.createdAt DESC")
     Page<Content> findByAuthorIn(@Param("authors") java.util.List<Profile> authors, Pageable pageable);
+
+    long countByIsDeletedFalse();
+
+    // Bulk moderation: keyset pages of matching ids (ordered by id, after the last processed id)
+    @Query("SELECT c.id FROM Content c WHERE c.isDeleted = false AND c.id > :afterId " +
+           "AND (:authorId IS NULL OR c.author.id = :authorId) " +
+           "AND c.createdAt >= :from AND c.createdAt < :to ORDER BY c.id")
+    List<UUID> findIdsForModeration(@Param("afterId") UUID afterId, @Param("authorId") UUID authorId,
+                                    @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                    Pageable pageable);
+
+    @Query("SELECT COUNT(c) FROM Content c WHERE c.isDeleted = false " +
+           "AND (:authorId IS NULL OR c.author.id = :authorId) " +
+           "AND c.createdAt >= :from AND c.createdAt < :to")
+    long countForModeration(@Param("authorId") UUID authorId,
+                            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Ids softDeleteByIdIn would change, locked until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id FROM Content c WHERE c.id IN :ids AND c.isDeleted = false")
+    List<UUID> lockNotDeletedIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("UPDATE Content c SET c.isDeleted = true, c.updatedAt = CURRENT_TIMESTAMP WHERE c.id IN :ids AND c.isDeleted = false")
+    int softDeleteByIdIn(@Param("ids") Collection<UUID> ids);
+
+    interface ContentVersion {
+        UUID getId();
+
+        LocalDateTime getUpdatedAt();
+
+        UUID getAuthorId();
+    }
 }
@@ -3,6 +3,8 @@ package com.nitor.repository;
 import com.nitor.model.Education;
 import com.nitor.model.Profile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +14,7 @@ import java.util.UUID;
 public interface EducationRepository extends JpaRepository<Education, UUID> {
 
     List<Education> findByUserOrderByStartDateDesc(Profile user);
+
+    @Query("SELECT e FROM Education e WHERE e.user.id = :userId ORDER BY e.startDate DESC")
+    List<Education> findCVSection(@Param("userId") UUID userId);
 }
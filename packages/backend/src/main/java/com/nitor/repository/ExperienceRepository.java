@@ -3,6 +3,8 @@ package com.nitor.repository;
 import com.nitor.model.Experience;
 import com.nitor.model.Profile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +14,7 @@ import java.util.UUID;
 public interface ExperienceRepository extends JpaRepository<Experience, UUID> {
 
     List<Experience> findByUserOrderByStartDateDesc(Profile user);
+
+    @Query("SELECT e FROM Experience e WHERE e.user.id = :userId ORDER BY e.startDate DESC")
+    List<Experience> findCVSection(@Param("userId") UUID userId);
 }
@@ -0,0 +1,57 @@
+package com.nitor.repository;
+
+import com.nitor.model.FileUpload;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface FileUploadRepository extends JpaRepository<FileUpload, UUID> {
+
+    Optional<FileUpload> findByIdAndUserId(UUID id, UUID userId);
+
+    List<FileUpload> findByUploadStatusAndExpiresAtBefore(FileUpload.UploadStatus status, LocalDateTime cutoff,
+                                                          Pageable pageable);
+
+    // Earliest other completed upload with the same contents
+    Optional<FileUpload> findFirstByContentHashAndUploadStatusAndIdNotOrderByCreatedAtAsc(
+            String contentHash, FileUpload.UploadStatus status, UUID id);
+
+    // Earliest other completed upload with the same contents and type (whose object is reused)
+    Optional<FileUpload> findFirstByContentHashAndMimeTypeAndUploadStatusAndIdNotOrderByCreatedAtAsc(
+            String contentHash, String mimeType, FileUpload.UploadStatus status, UUID id);
+
+    // Completed images still waiting for their variants
+    @Query("SELECT f.id FROM FileUpload f WHERE f.uploadStatus = com.nitor.model.FileUpload$UploadStatus.COMPLETED " +
+           "AND f.variantStatus = com.nitor.model.FileUpload$VariantStatus.PENDING AND f.completedAt < :cutoff")
+    List<UUID> findIdsAwaitingVariants(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // Uploads at these URLs whose variants are ready, for serving thumbnails in their place
+    @Query("SELECT DISTINCT f.fileUrl AS fileUrl, f.contentHash AS contentHash FROM FileUpload f " +
+           "WHERE f.fileUrl IN :fileUrls AND f.variantStatus = com.nitor.model.FileUpload$VariantStatus.READY")
+    List<VariantSource> findVariantSources(@Param("fileUrls") Collection<String> fileUrls);
+
+    // Variants are stored per content hash, so every copy shares the result
+    @Transactional
+    @Modifying
+    @Query("UPDATE FileUpload f SET f.variantStatus = :status WHERE f.contentHash = :contentHash " +
+           "AND f.variantStatus = com.nitor.model.FileUpload$VariantStatus.PENDING")
+    int updateVariantStatus(@Param("contentHash") String contentHash,
+                            @Param("status") FileUpload.VariantStatus status);
+
+    interface VariantSource {
+        String getFileUrl();
+
+        String getContentHash();
+    }
+}
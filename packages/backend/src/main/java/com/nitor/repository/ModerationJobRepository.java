@@ -0,0 +1,70 @@
+package com.nitor.repository;
+
+import com.nitor.model.ModerationJob;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+@Repository
+public interface ModerationJobRepository extends JpaRepository<ModerationJob, UUID> {
+
+    Page<ModerationJob> findAllByOrderByCreatedAtDesc(Pageable pageable);
+
+    @Query("SELECT j.status FROM ModerationJob j WHERE j.id = :id")
+    ModerationJob.Status findStatusById(@Param("id") UUID id);
+
+    @Modifying
+    @Query("UPDATE ModerationJob j SET j.processedItems = j.processedItems + :processed, " +
+           "j.affectedItems = j.affectedItems + :affected, j.heartbeatAt = :now WHERE j.id = :id")
+    void addProgress(@Param("id") UUID id, @Param("processed") long processed, @Param("affected") long affected,
+                     @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ModerationJob j SET j.status = com.nitor.model.ModerationJob$Status.RUNNING, " +
+           "j.totalItems = :total, j.startedAt = :now, j.heartbeatAt = :now " +
+           "WHERE j.id = :id AND j.status = com.nitor.model.ModerationJob$Status.PENDING")
+    int markRunning(@Param("id") UUID id, @Param("total") long totalItems, @Param("now") LocalDateTime now);
+
+    // Only from RUNNING, so a job cancelled meanwhile stays cancelled
+    @Transactional
+    @Modifying
+    @Query("UPDATE ModerationJob j SET j.status = :status, j.errorMessage = :message, j.finishedAt = :now " +
+           "WHERE j.id = :id AND j.status = com.nitor.model.ModerationJob$Status.RUNNING")
+    int finish(@Param("id") UUID id,
+               @Param("status") ModerationJob.Status status,
+               @Param("message") String errorMessage,
+               @Param("now") LocalDateTime now);
+
+    // Only touches the status, so it never overwrites progress written by the runner
+    @Transactional
+    @Modifying
+    @Query("UPDATE ModerationJob j SET j.status = com.nitor.model.ModerationJob$Status.CANCELLED, " +
+           "j.finishedAt = :now WHERE j.id = :id AND j.status IN :statuses")
+    int cancel(@Param("id") UUID id,
+               @Param("statuses") Collection<ModerationJob.Status> statuses,
+               @Param("now") LocalDateTime now);
+
+    /**
+     * Fail unfinished jobs without a heartbeat (or, not started, created) since staleBefore;
+     * jobs other instances are still running keep theirs fresh. They are not resumed.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ModerationJob j SET j.status = com.nitor.model.ModerationJob$Status.FAILED, " +
+           "j.errorMessage = :message, j.finishedAt = :now " +
+           "WHERE j.status IN :statuses AND COALESCE(j.heartbeatAt, j.createdAt) < :staleBefore")
+    int failStale(@Param("statuses") Collection<ModerationJob.Status> statuses,
+                  @Param("staleBefore") LocalDateTime staleBefore,
+                  @Param("message") String message,
+                  @Param("now") LocalDateTime now);
+}
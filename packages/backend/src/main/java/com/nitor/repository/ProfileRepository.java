@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -35,4 +36,60 @@ public interface ProfileRepository extends JpaRepository<Profile, UUID> {
     Optional<Profile> findByUserId(UUID userId);
 
     long countByVerifiedTrue();
+
+    // Conditional GET: the profile row and its user's timestamps only
+    @Query("SELECT p.updatedAt AS updatedAt, u.updatedAt AS userUpdatedAt " +
+            "FROM Profile p JOIN p.user u WHERE p.id = :id")
+    Optional<ProfileVersion> findVersionById(@Param("id") UUID id);
+
+    // Conditional GET for the CV: row count and latest change of each section, in one round trip
+    @Query("SELECT p.updatedAt AS updatedAt, " +
+            "(SELECT COUNT(e) FROM Education e WHERE e.user = p) AS educationCount, " +
+            "(SELECT MAX(e.updatedAt) FROM Education e WHERE e.user = p) AS educationUpdatedAt, " +
+            "(SELECT COUNT(x) FROM Experience x WHERE x.user = p) AS experienceCount, " +
+            "(SELECT MAX(x.updatedAt) FROM Experience x WHERE x.user = p) AS experienceUpdatedAt, " +
+            "(SELECT COUNT(r) FROM Project r WHERE r.user = p) AS projectCount, " +
+            "(SELECT MAX(r.updatedAt) FROM Project r WHERE r.user = p) AS projectUpdatedAt, " +
+            "(SELECT COUNT(b) FROM Publication b WHERE b.user = p) AS publicationCount, " +
+            "(SELECT MAX(b.updatedAt) FROM Publication b WHERE b.user = p) AS publicationUpdatedAt, " +
+            "(SELECT COUNT(s) FROM Skill s WHERE s.user = p) AS skillCount, " +
+            "(SELECT MAX(s.updatedAt) FROM Skill s WHERE s.user = p) AS skillUpdatedAt, " +
+            "(SELECT COUNT(a) FROM Award a WHERE a.user = p) AS awardCount, " +
+            "(SELECT MAX(a.updatedAt) FROM Award a WHERE a.user = p) AS awardUpdatedAt " +
+            "FROM Profile p WHERE p.id = :id")
+    Optional<CVVersion> findCVVersionById(@Param("id") UUID id);
+
+    interface ProfileVersion {
+        LocalDateTime getUpdatedAt();
+
+        LocalDateTime getUserUpdatedAt();
+    }
+
+    interface CVVersion {
+        LocalDateTime getUpdatedAt();
+
+        Long getEducationCount();
+
+        LocalDateTime getEducationUpdatedAt();
+
+        Long getExperienceCount();
+
+        LocalDateTime getExperienceUpdatedAt();
+
+        Long getProjectCount();
+
+        LocalDateTime getProjectUpdatedAt();
+
+        Long getPublicationCount();
+
+        LocalDateTime getPublicationUpdatedAt();
+
+        Long getSkillCount();
+
+        LocalDateTime getSkillUpdatedAt();
+
+        Long getAwardCount();
+
+        LocalDateTime getAwardUpdatedAt();
+    }
 }
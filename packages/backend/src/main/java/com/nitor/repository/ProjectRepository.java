@@ -3,6 +3,8 @@ package com.nitor.repository;
 import com.nitor.model.Profile;
 import com.nitor.model.Project;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +14,9 @@ import java.util.UUID;
 public interface ProjectRepository extends JpaRepository<Project, UUID> {
 
     List<Project> findByUserOrderByStartDateDesc(Profile user);
+
+    // Technologies fetched in the same query so the result can be mapped outside a transaction
+    @Query("SELECT p FROM Project p LEFT JOIN FETCH p.technologies WHERE p.user.id = :userId " +
+           "ORDER BY p.startDate DESC NULLS LAST")
+    List<Project> findCVSection(@Param("userId") UUID userId);
 }
@@ -0,0 +1,59 @@
+package com.nitor.repository;
+
+import com.nitor.model.PublicationImportJob;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PublicationImportJobRepository extends JpaRepository<PublicationImportJob, UUID> {
+
+    Optional<PublicationImportJob> findByIdAndUserId(UUID id, UUID userId);
+
+    Page<PublicationImportJob> findByUserIdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PublicationImportJob j SET j.status = com.nitor.model.PublicationImportJob$Status.RUNNING, " +
+           "j.startedAt = :now, j.heartbeatAt = :now " +
+           "WHERE j.id = :id AND j.status = com.nitor.model.PublicationImportJob$Status.PENDING")
+    int markRunning(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE PublicationImportJob j SET j.processedEntries = j.processedEntries + :processed, " +
+           "j.importedEntries = j.importedEntries + :imported, " +
+           "j.duplicateEntries = j.duplicateEntries + :duplicates, " +
+           "j.invalidEntries = j.invalidEntries + :invalid, " +
+           "j.processedBytes = :processedBytes, j.heartbeatAt = :now WHERE j.id = :id")
+    void addProgress(@Param("id") UUID id,
+                     @Param("processed") long processed,
+                     @Param("imported") long imported,
+                     @Param("duplicates") long duplicates,
+                     @Param("invalid") long invalid,
+                     @Param("processedBytes") long processedBytes,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * Fail unfinished imports without a heartbeat (or, not started, created) since staleBefore;
+     * their uploaded file went with the instance. Imports still running elsewhere keep theirs fresh.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE PublicationImportJob j SET j.status = com.nitor.model.PublicationImportJob$Status.FAILED, " +
+           "j.errorMessage = :message, j.finishedAt = :now " +
+           "WHERE j.status IN :statuses AND COALESCE(j.heartbeatAt, j.createdAt) < :staleBefore")
+    int failStale(@Param("statuses") Collection<PublicationImportJob.Status> statuses,
+                  @Param("staleBefore") LocalDateTime staleBefore,
+                  @Param("message") String message,
+                  @Param("now") LocalDateTime now);
+}
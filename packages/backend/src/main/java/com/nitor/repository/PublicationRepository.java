@@ -0,0 +1,17 @@
+package com.nitor.repository;
+
+import com.nitor.model.Publication;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PublicationRepository extends JpaRepository<Publication, UUID> {
+
+    @Query("SELECT p FROM Publication p WHERE p.user.id = :userId ORDER BY p.publicationDate DESC NULLS LAST")
+    List<Publication> findCVSection(@Param("userId") UUID userId);
+}
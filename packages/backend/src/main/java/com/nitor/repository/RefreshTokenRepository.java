@@ -6,32 +6,28 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.Collection;
 import java.util.UUID;
 
+/**
+ * Audit trail of issued refresh tokens (the live tokens are kept in Redis)
+ */
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
 
-    Optional<RefreshToken> findByToken(String token);
-
-    Optional<RefreshToken> findByTokenAndRevokedFalse(String token);
-
-    @Query("SELECT rt FROM RefreshToken rt WHERE rt.userId = :userId AND rt.revoked = false AND rt.expiresAt > :now ORDER BY rt.createdAt DESC")
-    Optional<RefreshToken> findValidTokenByUserId(@Param("userId") UUID userId, @Param("now") LocalDateTime now);
-
     @Modifying
-    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.userId = :userId")
-    void revokeAllUserTokens(@Param("userId") UUID userId);
-
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true, rt.revokedAt = :now WHERE rt.tokenHash IN :tokenHashes AND rt.revoked = false")
+    int markRevoked(@Param("tokenHashes") Collection<String> tokenHashes, @Param("now") LocalDateTime now);
+
+    /**
+     * Delete one batch of audit rows that expired before the cutoff
+     * (each batch commits on its own)
+     */
+    @Transactional
     @Modifying
-    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.token = :token")
-    void revokeToken(@Param("token") String token);
-
-    @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiresAt < :now OR rt.revoked = true")
-    void deleteExpiredAndRevokedTokens(@Param("now") LocalDateTime now);
-
-    boolean existsByTokenAndRevokedFalse(String token);
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN (SELECT id FROM refresh_tokens WHERE expires_at < :cutoff LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 }
@@ -0,0 +1,17 @@
+package com.nitor.repository;
+
+import com.nitor.model.Skill;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SkillRepository extends JpaRepository<Skill, UUID> {
+
+    @Query("SELECT s FROM Skill s WHERE s.user.id = :userId ORDER BY s.category, s.name")
+    List<Skill> findCVSection(@Param("userId") UUID userId);
+}
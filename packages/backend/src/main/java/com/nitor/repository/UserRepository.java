@@ -1,9 +1,18 @@
 package com.nitor.repository;
 
 import com.nitor.model.User;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,4 +30,34 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     long countByIsActiveTrue();
 
     java.util.List<User> findByEmailContainingIgnoreCase(String query);
+
+    // Bulk moderation: keyset pages of matching ids, admin accounts are never included
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId AND u.createdAt >= :from AND u.createdAt < :to " +
+           "AND u.email NOT LIKE '%admin%' ORDER BY u.id")
+    List<UUID> findIdsForModeration(@Param("afterId") UUID afterId,
+                                    @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                    Pageable pageable);
+
+    @Query("SELECT COUNT(u) FROM User u WHERE u.createdAt >= :from AND u.createdAt < :to " +
+           "AND u.email NOT LIKE '%admin%'")
+    long countForModeration(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Ids deactivateByIdIn / activateByIdIn would change, locked until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids AND u.isActive = true AND u.email NOT LIKE '%admin%'")
+    List<UUID> lockActiveIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids AND u.isActive = false")
+    List<UUID> lockInactiveIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Deactivation also moves the token epoch, revoking outstanding access tokens
+    @Modifying
+    @Query("UPDATE User u SET u.isActive = false, u.tokensValidAfter = :now " +
+           "WHERE u.id IN :ids AND u.isActive = true AND u.email NOT LIKE '%admin%'")
+    int deactivateByIdIn(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE User u SET u.isActive = true WHERE u.id IN :ids AND u.isActive = false")
+    int activateByIdIn(@Param("ids") Collection<UUID> ids);
 }
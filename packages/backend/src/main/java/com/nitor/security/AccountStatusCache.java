@@ -0,0 +1,111 @@
+package com.nitor.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nitor.model.User;
+import com.nitor.repository.UserRepository;
+import com.nitor.util.FlightEvents;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Small cache of per-user account state used to accept or reject access tokens
+ *
+ * A token is accepted while the account is active and the token was issued
+ * after the user's token epoch ({@link User#getTokensValidAfter()}). Moving the
+ * epoch forward revokes every token issued before it. Entries expire after a
+ * short TTL so changes made on other instances are picked up quickly.
+ */
+@Component
+@Slf4j
+public class AccountStatusCache {
+
+    private final UserRepository userRepository;
+    private final Cache<UUID, AccountStatus> statusCache;
+
+    public AccountStatusCache(
+            UserRepository userRepository,
+            @Value("${app.jwt.account-status-cache.size:50000}") long cacheSize,
+            @Value("${app.jwt.account-status-cache.ttl:PT1M}") Duration ttl,
+            MeterRegistry meterRegistry) {
+
+        this.userRepository = userRepository;
+        this.statusCache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, statusCache, "accountStatus");
+    }
+
+    /**
+     * Check whether a token issued at the given time is still valid for the user
+     */
+    public boolean isTokenAccepted(UUID userId, Date issuedAt) {
+        FlightEvents.CacheLookupEvent event = FlightEvents.CacheLookupEvent.start("accountStatus", "User", 1);
+        AccountStatus status = statusCache.get(userId, id -> {
+            event.missed(1);
+            return loadStatus(id);
+        });
+        event.finish();
+
+        if (!status.exists() || !status.active()) {
+            return false;
+        }
+
+        return status.tokensValidAfter() == null
+                || issuedAt == null
+                || !issuedAt.toInstant().isBefore(status.tokensValidAfter()
+                        .atZone(ZoneId.systemDefault())
+                        .toInstant());
+    }
+
+    /**
+     * Revoke all tokens issued to the user so far
+     *
+     * Must be called before the user entity is saved.
+     */
+    public void revokeTokens(User user) {
+        user.setTokensValidAfter(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        evict(user.getId());
+    }
+
+    /**
+     * Drop the cached state for a user once the current transaction commits
+     */
+    public void evict(UUID userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    statusCache.invalidate(userId);
+                }
+            });
+        } else {
+            statusCache.invalidate(userId);
+        }
+    }
+
+    private AccountStatus loadStatus(UUID userId) {
+        log.debug("Loading account status for user: {}", userId);
+        return userRepository.findById(Objects.requireNonNull(userId))
+                .map(user -> new AccountStatus(true, user.getIsActive(), user.getTokensValidAfter()))
+                .orElse(new AccountStatus(false, false, null));
+    }
+
+    private record AccountStatus(boolean exists, boolean active, LocalDateTime tokensValidAfter) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.nitor.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * Authenticated principal built from verified JWT claims
+ *
+ * Carries the user ID from the token so controllers never have to look the
+ * user up by email. Still a {@link UserDetails}, so existing
+ * {@code @AuthenticationPrincipal UserDetails} parameters keep working.
+ */
+@Getter
+public class AuthenticatedUser implements UserDetails {
+
+    private static final Collection<? extends GrantedAuthority> USER_AUTHORITIES =
+            Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+
+    private final UUID userId;
+    private final String email;
+
+    public AuthenticatedUser(UUID userId, String email) {
+        this.userId = userId;
+        this.email = email;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return USER_AUTHORITIES;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -3,18 +3,22 @@ package com.nitor.security;
 import com.nitor.model.User;
 import com.nitor.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+@Slf4j
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -34,4 +38,25 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .disabled(!user.getEmailVerified())
                 .build();
     }
+
+    /**
+     * Store a re-hashed password after a successful login
+     * (called when the stored hash was made with an outdated BCrypt cost)
+     *
+     * Runs in its own transaction because login itself is read-only.
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        userRepository.findByEmail(userDetails.getUsername()).ifPresent(user -> {
+            user.setPasswordHash(newPassword);
+            userRepository.save(user);
+            log.info("Upgraded password hash for user: {}", user.getId());
+        });
+
+        return org.springframework.security.core.userdetails.User
+                .withUserDetails(userDetails)
+                .password(newPassword)
+                .build();
+    }
 }
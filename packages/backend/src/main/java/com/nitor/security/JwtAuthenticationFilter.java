@@ -1,5 +1,7 @@
 package com.nitor.security;
 
+import com.nitor.util.ServerTiming;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,13 +11,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.UUID;
 
 @Slf4j
 @Component
@@ -23,7 +25,7 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private final AccountStatusCache accountStatusCache;
 
     @Override
     protected void doFilterInternal(
@@ -32,30 +34,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
 
+        long timingStart = ServerTiming.start();
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
-                String username = jwtUtil.extractUsername(jwt);
+            // Single verification per request (cached per token until it expires)
+            Claims claims = StringUtils.hasText(jwt) ? jwtUtil.verifyToken(jwt) : null;
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (claims != null) {
+                // Build the principal from the verified claims, no user lookup needed
+                UUID userId = UUID.fromString(claims.get("userId", String.class));
+                String username = claims.getSubject();
 
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                if (accountStatusCache.isTokenAccepted(userId, claims.getIssuedAt())) {
+                    AuthenticatedUser principal = new AuthenticatedUser(userId, username);
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(
-                                    userDetails,
+                                    principal,
                                     null,
-                                    userDetails.getAuthorities()
+                                    principal.getAuthorities()
                             );
 
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authentication);
 
                     log.debug("Set authentication for user: {}", username);
+                } else {
+                    log.debug("Rejected revoked token for user: {}", userId);
                 }
             }
         } catch (Exception e) {
             log.error("Cannot set user authentication: {}", e.getMessage());
+        } finally {
+            ServerTiming.stop(ServerTiming.Phase.AUTH, timingStart);
         }
 
         filterChain.doFilter(request, response);
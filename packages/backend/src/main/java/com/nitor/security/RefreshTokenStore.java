@@ -0,0 +1,150 @@
+package com.nitor.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Redis store for refresh token sessions
+ *
+ * Layout:
+ * - refresh-token:{hash}        hash {userId, deviceId, createdAt}, TTL = token lifetime
+ * - refresh-tokens:user:{id}    hash {deviceId -> token hash}, TTL refreshed on every write
+ *
+ * Only the SHA-256 of a token is stored. Expired tokens disappear through
+ * Redis TTLs, so no cleanup job is needed; a user entry may point at an
+ * already expired token, which is simply skipped.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@SuppressWarnings("null")
+public class RefreshTokenStore {
+
+    private static final String TOKEN_KEY_PREFIX = "refresh-token:";
+    private static final String USER_KEY_PREFIX = "refresh-tokens:user:";
+
+    private static final String FIELD_USER_ID = "userId";
+    private static final String FIELD_DEVICE_ID = "deviceId";
+    private static final String FIELD_CREATED_AT = "createdAt";
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Store a new session under its token hash
+     */
+    public void save(String tokenHash, RefreshSession session, Duration ttl) {
+        String tokenKey = tokenKey(tokenHash);
+        String userKey = userKey(session.userId());
+        Map<String, String> fields = Map.of(
+                FIELD_USER_ID, session.userId().toString(),
+                FIELD_DEVICE_ID, session.deviceId(),
+                FIELD_CREATED_AT, session.createdAt().toString());
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.opsForHash().putAll(tokenKey, fields);
+                ops.expire(tokenKey, ttl);
+                ops.opsForHash().put(userKey, session.deviceId(), tokenHash);
+                ops.expire(userKey, ttl);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Look up a session without consuming it
+     */
+    public Optional<RefreshSession> find(String tokenHash) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(tokenKey(tokenHash));
+        return fields.isEmpty() ? Optional.empty() : Optional.of(toSession(fields));
+    }
+
+    /**
+     * Atomically take a session out of the store (single use, for rotation)
+     *
+     * When two requests present the same token only the one whose DEL
+     * succeeds gets the session, so a replayed token cannot be rotated twice.
+     */
+    public Optional<RefreshSession> consume(String tokenHash) {
+        Optional<RefreshSession> session = find(tokenHash);
+        if (session.isEmpty() || !Boolean.TRUE.equals(redisTemplate.delete(tokenKey(tokenHash)))) {
+            return Optional.empty();
+        }
+
+        removeFromUser(session.get(), tokenHash);
+        return session;
+    }
+
+    /**
+     * Token hash of the current session of a user on a device, if any
+     */
+    public Optional<String> findTokenHash(UUID userId, String deviceId) {
+        Object tokenHash = redisTemplate.opsForHash().get(userKey(userId), deviceId);
+        return Optional.ofNullable(tokenHash).map(Object::toString);
+    }
+
+    /**
+     * Delete every session of a user
+     *
+     * @return Hashes of the removed tokens
+     */
+    public List<String> revokeAll(UUID userId) {
+        String userKey = userKey(userId);
+        List<String> tokenHashes = new ArrayList<>();
+        for (Object tokenHash : redisTemplate.opsForHash().values(userKey)) {
+            tokenHashes.add(tokenHash.toString());
+        }
+
+        List<String> keys = new ArrayList<>(tokenHashes.size() + 1);
+        tokenHashes.forEach(tokenHash -> keys.add(tokenKey(tokenHash)));
+        keys.add(userKey);
+        redisTemplate.delete(keys);
+
+        log.debug("Removed {} refresh token sessions for user: {}", tokenHashes.size(), userId);
+        return tokenHashes;
+    }
+
+    private void removeFromUser(RefreshSession session, String tokenHash) {
+        String userKey = userKey(session.userId());
+        // Only unlink the device if it still points at this token
+        if (tokenHash.equals(redisTemplate.opsForHash().get(userKey, session.deviceId()))) {
+            redisTemplate.opsForHash().delete(userKey, session.deviceId());
+        }
+    }
+
+    private RefreshSession toSession(Map<Object, Object> fields) {
+        return new RefreshSession(
+                UUID.fromString(fields.get(FIELD_USER_ID).toString()),
+                fields.get(FIELD_DEVICE_ID).toString(),
+                Instant.parse(fields.get(FIELD_CREATED_AT).toString()));
+    }
+
+    private static String tokenKey(String tokenHash) {
+        return TOKEN_KEY_PREFIX + tokenHash;
+    }
+
+    private static String userKey(UUID userId) {
+        return USER_KEY_PREFIX + userId;
+    }
+
+    /**
+     * A refresh token session: who it belongs to and which device holds it
+     */
+    public record RefreshSession(UUID userId, String deviceId, Instant createdAt) {
+    }
+}
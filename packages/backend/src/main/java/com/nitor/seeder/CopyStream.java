@@ -0,0 +1,125 @@
+package com.nitor.seeder;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Rows written to a table with PostgreSQL COPY, in text format
+ *
+ * Values are appended field by field and sent to the server in chunks, so a
+ * stream of any length needs only a small buffer. Nothing is visible until
+ * {@link #finish()}; closing an unfinished stream cancels the whole COPY.
+ * An interrupted thread fails at the next chunk it would send.
+ */
+final class CopyStream implements AutoCloseable {
+
+    private static final int FLUSH_SIZE = 256 * 1024;
+
+    private final String table;
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_SIZE + 4096);
+    private boolean rowStarted;
+    private boolean finished;
+
+    CopyStream(Connection connection, String table, String... columns) throws SQLException {
+        this.table = table;
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN";
+        this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+    }
+
+    CopyStream add(String value) {
+        separator();
+        if (value == null) {
+            buffer.append("\\N");
+            return this;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> buffer.append("\\\\");
+                case '\t' -> buffer.append("\\t");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                default -> buffer.append(c);
+            }
+        }
+        return this;
+    }
+
+    CopyStream add(UUID value) {
+        separator();
+        buffer.append(value != null ? value.toString() : "\\N");
+        return this;
+    }
+
+    CopyStream add(long value) {
+        separator();
+        buffer.append(value);
+        return this;
+    }
+
+    CopyStream add(boolean value) {
+        separator();
+        buffer.append(value ? 't' : 'f');
+        return this;
+    }
+
+    CopyStream add(LocalDateTime value) {
+        separator();
+        buffer.append(value != null ? value.toString() : "\\N");
+        return this;
+    }
+
+    void endRow() throws SQLException {
+        buffer.append('\n');
+        rowStarted = false;
+        if (buffer.length() >= FLUSH_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Send the remaining rows and complete the COPY
+     *
+     * @return Rows written
+     */
+    long finish() throws SQLException {
+        flush();
+        finished = true;
+        return copyIn.endCopy();
+    }
+
+    /**
+     * Abort the COPY unless it was finished, discarding the rows sent so far
+     */
+    @Override
+    public void close() throws SQLException {
+        if (!finished && copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+
+    private void separator() {
+        if (rowStarted) {
+            buffer.append('\t');
+        }
+        rowStarted = true;
+    }
+
+    private void flush() throws SQLException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new SQLException("COPY into " + table + " interrupted");
+        }
+        if (buffer.length() > 0) {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+}
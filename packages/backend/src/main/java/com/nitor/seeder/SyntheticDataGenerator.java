@@ -0,0 +1,578 @@
+package com.nitor.seeder;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Synthetic dataset at a configurable scale, for benchmarking
+ *
+ * Generates users and profiles, follows, posts, comments and endorsements
+ * with skewed distributions: a few accounts attract most follows and write
+ * most posts, most posts get a handful of reactions while a few get many,
+ * and post text follows a Zipf word distribution. Each table is loaded with
+ * COPY over several connections in parallel, one range of rows per
+ * connection.
+ *
+ * User and post ids are derived from their row number, so a partition can
+ * refer to rows written by another without sharing state, and the same seed
+ * and thread count reproduce the same dataset. User triggers (counters,
+ * updated_at) are disabled during the load and the counters recomputed in
+ * one pass at the end; this takes table locks, so run it against a database
+ * nothing else is using.
+ *
+ * Each partition commits on its own, so a failed load deletes the rows that
+ * were already committed before it rethrows; the next run then starts from
+ * an empty database again.
+ *
+ * Only runs with the 'synthetic' profile, and only on an empty database:
+ * spring.profiles.active=synthetic
+ */
+@Component
+@Profile("synthetic")
+@Slf4j
+@SuppressWarnings("null")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final String PASSWORD = "password123";
+
+    // Caps for the heavy-tailed degrees, so one row cannot dominate the load
+    private static final int MAX_FOLLOWS = 5000;
+    private static final int MAX_REACTIONS = 10000;
+
+    private static final List<String> TRIGGER_TABLES =
+            List.of("profiles", "content", "follows", "endorsements", "comments");
+
+    // Loaded tables, children first
+    private static final List<String> LOADED_TABLES =
+            List.of("comments", "endorsements", "follows", "content", "profiles", "users");
+
+    private static final long ABORT_TIMEOUT_SECONDS = 60;
+
+    private static final String[] FIRST_NAMES = {
+            "Ada", "Alan", "Amara", "Ana", "Chen", "Daniel", "Elena", "Fatima", "Grace", "Hiro",
+            "Ines", "Ivan", "Jamal", "Julia", "Kofi", "Lars", "Leila", "Lucas", "Maria", "Mei",
+            "Nadia", "Noah", "Olga", "Omar", "Priya", "Rafael", "Sara", "Tomas", "Yusuf", "Zoe" };
+
+    private static final String[] LAST_NAMES = {
+            "Anderson", "Becker", "Costa", "Dubois", "Eriksson", "Fischer", "Garcia", "Hansen",
+            "Ibrahim", "Jensen", "Kim", "Laitinen", "Martin", "Nakamura", "Nowak", "Okafor",
+            "Petrov", "Quinn", "Rossi", "Silva", "Tanaka", "Usman", "Virtanen", "Wang", "Yilmaz" };
+
+    private static final String[] DISCIPLINES = {
+            "Computer Science", "Biology", "Physics", "Medicine", "Chemistry", "Economics",
+            "Psychology", "Mathematics", "Neuroscience", "Sociology", "Linguistics", "Astrophysics",
+            "Genetics", "Philosophy", "History", "Marine Biology" };
+
+    private static final String[] INSTITUTIONS = {
+            "University of Helsinki", "Massachusetts Institute of Technology", "Stanford University",
+            "University of Oxford", "ETH Zurich", "University of Tokyo", "Sorbonne University",
+            "University of Cape Town", "National University of Singapore", "University of Toronto",
+            "Karolinska Institutet", "University of Melbourne", "Max Planck Institute", "Aalto University" };
+
+    private static final String[] TITLES = { "Dr.", "Professor", "Associate Professor", "Researcher",
+            "PhD Candidate", "Postdoctoral Fellow" };
+
+    // Ordered roughly by how common they should be in generated text
+    private static final String[] WORDS = {
+            "the", "of", "and", "in", "to", "a", "for", "with", "on", "our", "we", "is", "this",
+            "research", "study", "data", "results", "new", "paper", "analysis", "model", "findings",
+            "learning", "effect", "evidence", "method", "approach", "cell", "network", "climate",
+            "quantum", "neural", "protein", "gene", "energy", "brain", "cancer", "system", "theory",
+            "experiment", "sample", "population", "signal", "structure", "dynamics", "review",
+            "collaboration", "conference", "dataset", "framework", "simulation", "observation",
+            "hypothesis", "measurement", "statistical", "molecular", "sustainable", "algorithm",
+            "inference", "reproducibility", "microbiome", "entanglement", "photonic", "ecosystem",
+            "genome", "cognition", "policy", "inequality", "language", "galaxy", "catalyst" };
+
+    private static final String[] HASHTAGS = { "#Research", "#Science", "#AI", "#OpenScience",
+            "#Climate", "#Physics", "#Biology", "#Data", "#PhD", "#AcademicTwitter" };
+
+    private static final String[] USER_COLUMNS = { "id", "email", "password_hash", "email_verified",
+            "is_active", "created_at", "updated_at" };
+
+    private static final String[] PROFILE_COLUMNS = { "id", "full_name", "handle", "institution",
+            "academic_title", "bio", "discipline", "nitor_score", "verified", "onboarding_complete",
+            "followers_count", "following_count", "publications_count", "profile_visibility",
+            "created_at", "updated_at" };
+
+    private static final String[] CONTENT_COLUMNS = { "id", "author_id", "type", "body", "title",
+            "visibility", "likes_count", "endorsements_count", "comments_count", "reposts_count",
+            "views_count", "pinned", "is_deleted", "created_at", "updated_at" };
+
+    private static final String[] FOLLOW_COLUMNS = { "id", "follower_id", "following_id", "created_at" };
+
+    private static final String[] ENDORSEMENT_COLUMNS = { "id", "user_id", "content_id", "created_at" };
+
+    private static final String[] COMMENT_COLUMNS = { "id", "content_id", "parent_comment_id", "author_id",
+            "body", "likes_count", "is_deleted", "created_at", "updated_at" };
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    private final long users;
+    private final double followsPerUser;
+    private final double skew;
+    private final double postsPerUser;
+    private final double commentsPerPost;
+    private final double endorsementsPerPost;
+    private final int days;
+    private final int threads;
+    private final long seed;
+
+    // Fixed high bits of generated user and post ids
+    private final long userIdPrefix;
+    private final long contentIdPrefix;
+    private final long posts;
+    private final long windowStart;
+    private final long windowSeconds;
+
+    public SyntheticDataGenerator(
+            DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            PasswordEncoder passwordEncoder,
+            @Value("${app.synthetic.users:100000}") long users,
+            @Value("${app.synthetic.follows-per-user:40}") double followsPerUser,
+            @Value("${app.synthetic.skew:1.1}") double skew,
+            @Value("${app.synthetic.posts-per-user:10}") double postsPerUser,
+            @Value("${app.synthetic.comments-per-post:2}") double commentsPerPost,
+            @Value("${app.synthetic.endorsements-per-post:4}") double endorsementsPerPost,
+            @Value("${app.synthetic.days:365}") int days,
+            @Value("${app.synthetic.threads:4}") int threads,
+            @Value("${app.synthetic.seed:42}") long seed) {
+
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.users = users;
+        this.followsPerUser = followsPerUser;
+        this.skew = skew;
+        this.postsPerUser = postsPerUser;
+        this.commentsPerPost = commentsPerPost;
+        this.endorsementsPerPost = endorsementsPerPost;
+        this.days = days;
+        this.threads = Math.max(1, threads);
+        this.seed = seed;
+
+        SplittableRandom prefixes = new SplittableRandom(seed);
+        this.userIdPrefix = uuidHigh(prefixes.nextLong());
+        this.contentIdPrefix = uuidHigh(prefixes.nextLong());
+        this.posts = Math.round(users * postsPerUser);
+        this.windowSeconds = days * 86400L;
+        this.windowStart = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC) - windowSeconds;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("Database already contains data, skipping synthetic data generation");
+            return;
+        }
+
+        log.info("Generating synthetic dataset: {} users, {} posts, ~{} follows per user, "
+                + "~{} comments and ~{} endorsements per post, skew {}, {} days, {} threads",
+                users, posts, followsPerUser, commentsPerPost, endorsementsPerPost, skew, days, threads);
+        long start = System.nanoTime();
+
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        SplittableRandom seeds = new SplittableRandom(seed);
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "synthetic-copy-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long rows = 0;
+        try {
+            setUserTriggers(false);
+            try {
+                rows += load(executor, seeds, "users", USER_COLUMNS, users,
+                        (out, random, from, to) -> writeUsers(out, from, to, passwordHash));
+                rows += load(executor, seeds, "profiles", PROFILE_COLUMNS, users, this::writeProfiles);
+                rows += load(executor, seeds, "content", CONTENT_COLUMNS, posts, this::writeContent);
+                rows += load(executor, seeds, "follows", FOLLOW_COLUMNS, users, this::writeFollows);
+                rows += load(executor, seeds, "endorsements", ENDORSEMENT_COLUMNS, posts, this::writeEndorsements);
+                rows += load(executor, seeds, "comments", COMMENT_COLUMNS, posts, this::writeComments);
+                recountCounters();
+            } catch (SQLException | InterruptedException | RuntimeException e) {
+                // Still with triggers off, so the deletes do not touch counters
+                removePartialLoad(e);
+                throw e;
+            } finally {
+                setUserTriggers(true);
+            }
+            jdbcTemplate.execute("ANALYZE users, profiles, content, follows, endorsements, comments");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info("Synthetic dataset complete: {} rows in {} s (password for every user: {})",
+                rows, (System.nanoTime() - start) / 1_000_000_000, PASSWORD);
+    }
+
+    /**
+     * Writes rows [from, to) of one table partition
+     */
+    @FunctionalInterface
+    private interface PartitionWriter {
+        void write(CopyStream out, SplittableRandom random, long from, long to) throws SQLException;
+    }
+
+    /**
+     * COPY a table in one partition per thread, each over its own connection
+     * and in its own transaction
+     *
+     * If a partition fails, the others are interrupted and rolled back, and
+     * this waits for them to end, so nothing is committed after it throws.
+     * Partitions that had already committed stay; see removePartialLoad.
+     *
+     * @return Rows written
+     */
+    private long load(ExecutorService executor, SplittableRandom seeds, String table, String[] columns,
+            long rows, PartitionWriter writer) throws SQLException, InterruptedException {
+
+        long start = System.nanoTime();
+        List<Future<Long>> partitions = new ArrayList<>();
+        for (int partition = 0; partition < threads; partition++) {
+            long from = rows * partition / threads;
+            long to = rows * (partition + 1) / threads;
+            // Split on this thread, in order, so the data only depends on the seed
+            SplittableRandom random = seeds.split();
+            partitions.add(executor.submit(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    connection.setAutoCommit(false);
+                    try (CopyStream out = new CopyStream(connection, table, columns)) {
+                        writer.write(out, random, from, to);
+                        long copied = out.finish();
+                        connection.commit();
+                        return copied;
+                    } catch (SQLException | RuntimeException e) {
+                        connection.rollback();
+                        throw e;
+                    } finally {
+                        connection.setAutoCommit(true);
+                    }
+                }
+            }));
+        }
+
+        long written = 0;
+        try {
+            for (Future<Long> partition : partitions) {
+                written += partition.get();
+            }
+        } catch (ExecutionException | InterruptedException e) {
+            // The run is over: stop the other partitions and wait until they have rolled back
+            executor.shutdownNow();
+            if (!executor.awaitTermination(ABORT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Loading " + table + " failed and its other partitions did not stop "
+                        + "within " + ABORT_TIMEOUT_SECONDS + " s; clear " + LOADED_TABLES
+                        + " before running again", e);
+            }
+            if (e instanceof InterruptedException) {
+                throw (InterruptedException) e;
+            }
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new IllegalStateException("Loading " + table + " failed", e.getCause());
+        }
+
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("Loaded {} {} in {} ms ({} rows/s)", written, table, millis, written * 1000 / millis);
+        return written;
+    }
+
+    private void writeUsers(CopyStream out, long from, long to, String passwordHash) throws SQLException {
+        for (long i = from; i < to; i++) {
+            LocalDateTime createdAt = userCreatedAt(i);
+            out.add(userId(i))
+                    .add("user" + i + "@example.org")
+                    .add(passwordHash)
+                    .add(true)
+                    .add(true)
+                    .add(createdAt)
+                    .add(createdAt)
+                    .endRow();
+        }
+    }
+
+    private void writeProfiles(CopyStream out, SplittableRandom random, long from, long to) throws SQLException {
+        for (long i = from; i < to; i++) {
+            String discipline = pick(random, DISCIPLINES);
+            String institution = pick(random, INSTITUTIONS);
+            LocalDateTime createdAt = userCreatedAt(i);
+            out.add(userId(i))
+                    .add(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                            + LAST_NAMES[random.nextInt(LAST_NAMES.length)])
+                    .add("user" + i)
+                    .add(institution)
+                    .add(TITLES[random.nextInt(TITLES.length)])
+                    .add("Researcher in " + discipline + " at " + institution)
+                    .add(discipline)
+                    .add("0")
+                    .add(random.nextInt(20) == 0)
+                    .add(true)
+                    .add(0)
+                    .add(0)
+                    .add(0)
+                    .add("PUBLIC")
+                    .add(createdAt)
+                    .add(createdAt)
+                    .endRow();
+        }
+    }
+
+    private void writeContent(CopyStream out, SplittableRandom random, long from, long to) throws SQLException {
+        StringBuilder text = new StringBuilder();
+        for (long j = from; j < to; j++) {
+            boolean article = random.nextInt(10) == 0;
+            LocalDateTime createdAt = contentCreatedAt(j);
+            out.add(contentId(j))
+                    .add(userId(zipf(random, users, skew)))
+                    .add(article ? "ARTICLE" : "POST")
+                    .add(sentence(random, text, article ? 80 + random.nextInt(300) : 8 + random.nextInt(50)))
+                    .add(article ? sentence(random, text, 4 + random.nextInt(8)) : null)
+                    .add(random.nextInt(20) == 0 ? "CONNECTIONS_ONLY" : "PUBLIC")
+                    .add(0)
+                    .add(0)
+                    .add(0)
+                    .add(0)
+                    .add(degree(random, 40, 1_000_000))
+                    .add(false)
+                    .add(random.nextInt(100) == 0)
+                    .add(createdAt)
+                    .add(createdAt)
+                    .endRow();
+        }
+    }
+
+    private void writeFollows(CopyStream out, SplittableRandom random, long from, long to) throws SQLException {
+        Set<Long> following = new HashSet<>();
+        for (long i = from; i < to; i++) {
+            int count = degree(random, followsPerUser, Math.min(users - 1, MAX_FOLLOWS));
+            following.clear();
+            // Popular accounts are drawn repeatedly; give up on a follower after a few misses
+            for (int attempt = 0; following.size() < count && attempt < count * 4; attempt++) {
+                long target = zipf(random, users, skew);
+                if (target != i && following.add(target)) {
+                    out.add(randomId(random))
+                            .add(userId(i))
+                            .add(userId(target))
+                            .add(after(random, userCreatedAt(Math.max(i, target))))
+                            .endRow();
+                }
+            }
+        }
+    }
+
+    private void writeEndorsements(CopyStream out, SplittableRandom random, long from, long to)
+            throws SQLException {
+
+        Set<Long> endorsers = new HashSet<>();
+        for (long j = from; j < to; j++) {
+            int count = degree(random, endorsementsPerPost, Math.min(users, MAX_REACTIONS));
+            endorsers.clear();
+            LocalDateTime postedAt = contentCreatedAt(j);
+            for (int attempt = 0; endorsers.size() < count && attempt < count * 4; attempt++) {
+                // Activity is skewed too, but less than popularity
+                long user = zipf(random, users, skew / 2);
+                if (endorsers.add(user)) {
+                    out.add(randomId(random))
+                            .add(userId(user))
+                            .add(contentId(j))
+                            .add(after(random, postedAt))
+                            .endRow();
+                }
+            }
+        }
+    }
+
+    private void writeComments(CopyStream out, SplittableRandom random, long from, long to) throws SQLException {
+        StringBuilder text = new StringBuilder();
+        for (long j = from; j < to; j++) {
+            int count = degree(random, commentsPerPost, MAX_REACTIONS);
+            LocalDateTime createdAt = contentCreatedAt(j);
+            UUID previous = null;
+            for (int c = 0; c < count; c++) {
+                UUID id = randomId(random);
+                createdAt = after(random, createdAt);
+                out.add(id)
+                        .add(contentId(j))
+                        .add(previous != null && random.nextInt(3) == 0 ? previous : null)
+                        .add(userId(zipf(random, users, skew / 2)))
+                        .add(sentence(random, text, 3 + random.nextInt(30)))
+                        .add(0)
+                        .add(false)
+                        .add(createdAt)
+                        .add(createdAt)
+                        .endRow();
+                previous = id;
+            }
+        }
+    }
+
+    /**
+     * Delete what a failed load committed, so the next run does not find a
+     * non-empty database and skip
+     *
+     * The load only starts on a database without users, and every row of the
+     * loaded tables references a user, so all of them come from this run.
+     */
+    private void removePartialLoad(Exception cause) {
+        log.error("Synthetic data load failed, deleting the rows loaded so far", cause);
+        try {
+            for (String table : LOADED_TABLES) {
+                int deleted = jdbcTemplate.update("DELETE FROM " + table);
+                log.info("Deleted {} rows from {}", deleted, table);
+            }
+        } catch (RuntimeException e) {
+            cause.addSuppressed(e);
+            log.error("Could not delete the partial dataset; clear {} before running again", LOADED_TABLES, e);
+        }
+    }
+
+    /**
+     * Counters normally kept by triggers, computed set-wise after the load
+     * (while the triggers are still off, so updated_at is left alone)
+     */
+    private void recountCounters() {
+        long start = System.nanoTime();
+        jdbcTemplate.update("UPDATE profiles p SET followers_count = s.n FROM "
+                + "(SELECT following_id AS id, COUNT(*) AS n FROM follows GROUP BY following_id) s WHERE p.id = s.id");
+        jdbcTemplate.update("UPDATE profiles p SET following_count = s.n FROM "
+                + "(SELECT follower_id AS id, COUNT(*) AS n FROM follows GROUP BY follower_id) s WHERE p.id = s.id");
+        jdbcTemplate.update("UPDATE content c SET likes_count = s.n, endorsements_count = s.n FROM "
+                + "(SELECT content_id AS id, COUNT(*) AS n FROM endorsements GROUP BY content_id) s WHERE c.id = s.id");
+        jdbcTemplate.update("UPDATE content c SET comments_count = s.n FROM "
+                + "(SELECT content_id AS id, COUNT(*) AS n FROM comments GROUP BY content_id) s WHERE c.id = s.id");
+        log.info("Recounted follower, endorsement and comment counters in {} ms",
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void setUserTriggers(boolean enabled) {
+        for (String table : TRIGGER_TABLES) {
+            jdbcTemplate.execute("ALTER TABLE " + table + (enabled ? " ENABLE" : " DISABLE") + " TRIGGER USER");
+        }
+    }
+
+    /**
+     * Rank in [0, n) drawn from a power law: rank r has weight ~ 1 / (r + 1)^exponent,
+     * so low ranks (the first users, the first words) are the popular ones
+     */
+    static long zipf(SplittableRandom random, long n, double exponent) {
+        double u = random.nextDouble();
+        double x;
+        if (Math.abs(exponent - 1) < 1e-9) {
+            x = Math.pow(n + 1, u);
+        } else {
+            double a = 1 - exponent;
+            x = Math.pow((Math.pow(n + 1, a) - 1) * u + 1, 1 / a);
+        }
+        return Math.min(n - 1, Math.max(0, (long) x - 1));
+    }
+
+    /**
+     * Heavy-tailed count (Pareto, shape 2) with the given mean, capped at max
+     */
+    static int degree(SplittableRandom random, double mean, long max) {
+        if (mean <= 0 || max <= 0) {
+            return 0;
+        }
+        double value = mean / 2 / Math.sqrt(1 - random.nextDouble());
+        return (int) Math.min(max, (long) value);
+    }
+
+    private static String sentence(SplittableRandom random, StringBuilder text, int words) {
+        text.setLength(0);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[(int) zipf(random, WORDS.length, 1.0)]);
+        }
+        if (random.nextInt(3) == 0) {
+            text.append(' ').append(HASHTAGS[(int) zipf(random, HASHTAGS.length, 1.0)]);
+        }
+        if (!text.isEmpty()) {
+            text.setCharAt(0, Character.toUpperCase(text.charAt(0)));
+        }
+        return text.toString();
+    }
+
+    private String pick(SplittableRandom random, String[] values) {
+        return values[(int) zipf(random, values.length, skew)];
+    }
+
+    private UUID userId(long index) {
+        return new UUID(userIdPrefix, uuidLow(index));
+    }
+
+    private UUID contentId(long index) {
+        return new UUID(contentIdPrefix, uuidLow(index));
+    }
+
+    private static UUID randomId(SplittableRandom random) {
+        return new UUID(uuidHigh(random.nextLong()), uuidLow(random.nextLong()));
+    }
+
+    // Version 4 and RFC 4122 variant bits, so generated ids look like random UUIDs
+    private static long uuidHigh(long bits) {
+        return (bits & ~0xF000L) | 0x4000L;
+    }
+
+    private static long uuidLow(long bits) {
+        return (bits & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    }
+
+    /**
+     * Signup time of a user, derived from its row number so every table agrees on it
+     */
+    private LocalDateTime userCreatedAt(long index) {
+        return timeAt(new SplittableRandom(seed ^ (index * 0x9E3779B97F4A7C15L)).nextDouble());
+    }
+
+    private LocalDateTime contentCreatedAt(long index) {
+        return timeAt(new SplittableRandom(~seed ^ (index * 0xC2B2AE3D27D4EB4FL)).nextDouble());
+    }
+
+    private LocalDateTime timeAt(double fraction) {
+        return LocalDateTime.ofEpochSecond(windowStart + (long) (fraction * windowSeconds), 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * A time after the given one and before the end of the window, mostly soon after
+     */
+    private LocalDateTime after(SplittableRandom random, LocalDateTime time) {
+        long from = time.toEpochSecond(ZoneOffset.UTC);
+        long remaining = Math.max(1, windowStart + windowSeconds - from);
+        double fraction = random.nextDouble();
+        return LocalDateTime.ofEpochSecond(from + (long) (fraction * fraction * fraction * remaining), 0,
+                ZoneOffset.UTC);
+    }
+}
@@ -5,12 +5,18 @@ import com.nitor.exception.ResourceNotFoundException;
 import com.nitor.exception.UnauthorizedException;
 import com.nitor.model.*;
 import com.nitor.repository.*;
+import com.nitor.security.AccountStatusCache;
+import com.nitor.security.AuthenticatedUser;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -30,6 +36,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 @Slf4j
 @SuppressWarnings("null")
+@Timed("nitor.service")
 public class AdminService {
 
     private final UserRepository userRepository;
@@ -37,18 +44,36 @@ public class AdminService {
     private final ContentRepository contentRepository;
     private final ReportRepository reportRepository;
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogAppender auditLogAppender;
+    private final AuditLogExportService auditLogExportService;
+    private final AccountStatusCache accountStatusCache;
+    private final PlatformStatsService platformStatsService;
+    private final ProfileSummaryCache profileSummaryCache;
 
     /**
      * Check if user has admin privileges
      * In production, this would check against a roles table
      */
     public boolean isAdmin(UUID userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
         // For now, check if email contains "admin"
         // In production: implement proper role-based access control
-        return user.getEmail().contains("admin");
+        return getEmail(userId).contains("admin");
+    }
+
+    /**
+     * Email of the user, taken from the authenticated principal when it is the
+     * same user (no query), otherwise from the database
+     */
+    private String getEmail(UUID userId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser principal
+                && principal.getUserId().equals(userId)) {
+            return principal.getEmail();
+        }
+
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"))
+                .getEmail();
     }
 
     /**
@@ -62,24 +87,11 @@ public class AdminService {
     }
 
     /**
-     * Get platform statistics
+     * Get platform statistics (in-memory snapshot, see PlatformStatsService)
      */
-    @Transactional(readOnly = true)
     public PlatformStats getPlatformStats(UUID adminId) {
         requireAdmin(adminId);
-
-        long totalUsers = userRepository.count();
-        long activeUsers = userRepository.countByIsActiveTrue();
-        long verifiedProfiles = profileRepository.countByVerifiedTrue();
-        long totalContent = contentRepository.count();
-        long pendingReports = reportRepository.countByStatus(Report.ReportStatus.PENDING);
-
-        return new PlatformStats(
-                totalUsers,
-                activeUsers,
-                verifiedProfiles,
-                totalContent,
-                pendingReports);
+        return platformStatsService.getSnapshot();
     }
 
     /**
@@ -105,15 +117,23 @@ public class AdminService {
             throw new BadRequestException("Cannot modify admin users");
         }
 
+        boolean wasActive = user.getIsActive();
         user.setIsActive(active);
+        if (!active) {
+            accountStatusCache.revokeTokens(user);
+        } else {
+            accountStatusCache.evict(user.getId());
+        }
         user = Objects.requireNonNull(userRepository.save(user));
+        platformStatsService.userActiveChanged(wasActive, active);
 
         // Audit log
         createAuditLog(
                 adminId,
                 "USER_" + (active ? "ACTIVATED" : "DEACTIVATED"),
                 "User " + targetUserId + " " + (active ? "activated" : "deactivated"),
-                targetUserId);
+                targetUserId,
+                true);
 
         log.info("User {} {} by admin {}", targetUserId, (active ? "activated" : "deactivated"), adminId);
         return user;
@@ -129,14 +149,18 @@ public class AdminService {
         Profile profile = profileRepository.findById(profileId)
                 .orElseThrow(() -> new ResourceNotFoundException("Profile not found"));
 
+        boolean wasVerified = Boolean.TRUE.equals(profile.getVerified());
         profile.setVerified(true);
         profile = Objects.requireNonNull(profileRepository.save(profile));
+        platformStatsService.profileVerified(wasVerified);
+        profileSummaryCache.evict(profileId);
 
         createAuditLog(
                 adminId,
                 "PROFILE_VERIFIED",
                 "Profile " + profileId + " verified",
-                profileId);
+                profileId,
+                false);
 
         log.info("Profile {} verified by admin {}", profileId, adminId);
         return profile;
@@ -153,12 +177,14 @@ public class AdminService {
                 .orElseThrow(() -> new ResourceNotFoundException("Content not found"));
 
         contentRepository.delete(content);
+        platformStatsService.contentRemoved();
 
         createAuditLog(
                 adminId,
                 "CONTENT_REMOVED",
                 "Content removed. Reason: " + reason,
-                contentId);
+                contentId,
+                true);
 
         log.info("Content {} removed by admin {}. Reason: {}", contentId, adminId, reason);
     }
@@ -186,17 +212,20 @@ public class AdminService {
         Report report = reportRepository.findById(reportId)
                 .orElseThrow(() -> new ResourceNotFoundException("Report not found"));
 
+        Report.ReportStatus oldStatus = report.getStatus();
         report.setStatus(newStatus);
         report.setResolvedAt(LocalDateTime.now());
         report.setResolvedBy(adminId);
 
         report = Objects.requireNonNull(reportRepository.save(report));
+        platformStatsService.reportStatusChanged(oldStatus, newStatus);
 
         createAuditLog(
                 adminId,
                 "REPORT_UPDATED",
                 "Report " + reportId + " status updated to " + newStatus + ". Resolution: " + resolution,
-                reportId);
+                reportId,
+                false);
 
         log.info("Report {} updated to {} by admin {}", reportId, newStatus, adminId);
         return report;
@@ -220,6 +249,23 @@ public class AdminService {
         return auditLogRepository.findByUserId(targetUserId, pageable);
     }
 
+    /**
+     * Export audit logs in [from, to) as NDJSON
+     *
+     * Admin access and the range are checked up front; the rows are streamed
+     * once the response body is written.
+     */
+    public StreamingResponseBody exportAuditLogs(UUID adminId, LocalDateTime from, LocalDateTime to) {
+        requireAdmin(adminId);
+
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+
+        log.info("Audit log export {} - {} requested by admin {}", from, to, adminId);
+        return out -> auditLogExportService.export(from, to, out);
+    }
+
     /**
      * Search users by email or name
      */
@@ -231,8 +277,11 @@ public class AdminService {
 
     /**
      * Create audit log entry
+     *
+     * Durable entries are written before the admin transaction commits;
+     * the rest go through the asynchronous appender.
      */
-    private void createAuditLog(UUID userId, String action, String details, UUID resourceId) {
+    private void createAuditLog(UUID userId, String action, String details, UUID resourceId, boolean durable) {
         AuditLog auditLog = AuditLog.builder()
                 .userId(userId)
                 .action(action)
@@ -242,7 +291,11 @@ public class AdminService {
                 .userAgent("admin-service")
                 .build();
 
-        auditLogRepository.save(Objects.requireNonNull(auditLog));
+        if (durable) {
+            auditLogAppender.appendDurable(auditLog);
+        } else {
+            auditLogAppender.append(auditLog);
+        }
     }
 
     /**
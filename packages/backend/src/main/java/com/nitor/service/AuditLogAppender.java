@@ -0,0 +1,264 @@
+package com.nitor.service;
+
+import com.nitor.model.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Audit log writer that keeps audit inserts off the request path
+ *
+ * {@link #append} puts the entry on a bounded in-memory queue once the
+ * caller's transaction commits, so rolled-back actions leave no record; a
+ * background thread drains the queue and writes JDBC batches.
+ * {@link #appendDurable} is for security-critical actions: the entry is
+ * written in the caller's transaction just before it commits, so the action
+ * and its audit record commit together.
+ *
+ * When the queue is full the overflow strategy decides what happens:
+ * - drop:        discard the entry (counted in nitor.audit.dropped)
+ * - caller-runs: write it synchronously on the calling thread
+ */
+@Service
+@Slf4j
+public class AuditLogAppender {
+
+    private static final String INSERT_SQL = "INSERT INTO audit_log "
+            + "(id, user_id, action, entity_type, entity_id, ip_address, user_agent, details, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate batchTransaction;
+    private final BlockingQueue<AuditLog> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final boolean callerRunsOnOverflow;
+
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+
+    private Thread writerThread;
+    private volatile boolean running;
+
+    public AuditLogAppender(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.audit.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.audit.batch-size:500}") int batchSize,
+            @Value("${app.audit.flush-interval:PT1S}") Duration flushInterval,
+            @Value("${app.audit.overflow:drop}") String overflow) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        // A new transaction even on a caller thread: caller-runs writes happen in afterCommit,
+        // where the caller's finished transaction is still bound
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.callerRunsOnOverflow = "caller-runs".equalsIgnoreCase(overflow);
+
+        this.writtenCounter = Counter.builder("nitor.audit.written")
+                .description("Audit entries written to the database")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("nitor.audit.dropped")
+                .description("Audit entries discarded because the queue was full")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("nitor.audit.failed")
+                .description("Audit entries lost because a batch write failed")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("nitor.audit.batch")
+                .description("Time to write one batch of audit entries")
+                .register(meterRegistry);
+        Gauge.builder("nitor.audit.queue.size", queue, BlockingQueue::size)
+                .description("Audit entries waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::drainLoop, "audit-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writerThread.interrupt();
+        writerThread.join(flushInterval.toMillis() * 5);
+
+        // Write whatever is still queued before shutting down
+        List<AuditLog> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int i = 0; i < remaining.size(); i += batchSize) {
+            writeBatch(remaining.subList(i, Math.min(i + batchSize, remaining.size())));
+        }
+    }
+
+    /**
+     * Queue an entry for asynchronous writing once the current transaction
+     * commits (immediately when there is no transaction)
+     */
+    public void append(AuditLog auditLog) {
+        prepare(auditLog);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(auditLog);
+                }
+            });
+        } else {
+            enqueue(auditLog);
+        }
+    }
+
+    private void enqueue(AuditLog auditLog) {
+        if (queue.offer(auditLog)) {
+            return;
+        }
+
+        if (callerRunsOnOverflow) {
+            writeBatch(List.of(auditLog));
+        } else {
+            droppedCounter.increment();
+            log.warn("Audit queue full, dropped entry: {}", auditLog.getAction());
+        }
+    }
+
+    /**
+     * Write an entry as part of the current transaction, just before it commits
+     * (immediately when there is no transaction)
+     */
+    public void appendDurable(AuditLog auditLog) {
+        appendDurable(List.of(auditLog));
+    }
+
+    /**
+     * Write several entries in one batch as part of the current transaction
+     */
+    public void appendDurable(List<AuditLog> auditLogs) {
+        auditLogs.forEach(this::prepare);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    insert(auditLogs);
+                }
+            });
+        } else {
+            insert(auditLogs);
+        }
+    }
+
+    /**
+     * Queue an entry for an action by a user, with client details from the current request
+     */
+    public void append(UUID userId, String action, String entityType, UUID entityId, String details) {
+        AuditLog.AuditLogBuilder builder = AuditLog.builder()
+                .userId(userId)
+                .action(action)
+                .entityType(entityType)
+                .entityId(entityId)
+                .details(details);
+
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            builder.ipAddress(getClientIp(request))
+                    .userAgent(request.getHeader("User-Agent"));
+        }
+
+        append(builder.build());
+    }
+
+    private void drainLoop() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuditLog first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<AuditLog> batch) {
+        try {
+            batchTimer.record(() -> batchTransaction.executeWithoutResult(status -> insert(batch)));
+        } catch (Exception e) {
+            failedCounter.increment(batch.size());
+            log.error("Failed to write {} audit entries: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void insert(List<AuditLog> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, entry) -> {
+            ps.setObject(1, entry.getId());
+            ps.setObject(2, entry.getUserId());
+            ps.setString(3, entry.getAction());
+            ps.setString(4, entry.getEntityType());
+            ps.setObject(5, entry.getEntityId());
+            ps.setString(6, entry.getIpAddress());
+            ps.setString(7, entry.getUserAgent());
+            ps.setString(8, entry.getDetails());
+            ps.setTimestamp(9, Timestamp.valueOf(entry.getCreatedAt()));
+        });
+        writtenCounter.increment(batch.size());
+    }
+
+    private void prepare(AuditLog auditLog) {
+        if (auditLog.getId() == null) {
+            auditLog.setId(UUID.randomUUID());
+        }
+        if (auditLog.getCreatedAt() == null) {
+            auditLog.setCreatedAt(LocalDateTime.now());
+        }
+    }
+
+    private String getClientIp(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            return xForwardedFor.split(",")[0].trim();
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,111 @@
+package com.nitor.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Streams audit log entries as NDJSON (one JSON object per line)
+ *
+ * Rows are read through a forward-only cursor with a fixed fetch size and
+ * written to the output as they arrive, so memory use does not depend on the
+ * size of the range. The PostgreSQL driver only uses a cursor inside a
+ * transaction, hence the read-only transaction around the query.
+ */
+@Service
+@Slf4j
+@Timed("nitor.service")
+public class AuditLogExportService {
+
+    private static final String EXPORT_SQL = "SELECT id, user_id, action, entity_type, entity_id, "
+            + "ip_address, user_agent, details, created_at FROM audit_log "
+            + "WHERE created_at >= ? AND created_at < ? ORDER BY created_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public AuditLogExportService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${app.audit.export-fetch-size:1000}") int fetchSize) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Write all entries with from <= created_at < to to the stream
+     *
+     * @return Number of exported entries
+     */
+    public long export(LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(null);
+        long[] count = { 0 };
+
+        RowCallbackHandler writeRow = rs -> {
+            try {
+                writeEntry(generator, rs);
+                count[0]++;
+            } catch (IOException e) {
+                // Client went away, abort the query
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(EXPORT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                ps.setTimestamp(1, Timestamp.valueOf(from));
+                ps.setTimestamp(2, Timestamp.valueOf(to));
+                return ps;
+            }, writeRow));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            generator.flush();
+        }
+
+        log.info("Exported {} audit log entries ({} - {})", count[0], from, to);
+        return count[0];
+    }
+
+    private void writeEntry(JsonGenerator generator, ResultSet rs) throws IOException, SQLException {
+        generator.writeStartObject();
+        generator.writeStringField("id", rs.getString("id"));
+        generator.writeStringField("userId", rs.getString("user_id"));
+        generator.writeStringField("action", rs.getString("action"));
+        generator.writeStringField("entityType", rs.getString("entity_type"));
+        generator.writeStringField("entityId", rs.getString("entity_id"));
+        generator.writeStringField("ipAddress", rs.getString("ip_address"));
+        generator.writeStringField("userAgent", rs.getString("user_agent"));
+        generator.writeStringField("details", rs.getString("details"));
+        generator.writeStringField("createdAt", rs.getTimestamp("created_at").toLocalDateTime().toString());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
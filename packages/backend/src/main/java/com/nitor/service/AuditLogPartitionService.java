@@ -0,0 +1,98 @@
+package com.nitor.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of audit_log
+ *
+ * Creates partitions a few months ahead so inserts always have a target, and
+ * detaches and drops partitions once they are older than the retention period.
+ * Dropping a whole partition is a metadata operation, unlike a mass DELETE.
+ * PostgreSQL only; off (app.audit.manage-partitions=false) on other databases.
+ */
+@Service
+@ConditionalOnProperty(name = "app.audit.manage-partitions", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class AuditLogPartitionService {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("audit_log_y(\\d{4})m(\\d{2})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+
+    private static final String LIST_PARTITIONS_SQL = "SELECT c.relname FROM pg_inherits i "
+            + "JOIN pg_class c ON c.oid = i.inhrelid "
+            + "JOIN pg_class p ON p.oid = i.inhparent "
+            + "WHERE p.relname = 'audit_log'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public AuditLogPartitionService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.audit.partitions-ahead:3}") int monthsAhead,
+            @Value("${app.audit.retention-months:12}") int retentionMonths) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    /**
+     * Create upcoming partitions and drop expired ones
+     * Runs at startup and daily at 2 AM
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 0 2 * * ?")
+    public void maintainPartitions() {
+        YearMonth current = YearMonth.now();
+
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(current.plusMonths(i));
+        }
+
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        for (String partition : jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class)) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (matcher.matches()) {
+                YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+                if (month.isBefore(oldestKept)) {
+                    dropPartition(partition);
+                }
+            }
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        String name = "audit_log_" + month.format(PARTITION_SUFFIX);
+        try {
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF audit_log FOR VALUES FROM ('%s') TO ('%s')",
+                    name, month.atDay(1), month.plusMonths(1).atDay(1)));
+        } catch (Exception e) {
+            log.error("Failed to create audit log partition {}: {}", name, e.getMessage());
+        }
+    }
+
+    private void dropPartition(String name) {
+        try {
+            // CONCURRENTLY avoids blocking writers on the parent table; must run outside a transaction
+            jdbcTemplate.execute("ALTER TABLE audit_log DETACH PARTITION " + name + " CONCURRENTLY");
+            jdbcTemplate.execute("DROP TABLE " + name);
+            log.info("Dropped expired audit log partition {}", name);
+        } catch (Exception e) {
+            log.error("Failed to drop audit log partition {}: {}", name, e.getMessage());
+        }
+    }
+}
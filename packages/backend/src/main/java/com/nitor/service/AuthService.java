@@ -10,7 +10,9 @@ import com.nitor.model.Profile;
 import com.nitor.model.User;
 import com.nitor.repository.ProfileRepository;
 import com.nitor.repository.UserRepository;
+import com.nitor.security.AccountStatusCache;
 import com.nitor.security.JwtUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -28,6 +30,7 @@ import java.util.UUID;
 @Service
 @RequiredArgsConstructor
 @SuppressWarnings("null")
+@Timed("nitor.service")
 public class AuthService {
 
         private final UserRepository userRepository;
@@ -36,6 +39,9 @@ public class AuthService {
         private final JwtUtil jwtUtil;
         private final AuthenticationManager authenticationManager;
         private final RefreshTokenService refreshTokenService;
+        private final AccountStatusCache accountStatusCache;
+        private final PlatformStatsService platformStatsService;
+        private final AuditLogAppender auditLogAppender;
 
         @Transactional
         public AuthResponse register(RegisterRequest request) {
@@ -59,10 +65,10 @@ public class AuthService {
                                 .build();
 
                 user = Objects.requireNonNull(userRepository.save(user));
+                platformStatsService.userRegistered(user.getIsActive());
 
-                // Create profile
+                // Create profile (its id comes from the user through @MapsId; setting it would turn the save into a merge)
                 Profile profile = Profile.builder()
-                                .id(user.getId())
                                 .user(user)
                                 .fullName(request.getFullName())
                                 .handle(request.getHandle())
@@ -79,7 +85,7 @@ public class AuthService {
 
                 // Generate tokens
                 String accessToken = jwtUtil.generateAccessToken(user.getId(), user.getEmail());
-                String refreshToken = refreshTokenService.createRefreshToken(user.getId()).getToken();
+                String refreshToken = refreshTokenService.createRefreshToken(user.getId());
 
                 log.info("User registered successfully: {}", user.getEmail());
 
@@ -112,8 +118,9 @@ public class AuthService {
 
                 // Generate tokens
                 String accessToken = jwtUtil.generateAccessToken(user.getId(), user.getEmail());
-                String refreshToken = refreshTokenService.createRefreshToken(user.getId()).getToken();
+                String refreshToken = refreshTokenService.createRefreshToken(user.getId(), request.getDeviceId());
 
+                auditLogAppender.append(user.getId(), "USER_LOGIN", "USER", user.getId(), null);
                 log.info("User logged in successfully: {}", user.getEmail());
 
                 return AuthResponse.builder()
@@ -182,8 +189,10 @@ public class AuthService {
                         throw new BadRequestException("Reset token has expired");
                 }
 
-                // Update password
+                // Update password and revoke outstanding access and refresh tokens
                 user.setPasswordHash(passwordEncoder.encode(newPassword));
+                accountStatusCache.revokeTokens(user);
+                refreshTokenService.revokeAllUserTokens(user.getId());
 
                 // Clear reset token
                 user.setResetPasswordToken(null);
@@ -214,6 +223,8 @@ public class AuthService {
 
                 user.setPasswordHash(passwordEncoder.encode(newPassword));
                 user.setUpdatedAt(LocalDateTime.now());
+                accountStatusCache.revokeTokens(user);
+                refreshTokenService.revokeAllUserTokens(user.getId());
                 userRepository.save(user);
 
                 log.info("Password changed successfully for user: {}", user.getEmail());
@@ -229,6 +240,9 @@ public class AuthService {
 
                 // Delete user and associated profile (cascading)
                 userRepository.delete(user);
+                platformStatsService.userDeleted(user.getIsActive());
+                accountStatusCache.evict(user.getId());
+                refreshTokenService.revokeAllUserTokens(user.getId());
 
                 log.info("Account deleted for user: {}", user.getEmail());
         }
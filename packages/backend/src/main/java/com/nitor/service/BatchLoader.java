@@ -0,0 +1,149 @@
+package com.nitor.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Request-scoped batching of related-entity lookups (DataLoader style)
+ *
+ * Mapping a page usually needs a related row per item (the content of a
+ * bookmark, the replies of a comment, an author card). Instead of one query
+ * per item, mappers prime the ids they will need and the first get() resolves
+ * everything pending with a single loader call, i.e. one IN query per batch.
+ * Resolved values are kept until the request ends, so an id is never loaded
+ * twice while assembling one response.
+ *
+ * Only usable on request threads.
+ *
+ * Metrics:
+ * - nitor.batch.queries.saved  per request, lookups that did not need their own query
+ */
+@Component
+@RequestScope
+@Slf4j
+public class BatchLoader {
+
+    private final DistributionSummary savedQueries;
+    private final Map<String, Batch<?, ?>> batches = new HashMap<>();
+
+    public BatchLoader(MeterRegistry meterRegistry) {
+        this.savedQueries = DistributionSummary.builder("nitor.batch.queries.saved")
+                .description("Queries saved per request by batching related-entity lookups")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The batch with this name for the current request, created on first use
+     *
+     * The loader receives the pending keys and returns the values it found;
+     * keys it leaves out resolve to null. Every caller of a given name must
+     * pass an equivalent loader.
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> Batch<K, V> batch(String name, Function<Set<K>, Map<K, V>> loader) {
+        return (Batch<K, V>) batches.computeIfAbsent(name, key -> new Batch<>(loader));
+    }
+
+    @PreDestroy
+    public void recordSavedQueries() {
+        if (batches.isEmpty()) {
+            return;
+        }
+        long saved = batches.values().stream().mapToLong(Batch::savedQueries).sum();
+        savedQueries.record(saved);
+        log.debug("Batched lookups saved {} queries", saved);
+    }
+
+    /**
+     * Keys of one kind (e.g. content ids) waiting to be loaded together
+     */
+    public static class Batch<K, V> {
+
+        private final Function<Set<K>, Map<K, V>> loader;
+        private final Map<K, V> resolved = new HashMap<>();
+        private final Set<K> pending = new LinkedHashSet<>();
+        private long keysLoaded;
+        private long loads;
+
+        private Batch(Function<Set<K>, Map<K, V>> loader) {
+            this.loader = loader;
+        }
+
+        /**
+         * Queue keys for the next load without loading anything yet
+         */
+        public Batch<K, V> prime(Collection<K> keys) {
+            for (K key : keys) {
+                if (key != null && !resolved.containsKey(key)) {
+                    pending.add(key);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Value for a key, loading it together with everything pending
+         */
+        public V get(K key) {
+            if (key == null) {
+                return null;
+            }
+            if (!resolved.containsKey(key)) {
+                pending.add(key);
+                dispatch();
+            }
+            return resolved.get(key);
+        }
+
+        /**
+         * Values for the keys that exist, loaded with at most one call
+         */
+        public Map<K, V> getAll(Collection<K> keys) {
+            prime(keys);
+            dispatch();
+
+            Map<K, V> values = new LinkedHashMap<>();
+            for (K key : keys) {
+                V value = key != null ? resolved.get(key) : null;
+                if (value != null) {
+                    values.put(key, value);
+                }
+            }
+            return values;
+        }
+
+        private void dispatch() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            Set<K> keys = new LinkedHashSet<>(pending);
+            pending.clear();
+
+            Map<K, V> values = loader.apply(keys);
+            for (K key : keys) {
+                resolved.put(key, values.get(key));
+            }
+            keysLoaded += keys.size();
+            loads++;
+        }
+
+        /**
+         * Row-by-row lookups would have cost one query per key
+         */
+        private long savedQueries() {
+            return keysLoaded - loads;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.nitor.service;
+
+import com.nitor.dto.admin.BulkModerationRequest;
+import com.nitor.exception.BadRequestException;
+import com.nitor.exception.ResourceNotFoundException;
+import com.nitor.exception.UnauthorizedException;
+import com.nitor.model.ModerationJob;
+import com.nitor.repository.ModerationJobRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bulk moderation jobs (remove content, activate or deactivate users)
+ *
+ * Submitting a job only records it; the work runs in the background (see
+ * ModerationJobRunner) and admins poll the job for progress.
+ */
+@Service
+@Slf4j
+@SuppressWarnings("null")
+@Timed("nitor.service")
+public class BulkModerationService {
+
+    private static final Set<ModerationJob.Status> UNFINISHED =
+            EnumSet.of(ModerationJob.Status.PENDING, ModerationJob.Status.RUNNING);
+
+    private final ModerationJobRepository jobRepository;
+    private final ModerationJobRunner jobRunner;
+    private final AdminService adminService;
+    private final int defaultChunkSize;
+    private final Duration staleAfter;
+
+    public BulkModerationService(
+            ModerationJobRepository jobRepository,
+            ModerationJobRunner jobRunner,
+            AdminService adminService,
+            @Value("${app.admin.moderation.chunk-size:500}") int defaultChunkSize,
+            @Value("${app.admin.moderation.stale-after:PT10M}") Duration staleAfter) {
+
+        this.jobRepository = jobRepository;
+        this.jobRunner = jobRunner;
+        this.adminService = adminService;
+        this.defaultChunkSize = defaultChunkSize;
+        this.staleAfter = staleAfter;
+    }
+
+    /**
+     * Record a job and start it in the background
+     */
+    public ModerationJob submit(UUID adminId, BulkModerationRequest request) {
+        requireAdmin(adminId);
+
+        if (request.hasIds() == request.hasFilter()) {
+            throw new BadRequestException("Provide either a list of ids or a filter");
+        }
+        if (request.getAuthorId() != null && request.getAction() != ModerationJob.Action.REMOVE_CONTENT) {
+            throw new BadRequestException("authorId filter only applies to content");
+        }
+        if (request.getCreatedAfter() != null && request.getCreatedBefore() != null
+                && !request.getCreatedAfter().isBefore(request.getCreatedBefore())) {
+            throw new BadRequestException("'createdAfter' must be before 'createdBefore'");
+        }
+
+        ModerationJob job = ModerationJob.builder()
+                .adminId(adminId)
+                .action(request.getAction())
+                .status(ModerationJob.Status.PENDING)
+                .reason(request.getReason())
+                .chunkSize(request.getChunkSize() != null ? request.getChunkSize() : defaultChunkSize)
+                .totalItems(request.hasIds() ? (long) request.getIds().size() : null)
+                .build();
+        job = Objects.requireNonNull(jobRepository.save(job));
+
+        // The job row is committed at this point, so the runner can load it
+        jobRunner.run(job.getId(), request);
+
+        log.info("Moderation job {} ({}) submitted by admin {}", job.getId(), job.getAction(), adminId);
+        return job;
+    }
+
+    public ModerationJob getJob(UUID adminId, UUID jobId) {
+        requireAdmin(adminId);
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("ModerationJob", "id", jobId.toString()));
+    }
+
+    public Page<ModerationJob> getJobs(UUID adminId, Pageable pageable) {
+        requireAdmin(adminId);
+        return jobRepository.findAllByOrderByCreatedAtDesc(pageable);
+    }
+
+    /**
+     * Cancel a pending or running job; chunks already processed stay applied
+     */
+    public ModerationJob cancel(UUID adminId, UUID jobId) {
+        ModerationJob job = getJob(adminId, jobId);
+
+        int cancelled = jobRepository.cancel(jobId, UNFINISHED, LocalDateTime.now());
+        if (cancelled == 0) {
+            throw new BadRequestException("Job is already " + job.getStatus());
+        }
+
+        log.info("Moderation job {} cancelled by admin {}", jobId, adminId);
+        return getJob(adminId, jobId);
+    }
+
+    /**
+     * Jobs interrupted by a shutdown are marked failed rather than resumed;
+     * only those without progress for stale-after, as other instances may be running the rest
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        int failed = jobRepository.failStale(
+                UNFINISHED,
+                now.minus(staleAfter),
+                "Interrupted by restart",
+                now);
+        if (failed > 0) {
+            log.warn("Marked {} interrupted moderation jobs as failed", failed);
+        }
+    }
+
+    private void requireAdmin(UUID adminId) {
+        if (!adminService.isAdmin(adminId)) {
+            log.warn("Unauthorized admin access attempt by user: {}", adminId);
+            throw new UnauthorizedException("Admin access required");
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.nitor.service;
+
+import com.nitor.dto.cv.CVExportFormat;
+import com.nitor.dto.cv.CVResponse;
+import com.nitor.util.PdfTextWriter;
+import com.nitor.util.TextTemplate;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Renders a CV as HTML or PDF straight to the response stream
+ *
+ * Both formats share one template context built from the cached CVResponse.
+ * The templates are compiled once at startup; PDF output goes through
+ * {@link PdfTextWriter}, which writes each page as soon as it is laid out.
+ */
+@Service
+@Slf4j
+@Timed("nitor.service")
+public class CVExportService {
+
+    private static final DateTimeFormatter PERIOD_FORMAT = DateTimeFormatter.ofPattern("MMM yyyy", Locale.ENGLISH);
+
+    // Free text must not turn into headings in the PDF line markup
+    private static final Pattern PDF_HEADING_MARKUP = Pattern.compile("(?m)^\\s*#+\\s*");
+
+    private final CVService cvService;
+    private final TextTemplate htmlTemplate;
+    private final TextTemplate pdfTemplate;
+
+    public CVExportService(CVService cvService) {
+        this.cvService = cvService;
+        this.htmlTemplate = TextTemplate.load("templates/cv/cv.html");
+        this.pdfTemplate = TextTemplate.load("templates/cv/cv.txt");
+    }
+
+    /**
+     * Body that renders the CV of a user in the given format
+     *
+     * The CV is resolved before returning, so a missing profile fails the
+     * request with 404 instead of an aborted download.
+     */
+    public StreamingResponseBody export(UUID userId, CVExportFormat format) {
+        Map<String, Object> context = toContext(cvService.getUserCV(userId));
+
+        return outputStream -> {
+            if (format == CVExportFormat.PDF) {
+                try (Writer writer = new PdfTextWriter(outputStream)) {
+                    pdfTemplate.render(context, writer, CVExportService::escapePdf);
+                }
+            } else {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+                htmlTemplate.render(context, writer, HtmlUtils::htmlEscape);
+                writer.flush();
+            }
+            log.debug("Exported CV of user {} as {}", userId, format);
+        };
+    }
+
+    private static Map<String, Object> toContext(CVResponse cv) {
+        CVResponse.Header header = cv.getProfile();
+        Map<String, Object> context = new HashMap<>();
+        context.put("fullName", header.getFullName());
+        context.put("headline", join(", ", header.getAcademicTitle(), header.getInstitution(), header.getDiscipline()));
+        context.put("orcid", header.getOrcid());
+        context.put("bio", header.getBio());
+
+        List<Map<String, Object>> sections = new ArrayList<>();
+        addSection(sections, "Education", cv.getEducation(), education -> entry(
+                join(", ", education.getDegree(), education.getFieldOfStudy()),
+                education.getInstitution(),
+                period(education.getStartDate(), education.getEndDate(), education.getIsCurrent()),
+                education.getGrade() != null ? "Grade: " + education.getGrade() : null,
+                education.getDescription()));
+        addSection(sections, "Experience", cv.getExperience(), experience -> entry(
+                experience.getRole(),
+                join(", ", experience.getCompany(), experience.getLocation()),
+                period(experience.getStartDate(), experience.getEndDate(), experience.getIsCurrent()),
+                null,
+                experience.getDescription()));
+        addSection(sections, "Projects", cv.getProjects(), project -> entry(
+                project.getTitle(),
+                project.getLink(),
+                period(project.getStartDate(), project.getEndDate(), project.getIsCurrent()),
+                project.getTechnologies().isEmpty() ? null : String.join(", ", project.getTechnologies()),
+                project.getDescription()));
+        addSection(sections, "Publications", cv.getPublications(), publication -> entry(
+                publication.getTitle(),
+                String.join(", ", publication.getAuthors()),
+                join(", ", publication.getJournal(), publication.getConference(),
+                        publication.getPublicationDate() != null
+                                ? String.valueOf(publication.getPublicationDate().getYear())
+                                : null),
+                publication.getDoi() != null ? "DOI: " + publication.getDoi() : publication.getUrl(),
+                null));
+        addSection(sections, "Skills", cv.getSkills(), skill -> entry(
+                skill.getName(),
+                join(" \u00b7 ", skill.getCategory(), skill.getProficiencyLevel(),
+                        skill.getYearsOfExperience() != null ? skill.getYearsOfExperience() + " years" : null),
+                null, null, null));
+        addSection(sections, "Awards", cv.getAwards(), award -> entry(
+                award.getTitle(),
+                award.getIssuer(),
+                award.getIssueDate() != null ? award.getIssueDate().format(PERIOD_FORMAT) : null,
+                null,
+                award.getDescription()));
+        context.put("sections", sections);
+
+        return context;
+    }
+
+    private static <T> void addSection(List<Map<String, Object>> sections, String heading, List<T> items,
+            Function<T, Map<String, Object>> mapper) {
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+        sections.add(Map.of(
+                "heading", heading,
+                "entries", items.stream().map(mapper).toList()));
+    }
+
+    private static Map<String, Object> entry(String title, String subtitle, String period, String detail,
+            String description) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("title", title);
+        entry.put("subtitle", subtitle);
+        entry.put("period", period);
+        entry.put("detail", detail);
+        entry.put("description", description);
+        entry.values().removeIf(Objects::isNull);
+        return entry;
+    }
+
+    private static String period(LocalDate start, LocalDate end, Boolean current) {
+        if (start == null) {
+            return null;
+        }
+        String until = Boolean.TRUE.equals(current) ? "present" : end != null ? end.format(PERIOD_FORMAT) : null;
+        return until != null ? start.format(PERIOD_FORMAT) + " \u2013 " + until : start.format(PERIOD_FORMAT);
+    }
+
+    private static String join(String separator, String... parts) {
+        String joined = Stream.of(parts)
+                .filter(part -> part != null && !part.isBlank())
+                .collect(Collectors.joining(separator));
+        return joined.isEmpty() ? null : joined;
+    }
+
+    private static String escapePdf(String value) {
+        return PDF_HEADING_MARKUP.matcher(value).replaceAll("");
+    }
+}
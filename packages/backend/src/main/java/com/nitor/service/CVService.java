@@ -1,54 +1,244 @@
 package com.nitor.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.nitor.dto.cv.CVResponse;
 import com.nitor.dto.cv.EducationRequest;
 import com.nitor.dto.cv.ExperienceRequest;
 import com.nitor.dto.cv.ProjectRequest;
 import com.nitor.exception.ResourceNotFoundException;
+import com.nitor.model.Award;
 import com.nitor.model.Education;
 import com.nitor.model.Experience;
 import com.nitor.model.Profile;
 import com.nitor.model.Project;
+import com.nitor.model.Publication;
+import com.nitor.model.Skill;
+import com.nitor.repository.AwardRepository;
 import com.nitor.repository.EducationRepository;
 import com.nitor.repository.ExperienceRepository;
 import com.nitor.repository.ProfileRepository;
 import com.nitor.repository.ProjectRepository;
-import lombok.RequiredArgsConstructor;
+import com.nitor.repository.PublicationRepository;
+import com.nitor.repository.SkillRepository;
+import com.nitor.util.ETagUtils;
+import com.nitor.util.FlightEvents;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+/**
+ * CV sections and the cached CV read model
+ *
+ * A CV is the profile header plus six sections. They are fetched in parallel
+ * on a small bounded pool, one query each, and cached as an immutable
+ * CVResponse together with the ETag they were loaded under. Every read checks
+ * the ETag first (one aggregate query), so an entry is only served while it
+ * is still current, even if the change happened on another instance. Writes
+ * on this instance also evict the entry once they commit.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 @SuppressWarnings("null")
-public class CVService {
+@Timed("nitor.service")
+public class CVService implements DisposableBean {
 
     private final ProfileRepository profileRepository;
     private final EducationRepository educationRepository;
     private final ExperienceRepository experienceRepository;
     private final ProjectRepository projectRepository;
+    private final PublicationRepository publicationRepository;
+    private final SkillRepository skillRepository;
+    private final AwardRepository awardRepository;
+    private final Cache<UUID, CachedCV> cvCache;
+    private final ThreadPoolExecutor fetchExecutor;
+
+    public CVService(
+            ProfileRepository profileRepository,
+            EducationRepository educationRepository,
+            ExperienceRepository experienceRepository,
+            ProjectRepository projectRepository,
+            PublicationRepository publicationRepository,
+            SkillRepository skillRepository,
+            AwardRepository awardRepository,
+            @Value("${app.cv.cache.size:10000}") long cacheSize,
+            @Value("${app.cv.cache.ttl:PT30M}") Duration cacheTtl,
+            @Value("${app.cv.fetch-threads:4}") int fetchThreads,
+            MeterRegistry meterRegistry) {
+
+        this.profileRepository = profileRepository;
+        this.educationRepository = educationRepository;
+        this.experienceRepository = experienceRepository;
+        this.projectRepository = projectRepository;
+        this.publicationRepository = publicationRepository;
+        this.skillRepository = skillRepository;
+        this.awardRepository = awardRepository;
+        this.cvCache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cvCache, "cvReadModel");
+
+        // When the queue is full the request thread runs its own fetches
+        AtomicInteger threadCount = new AtomicInteger();
+        this.fetchExecutor = new ThreadPoolExecutor(
+                fetchThreads, fetchThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fetchThreads * 16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cv-fetch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        Gauge.builder("nitor.cv.fetch.queue.size", fetchExecutor, e -> e.getQueue().size())
+                .description("CV section fetches waiting for a thread")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        fetchExecutor.shutdown();
+    }
 
-    @Transactional(readOnly = true)
     public CVResponse getUserCV(UUID userId) {
-        Profile profile = profileRepository.findById(Objects.requireNonNull(userId))
-                .orElseThrow(() -> new ResourceNotFoundException("Profile", "id", userId));
+        return getUserCV(userId, getCVETag(userId));
+    }
+
+    /**
+     * CV for an ETag the caller already computed with {@link #getCVETag}
+     *
+     * The returned object is shared: callers must not modify it.
+     */
+    public CVResponse getUserCV(UUID userId, String etag) {
+        if (etag == null) {
+            throw new ResourceNotFoundException("Profile", "id", userId);
+        }
 
-        List<Education> education = educationRepository.findByUserOrderByStartDateDesc(profile);
-        List<Experience> experience = experienceRepository.findByUserOrderByStartDateDesc(profile);
-        List<Project> projects = projectRepository.findByUserOrderByStartDateDesc(profile);
+        FlightEvents.CacheLookupEvent event = FlightEvents.CacheLookupEvent.start("cvReadModel", "CV", 1);
+        CachedCV cached = cvCache.getIfPresent(userId);
+        if (cached != null && cached.etag().equals(etag)) {
+            event.finish();
+            return cached.cv();
+        }
+        // A stale version counts as a miss; the event then also covers the reload
+        event.missed(1);
+
+        CVResponse cv = loadCV(userId);
+        cvCache.put(userId, new CachedCV(etag, cv));
+        event.finish();
+        return cv;
+    }
+
+    /**
+     * ETag of a CV, or null if the profile does not exist
+     *
+     * Each section contributes its row count (catches deletes) and latest
+     * updatedAt (catches inserts and edits).
+     */
+    @Transactional(readOnly = true)
+    public String getCVETag(UUID userId) {
+        return profileRepository.findCVVersionById(Objects.requireNonNull(userId))
+                .map(version -> ETagUtils.strong("cv", userId, version.getUpdatedAt(),
+                        version.getEducationCount(), version.getEducationUpdatedAt(),
+                        version.getExperienceCount(), version.getExperienceUpdatedAt(),
+                        version.getProjectCount(), version.getProjectUpdatedAt(),
+                        version.getPublicationCount(), version.getPublicationUpdatedAt(),
+                        version.getSkillCount(), version.getSkillUpdatedAt(),
+                        version.getAwardCount(), version.getAwardUpdatedAt()))
+                .orElse(null);
+    }
+
+    /**
+     * Fetch the header and all sections in parallel
+     *
+     * Each query runs in its own short read-only transaction on a pool thread
+     * and is mapped to DTOs there, so no entity leaves its persistence context.
+     */
+    private CVResponse loadCV(UUID userId) {
+        CompletableFuture<CVResponse.Header> header = fetch(() -> profileRepository.findById(userId)
+                .map(CVService::toHeader)
+                .orElseThrow(() -> new ResourceNotFoundException("Profile", "id", userId)));
+        CompletableFuture<List<CVResponse.EducationEntry>> education =
+                fetchSection(() -> educationRepository.findCVSection(userId), CVService::toEducationEntry);
+        CompletableFuture<List<CVResponse.ExperienceEntry>> experience =
+                fetchSection(() -> experienceRepository.findCVSection(userId), CVService::toExperienceEntry);
+        CompletableFuture<List<CVResponse.ProjectEntry>> projects =
+                fetchSection(() -> projectRepository.findCVSection(userId), CVService::toProjectEntry);
+        CompletableFuture<List<CVResponse.PublicationEntry>> publications =
+                fetchSection(() -> publicationRepository.findCVSection(userId), CVService::toPublicationEntry);
+        CompletableFuture<List<CVResponse.SkillEntry>> skills =
+                fetchSection(() -> skillRepository.findCVSection(userId), CVService::toSkillEntry);
+        CompletableFuture<List<CVResponse.AwardEntry>> awards =
+                fetchSection(() -> awardRepository.findCVSection(userId), CVService::toAwardEntry);
 
+        try {
+            CompletableFuture.allOf(header, education, experience, projects, publications, skills, awards).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        log.debug("Loaded CV for user {}", userId);
         return CVResponse.builder()
-                .education(education)
-                .experience(experience)
-                .projects(projects)
+                .profile(header.join())
+                .education(education.join())
+                .experience(experience.join())
+                .projects(projects.join())
+                .publications(publications.join())
+                .skills(skills.join())
+                .awards(awards.join())
                 .build();
     }
 
+    private <T> CompletableFuture<T> fetch(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, fetchExecutor);
+    }
+
+    private <E, D> CompletableFuture<List<D>> fetchSection(Supplier<List<E>> query, Function<E, D> mapper) {
+        return fetch(() -> query.get().stream().map(mapper).toList());
+    }
+
+    /**
+     * Drop a cached CV once the current transaction commits
+     */
+    private void evict(UUID userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cvCache.invalidate(userId);
+                }
+            });
+        } else {
+            cvCache.invalidate(userId);
+        }
+    }
+
     // Education endpoints
     @Transactional
     public Education addEducation(UUID userId, EducationRequest request) {
@@ -67,6 +257,7 @@ public class CVService {
                 .description(request.getDescription())
                 .build();
 
+        evict(userId);
         return Objects.requireNonNull(educationRepository.save(education));
     }
 
@@ -88,6 +279,7 @@ public class CVService {
         education.setIsCurrent(request.getIsCurrent() != null ? request.getIsCurrent() : false);
         education.setDescription(request.getDescription());
 
+        evict(userId);
         return Objects.requireNonNull(educationRepository.save(education));
     }
 
@@ -101,6 +293,7 @@ public class CVService {
         }
 
         educationRepository.delete(education);
+        evict(userId);
     }
 
     // Experience endpoints
@@ -120,6 +313,7 @@ public class CVService {
                 .isCurrent(request.getIsCurrent() != null ? request.getIsCurrent() : false)
                 .build();
 
+        evict(userId);
         return Objects.requireNonNull(experienceRepository.save(experience));
     }
 
@@ -133,6 +327,7 @@ public class CVService {
         }
 
         experienceRepository.delete(experience);
+        evict(userId);
     }
 
     // Project endpoints
@@ -149,6 +344,7 @@ public class CVService {
                 .description(request.getDescription())
                 .build();
 
+        evict(userId);
         return Objects.requireNonNull(projectRepository.save(project));
     }
 
@@ -162,5 +358,97 @@ public class CVService {
         }
 
         projectRepository.delete(project);
+        evict(userId);
+    }
+
+    private static CVResponse.Header toHeader(Profile profile) {
+        return CVResponse.Header.builder()
+                .id(profile.getId())
+                .fullName(profile.getFullName())
+                .handle(profile.getHandle())
+                .academicTitle(profile.getAcademicTitle())
+                .institution(profile.getInstitution())
+                .discipline(profile.getDiscipline())
+                .bio(profile.getBio())
+                .orcid(profile.getOrcid())
+                .avatarUrl(profile.getAvatarUrl())
+                .build();
+    }
+
+    private static CVResponse.EducationEntry toEducationEntry(Education education) {
+        return CVResponse.EducationEntry.builder()
+                .id(education.getId())
+                .institution(education.getInstitution())
+                .degree(education.getDegree())
+                .fieldOfStudy(education.getFieldOfStudy())
+                .grade(education.getGrade())
+                .startDate(education.getStartDate())
+                .endDate(education.getEndDate())
+                .isCurrent(education.getIsCurrent())
+                .description(education.getDescription())
+                .build();
+    }
+
+    private static CVResponse.ExperienceEntry toExperienceEntry(Experience experience) {
+        return CVResponse.ExperienceEntry.builder()
+                .id(experience.getId())
+                .company(experience.getCompany())
+                .role(experience.getRole())
+                .location(experience.getLocation())
+                .startDate(experience.getStartDate())
+                .endDate(experience.getEndDate())
+                .isCurrent(experience.getIsCurrent())
+                .description(experience.getDescription())
+                .build();
+    }
+
+    private static CVResponse.ProjectEntry toProjectEntry(Project project) {
+        return CVResponse.ProjectEntry.builder()
+                .id(project.getId())
+                .title(project.getTitle())
+                .link(project.getLink())
+                .technologies(List.copyOf(project.getTechnologies()))
+                .startDate(project.getStartDate())
+                .endDate(project.getEndDate())
+                .isCurrent(project.getIsCurrent())
+                .description(project.getDescription())
+                .build();
+    }
+
+    private static CVResponse.PublicationEntry toPublicationEntry(Publication publication) {
+        return CVResponse.PublicationEntry.builder()
+                .id(publication.getId())
+                .title(publication.getTitle())
+                .authors(publication.getAuthors() != null ? List.copyOf(publication.getAuthors()) : List.of())
+                .journal(publication.getJournal())
+                .conference(publication.getConference())
+                .publicationDate(publication.getPublicationDate())
+                .doi(publication.getDoi())
+                .url(publication.getUrl())
+                .citationCount(publication.getCitationCount())
+                .build();
+    }
+
+    private static CVResponse.SkillEntry toSkillEntry(Skill skill) {
+        return CVResponse.SkillEntry.builder()
+                .id(skill.getId())
+                .name(skill.getName())
+                .category(skill.getCategory())
+                .proficiencyLevel(skill.getProficiencyLevel())
+                .yearsOfExperience(skill.getYearsOfExperience())
+                .build();
+    }
+
+    private static CVResponse.AwardEntry toAwardEntry(Award award) {
+        return CVResponse.AwardEntry.builder()
+                .id(award.getId())
+                .title(award.getTitle())
+                .issuer(award.getIssuer())
+                .issueDate(award.getIssueDate())
+                .description(award.getDescription())
+                .build();
+    }
+
+    private record CachedCV(String etag, CVResponse cv) {
     }
 }
@@ -10,6 +10,7 @@ import com.nitor.model.Profile;
 import com.nitor.repository.CommentRepository;
 import com.nitor.repository.ContentRepository;
 import com.nitor.repository.ProfileRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -27,11 +28,14 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @SuppressWarnings("null")
+@Timed("nitor.service")
 public class CommentService {
 
     private final CommentRepository commentRepository;
     private final ContentRepository contentRepository;
     private final ProfileRepository profileRepository;
+    private final ProfileSummaryCache profileSummaryCache;
+    private final BatchLoader batchLoader;
 
     @Transactional
     public CommentResponse createComment(UUID contentId, UUID authorId, CreateCommentRequest request) {
@@ -64,8 +68,22 @@ public class CommentService {
 
     @Transactional(readOnly = true)
     public Page<CommentResponse> getContentComments(UUID contentId, Pageable pageable) {
-        return commentRepository.findRootCommentsByContentId(contentId, pageable)
-                .map(this::mapToCommentResponseWithReplies);
+        Page<Comment> comments = commentRepository.findRootCommentsByContentId(contentId, pageable);
+
+        // Walk the reply tree one level at a time, so each level's replies are
+        // loaded with one query and all authors with at most one more
+        BatchLoader.Batch<UUID, List<Comment>> replies = replyBatch();
+        BatchLoader.Batch<UUID, ProfileResponse> authors = profileSummaryCache.batch(batchLoader);
+        List<Comment> level = comments.getContent();
+        while (!level.isEmpty()) {
+            replies.prime(level.stream().map(Comment::getId).toList());
+            authors.prime(level.stream().map(comment -> comment.getAuthor().getId()).toList());
+            level = level.stream()
+                    .flatMap(comment -> repliesOf(replies, comment).stream())
+                    .toList();
+        }
+
+        return comments.map(comment -> mapToCommentResponseWithReplies(comment, replies, authors));
     }
 
     @Transactional
@@ -98,19 +116,15 @@ public class CommentService {
     }
 
     private CommentResponse mapToCommentResponse(Comment comment) {
-        Profile author = comment.getAuthor();
+        return mapToCommentResponse(comment, profileSummaryCache.get(comment.getAuthor().getId()));
+    }
 
+    private CommentResponse mapToCommentResponse(Comment comment, ProfileResponse author) {
         return CommentResponse.builder()
                 .id(comment.getId())
                 .contentId(comment.getContent().getId())
                 .parentCommentId(comment.getParentComment() != null ? comment.getParentComment().getId() : null)
-                .author(ProfileResponse.builder()
-                        .id(author.getId())
-                        .fullName(author.getFullName())
-                        .handle(author.getHandle())
-                        .avatarUrl(author.getAvatarUrl())
-                        .verified(author.getVerified())
-                        .build())
+                .author(author)
                 .body(comment.getBody())
                 .likesCount(comment.getLikesCount())
                 .createdAt(comment.getCreatedAt())
@@ -119,14 +133,26 @@ public class CommentService {
                 .build();
     }
 
-    private CommentResponse mapToCommentResponseWithReplies(Comment comment) {
-        CommentResponse response = mapToCommentResponse(comment);
+    private CommentResponse mapToCommentResponseWithReplies(Comment comment,
+                                                            BatchLoader.Batch<UUID, List<Comment>> replies,
+                                                            BatchLoader.Batch<UUID, ProfileResponse> authors) {
+        CommentResponse response = mapToCommentResponse(comment, authors.get(comment.getAuthor().getId()));
 
-        List<Comment> replies = commentRepository.findByParentCommentAndIsDeletedFalseOrderByCreatedAtDesc(comment);
-        response.setReplies(replies.stream()
-                .map(this::mapToCommentResponseWithReplies)
+        response.setReplies(repliesOf(replies, comment).stream()
+                .map(reply -> mapToCommentResponseWithReplies(reply, replies, authors))
                 .collect(Collectors.toList()));
 
         return response;
     }
+
+    private BatchLoader.Batch<UUID, List<Comment>> replyBatch() {
+        return batchLoader.batch("comment-replies", parentIds -> commentRepository.findRepliesByParentIds(parentIds)
+                .stream()
+                .collect(Collectors.groupingBy(reply -> reply.getParentComment().getId())));
+    }
+
+    private static List<Comment> repliesOf(BatchLoader.Batch<UUID, List<Comment>> replies, Comment comment) {
+        List<Comment> found = replies.get(comment.getId());
+        return found != null ? found : List.of();
+    }
 }
@@ -10,6 +10,8 @@ import com.nitor.model.Report;
 import com.nitor.repository.ContentRepository;
 import com.nitor.repository.ProfileRepository;
 import com.nitor.repository.ReportRepository;
+import com.nitor.util.ETagUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -17,18 +19,29 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @SuppressWarnings("null")
+@Timed("nitor.service")
 public class ContentService {
 
     private final ContentRepository contentRepository;
     private final ProfileRepository profileRepository;
+    private final ProfileSummaryCache profileSummaryCache;
     private final ReportRepository reportRepository;
+    private final PlatformStatsService platformStatsService;
+    private final AuditLogAppender auditLogAppender;
 
     @Transactional
     public ContentResponse createContent(UUID authorId, CreateContentRequest request) {
@@ -51,6 +64,8 @@ public class ContentService {
                 .build();
 
         content = Objects.requireNonNull(contentRepository.save(content));
+        platformStatsService.contentCreated();
+        auditLogAppender.append(authorId, "CONTENT_CREATED", "CONTENT", content.getId(), null);
         log.info("Content created: {} by user {}", content.getId(), authorId);
 
         return mapToContentResponse(content);
@@ -58,8 +73,50 @@ public class ContentService {
 
     @Transactional(readOnly = true)
     public Page<ContentResponse> getFeed(Pageable pageable) {
-        return contentRepository.findAllActiveContent(pageable)
-                .map(this::mapToContentResponse);
+        return mapToContentResponses(contentRepository.findAllActiveContent(pageable));
+    }
+
+    /**
+     * ETag of a feed page: its content ids, the latest change to any of those
+     * rows or to the author cards they embed, and the total count
+     *
+     * Reads only ids and timestamps, so a matching If-None-Match skips loading
+     * and mapping the page. Author versions come from the card cache, the same
+     * cards the body is built from; the database's updatedAt may be newer than
+     * a card this instance still serves. Computed before the page is loaded,
+     * so it can never claim a newer version than the body sent with it.
+     */
+    @Transactional(readOnly = true)
+    public String getFeedETag(Pageable pageable) {
+        Page<ContentRepository.ContentVersion> versions = contentRepository.findActiveContentVersions(pageable);
+        Map<UUID, LocalDateTime> authorVersions = profileSummaryCache.getVersions(versions.stream()
+                .map(ContentRepository.ContentVersion::getAuthorId)
+                .toList());
+
+        LocalDateTime latest = versions.stream()
+                .flatMap(version -> Stream.of(version.getUpdatedAt(), authorVersions.get(version.getAuthorId())))
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        String ids = versions.stream()
+                .map(version -> version.getId().toString())
+                .collect(Collectors.joining(","));
+
+        return ETagUtils.strong("feed", pageable, versions.getTotalElements(), latest, ids);
+    }
+
+    /**
+     * ETag of a content item, or null if it does not exist (the caller then
+     * falls through to getContent, which reports the error)
+     *
+     * Uses the version of the cached author card, as {@link #getFeedETag} does.
+     */
+    @Transactional(readOnly = true)
+    public String getContentETag(UUID contentId) {
+        return contentRepository.findVersionById(Objects.requireNonNull(contentId))
+                .map(version -> ETagUtils.strong("content", contentId, version.getUpdatedAt(),
+                        profileSummaryCache.getVersion(version.getAuthorId())))
+                .orElse(null);
     }
 
     @Transactional(readOnly = true)
@@ -93,6 +150,7 @@ public class ContentService {
             content.setKeywords(request.getKeywords());
 
         content = contentRepository.save(content);
+        auditLogAppender.append(authorId, "CONTENT_UPDATED", "CONTENT", contentId, null);
         return mapToContentResponse(content);
     }
 
@@ -105,8 +163,13 @@ public class ContentService {
             throw new ResourceNotFoundException("Not authorized to delete this content");
         }
 
+        boolean wasDeleted = Boolean.TRUE.equals(content.getIsDeleted());
         content.setIsDeleted(true);
         contentRepository.save(content);
+        if (!wasDeleted) {
+            platformStatsService.contentRemoved();
+        }
+        auditLogAppender.append(authorId, "CONTENT_DELETED", "CONTENT", contentId, null);
         log.info("Content deleted: {}", contentId);
     }
 
@@ -115,31 +178,54 @@ public class ContentService {
         Profile profile = profileRepository.findById(Objects.requireNonNull(userId))
                 .orElseThrow(() -> new ResourceNotFoundException("Profile", "id", userId));
 
-        return contentRepository.findByAuthorAndIsDeletedFalse(profile, pageable)
-                .map(this::mapToContentResponse);
+        return mapToContentResponses(contentRepository.findByAuthorAndIsDeletedFalse(profile, pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<ContentResponse> searchContent(String query, Pageable pageable) {
-        return contentRepository.searchContent(query, pageable)
-                .map(this::mapToContentResponse);
+        return mapToContentResponses(contentRepository.searchContent(query, pageable));
+    }
+
+    /**
+     * Responses for the given ids that exist and are not deleted, by id
+     *
+     * One query for the content plus at most one for uncached authors; used
+     * to hydrate bookmarks and reposts.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, ContentResponse> getContentResponses(Collection<UUID> contentIds) {
+        List<Content> contents = contentRepository.findAllById(contentIds).stream()
+                .filter(content -> !content.getIsDeleted())
+                .toList();
+        Map<UUID, ProfileResponse> authors = profileSummaryCache.getAll(contents.stream()
+                .map(content -> content.getAuthor().getId())
+                .toList());
+
+        return contents.stream()
+                .collect(Collectors.toMap(Content::getId,
+                        content -> mapToContentResponse(content, authors.get(content.getAuthor().getId()))));
+    }
+
+    /**
+     * Map a page, fetching the authors missing from the summary cache in one query
+     */
+    private Page<ContentResponse> mapToContentResponses(Page<Content> page) {
+        Map<UUID, ProfileResponse> authors = profileSummaryCache.getAll(page.stream()
+                .map(content -> content.getAuthor().getId())
+                .toList());
+
+        return page.map(content -> mapToContentResponse(content, authors.get(content.getAuthor().getId())));
     }
 
     private ContentResponse mapToContentResponse(Content content) {
-        Profile author = content.getAuthor();
+        // getId() on the lazy author proxy does not load the profile
+        return mapToContentResponse(content, profileSummaryCache.get(content.getAuthor().getId()));
+    }
 
+    private ContentResponse mapToContentResponse(Content content, ProfileResponse author) {
         return ContentResponse.builder()
                 .id(content.getId())
-                .author(ProfileResponse.builder()
-                        .id(author.getId())
-                        .fullName(author.getFullName())
-                        .handle(author.getHandle())
-                        .avatarUrl(author.getAvatarUrl())
-                        .institution(author.getInstitution())
-                        .academicTitle(author.getAcademicTitle())
-                        .verified(author.getVerified())
-                        .nitorScore(author.getNitorScore())
-                        .build())
+                .author(author)
                 .type(content.getType())
                 .body(content.getBody())
                 .title(content.getTitle())
@@ -173,6 +259,7 @@ public class ContentService {
                 .build();
 
         reportRepository.save(report);
+        platformStatsService.reportCreated();
         log.info("Content {} reported by user {} for reason: {}", contentId, reporterId, reason);
     }
 }
@@ -1,5 +1,6 @@
 package com.nitor.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Service;
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Timed(value = "nitor.client", extraTags = { "client", "smtp" })
 public class EmailService {
 
     private final JavaMailSender mailSender;
@@ -1,69 +1,390 @@
 package com.nitor.service;
 
-import io.minio.MinioClient;
-import io.minio.PutObjectArgs;
+import com.nitor.dto.upload.FileUploadResponse;
+import com.nitor.dto.upload.PresignedUploadRequest;
+import com.nitor.dto.upload.PresignedUploadResponse;
+import com.nitor.dto.upload.UploadPurpose;
+import com.nitor.exception.BadRequestException;
+import com.nitor.exception.ResourceNotFoundException;
+import com.nitor.model.FileUpload;
+import com.nitor.repository.FileUploadRepository;
+import com.nitor.storage.ObjectStorage;
+import com.nitor.util.HashUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
+/**
+ * File uploads to object storage (see ObjectStorage)
+ *
+ * Three ways in:
+ * - presigned: the client gets a presigned PUT URL or POST form, uploads
+ *   straight to storage and then confirms; the API never sees the bytes
+ *   (only with backends that support it)
+ * - streamed: the raw request body is piped into storage without staging
+ *   the whole file
+ * - multipart form (MultipartFile): small files only, capped by
+ *   spring.servlet.multipart.max-file-size; otherwise handled like a
+ *   streamed upload
+ *
+ * All uploads are recorded in file_uploads and move from PENDING to
+ * COMPLETED or FAILED. They are written under {folder}/{uuid}_{name} first.
+ * On completion they are hashed (streamed and multipart uploads while they
+ * stream), moved to a shared content-addressed key and, for images, queued
+ * for thumbnail variants (see MediaProcessingService).
+ */
 @Slf4j
 @Service
+@SuppressWarnings("null")
+@Timed("nitor.service")
 public class FileUploadService {
 
-    private final MinioClient minioClient;
-    private final String bucketName;
-    private final String minioEndpoint;
+    private final ObjectStorage storage;
+    private final FileUploadRepository fileUploadRepository;
+    private final MediaProcessingService mediaProcessingService;
+    private final long maxSize;
+    private final Duration presignExpiry;
 
     public FileUploadService(
-            @Value("${app.minio.endpoint}") String endpoint,
-            @Value("${app.minio.access-key}") String accessKey,
-            @Value("${app.minio.secret-key}") String secretKey,
-            @Value("${app.minio.bucket-name}") String bucketName) {
-
-        this.bucketName = bucketName;
-        this.minioEndpoint = endpoint;
-        this.minioClient = MinioClient.builder()
-                .endpoint(endpoint)
-                .credentials(accessKey, secretKey)
-                .build();
+            ObjectStorage storage,
+            FileUploadRepository fileUploadRepository,
+            MediaProcessingService mediaProcessingService,
+            @Value("${app.upload.max-size:100MB}") DataSize maxSize,
+            @Value("${app.upload.presign-expiry:PT15M}") Duration presignExpiry) {
+
+        this.storage = storage;
+        this.fileUploadRepository = fileUploadRepository;
+        this.mediaProcessingService = mediaProcessingService;
+        this.maxSize = maxSize.toBytes();
+        this.presignExpiry = presignExpiry;
+    }
 
-        log.info("MinIO client initialized for bucket: {}", bucketName);
+    /**
+     * Store a multipart form file, through the same hashed pipeline as
+     * {@link #streamUpload}
+     */
+    public FileUploadResponse uploadMultipart(UUID userId, UploadPurpose purpose, MultipartFile file) {
+        String contentType = file.getContentType() != null
+                ? file.getContentType()
+                : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+
+        try (InputStream body = file.getInputStream()) {
+            return streamUpload(userId, purpose, file.getOriginalFilename(), contentType, file.getSize(), body);
+        } catch (IOException e) {
+            log.error("Error reading multipart upload", e);
+            throw new RuntimeException("Failed to upload file", e);
+        }
     }
 
-    public String uploadFile(MultipartFile file, String folder) {
+    /**
+     * Issue a presigned PUT URL or POST form for a direct upload to storage
+     *
+     * The upload is recorded as PENDING until {@link #completeUpload} is called.
+     */
+    public PresignedUploadResponse createPresignedUpload(UUID userId, PresignedUploadRequest request) {
+        if (!storage.supportsPresignedUploads()) {
+            throw new BadRequestException("Direct uploads are not available, use the streaming upload instead");
+        }
+        checkSize(request.getSize());
+
+        LocalDateTime expiresAt = LocalDateTime.now().plus(presignExpiry);
+        FileUpload upload = Objects.requireNonNull(fileUploadRepository.save(
+                newUpload(userId, request.getPurpose(), request.getFileName(), request.getContentType())
+                        .expiresAt(expiresAt)
+                        .build()));
+
         try {
-            String fileName = folder + "/" + UUID.randomUUID() + "_" + file.getOriginalFilename();
+            PresignedUploadResponse.PresignedUploadResponseBuilder response = PresignedUploadResponse.builder()
+                    .uploadId(upload.getId())
+                    .method(request.getMethod())
+                    .objectKey(upload.getStoragePath())
+                    .expiresAt(expiresAt);
+
+            // With POST, storage rejects the upload unless key, type and size match the policy
+            ObjectStorage.PresignedRequest presigned = request.getMethod() == PresignedUploadRequest.Method.POST
+                    ? storage.presignPost(upload.getStoragePath(), request.getContentType(), maxSize, presignExpiry)
+                    : storage.presignPut(upload.getStoragePath(), presignExpiry);
+            response.url(presigned.url())
+                    .formData(presigned.formData());
+
+            log.info("Presigned {} upload {} issued for user {}", request.getMethod(), upload.getId(), userId);
+            return response.build();
+        } catch (Exception e) {
+            markFailed(upload);
+            log.error("Error presigning upload {}", upload.getId(), e);
+            throw new RuntimeException("Failed to prepare upload", e);
+        }
+    }
 
-            InputStream inputStream = file.getInputStream();
+    /**
+     * Confirm a presigned upload once the client has sent the file to storage
+     *
+     * The stored object is checked (a presigned PUT cannot limit the size)
+     * and read back once to hash it, then the upload is marked COMPLETED.
+     */
+    public FileUploadResponse completeUpload(UUID userId, UUID uploadId) {
+        FileUpload upload = findUpload(userId, uploadId);
 
-            minioClient.putObject(
-                    PutObjectArgs.builder()
-                            .bucket(bucketName)
-                            .object(fileName)
-                            .stream(inputStream, file.getSize(), -1)
-                            .contentType(file.getContentType())
-                            .build()
-            );
+        if (upload.getUploadStatus() == FileUpload.UploadStatus.COMPLETED) {
+            return mapToFileUploadResponse(upload);
+        }
+        if (upload.getUploadStatus() == FileUpload.UploadStatus.FAILED) {
+            throw new BadRequestException("Upload has failed or expired");
+        }
 
-            String fileUrl = String.format("%s/%s/%s", minioEndpoint, bucketName, fileName);
-            log.info("File uploaded successfully: {}", fileUrl);
+        ObjectStorage.StoredObject stat;
+        try {
+            stat = storage.stat(upload.getStoragePath())
+                    .orElseThrow(() -> new BadRequestException("File has not been uploaded yet"));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to verify upload", e);
+        }
+
+        if (stat.size() > maxSize) {
+            removeObject(upload.getStoragePath());
+            markFailed(upload);
+            throw new BadRequestException("File exceeds the maximum size of " + maxSize + " bytes");
+        }
 
-            return fileUrl;
+        String contentHash;
+        try {
+            contentHash = mediaProcessingService.hashObject(upload.getStoragePath());
         } catch (Exception e) {
-            log.error("Error uploading file to MinIO", e);
+            throw new RuntimeException("Failed to verify upload", e);
+        }
+
+        upload.setFileSize(stat.size());
+        if (stat.contentType() != null) {
+            upload.setMimeType(stat.contentType());
+        }
+        finishUpload(upload, contentHash);
+
+        log.info("Presigned upload {} completed ({} bytes)", uploadId, stat.size());
+        return mapToFileUploadResponse(upload);
+    }
+
+    /**
+     * Stream a request body into storage
+     *
+     * The body is hashed and size-checked as it passes through to storage.
+     *
+     * @param contentLength Body length in bytes, or -1 when unknown (chunked)
+     */
+    public FileUploadResponse streamUpload(UUID userId, UploadPurpose purpose, String fileName,
+            String contentType, long contentLength, InputStream body) {
+
+        if (contentLength >= 0) {
+            checkSize(contentLength);
+        }
+
+        FileUpload upload = Objects.requireNonNull(fileUploadRepository.save(
+                newUpload(userId, purpose, fileName, contentType).build()));
+
+        SizeLimitedInputStream limited = new SizeLimitedInputStream(body, maxSize);
+        MessageDigest digest = HashUtils.sha256();
+        try {
+            storage.put(upload.getStoragePath(), new DigestInputStream(limited, digest), contentLength, contentType);
+        } catch (Exception e) {
+            markFailed(upload);
+            if (limited.isLimitExceeded()) {
+                throw new BadRequestException("File exceeds the maximum size of " + maxSize + " bytes");
+            }
+            log.error("Error streaming upload {} to storage", upload.getId(), e);
             throw new RuntimeException("Failed to upload file", e);
         }
+
+        upload.setFileSize(limited.getBytesRead());
+        finishUpload(upload, HexFormat.of().formatHex(digest.digest()));
+
+        log.info("Streamed upload {} completed ({} bytes)", upload.getId(), limited.getBytesRead());
+        return mapToFileUploadResponse(upload);
     }
 
-    public String uploadAvatar(MultipartFile file) {
-        return uploadFile(file, "avatars");
+    public FileUploadResponse getUpload(UUID userId, UUID uploadId) {
+        return mapToFileUploadResponse(findUpload(userId, uploadId));
+    }
+
+    /**
+     * Fail presigned uploads that were never confirmed and remove anything
+     * the client may have sent after all
+     * Runs every 15 minutes
+     */
+    @Scheduled(fixedDelay = 900000)
+    public void expireAbandonedUploads() {
+        List<FileUpload> expired = fileUploadRepository.findByUploadStatusAndExpiresAtBefore(
+                FileUpload.UploadStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, 500));
+
+        for (FileUpload upload : expired) {
+            removeObject(upload.getStoragePath());
+            markFailed(upload);
+        }
+
+        if (!expired.isEmpty()) {
+            log.info("Expired {} abandoned uploads", expired.size());
+        }
     }
 
-    public String uploadContentMedia(MultipartFile file) {
-        return uploadFile(file, "content");
+    private FileUpload.FileUploadBuilder newUpload(UUID userId, UploadPurpose purpose, String fileName,
+            String contentType) {
+
+        String originalName = sanitizeFileName(fileName);
+        String storedName = UUID.randomUUID() + "_" + originalName;
+
+        return FileUpload.builder()
+                .userId(userId)
+                .fileName(storedName)
+                .originalName(originalName)
+                .fileType(purpose.fileType(contentType))
+                .mimeType(contentType)
+                .fileSize(0L)
+                .storagePath(purpose.getFolder() + "/" + storedName)
+                .uploadStatus(FileUpload.UploadStatus.PENDING);
+    }
+
+    private FileUpload findUpload(UUID userId, UUID uploadId) {
+        return fileUploadRepository.findByIdAndUserId(uploadId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("FileUpload", "id", uploadId.toString()));
+    }
+
+    /**
+     * Record the content hash, move the object to its content-addressed key
+     * (or reuse an identical one), mark the upload completed and queue its
+     * variants
+     */
+    private void finishUpload(FileUpload upload, String contentHash) {
+        upload.setContentHash(contentHash);
+        if (upload.getMimeType() != null && upload.getMimeType().startsWith("image/")) {
+            upload.setVariantStatus(FileUpload.VariantStatus.PENDING);
+        }
+        try {
+            mediaProcessingService.deduplicate(upload);
+        } catch (IOException e) {
+            removeObject(upload.getStoragePath());
+            markFailed(upload);
+            log.error("Error storing upload {} by content", upload.getId(), e);
+            throw new RuntimeException("Failed to upload file", e);
+        }
+        markCompleted(upload);
+
+        if (upload.getVariantStatus() == FileUpload.VariantStatus.PENDING) {
+            mediaProcessingService.submit(upload.getId());
+        }
+    }
+
+    private void markCompleted(FileUpload upload) {
+        upload.setUploadStatus(FileUpload.UploadStatus.COMPLETED);
+        upload.setFileUrl(storage.getUrl(upload.getStoragePath()));
+        upload.setCompletedAt(LocalDateTime.now());
+        fileUploadRepository.save(upload);
+    }
+
+    private void markFailed(FileUpload upload) {
+        upload.setUploadStatus(FileUpload.UploadStatus.FAILED);
+        fileUploadRepository.save(upload);
+    }
+
+    private void removeObject(String objectName) {
+        try {
+            storage.delete(objectName);
+        } catch (Exception e) {
+            log.warn("Failed to remove object {}: {}", objectName, e.getMessage());
+        }
+    }
+
+    private void checkSize(long size) {
+        if (size > maxSize) {
+            throw new BadRequestException("File exceeds the maximum size of " + maxSize + " bytes");
+        }
+    }
+
+    /**
+     * Keep only the last path segment and characters that are safe in an object key
+     */
+    private static String sanitizeFileName(String fileName) {
+        String name = fileName == null ? "" : fileName.substring(Math.max(fileName.lastIndexOf('/'),
+                fileName.lastIndexOf('\\')) + 1);
+        name = name.replaceAll("[^A-Za-z0-9._-]", "_");
+        return name.isEmpty() ? "file" : name;
+    }
+
+    private FileUploadResponse mapToFileUploadResponse(FileUpload upload) {
+        return FileUploadResponse.builder()
+                .id(upload.getId())
+                .originalName(upload.getOriginalName())
+                .mimeType(upload.getMimeType())
+                .fileSize(upload.getFileSize())
+                .fileUrl(upload.getFileUrl())
+                .uploadStatus(upload.getUploadStatus())
+                .createdAt(upload.getCreatedAt())
+                .completedAt(upload.getCompletedAt())
+                .variants(mediaProcessingService.getVariantUrls(upload))
+                .build();
+    }
+
+    /**
+     * Counts bytes read and fails once more than the limit has been read
+     */
+    static class SizeLimitedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private long bytesRead;
+        private boolean limitExceeded;
+
+        SizeLimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) throws IOException {
+            bytesRead += n;
+            if (bytesRead > limit) {
+                limitExceeded = true;
+                throw new IOException("Upload exceeds " + limit + " bytes");
+            }
+        }
+
+        long getBytesRead() {
+            return bytesRead;
+        }
+
+        boolean isLimitExceeded() {
+            return limitExceeded;
+        }
     }
 }
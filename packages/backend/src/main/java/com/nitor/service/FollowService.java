@@ -2,13 +2,13 @@ package com.nitor.service;
 
 import com.nitor.dto.follow.FollowResponse;
 import com.nitor.dto.follow.FollowStatsResponse;
+import com.nitor.dto.profile.ProfileResponse;
 import com.nitor.exception.BadRequestException;
 import com.nitor.exception.ResourceNotFoundException;
 import com.nitor.model.Follow;
-import com.nitor.model.Profile;
 import com.nitor.repository.FollowRepository;
-import com.nitor.repository.ProfileRepository;
 import com.nitor.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -18,16 +18,19 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 @SuppressWarnings("null")
+@Timed("nitor.service")
 public class FollowService {
 
     private final FollowRepository followRepository;
     private final UserRepository userRepository;
-    private final ProfileRepository profileRepository;
+    private final ProfileSummaryCache profileSummaryCache;
+    private final BatchLoader batchLoader;
 
     public FollowResponse followUser(UUID followerId, UUID followingId) {
         // Validation
@@ -69,14 +72,12 @@ public class FollowService {
 
     @Transactional(readOnly = true)
     public Page<FollowResponse> getFollowers(UUID userId, Pageable pageable) {
-        return followRepository.findByFollowingId(userId, pageable)
-                .map(this::mapToFollowResponse);
+        return mapToFollowResponses(followRepository.findByFollowingId(userId, pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<FollowResponse> getFollowing(UUID userId, Pageable pageable) {
-        return followRepository.findByFollowerId(userId, pageable)
-                .map(this::mapToFollowResponse);
+        return mapToFollowResponses(followRepository.findByFollowerId(userId, pageable));
     }
 
     @Transactional(readOnly = true)
@@ -109,12 +110,23 @@ public class FollowService {
 
     // ==================== HELPERS ====================
 
+    private Page<FollowResponse> mapToFollowResponses(Page<Follow> follows) {
+        BatchLoader.Batch<UUID, ProfileResponse> profiles = profileSummaryCache.batch(batchLoader)
+                .prime(follows.stream()
+                        .flatMap(follow -> Stream.of(follow.getFollowerId(), follow.getFollowingId()))
+                        .toList());
+
+        return follows.map(follow -> mapToFollowResponse(follow,
+                profiles.get(follow.getFollowerId()), profiles.get(follow.getFollowingId())));
+    }
+
     private FollowResponse mapToFollowResponse(Follow follow) {
-        Profile followerProfile = profileRepository.findByUserId(follow.getFollowerId())
-                .orElse(null);
-        Profile followingProfile = profileRepository.findByUserId(follow.getFollowingId())
-                .orElse(null);
+        return mapToFollowResponse(follow,
+                profileSummaryCache.get(follow.getFollowerId()), profileSummaryCache.get(follow.getFollowingId()));
+    }
 
+    private FollowResponse mapToFollowResponse(Follow follow, ProfileResponse followerProfile,
+                                               ProfileResponse followingProfile) {
         return FollowResponse.builder()
                 .id(follow.getId())
                 .followerId(follow.getFollowerId())
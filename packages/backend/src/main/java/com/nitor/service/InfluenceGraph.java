@@ -0,0 +1,216 @@
+package com.nitor.service;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+/**
+ * Weighted directed graph over profile indexes, with a parallel PageRank
+ *
+ * Edges are stored as in-edge lists (compressed rows by target), each weight
+ * already divided by its source's total out-weight. One PageRank iteration
+ * then computes every target independently, so the index range is split
+ * into partitions and evaluated with fork/join.
+ */
+final class InfluenceGraph {
+
+    // Targets per leaf task; below this, splitting costs more than it saves
+    private static final int PARTITION_SIZE = 4096;
+
+    private final int size;
+    private final int[] inOffsets;
+    private final int[] inSources;
+    private final float[] inWeights;
+    private final int[] danglingNodes;
+
+    private InfluenceGraph(int size, int[] inOffsets, int[] inSources, float[] inWeights, int[] danglingNodes) {
+        this.size = size;
+        this.inOffsets = inOffsets;
+        this.inSources = inSources;
+        this.inWeights = inWeights;
+        this.danglingNodes = danglingNodes;
+    }
+
+    static Builder builder(int size) {
+        return new Builder(size);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int edgeCount() {
+        return inSources.length;
+    }
+
+    /**
+     * PageRank with uniform teleport; rank of dangling nodes is spread evenly
+     *
+     * @param initial   Starting ranks (e.g. the previous run's), or null for uniform
+     * @param tolerance Stop once the L1 change of an iteration is below this
+     * @return Ranks summing to 1, with the rank of a node nobody links to
+     */
+    Ranks pageRank(double damping, int maxIterations, double tolerance, double[] initial, ForkJoinPool pool) {
+        if (size == 0) {
+            return new Ranks(new double[0], 0);
+        }
+
+        double[] rank = initial != null ? normalize(initial.clone()) : uniform();
+        double[] next = new double[size];
+        double base = 1.0 / size;
+
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            double danglingRank = 0;
+            for (int node : danglingNodes) {
+                danglingRank += rank[node];
+            }
+            // Teleport plus the dangling share: all a node without in-edges receives
+            base = (1 - damping) / size + damping * danglingRank / size;
+
+            double delta = pool.invoke(new Iteration(rank, next, base, damping, 0, size));
+
+            double[] swap = rank;
+            rank = next;
+            next = swap;
+            if (delta < tolerance) {
+                break;
+            }
+        }
+        return new Ranks(rank, base);
+    }
+
+    /**
+     * @param rank  Rank per node
+     * @param floor Rank of a node without in-edges, from the last iteration
+     */
+    record Ranks(double[] rank, double floor) {
+    }
+
+    private double[] uniform() {
+        double[] rank = new double[size];
+        Arrays.fill(rank, 1.0 / size);
+        return rank;
+    }
+
+    private double[] normalize(double[] rank) {
+        double sum = 0;
+        for (double value : rank) {
+            sum += value;
+        }
+        if (sum <= 0) {
+            return uniform();
+        }
+        for (int i = 0; i < rank.length; i++) {
+            rank[i] /= sum;
+        }
+        return rank;
+    }
+
+    /**
+     * One iteration over targets [from, to); returns the L1 change of that range
+     */
+    private final class Iteration extends RecursiveTask<Double> {
+
+        private final double[] rank;
+        private final double[] next;
+        private final double base;
+        private final double damping;
+        private final int from;
+        private final int to;
+
+        Iteration(double[] rank, double[] next, double base, double damping, int from, int to) {
+            this.rank = rank;
+            this.next = next;
+            this.base = base;
+            this.damping = damping;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Double compute() {
+            if (to - from > PARTITION_SIZE) {
+                int middle = (from + to) >>> 1;
+                Iteration left = new Iteration(rank, next, base, damping, from, middle);
+                left.fork();
+                double right = new Iteration(rank, next, base, damping, middle, to).compute();
+                return left.join() + right;
+            }
+
+            double delta = 0;
+            for (int target = from; target < to; target++) {
+                double incoming = 0;
+                for (int edge = inOffsets[target]; edge < inOffsets[target + 1]; edge++) {
+                    incoming += rank[inSources[edge]] * inWeights[edge];
+                }
+                double value = base + damping * incoming;
+                delta += Math.abs(value - rank[target]);
+                next[target] = value;
+            }
+            return delta;
+        }
+    }
+
+    static final class Builder {
+
+        private final int size;
+        private final double[] outWeights;
+        private int[] sources = new int[1024];
+        private int[] targets = new int[1024];
+        private float[] weights = new float[1024];
+        private int edges;
+
+        private Builder(int size) {
+            this.size = size;
+            this.outWeights = new double[size];
+        }
+
+        /**
+         * Add an edge; self-loops and edges with a missing endpoint (index < 0) are ignored
+         */
+        Builder addEdge(int source, int target, float weight) {
+            if (source < 0 || target < 0 || source == target || weight <= 0) {
+                return this;
+            }
+            if (edges == sources.length) {
+                int capacity = edges * 2;
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            sources[edges] = source;
+            targets[edges] = target;
+            weights[edges] = weight;
+            outWeights[source] += weight;
+            edges++;
+            return this;
+        }
+
+        InfluenceGraph build() {
+            // Counting sort of the edges by target
+            int[] offsets = new int[size + 1];
+            for (int i = 0; i < edges; i++) {
+                offsets[targets[i] + 1]++;
+            }
+            for (int node = 0; node < size; node++) {
+                offsets[node + 1] += offsets[node];
+            }
+
+            int[] position = Arrays.copyOf(offsets, size);
+            int[] inSources = new int[edges];
+            float[] inWeights = new float[edges];
+            for (int i = 0; i < edges; i++) {
+                int slot = position[targets[i]]++;
+                inSources[slot] = sources[i];
+                inWeights[slot] = (float) (weights[i] / outWeights[sources[i]]);
+            }
+
+            int[] dangling = IntStream.range(0, size)
+                    .filter(node -> outWeights[node] == 0)
+                    .toArray();
+
+            return new InfluenceGraph(size, offsets, inSources, inWeights, dangling);
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.nitor.service;
 
+import com.nitor.dto.content.ContentResponse;
+import com.nitor.dto.interaction.BookmarkResponse;
 import com.nitor.dto.interaction.EndorsementResponse;
 import com.nitor.dto.interaction.InteractionStatsResponse;
 import com.nitor.dto.interaction.RepostRequest;
+import com.nitor.dto.interaction.RepostResponse;
+import com.nitor.dto.profile.ProfileResponse;
 import com.nitor.exception.BadRequestException;
 import com.nitor.exception.ResourceNotFoundException;
 import com.nitor.model.*;
 import com.nitor.repository.*;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -20,13 +25,16 @@ import java.util.UUID;
 @RequiredArgsConstructor
 @Transactional
 @SuppressWarnings("null")
+@Timed("nitor.service")
 public class InteractionService {
 
     private final EndorsementRepository endorsementRepository;
     private final RepostRepository repostRepository;
     private final BookmarkRepository bookmarkRepository;
     private final ContentRepository contentRepository;
-    private final ProfileRepository profileRepository;
+    private final ProfileSummaryCache profileSummaryCache;
+    private final ContentService contentService;
+    private final BatchLoader batchLoader;
 
     // ==================== ENDORSEMENTS (LIKES) ====================
 
@@ -50,18 +58,7 @@ public class InteractionService {
 
         endorsement = Objects.requireNonNull(endorsementRepository.save(endorsement));
 
-        // Get user info for response
-        Profile profile = profileRepository.findByUserId(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Profile not found"));
-
-        return EndorsementResponse.builder()
-                .id(endorsement.getId())
-                .userId(userId)
-                .contentId(contentId)
-                .createdAt(endorsement.getCreatedAt())
-                .userFullName(profile.getFullName())
-                .userHandle(profile.getHandle())
-                .build();
+        return mapToEndorsementResponse(endorsement, profileSummaryCache.get(userId));
     }
 
     public void unendorseContent(UUID contentId, UUID userId) {
@@ -72,8 +69,11 @@ public class InteractionService {
     }
 
     public Page<EndorsementResponse> getContentEndorsements(UUID contentId, Pageable pageable) {
-        return endorsementRepository.findByContentId(contentId, pageable)
-                .map(this::mapToEndorsementResponse);
+        Page<Endorsement> endorsements = endorsementRepository.findByContentId(contentId, pageable);
+        BatchLoader.Batch<UUID, ProfileResponse> users = profileSummaryCache.batch(batchLoader)
+                .prime(endorsements.map(Endorsement::getUserId).getContent());
+
+        return endorsements.map(endorsement -> mapToEndorsementResponse(endorsement, users.get(endorsement.getUserId())));
     }
 
     // ==================== REPOSTS ====================
@@ -105,8 +105,19 @@ public class InteractionService {
         repostRepository.deleteByUserIdAndContentId(userId, contentId);
     }
 
-    public Page<Repost> getUserReposts(UUID userId, Pageable pageable) {
-        return repostRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+    public Page<RepostResponse> getUserReposts(UUID userId, Pageable pageable) {
+        Page<Repost> reposts = repostRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+        BatchLoader.Batch<UUID, ContentResponse> contents = contentBatch()
+                .prime(reposts.map(Repost::getContentId).getContent());
+
+        return reposts.map(repost -> RepostResponse.builder()
+                .id(repost.getId())
+                .userId(repost.getUserId())
+                .contentId(repost.getContentId())
+                .comment(repost.getComment())
+                .createdAt(repost.getCreatedAt())
+                .content(contents.get(repost.getContentId()))
+                .build());
     }
 
     // ==================== BOOKMARKS ====================
@@ -137,8 +148,18 @@ public class InteractionService {
         bookmarkRepository.deleteByUserIdAndContentId(userId, contentId);
     }
 
-    public Page<Bookmark> getUserBookmarks(UUID userId, Pageable pageable) {
-        return bookmarkRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+    public Page<BookmarkResponse> getUserBookmarks(UUID userId, Pageable pageable) {
+        Page<Bookmark> bookmarks = bookmarkRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+        BatchLoader.Batch<UUID, ContentResponse> contents = contentBatch()
+                .prime(bookmarks.map(Bookmark::getContentId).getContent());
+
+        return bookmarks.map(bookmark -> BookmarkResponse.builder()
+                .id(bookmark.getId())
+                .userId(bookmark.getUserId())
+                .contentId(bookmark.getContentId())
+                .createdAt(bookmark.getCreatedAt())
+                .content(contents.get(bookmark.getContentId()))
+                .build());
     }
 
     // ==================== STATS ====================
@@ -167,10 +188,11 @@ public class InteractionService {
 
     // ==================== HELPERS ====================
 
-    private EndorsementResponse mapToEndorsementResponse(Endorsement endorsement) {
-        Profile profile = profileRepository.findByUserId(endorsement.getUserId())
-                .orElse(null);
+    private BatchLoader.Batch<UUID, ContentResponse> contentBatch() {
+        return batchLoader.batch("content", contentService::getContentResponses);
+    }
 
+    private EndorsementResponse mapToEndorsementResponse(Endorsement endorsement, ProfileResponse profile) {
         return EndorsementResponse.builder()
                 .id(endorsement.getId())
                 .userId(endorsement.getUserId())
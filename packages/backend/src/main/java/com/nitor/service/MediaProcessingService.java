@@ -0,0 +1,350 @@
+package com.nitor.service;
+
+import com.nitor.model.FileUpload;
+import com.nitor.repository.FileUploadRepository;
+import com.nitor.storage.ObjectStorage;
+import com.nitor.util.HashUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Content-addressed deduplication and thumbnail variants for uploads
+ *
+ * Every completed upload gets a SHA-256 content hash and is moved to a
+ * content-addressed key, objects/{hash}/{type}. The type is part of the key
+ * because the stored object carries the content type it is served with. An
+ * upload whose hash and type match an earlier completed one reuses that
+ * object. The uploader's own file name stays in the row and never appears
+ * in a shared URL. Images get downscaled variants (64/256/1024 px by
+ * default) stored under variants/{hash}/{size}, so all copies of a file
+ * share them.
+ *
+ * Variants are rendered on a small bounded pool. Work rejected because the
+ * queue is full is picked up by the periodic sweep.
+ *
+ * Metrics:
+ * - nitor.media.deduplicated  uploads that reused an existing object
+ * - nitor.media.variants      time to render and store one image's variants
+ * - nitor.media.rejected      tasks refused because the queue was full
+ * - nitor.media.queue.size    tasks waiting for a worker
+ */
+@Service
+@Slf4j
+@SuppressWarnings("null")
+public class MediaProcessingService implements DisposableBean {
+
+    private static final String OBJECT_FOLDER = "objects";
+    private static final String VARIANT_FOLDER = "variants";
+
+    private final ObjectStorage storage;
+    private final FileUploadRepository fileUploadRepository;
+    private final int[] variantSizes;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+
+    private final Counter deduplicatedCounter;
+    private final Counter rejectedCounter;
+    private final Timer variantsTimer;
+
+    public MediaProcessingService(
+            ObjectStorage storage,
+            FileUploadRepository fileUploadRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.upload.thumbnails.sizes:64,256,1024}") int[] variantSizes,
+            @Value("${app.upload.thumbnails.max-pixels:40000000}") long maxPixels,
+            @Value("${app.upload.thumbnails.threads:2}") int threads,
+            @Value("${app.upload.thumbnails.queue-capacity:200}") int queueCapacity) {
+
+        this.storage = storage;
+        this.fileUploadRepository = fileUploadRepository;
+        // Largest first: each variant is scaled down from the previous one
+        this.variantSizes = Arrays.stream(variantSizes).boxed()
+                .sorted((a, b) -> b - a)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        this.maxPixels = maxPixels;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "media-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.deduplicatedCounter = Counter.builder("nitor.media.deduplicated")
+                .description("Uploads that reused an existing stored object")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("nitor.media.rejected")
+                .description("Media tasks rejected because the queue was full")
+                .register(meterRegistry);
+        this.variantsTimer = Timer.builder("nitor.media.variants")
+                .description("Time to render and store the variants of one image")
+                .register(meterRegistry);
+        Gauge.builder("nitor.media.queue.size", executor, e -> e.getQueue().size())
+                .description("Media tasks waiting for a worker")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * Move the upload's object to its content-addressed key, or reuse the
+     * object already there if an earlier completed upload has the same hash
+     * and type
+     *
+     * Call before the upload is marked completed; the caller saves the row.
+     * Two identical uploads completing at once both copy the same bytes to
+     * the same key, which is harmless.
+     */
+    public void deduplicate(FileUpload upload) throws IOException {
+        String objectName = objectPath(upload.getContentHash(), upload.getMimeType());
+        if (objectName.equals(upload.getStoragePath())) {
+            return;
+        }
+
+        FileUpload existing = fileUploadRepository
+                .findFirstByContentHashAndMimeTypeAndUploadStatusAndIdNotOrderByCreatedAtAsc(
+                        upload.getContentHash(), upload.getMimeType(), FileUpload.UploadStatus.COMPLETED,
+                        upload.getId())
+                .filter(candidate -> candidate.getStoragePath().equals(objectName))
+                .orElse(null);
+
+        if (existing != null) {
+            if (existing.getVariantStatus() == FileUpload.VariantStatus.READY) {
+                upload.setVariantStatus(FileUpload.VariantStatus.READY);
+            }
+            deduplicatedCounter.increment();
+            log.debug("Upload {} deduplicated against {}", upload.getId(), existing.getId());
+        } else {
+            storage.copy(upload.getStoragePath(), objectName);
+        }
+
+        removeObject(upload.getStoragePath());
+        upload.setStoragePath(objectName);
+    }
+
+    /**
+     * SHA-256 (hex) of a stored object, for uploads that did not pass through the API
+     */
+    public String hashObject(String objectName) throws IOException {
+        MessageDigest digest = HashUtils.sha256();
+        try (InputStream in = new DigestInputStream(storage.get(objectName), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Queue variant rendering for a completed image upload
+     */
+    public void submit(UUID uploadId) {
+        try {
+            executor.execute(() -> process(uploadId));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Media queue full, upload {} left for the next sweep", uploadId);
+        }
+    }
+
+    /**
+     * URLs of the variants by size, empty until they are ready
+     */
+    public Map<Integer, String> getVariantUrls(FileUpload upload) {
+        Map<Integer, String> urls = new LinkedHashMap<>();
+        if (upload.getVariantStatus() == FileUpload.VariantStatus.READY) {
+            for (int i = variantSizes.length - 1; i >= 0; i--) {
+                urls.put(variantSizes[i], storage.getUrl(variantPath(upload.getContentHash(), variantSizes[i])));
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * URL of the smallest ready variant at least {@code minSize} px (or the
+     * largest one) for each stored file URL; URLs with no ready variants,
+     * such as links to other sites, are left out
+     */
+    public Map<String, String> getThumbnailUrls(Collection<String> fileUrls, int minSize) {
+        Set<String> urls = fileUrls.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (urls.isEmpty()) {
+            return Map.of();
+        }
+
+        int size = variantSizes[0];
+        for (int candidate : variantSizes) {
+            if (candidate >= minSize) {
+                size = candidate;
+            }
+        }
+
+        Map<String, String> thumbnails = new HashMap<>();
+        for (FileUploadRepository.VariantSource source : fileUploadRepository.findVariantSources(urls)) {
+            thumbnails.put(source.getFileUrl(), storage.getUrl(variantPath(source.getContentHash(), size)));
+        }
+        return thumbnails;
+    }
+
+    /**
+     * Re-queue images whose variant rendering was rejected or interrupted
+     * Runs every 10 minutes
+     */
+    @Scheduled(fixedDelay = 600000, initialDelay = 600000)
+    public void sweep() {
+        fileUploadRepository.findIdsAwaitingVariants(LocalDateTime.now().minusMinutes(5), PageRequest.of(0, 100))
+                .forEach(this::submit);
+    }
+
+    private void process(UUID uploadId) {
+        FileUpload upload = fileUploadRepository.findById(uploadId).orElse(null);
+        if (upload == null || upload.getUploadStatus() != FileUpload.UploadStatus.COMPLETED
+                || upload.getVariantStatus() != FileUpload.VariantStatus.PENDING) {
+            return;
+        }
+
+        FileUpload.VariantStatus status = variantsTimer.record(() -> renderVariants(upload));
+        fileUploadRepository.updateVariantStatus(upload.getContentHash(), status);
+    }
+
+    private FileUpload.VariantStatus renderVariants(FileUpload upload) {
+        // Another copy of the same file may have rendered them already
+        boolean rendered = fileUploadRepository.findFirstByContentHashAndUploadStatusAndIdNotOrderByCreatedAtAsc(
+                        upload.getContentHash(), FileUpload.UploadStatus.COMPLETED, upload.getId())
+                .map(existing -> existing.getVariantStatus() == FileUpload.VariantStatus.READY)
+                .orElse(false);
+        if (rendered) {
+            return FileUpload.VariantStatus.READY;
+        }
+
+        try (InputStream in = storage.get(upload.getStoragePath());
+             ImageInputStream imageInput = ImageIO.createImageInputStream(in)) {
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+            if (!readers.hasNext()) {
+                // Format without a decoder (e.g. SVG, WebP); served as uploaded
+                return FileUpload.VariantStatus.NONE;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInput, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    log.warn("Upload {} is {} pixels, not rendering variants", upload.getId(), pixels);
+                    return FileUpload.VariantStatus.FAILED;
+                }
+
+                BufferedImage source = reader.read(0);
+                boolean alpha = source.getColorModel().hasAlpha();
+                for (int size : variantSizes) {
+                    source = scaleToFit(source, size, alpha);
+                    storeVariant(variantPath(upload.getContentHash(), size), source, alpha);
+                }
+            } finally {
+                reader.dispose();
+            }
+            return FileUpload.VariantStatus.READY;
+        } catch (Exception e) {
+            log.warn("Failed to render variants for upload {}: {}", upload.getId(), e.getMessage());
+            return FileUpload.VariantStatus.FAILED;
+        }
+    }
+
+    /**
+     * Scale so the longer side is at most {@code size}; never upscales
+     */
+    private static BufferedImage scaleToFit(BufferedImage source, int size, boolean alpha) {
+        double scale = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage target = new BufferedImage(width, height,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private void storeVariant(String objectName, BufferedImage image, boolean alpha) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, alpha ? "png" : "jpg", out);
+        byte[] bytes = out.toByteArray();
+
+        storage.put(objectName, new ByteArrayInputStream(bytes), bytes.length, alpha ? "image/png" : "image/jpeg");
+    }
+
+    private void removeObject(String objectName) {
+        try {
+            storage.delete(objectName);
+        } catch (Exception e) {
+            log.warn("Failed to remove upload object {}: {}", objectName, e.getMessage());
+        }
+    }
+
+    /**
+     * objects/{hash}/{type}, with the type made safe for a key ("image/png" becomes "image.png")
+     */
+    static String objectPath(String contentHash, String mimeType) {
+        String type = mimeType == null ? "application/octet-stream" : mimeType.trim().toLowerCase(Locale.ROOT);
+        return OBJECT_FOLDER + "/" + contentHash + "/" + type.replace('/', '.').replaceAll("[^a-z0-9.+-]", "_");
+    }
+
+    private static String variantPath(String contentHash, int size) {
+        return VARIANT_FOLDER + "/" + contentHash + "/" + size;
+    }
+}
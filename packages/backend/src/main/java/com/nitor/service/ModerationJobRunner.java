@@ -0,0 +1,204 @@
+package com.nitor.service;
+
+import com.nitor.dto.admin.BulkModerationRequest;
+import com.nitor.model.AuditLog;
+import com.nitor.model.ModerationJob;
+import com.nitor.repository.ContentRepository;
+import com.nitor.repository.ModerationJobRepository;
+import com.nitor.repository.UserRepository;
+import com.nitor.security.AccountStatusCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Executes bulk moderation jobs in the background
+ *
+ * The matching items are processed in chunks, each in its own short
+ * transaction: the rows the action would change are locked and updated in
+ * bulk, their audit entries written as one batch before the chunk commits,
+ * and the job progress counters. Row locks are held for one chunk at a time,
+ * and a job can be cancelled between chunks; finishing never overrides a
+ * cancellation.
+ * Filter-based jobs walk the matching ids by keyset (id > last processed id).
+ */
+@Service
+@Slf4j
+@SuppressWarnings("null")
+public class ModerationJobRunner {
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+    private static final LocalDateTime MIN_CREATED_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_CREATED_AT = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    private final ModerationJobRepository jobRepository;
+    private final ContentRepository contentRepository;
+    private final UserRepository userRepository;
+    private final AuditLogAppender auditLogAppender;
+    private final AccountStatusCache accountStatusCache;
+    private final PlatformStatsService platformStatsService;
+    private final TransactionTemplate transactionTemplate;
+
+    public ModerationJobRunner(
+            ModerationJobRepository jobRepository,
+            ContentRepository contentRepository,
+            UserRepository userRepository,
+            AuditLogAppender auditLogAppender,
+            AccountStatusCache accountStatusCache,
+            PlatformStatsService platformStatsService,
+            PlatformTransactionManager transactionManager) {
+
+        this.jobRepository = jobRepository;
+        this.contentRepository = contentRepository;
+        this.userRepository = userRepository;
+        this.auditLogAppender = auditLogAppender;
+        this.accountStatusCache = accountStatusCache;
+        this.platformStatsService = platformStatsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Async
+    public void run(UUID jobId, BulkModerationRequest request) {
+        ModerationJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != ModerationJob.Status.PENDING) {
+            return;
+        }
+
+        LocalDateTime from = request.getCreatedAfter() != null ? request.getCreatedAfter() : MIN_CREATED_AT;
+        LocalDateTime to = request.getCreatedBefore() != null ? request.getCreatedBefore() : MAX_CREATED_AT;
+
+        long totalItems = request.hasIds() ? request.getIds().size() : count(job, request, from, to);
+        if (jobRepository.markRunning(jobId, totalItems, LocalDateTime.now()) == 0) {
+            return;
+        }
+        job.setTotalItems(totalItems);
+
+        log.info("Moderation job {} started: {} ({} items)", jobId, job.getAction(), job.getTotalItems());
+
+        try {
+            boolean cancelled = request.hasIds()
+                    ? processIds(job, request.getIds())
+                    : processFilter(job, request, from, to);
+
+            finish(jobId, cancelled ? ModerationJob.Status.CANCELLED : ModerationJob.Status.COMPLETED, null);
+        } catch (Exception e) {
+            log.error("Moderation job {} failed: {}", jobId, e.getMessage(), e);
+            finish(jobId, ModerationJob.Status.FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * @return true when the job was cancelled before all chunks were processed
+     */
+    private boolean processIds(ModerationJob job, List<UUID> ids) {
+        for (int i = 0; i < ids.size(); i += job.getChunkSize()) {
+            if (isCancelled(job.getId())) {
+                return true;
+            }
+            processChunk(job, ids.subList(i, Math.min(i + job.getChunkSize(), ids.size())));
+        }
+        return false;
+    }
+
+    private boolean processFilter(ModerationJob job, BulkModerationRequest request,
+            LocalDateTime from, LocalDateTime to) {
+
+        PageRequest chunk = PageRequest.of(0, job.getChunkSize());
+        UUID afterId = FIRST_ID;
+
+        while (true) {
+            if (isCancelled(job.getId())) {
+                return true;
+            }
+
+            List<UUID> ids = job.getAction() == ModerationJob.Action.REMOVE_CONTENT
+                    ? contentRepository.findIdsForModeration(afterId, request.getAuthorId(), from, to, chunk)
+                    : userRepository.findIdsForModeration(afterId, from, to, chunk);
+            if (ids.isEmpty()) {
+                return false;
+            }
+
+            processChunk(job, ids);
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    private void processChunk(ModerationJob job, List<UUID> ids) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Only the rows locked here change, so only they are audited
+            List<UUID> changed = switch (job.getAction()) {
+                case REMOVE_CONTENT -> {
+                    List<UUID> removed = contentRepository.lockNotDeletedIdIn(ids);
+                    if (!removed.isEmpty()) {
+                        contentRepository.softDeleteByIdIn(removed);
+                        platformStatsService.contentRemoved(removed.size());
+                    }
+                    yield removed;
+                }
+                case DEACTIVATE_USERS -> {
+                    List<UUID> deactivated = userRepository.lockActiveIdIn(ids);
+                    if (!deactivated.isEmpty()) {
+                        userRepository.deactivateByIdIn(deactivated,
+                                LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+                        deactivated.forEach(accountStatusCache::evict);
+                        platformStatsService.activeUsersChanged(-deactivated.size());
+                    }
+                    yield deactivated;
+                }
+                case ACTIVATE_USERS -> {
+                    List<UUID> activated = userRepository.lockInactiveIdIn(ids);
+                    if (!activated.isEmpty()) {
+                        userRepository.activateByIdIn(activated);
+                        activated.forEach(accountStatusCache::evict);
+                        platformStatsService.activeUsersChanged(activated.size());
+                    }
+                    yield activated;
+                }
+            };
+
+            auditLogAppender.appendDurable(changed.stream()
+                    .map(id -> auditEntry(job, id))
+                    .toList());
+            jobRepository.addProgress(job.getId(), ids.size(), changed.size(), LocalDateTime.now());
+        });
+    }
+
+    private AuditLog auditEntry(ModerationJob job, UUID entityId) {
+        boolean content = job.getAction() == ModerationJob.Action.REMOVE_CONTENT;
+        return AuditLog.builder()
+                .userId(job.getAdminId())
+                .action("BULK_" + job.getAction())
+                .entityType(content ? "CONTENT" : "USER")
+                .entityId(entityId)
+                .details("Moderation job " + job.getId() + ". Reason: " + job.getReason())
+                .ipAddress("system")
+                .userAgent("moderation-job")
+                .build();
+    }
+
+    private long count(ModerationJob job, BulkModerationRequest request, LocalDateTime from, LocalDateTime to) {
+        return job.getAction() == ModerationJob.Action.REMOVE_CONTENT
+                ? contentRepository.countForModeration(request.getAuthorId(), from, to)
+                : userRepository.countForModeration(from, to);
+    }
+
+    private boolean isCancelled(UUID jobId) {
+        return jobRepository.findStatusById(jobId) == ModerationJob.Status.CANCELLED;
+    }
+
+    private void finish(UUID jobId, ModerationJob.Status status, String errorMessage) {
+        // A no-op when the job was cancelled after its last chunk; the cancellation stands
+        jobRepository.finish(jobId, status, errorMessage, LocalDateTime.now());
+        jobRepository.findById(jobId).ifPresent(job -> log.info(
+                "Moderation job {} {}: {} of {} items processed, {} changed",
+                jobId, job.getStatus(), job.getProcessedItems(), job.getTotalItems(), job.getAffectedItems()));
+    }
+}
@@ -0,0 +1,395 @@
+package com.nitor.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.IntStream;
+
+/**
+ * Periodic computation of profiles' nitorScore
+ *
+ * The score blends influence, a PageRank over the graph of follows and
+ * endorsements (an endorsement counts as a weighted edge from the endorser
+ * to the content author), with publication output and citations.
+ *
+ * A full run streams profiles, follows, endorsements and publication totals
+ * with cursor fetches, builds the graph in memory and runs PageRank on a
+ * dedicated fork/join pool, warm-started from the previous ranks. When the
+ * graph has not changed since the last full run (same counts and newest
+ * rows), PageRank is skipped: only profiles whose publications were touched
+ * since the previous run are rescored, using the influence kept from the last
+ * full run. A full run is still forced every full-interval to pick up what
+ * the watermarks cannot see (deleted publications or content).
+ *
+ * Only changed scores are written, in batched updates. Runs are not
+ * coordinated across instances; each instance computes the same result.
+ */
+@Service
+@Slf4j
+@SuppressWarnings("null")
+public class NitorScoreService implements DisposableBean {
+
+    private static final double DAMPING = 0.85;
+    private static final int MAX_ITERATIONS = 50;
+    private static final double TOLERANCE = 1e-6;
+
+    // Publications are rescored from a little before the previous run, for
+    // rows committed late with an older updated_at
+    private static final Duration CHANGES_OVERLAP = Duration.ofMinutes(1);
+
+    // Share of the score coming from influence; the rest comes from publications
+    private static final double INFLUENCE_SHARE = 0.7;
+    // Citations worth one publication
+    private static final double CITATIONS_PER_PUBLICATION = 20;
+    // Publication points at which the publication part reaches half its range
+    private static final double PUBLICATION_HALF_POINTS = 10;
+
+    private static final String WATERMARK_SQL = "SELECT "
+            + "(SELECT COUNT(*) FROM profiles), "
+            + "(SELECT COUNT(*) FROM follows), (SELECT MAX(created_at) FROM follows), "
+            + "(SELECT COUNT(*) FROM endorsements), (SELECT MAX(created_at) FROM endorsements), "
+            + "LOCALTIMESTAMP";
+
+    private static final String PROFILES_SQL = "SELECT id, nitor_score FROM profiles";
+
+    private static final String FOLLOWS_SQL = "SELECT follower_id, following_id FROM follows";
+
+    private static final String ENDORSEMENTS_SQL = "SELECT e.user_id, c.author_id, COUNT(*) FROM endorsements e "
+            + "JOIN content c ON c.id = e.content_id "
+            + "WHERE c.is_deleted = false AND e.user_id <> c.author_id "
+            + "GROUP BY e.user_id, c.author_id";
+
+    private static final String PUBLICATIONS_SQL = "SELECT user_id, COUNT(*), COALESCE(SUM(citation_count), 0) "
+            + "FROM publications GROUP BY user_id";
+
+    private static final String CHANGED_PUBLICATIONS_SQL = "SELECT p.id, p.nitor_score, "
+            + "COUNT(pb.id), COALESCE(SUM(pb.citation_count), 0) "
+            + "FROM profiles p LEFT JOIN publications pb ON pb.user_id = p.id "
+            + "WHERE p.id IN (SELECT user_id FROM publications WHERE updated_at >= ?) "
+            + "GROUP BY p.id, p.nitor_score";
+
+    private static final String UPDATE_SQL = "UPDATE profiles SET nitor_score = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ProfileSummaryCache profileSummaryCache;
+    private final ForkJoinPool pool;
+    private final Duration fullInterval;
+    private final float endorsementWeight;
+    private final int batchSize;
+    private final int fetchSize;
+
+    private final Timer fullTimer;
+    private final Timer incrementalTimer;
+    private final Counter updatedCounter;
+
+    private State state;
+
+    public NitorScoreService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ProfileSummaryCache profileSummaryCache,
+            MeterRegistry meterRegistry,
+            @Value("${app.score.full-interval:PT24H}") Duration fullInterval,
+            @Value("${app.score.endorsement-weight:2.0}") float endorsementWeight,
+            @Value("${app.score.parallelism:0}") int parallelism,
+            @Value("${app.score.batch-size:1000}") int batchSize,
+            @Value("${app.score.fetch-size:5000}") int fetchSize) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.profileSummaryCache = profileSummaryCache;
+        this.fullInterval = fullInterval;
+        this.endorsementWeight = endorsementWeight;
+        this.batchSize = batchSize;
+        this.fetchSize = fetchSize;
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("score-worker-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+
+        this.fullTimer = Timer.builder("nitor.score.run")
+                .description("nitorScore computation runs")
+                .tag("mode", "full")
+                .register(meterRegistry);
+        this.incrementalTimer = Timer.builder("nitor.score.run")
+                .description("nitorScore computation runs")
+                .tag("mode", "incremental")
+                .register(meterRegistry);
+        this.updatedCounter = Counter.builder("nitor.score.updated")
+                .description("Profile scores changed by the score engine")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${app.score.interval:PT1H}",
+            initialDelayString = "${app.score.initial-delay:PT2M}")
+    public void scheduledRun() {
+        try {
+            recompute(false);
+        } catch (Exception e) {
+            log.error("nitorScore computation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Recompute scores, incrementally when the graph is unchanged
+     *
+     * @param forceFull Run PageRank even if the graph looks unchanged
+     * @return Number of profiles whose score changed
+     */
+    public synchronized int recompute(boolean forceFull) {
+        Watermark watermark = readWatermark();
+        State previous = state;
+
+        boolean full = forceFull
+                || previous == null
+                || !previous.watermark().sameGraph(watermark)
+                || previous.fullAt().plus(fullInterval).isBefore(watermark.now());
+
+        long start = System.nanoTime();
+        int updated = full ? fullRun(watermark, previous) : incrementalRun(watermark, previous);
+        (full ? fullTimer : incrementalTimer).record(Duration.ofNanos(System.nanoTime() - start));
+        updatedCounter.increment(updated);
+        return updated;
+    }
+
+    private int fullRun(Watermark watermark, State previous) {
+        long start = System.nanoTime();
+
+        Loaded loaded = readOnlyTransaction.execute(status -> load());
+        UUID[] ids = loaded.ids();
+        int size = ids.length;
+
+        double[] initial = null;
+        if (previous != null) {
+            // Warm start: profiles already known start from their previous rank, new ones from the floor
+            initial = new double[size];
+            for (int i = 0; i < size; i++) {
+                initial[i] = previous.influenceOf(ids[i]) + previous.floor();
+            }
+        }
+        InfluenceGraph.Ranks ranks = loaded.graph().pageRank(DAMPING, MAX_ITERATIONS, TOLERANCE, initial, pool);
+        double[] rank = ranks.rank();
+        float floor = (float) (ranks.floor() * size);
+
+        // Influence above what a profile nobody links to gets, relative to an average profile's rank;
+        // the floor moves with the dangling share, so it is taken from the run itself
+        float[] influence = new float[size];
+        int[] scores = new int[size];
+        pool.submit(() -> IntStream.range(0, size).parallel().forEach(i -> {
+            influence[i] = (float) Math.max(0, (rank[i] - ranks.floor()) * size);
+            scores[i] = toHundredths(score(influence[i], loaded.publications()[i], loaded.citations()[i]));
+        })).join();
+
+        List<ScoreUpdate> updates = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (scores[i] != loaded.currentScores()[i]) {
+                updates.add(new ScoreUpdate(ids[i], scores[i]));
+            }
+        }
+        write(updates);
+
+        state = new State(ids, influence, floor, watermark, watermark.now(), watermark.now());
+        log.info("nitorScore full run: {} profiles, {} edges, {} updated in {} ms",
+                size, loaded.graph().edgeCount(), updates.size(), (System.nanoTime() - start) / 1_000_000);
+        return updates.size();
+    }
+
+    private int incrementalRun(Watermark watermark, State previous) {
+        List<ScoreUpdate> updates = new ArrayList<>();
+
+        readOnlyTransaction.executeWithoutResult(status -> stream(CHANGED_PUBLICATIONS_SQL, rs -> {
+            UUID id = rs.getObject(1, UUID.class);
+            int score = toHundredths(score(previous.influenceOf(id), rs.getLong(3), rs.getLong(4)));
+            if (score != toHundredths(rs.getBigDecimal(2))) {
+                updates.add(new ScoreUpdate(id, score));
+            }
+        }, Timestamp.valueOf(previous.changesSince().minus(CHANGES_OVERLAP))));
+        write(updates);
+
+        state = new State(previous.ids(), previous.influence(), previous.floor(), previous.watermark(),
+                previous.fullAt(), watermark.now());
+        if (!updates.isEmpty()) {
+            log.info("nitorScore incremental run: {} updated", updates.size());
+        }
+        return updates.size();
+    }
+
+    private Loaded load() {
+        List<ProfileRow> profiles = new ArrayList<>();
+        stream(PROFILES_SQL, rs -> profiles.add(
+                new ProfileRow(rs.getObject(1, UUID.class), toHundredths(rs.getBigDecimal(2)))));
+        profiles.sort(Comparator.comparing(ProfileRow::id));
+
+        int size = profiles.size();
+        UUID[] ids = new UUID[size];
+        int[] currentScores = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = profiles.get(i).id();
+            currentScores[i] = profiles.get(i).score();
+        }
+        profiles.clear();
+
+        InfluenceGraph.Builder builder = InfluenceGraph.builder(size);
+        stream(FOLLOWS_SQL, rs -> builder.addEdge(
+                indexOf(ids, rs.getObject(1, UUID.class)), indexOf(ids, rs.getObject(2, UUID.class)), 1));
+        // Repeated endorsements of one author add weight with diminishing returns
+        stream(ENDORSEMENTS_SQL, rs -> builder.addEdge(
+                indexOf(ids, rs.getObject(1, UUID.class)), indexOf(ids, rs.getObject(2, UUID.class)),
+                endorsementWeight * (float) Math.log1p(rs.getLong(3))));
+
+        long[] publications = new long[size];
+        long[] citations = new long[size];
+        stream(PUBLICATIONS_SQL, rs -> {
+            int index = indexOf(ids, rs.getObject(1, UUID.class));
+            if (index >= 0) {
+                publications[index] = rs.getLong(2);
+                citations[index] = rs.getLong(3);
+            }
+        });
+
+        return new Loaded(ids, currentScores, builder.build(), publications, citations);
+    }
+
+    /**
+     * Run a query with a cursor, handing each row to the handler
+     * Must be called inside a transaction, or the driver fetches everything at once
+     */
+    private void stream(String sql, RowCallbackHandler handler, Object... args) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            return ps;
+        }, handler);
+    }
+
+    /**
+     * Write changed scores, one transaction per batch
+     */
+    private void write(List<ScoreUpdate> updates) {
+        for (int from = 0; from < updates.size(); from += batchSize) {
+            List<ScoreUpdate> batch = updates.subList(from, Math.min(from + batchSize, updates.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, update) -> {
+                    ps.setBigDecimal(1, BigDecimal.valueOf(update.score(), 2));
+                    ps.setObject(2, update.id());
+                });
+                batch.forEach(update -> profileSummaryCache.evict(update.id()));
+            });
+        }
+    }
+
+    private Watermark readWatermark() {
+        return jdbcTemplate.queryForObject(WATERMARK_SQL, (rs, rowNum) -> new Watermark(
+                rs.getLong(1),
+                rs.getLong(2), rs.getTimestamp(3),
+                rs.getLong(4), rs.getTimestamp(5),
+                rs.getTimestamp(6).toLocalDateTime()));
+    }
+
+    /**
+     * Score in [0, 100] for an influence (rank above that of a profile nobody
+     * links to, relative to the average rank) and publication totals
+     */
+    static BigDecimal score(double influence, long publications, long citations) {
+        double excess = Math.max(0, influence);
+        double influencePart = excess / (excess + 1);
+
+        double points = publications + citations / CITATIONS_PER_PUBLICATION;
+        double publicationPart = points / (points + PUBLICATION_HALF_POINTS);
+
+        double score = 100 * (INFLUENCE_SHARE * influencePart + (1 - INFLUENCE_SHARE) * publicationPart);
+        return BigDecimal.valueOf(Math.min(100, score)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static int toHundredths(BigDecimal score) {
+        return score != null ? score.movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValueExact() : 0;
+    }
+
+    private static int indexOf(UUID[] ids, UUID id) {
+        return id != null ? Arrays.binarySearch(ids, id) : -1;
+    }
+
+    /**
+     * Sizes and newest rows of the graph tables, plus the database clock
+     */
+    private record Watermark(long profiles, long follows, Timestamp lastFollow, long endorsements,
+            Timestamp lastEndorsement, LocalDateTime now) {
+
+        boolean sameGraph(Watermark other) {
+            return profiles == other.profiles
+                    && follows == other.follows
+                    && endorsements == other.endorsements
+                    && Objects.equals(lastFollow, other.lastFollow)
+                    && Objects.equals(lastEndorsement, other.lastEndorsement);
+        }
+    }
+
+    /**
+     * Result of the last full run, reused by incremental runs
+     *
+     * @param ids          Profile ids, sorted
+     * @param influence    Influence per profile, by index into ids; 0 for a profile nobody links to
+     * @param floor        Rank of such a profile, relative to the average rank
+     * @param changesSince Publications updated from here on are rescored next
+     */
+    private record State(UUID[] ids, float[] influence, float floor, Watermark watermark, LocalDateTime fullAt,
+            LocalDateTime changesSince) {
+
+        // Profiles missing from the last full run had no links then; a full run scores them the same
+        float influenceOf(UUID id) {
+            int index = indexOf(ids, id);
+            return index >= 0 ? influence[index] : 0;
+        }
+    }
+
+    private record Loaded(UUID[] ids, int[] currentScores, InfluenceGraph graph, long[] publications,
+            long[] citations) {
+    }
+
+    private record ProfileRow(UUID id, int score) {
+    }
+
+    private record ScoreUpdate(UUID id, int score) {
+    }
+}
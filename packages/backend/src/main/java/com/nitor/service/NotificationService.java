@@ -5,6 +5,7 @@ import com.nitor.model.Notification;
 import com.nitor.model.Profile;
 import com.nitor.repository.NotificationRepository;
 import com.nitor.repository.ProfileRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -18,6 +19,7 @@ import java.util.UUID;
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Timed("nitor.service")
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
@@ -0,0 +1,193 @@
+package com.nitor.service;
+
+import com.nitor.model.Report;
+import com.nitor.repository.ContentRepository;
+import com.nitor.repository.ProfileRepository;
+import com.nitor.repository.ReportRepository;
+import com.nitor.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory snapshot of platform statistics
+ *
+ * Counters are adjusted by the services that change them (register, activate,
+ * verify, create, report) once their transaction commits, and reconciled
+ * against the database periodically to absorb anything not tracked here
+ * (cascading deletes, seed data, changes made on other instances). The admin
+ * dashboard reads the snapshot; the same values are exported as gauges.
+ */
+@Service
+@Slf4j
+public class PlatformStatsService {
+
+    private final UserRepository userRepository;
+    private final ProfileRepository profileRepository;
+    private final ContentRepository contentRepository;
+    private final ReportRepository reportRepository;
+
+    private final AtomicLong totalUsers = new AtomicLong();
+    private final AtomicLong activeUsers = new AtomicLong();
+    private final AtomicLong verifiedProfiles = new AtomicLong();
+    private final AtomicLong totalContent = new AtomicLong();
+    private final AtomicLong pendingReports = new AtomicLong();
+
+    private volatile LocalDateTime reconciledAt;
+
+    public PlatformStatsService(
+            UserRepository userRepository,
+            ProfileRepository profileRepository,
+            ContentRepository contentRepository,
+            ReportRepository reportRepository,
+            MeterRegistry meterRegistry) {
+
+        this.userRepository = userRepository;
+        this.profileRepository = profileRepository;
+        this.contentRepository = contentRepository;
+        this.reportRepository = reportRepository;
+
+        registerGauge(meterRegistry, "nitor.platform.users", "Registered users", totalUsers);
+        registerGauge(meterRegistry, "nitor.platform.users.active", "Active users", activeUsers);
+        registerGauge(meterRegistry, "nitor.platform.profiles.verified", "Verified profiles", verifiedProfiles);
+        registerGauge(meterRegistry, "nitor.platform.content", "Content items", totalContent);
+        registerGauge(meterRegistry, "nitor.platform.reports.pending", "Reports awaiting moderation", pendingReports);
+    }
+
+    /**
+     * Current snapshot, served from memory
+     */
+    public AdminService.PlatformStats getSnapshot() {
+        return new AdminService.PlatformStats(
+                totalUsers.get(),
+                activeUsers.get(),
+                verifiedProfiles.get(),
+                totalContent.get(),
+                pendingReports.get());
+    }
+
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+
+    public void userRegistered(boolean active) {
+        afterCommit(() -> {
+            totalUsers.incrementAndGet();
+            if (active) {
+                activeUsers.incrementAndGet();
+            }
+        });
+    }
+
+    public void userDeleted(boolean wasActive) {
+        afterCommit(() -> {
+            totalUsers.decrementAndGet();
+            if (wasActive) {
+                activeUsers.decrementAndGet();
+            }
+        });
+    }
+
+    public void userActiveChanged(boolean wasActive, boolean active) {
+        if (wasActive != active) {
+            afterCommit(() -> activeUsers.addAndGet(active ? 1 : -1));
+        }
+    }
+
+    public void activeUsersChanged(long delta) {
+        if (delta != 0) {
+            afterCommit(() -> activeUsers.addAndGet(delta));
+        }
+    }
+
+    public void profileVerified(boolean wasVerified) {
+        if (!wasVerified) {
+            afterCommit(verifiedProfiles::incrementAndGet);
+        }
+    }
+
+    public void contentCreated() {
+        afterCommit(totalContent::incrementAndGet);
+    }
+
+    public void contentRemoved() {
+        afterCommit(totalContent::decrementAndGet);
+    }
+
+    public void contentRemoved(long count) {
+        if (count != 0) {
+            afterCommit(() -> totalContent.addAndGet(-count));
+        }
+    }
+
+    public void reportCreated() {
+        afterCommit(pendingReports::incrementAndGet);
+    }
+
+    public void reportStatusChanged(Report.ReportStatus oldStatus, Report.ReportStatus newStatus) {
+        boolean wasPending = oldStatus == Report.ReportStatus.PENDING;
+        boolean isPending = newStatus == Report.ReportStatus.PENDING;
+        if (wasPending != isPending) {
+            afterCommit(() -> pendingReports.addAndGet(isPending ? 1 : -1));
+        }
+    }
+
+    /**
+     * Replace the snapshot with exact counts from the database
+     * Runs at startup and every 15 minutes by default
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.admin.stats.reconcile-interval:PT15M}",
+            initialDelayString = "${app.admin.stats.reconcile-interval:PT15M}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        long users = userRepository.count();
+        long active = userRepository.countByIsActiveTrue();
+        long verified = profileRepository.countByVerifiedTrue();
+        long content = contentRepository.countByIsDeletedFalse();
+        long pending = reportRepository.countByStatus(Report.ReportStatus.PENDING);
+
+        long drift = Math.abs(users - totalUsers.getAndSet(users))
+                + Math.abs(active - activeUsers.getAndSet(active))
+                + Math.abs(verified - verifiedProfiles.getAndSet(verified))
+                + Math.abs(content - totalContent.getAndSet(content))
+                + Math.abs(pending - pendingReports.getAndSet(pending));
+        reconciledAt = LocalDateTime.now();
+
+        log.info("Platform stats reconciled (drift: {})", drift);
+    }
+
+    /**
+     * Apply a counter change once the current transaction commits
+     * (immediately when there is no transaction)
+     */
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private static void registerGauge(MeterRegistry meterRegistry, String name, String description,
+            AtomicLong value) {
+        Gauge.builder(name, value, AtomicLong::get)
+                .description(description)
+                .register(meterRegistry);
+    }
+}
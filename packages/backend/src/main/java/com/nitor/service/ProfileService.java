@@ -6,6 +6,8 @@ import com.nitor.exception.ResourceNotFoundException;
 import com.nitor.model.Profile;
 import com.nitor.model.User;
 import com.nitor.repository.ProfileRepository;
+import com.nitor.util.ETagUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -20,9 +22,11 @@ import java.util.UUID;
 @Service
 @RequiredArgsConstructor
 @SuppressWarnings("null")
+@Timed("nitor.service")
 public class ProfileService {
 
     private final ProfileRepository profileRepository;
+    private final ProfileSummaryCache profileSummaryCache;
 
     @Transactional(readOnly = true)
     public ProfileResponse getProfile(UUID profileId) {
@@ -33,6 +37,17 @@ public class ProfileService {
         return mapToProfileResponse(profile, user);
     }
 
+    /**
+     * ETag of a profile, or null if it does not exist
+     */
+    @Transactional(readOnly = true)
+    public String getProfileETag(UUID profileId) {
+        return profileRepository.findVersionById(Objects.requireNonNull(profileId))
+                .map(version -> ETagUtils.strong(
+                        "profile", profileId, version.getUpdatedAt(), version.getUserUpdatedAt()))
+                .orElse(null);
+    }
+
     @Transactional(readOnly = true)
     public ProfileResponse getProfileByHandle(String handle) {
         Profile profile = profileRepository.findByHandle(handle)
@@ -63,6 +78,7 @@ public class ProfileService {
             profile.setOnboardingComplete(request.getOnboardingComplete());
 
         profile = Objects.requireNonNull(profileRepository.save(profile));
+        profileSummaryCache.evict(profileId);
 
         return mapToProfileResponse(profile, profile.getUser());
     }
@@ -0,0 +1,205 @@
+package com.nitor.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nitor.dto.profile.ProfileResponse;
+import com.nitor.model.Profile;
+import com.nitor.repository.ProfileRepository;
+import com.nitor.util.FlightEvents;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Cache of author cards, the small ProfileResponse embedded in content,
+ * comments, endorsements and follows
+ *
+ * Cards hold id, name, handle, avatar, institution, title, verified flag and
+ * score. Pages should use {@link #getAll}, which loads all missing authors in
+ * one query. When the avatar is an upload with ready thumbnail variants,
+ * the card links the smallest variant of at least
+ * app.profile.summary-cache.avatar-size px instead of the original, so
+ * feeds download small images; the profile page keeps the original.
+ * Entries are evicted when the profile changes on this instance and expire
+ * after a short TTL so edits on other instances show up.
+ *
+ * Each card remembers the profile updatedAt it was built from. ETags of
+ * responses that embed cards use {@link #getVersions} instead of reading
+ * updatedAt from the database, so they change exactly when the card sent
+ * in the body does, on whichever instance serves the request.
+ *
+ * The returned objects are shared: callers must not modify them.
+ */
+@Component
+@Slf4j
+@SuppressWarnings("null")
+public class ProfileSummaryCache {
+
+    private static final String CACHE_NAME = "profileSummaries";
+
+    private final ProfileRepository profileRepository;
+    private final MediaProcessingService mediaProcessingService;
+    private final int avatarSize;
+    private final Cache<UUID, Card> summaries;
+
+    public ProfileSummaryCache(
+            ProfileRepository profileRepository,
+            MediaProcessingService mediaProcessingService,
+            @Value("${app.profile.summary-cache.size:20000}") long cacheSize,
+            @Value("${app.profile.summary-cache.ttl:PT5M}") Duration ttl,
+            @Value("${app.profile.summary-cache.avatar-size:256}") int avatarSize,
+            MeterRegistry meterRegistry) {
+
+        this.profileRepository = profileRepository;
+        this.mediaProcessingService = mediaProcessingService;
+        this.avatarSize = avatarSize;
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, summaries, CACHE_NAME);
+    }
+
+    /**
+     * Author card for a profile (profile id = user id), or null if it does not exist
+     */
+    public ProfileResponse get(UUID profileId) {
+        Card card = card(profileId);
+        return card != null ? card.summary() : null;
+    }
+
+    /**
+     * Author cards by profile id; ids without a profile are left out
+     */
+    public Map<UUID, ProfileResponse> getAll(Collection<UUID> profileIds) {
+        Map<UUID, ProfileResponse> found = new HashMap<>();
+        cards(profileIds).forEach((id, card) -> found.put(id, card.summary()));
+        return found;
+    }
+
+    /**
+     * Profile updatedAt the card of a profile was built from, or null if
+     * there is no such profile
+     */
+    public LocalDateTime getVersion(UUID profileId) {
+        Card card = card(profileId);
+        return card != null ? card.version() : null;
+    }
+
+    /**
+     * Profile updatedAt each card was built from, loading missing cards the
+     * way {@link #getAll} does; ids without a profile are left out
+     */
+    public Map<UUID, LocalDateTime> getVersions(Collection<UUID> profileIds) {
+        Map<UUID, LocalDateTime> versions = new HashMap<>();
+        cards(profileIds).forEach((id, card) -> versions.put(id, card.version()));
+        return versions;
+    }
+
+    /**
+     * This cache as a request-scoped batch, shared by every mapper in the request
+     */
+    public BatchLoader.Batch<UUID, ProfileResponse> batch(BatchLoader batchLoader) {
+        return batchLoader.batch("profile-summaries", this::getAll);
+    }
+
+    /**
+     * Drop a profile's card once the current transaction commits
+     */
+    public void evict(UUID profileId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    summaries.invalidate(profileId);
+                }
+            });
+        } else {
+            summaries.invalidate(profileId);
+        }
+    }
+
+    private Card card(UUID profileId) {
+        if (profileId == null) {
+            return null;
+        }
+        FlightEvents.CacheLookupEvent event = FlightEvents.CacheLookupEvent.start(CACHE_NAME, "Profile", 1);
+        Card card = summaries.get(profileId, id -> {
+            event.missed(1);
+            return profileRepository.findById(id)
+                    .map(profile -> toCard(profile, thumbnails(List.of(profile))))
+                    .orElse(null);
+        });
+        event.finish();
+        return card;
+    }
+
+    private Map<UUID, Card> cards(Collection<UUID> profileIds) {
+        Set<UUID> ids = profileIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        FlightEvents.CacheLookupEvent event = FlightEvents.CacheLookupEvent.start(CACHE_NAME, "Profile", ids.size());
+        Map<UUID, Card> found = summaries.getAll(ids, missing -> {
+            event.missed(missing.size());
+            return loadAll(missing);
+        });
+        event.finish();
+        return found;
+    }
+
+    private Map<UUID, Card> loadAll(Set<? extends UUID> ids) {
+        log.debug("Loading {} profile summaries", ids.size());
+        List<Profile> profiles = profileRepository.findAllById(Set.copyOf(ids));
+        Map<String, String> thumbnails = thumbnails(profiles);
+        return profiles.stream()
+                .collect(Collectors.toMap(Profile::getId, profile -> toCard(profile, thumbnails), (a, b) -> a));
+    }
+
+    /**
+     * Thumbnail URLs by avatar URL, in one query for all the profiles
+     */
+    private Map<String, String> thumbnails(List<Profile> profiles) {
+        List<String> avatarUrls = profiles.stream()
+                .map(Profile::getAvatarUrl)
+                .filter(Objects::nonNull)
+                .toList();
+        return avatarUrls.isEmpty() ? Map.of() : mediaProcessingService.getThumbnailUrls(avatarUrls, avatarSize);
+    }
+
+    private static Card toCard(Profile profile, Map<String, String> thumbnails) {
+        String avatarUrl = profile.getAvatarUrl();
+        ProfileResponse summary = ProfileResponse.builder()
+                .id(profile.getId())
+                .fullName(profile.getFullName())
+                .handle(profile.getHandle())
+                .avatarUrl(avatarUrl != null ? thumbnails.getOrDefault(avatarUrl, avatarUrl) : null)
+                .institution(profile.getInstitution())
+                .academicTitle(profile.getAcademicTitle())
+                .verified(profile.getVerified())
+                .nitorScore(profile.getNitorScore())
+                .build();
+        return new Card(summary, profile.getUpdatedAt());
+    }
+
+    private record Card(ProfileResponse summary, LocalDateTime version) {
+    }
+}
@@ -0,0 +1,257 @@
+package com.nitor.service;
+
+import com.nitor.model.PublicationImportJob;
+import com.nitor.repository.PublicationImportJobRepository;
+import com.nitor.util.BibTeXReader;
+import com.nitor.util.BibliographyReader;
+import com.nitor.util.RisReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Executes publication imports in the background
+ *
+ * The file is parsed as a stream and handled in batches, each in its own
+ * short transaction: one query finds which entries the user already has (by
+ * DOI, or by title for entries without one), the new ones are inserted with
+ * a single JDBC batch, and the job progress is updated. Entries repeated
+ * within the file are caught the same way, since earlier batches are
+ * committed before the next lookup.
+ */
+@Service
+@Slf4j
+@SuppressWarnings("null")
+public class PublicationImportRunner {
+
+    private static final String EXISTING_SQL = "SELECT LOWER(doi), LOWER(title) FROM publications "
+            + "WHERE user_id = ? AND (LOWER(doi) = ANY (?) OR (doi IS NULL AND LOWER(title) = ANY (?)))";
+
+    private static final String INSERT_SQL = "INSERT INTO publications (id, user_id, title, authors, journal, "
+            + "conference, publication_date, doi, url, abstract, citation_count, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private static final String COUNT_SQL = "UPDATE profiles "
+            + "SET publications_count = COALESCE(publications_count, 0) + ? WHERE id = ?";
+
+    private final PublicationImportJobRepository jobRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public PublicationImportRunner(
+            PublicationImportJobRepository jobRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.publication.import.batch-size:500}") int batchSize) {
+
+        this.jobRepository = jobRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Async
+    public void run(UUID jobId, Path file) {
+        try {
+            PublicationImportJob job = jobRepository.findById(jobId).orElse(null);
+            if (job == null || jobRepository.markRunning(jobId, LocalDateTime.now()) == 0) {
+                return;
+            }
+            log.info("Publication import {} started: {} bytes of {}", jobId, job.getTotalBytes(), job.getFormat());
+
+            try {
+                importFile(job, file);
+                finish(jobId, PublicationImportJob.Status.COMPLETED, null);
+            } catch (Exception e) {
+                log.error("Publication import {} failed: {}", jobId, e.getMessage(), e);
+                finish(jobId, PublicationImportJob.Status.FAILED, e.getMessage());
+            }
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    private void importFile(PublicationImportJob job, Path file) throws IOException {
+        FileUploadService.SizeLimitedInputStream counting =
+                new FileUploadService.SizeLimitedInputStream(Files.newInputStream(file), Long.MAX_VALUE);
+
+        try (BibliographyReader reader = open(job.getFormat(),
+                new InputStreamReader(counting, StandardCharsets.UTF_8))) {
+
+            List<BibliographyReader.Entry> batch = new ArrayList<>(batchSize);
+            long skippedReported = 0;
+            BibliographyReader.Entry entry;
+            while ((entry = reader.next()) != null) {
+                batch.add(entry);
+                if (batch.size() >= batchSize) {
+                    long skipped = reader.getSkippedEntries();
+                    processBatch(job, batch, skipped - skippedReported, counting.getBytesRead());
+                    skippedReported = skipped;
+                    batch.clear();
+                }
+            }
+            processBatch(job, batch, reader.getSkippedEntries() - skippedReported, counting.getBytesRead());
+        }
+    }
+
+    private static BibliographyReader open(PublicationImportJob.Format format, Reader reader) {
+        return switch (format) {
+            case BIBTEX -> new BibTeXReader(reader);
+            case RIS -> new RisReader(reader);
+        };
+    }
+
+    /**
+     * @param skipped Entries the parser dropped since the previous batch
+     */
+    private void processBatch(PublicationImportJob job, List<BibliographyReader.Entry> batch, long skipped,
+            long processedBytes) {
+
+        transactionTemplate.executeWithoutResult(status -> {
+            long invalid = skipped;
+            long duplicates = 0;
+
+            // First occurrence of each key in the batch
+            Map<String, Row> candidates = new LinkedHashMap<>();
+            for (BibliographyReader.Entry entry : batch) {
+                Row row = toRow(entry);
+                if (row == null) {
+                    invalid++;
+                } else if (candidates.putIfAbsent(row.key(), row) != null) {
+                    duplicates++;
+                }
+            }
+
+            Set<String> existing = findExistingKeys(job.getUserId(), candidates.values());
+            List<Row> rows = candidates.values().stream()
+                    .filter(row -> !existing.contains(row.key()))
+                    .toList();
+            duplicates += candidates.size() - rows.size();
+
+            if (!rows.isEmpty()) {
+                insert(job.getUserId(), rows);
+                jdbcTemplate.update(COUNT_SQL, rows.size(), job.getUserId());
+            }
+            jobRepository.addProgress(job.getId(), batch.size() + skipped, rows.size(), duplicates, invalid,
+                    processedBytes, LocalDateTime.now());
+        });
+    }
+
+    /**
+     * Keys of the candidates the user already has, in one query
+     */
+    private Set<String> findExistingKeys(UUID userId, Iterable<Row> candidates) {
+        List<String> dois = new ArrayList<>();
+        List<String> titles = new ArrayList<>();
+        for (Row row : candidates) {
+            if (row.doi() != null) {
+                dois.add(row.doi());
+            } else {
+                titles.add(row.title().toLowerCase(Locale.ROOT));
+            }
+        }
+
+        Set<String> existing = new HashSet<>();
+        if (dois.isEmpty() && titles.isEmpty()) {
+            return existing;
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(EXISTING_SQL);
+            ps.setObject(1, userId);
+            ps.setArray(2, connection.createArrayOf("text", dois.toArray()));
+            ps.setArray(3, connection.createArrayOf("text", titles.toArray()));
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            String doi = rs.getString(1);
+            existing.add(doi != null ? "doi:" + doi : "title:" + rs.getString(2));
+        });
+        return existing;
+    }
+
+    private void insert(UUID userId, List<Row> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            BibliographyReader.Entry entry = row.entry();
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, userId);
+            ps.setString(3, row.title());
+            ps.setArray(4, ps.getConnection().createArrayOf("text", entry.authors().toArray()));
+            ps.setString(5, truncate(entry.journal(), 255));
+            ps.setString(6, truncate(entry.conference(), 255));
+            ps.setDate(7, entry.publicationDate() != null ? Date.valueOf(entry.publicationDate()) : null);
+            ps.setString(8, row.doi());
+            ps.setString(9, entry.url() != null && entry.url().length() <= 500 ? entry.url() : null);
+            ps.setString(10, entry.abstractText());
+            ps.setTimestamp(11, now);
+            ps.setTimestamp(12, now);
+        });
+    }
+
+    /**
+     * Importable row for an entry, or null when it lacks a title or authors
+     */
+    private static Row toRow(BibliographyReader.Entry entry) {
+        if (entry.title() == null || entry.title().isBlank() || entry.authors() == null || entry.authors().isEmpty()) {
+            return null;
+        }
+        String title = truncate(entry.title().trim(), 500);
+        String doi = entry.doi() != null && entry.doi().length() <= 255 ? entry.doi() : null;
+        String key = doi != null ? "doi:" + doi : "title:" + title.toLowerCase(Locale.ROOT);
+        return new Row(key, title, doi, entry);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    private void finish(UUID jobId, PublicationImportJob.Status status, String errorMessage) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(status);
+            job.setErrorMessage(errorMessage);
+            job.setFinishedAt(LocalDateTime.now());
+            if (status == PublicationImportJob.Status.COMPLETED) {
+                job.setProcessedBytes(job.getTotalBytes());
+            }
+            jobRepository.save(job);
+            log.info("Publication import {} {}: {} entries, {} imported, {} duplicates, {} invalid",
+                    jobId, status, job.getProcessedEntries(), job.getImportedEntries(),
+                    job.getDuplicateEntries(), job.getInvalidEntries());
+        });
+    }
+
+    static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary import file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private record Row(String key, String title, String doi, BibliographyReader.Entry entry) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.nitor.service;
+
+import com.nitor.exception.BadRequestException;
+import com.nitor.exception.ResourceNotFoundException;
+import com.nitor.model.PublicationImportJob;
+import com.nitor.repository.ProfileRepository;
+import com.nitor.repository.PublicationImportJobRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bulk import of publications from BibTeX or RIS files
+ *
+ * The upload is streamed to a temporary file and the import runs in the
+ * background (see PublicationImportRunner); users poll the job for progress.
+ * Neither step holds more than one batch of entries in memory.
+ */
+@Service
+@Slf4j
+@SuppressWarnings("null")
+@Timed("nitor.service")
+public class PublicationImportService {
+
+    private static final Set<PublicationImportJob.Status> UNFINISHED =
+            EnumSet.of(PublicationImportJob.Status.PENDING, PublicationImportJob.Status.RUNNING);
+
+    private final PublicationImportJobRepository jobRepository;
+    private final PublicationImportRunner importRunner;
+    private final ProfileRepository profileRepository;
+    private final long maxSize;
+    private final Duration staleAfter;
+
+    public PublicationImportService(
+            PublicationImportJobRepository jobRepository,
+            PublicationImportRunner importRunner,
+            ProfileRepository profileRepository,
+            @Value("${app.publication.import.max-size:20MB}") DataSize maxSize,
+            @Value("${app.publication.import.stale-after:PT10M}") Duration staleAfter) {
+
+        this.jobRepository = jobRepository;
+        this.importRunner = importRunner;
+        this.profileRepository = profileRepository;
+        this.maxSize = maxSize.toBytes();
+        this.staleAfter = staleAfter;
+    }
+
+    /**
+     * Store the uploaded file and start importing it in the background
+     *
+     * @param format bibtex or ris; when null it is taken from the file name extension
+     */
+    public PublicationImportJob submit(UUID userId, String fileName, String format, long contentLength,
+            InputStream body) {
+
+        if (!profileRepository.existsById(Objects.requireNonNull(userId))) {
+            throw new ResourceNotFoundException("Profile", "id", userId);
+        }
+        PublicationImportJob.Format importFormat = resolveFormat(fileName, format);
+        if (contentLength > maxSize) {
+            throw new BadRequestException("File exceeds the maximum size of " + maxSize + " bytes");
+        }
+
+        Path file = receive(body);
+        PublicationImportJob job;
+        try {
+            job = Objects.requireNonNull(jobRepository.save(PublicationImportJob.builder()
+                    .userId(userId)
+                    .format(importFormat)
+                    .status(PublicationImportJob.Status.PENDING)
+                    .fileName(fileName)
+                    .totalBytes(file.toFile().length())
+                    .build()));
+        } catch (RuntimeException e) {
+            PublicationImportRunner.deleteQuietly(file);
+            throw e;
+        }
+
+        // The job row is committed at this point, so the runner can load it; it deletes the file when done
+        importRunner.run(job.getId(), file);
+
+        log.info("Publication import {} ({}, {} bytes) submitted by user {}",
+                job.getId(), importFormat, job.getTotalBytes(), userId);
+        return job;
+    }
+
+    public PublicationImportJob getJob(UUID userId, UUID jobId) {
+        return jobRepository.findByIdAndUserId(jobId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("PublicationImportJob", "id", jobId.toString()));
+    }
+
+    public Page<PublicationImportJob> getJobs(UUID userId, Pageable pageable) {
+        return jobRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+    }
+
+    /**
+     * Imports interrupted by a shutdown are marked failed; their temporary file is gone.
+     * Only those without progress for stale-after, as other instances may be running the rest
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        int failed = jobRepository.failStale(
+                UNFINISHED,
+                now.minus(staleAfter),
+                "Interrupted by restart",
+                now);
+        if (failed > 0) {
+            log.warn("Marked {} interrupted publication imports as failed", failed);
+        }
+    }
+
+    private PublicationImportJob.Format resolveFormat(String fileName, String format) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return PublicationImportJob.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unsupported format: " + format + " (use bibtex or ris)");
+            }
+        }
+        PublicationImportJob.Format fromName = PublicationImportJob.Format.fromFileName(fileName);
+        if (fromName == null) {
+            throw new BadRequestException("Specify format=bibtex or format=ris, or a .bib/.ris file name");
+        }
+        return fromName;
+    }
+
+    /**
+     * Copy the request body to a temporary file, enforcing the size limit while streaming
+     */
+    private Path receive(InputStream body) {
+        Path file;
+        try {
+            file = Files.createTempFile("publication-import-", ".tmp");
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store uploaded file", e);
+        }
+
+        FileUploadService.SizeLimitedInputStream limited = new FileUploadService.SizeLimitedInputStream(body, maxSize);
+        try {
+            Files.copy(limited, file, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } catch (IOException e) {
+            PublicationImportRunner.deleteQuietly(file);
+            if (limited.isLimitExceeded()) {
+                throw new BadRequestException("File exceeds the maximum size of " + maxSize + " bytes");
+            }
+            throw new RuntimeException("Failed to store uploaded file", e);
+        }
+    }
+}
@@ -1,15 +1,31 @@
 package com.nitor.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nitor.util.FlightEvents;
+import com.nitor.util.ServerTiming;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
 import io.github.bucket4j.Refill;
-import lombok.RequiredArgsConstructor;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.distributed.proxy.RemoteBucketBuilder;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.EnumMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Rate limiting service using token bucket algorithm (Bucket4j)
@@ -19,15 +35,47 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Per user ID
  * - Per API endpoint
  * - Global rate limiting
+ *
+ * Buckets live either in this JVM (default) or in Redis when a
+ * {@link ProxyManager} is configured (see RateLimitConfig). In both cases the
+ * local bucket handles are held in a bounded cache and evicted once idle for a
+ * full refill period, at which point the bucket would be full again anyway.
+ * Every check is counted as nitor.ratelimit.requests by limit type and result.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RateLimitingService {
 
-    // In-memory bucket cache (for development)
-    // In production with multiple instances, use Redis-backed buckets
-    private final Map<String, Bucket> bucketCache = new ConcurrentHashMap<>();
+    private final ProxyManager<byte[]> proxyManager;
+    private final Cache<BucketKey, Bucket> bucketCache;
+    private final long maxLeaseTokens;
+    private final Duration leaseTimeout;
+    private final Map<RateLimitType, Counter> allowedCounters = new EnumMap<>(RateLimitType.class);
+    private final Map<RateLimitType, Counter> rejectedCounters = new EnumMap<>(RateLimitType.class);
+
+    public RateLimitingService(
+            ObjectProvider<ProxyManager<byte[]>> proxyManager,
+            @Value("${app.security.rate-limit.local-cache-size:100000}") long localCacheSize,
+            @Value("${app.security.rate-limit.lease-tokens:10}") long maxLeaseTokens,
+            @Value("${app.security.rate-limit.lease-timeout:PT1S}") Duration leaseTimeout,
+            MeterRegistry meterRegistry) {
+
+        this.proxyManager = proxyManager.getIfAvailable();
+        this.maxLeaseTokens = maxLeaseTokens;
+        this.leaseTimeout = leaseTimeout;
+        this.bucketCache = Caffeine.newBuilder()
+                .maximumSize(localCacheSize)
+                .expireAfter(new IdleBucketExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, bucketCache, "rateLimitBuckets");
+        for (RateLimitType type : RateLimitType.values()) {
+            allowedCounters.put(type, requestCounter(meterRegistry, type, "allowed"));
+            rejectedCounters.put(type, requestCounter(meterRegistry, type, "rejected"));
+        }
+
+        log.info("Rate limiting backend: {}", this.proxyManager != null ? "redis" : "local");
+    }
 
     /**
      * Rate limit configurations
@@ -83,31 +131,58 @@ public class RateLimitingService {
      * @return true if action is allowed, false if rate limit exceeded
      */
     public boolean isAllowed(String key, RateLimitType limitType) {
-        String bucketKey = limitType.name() + ":" + key;
-        Bucket bucket = resolveBucket(bucketKey, limitType);
+        return tryConsume(key, limitType).isConsumed();
+    }
 
-        boolean allowed = bucket.tryConsume(1);
+    /**
+     * Consume one token and report the outcome in a single bucket operation
+     *
+     * @param key       Unique identifier (IP, userId, etc.)
+     * @param limitType Type of rate limit to apply
+     * @return Probe with the consumption result, remaining tokens and time to refill
+     */
+    public ConsumptionProbe tryConsume(String key, RateLimitType limitType) {
+        long timingStart = ServerTiming.start();
+        FlightEvents.RateLimitEvent event = new FlightEvents.RateLimitEvent();
+        event.begin();
+        ConsumptionProbe probe = resolveBucket(key, limitType).tryConsumeAndReturnRemaining(1);
+        event.end();
+        ServerTiming.stop(ServerTiming.Phase.RATE_LIMIT, timingStart);
+        if (event.shouldCommit()) {
+            event.endpoint = FlightEvents.currentEndpoint();
+            event.limitType = limitType.name();
+            event.allowed = probe.isConsumed();
+            event.remainingTokens = probe.getRemainingTokens();
+            event.commit();
+        }
 
-        if (!allowed) {
+        if (probe.isConsumed()) {
+            allowedCounters.get(limitType).increment();
+        } else {
+            rejectedCounters.get(limitType).increment();
             log.warn("Rate limit exceeded for key: {} (type: {})", key, limitType);
         }
 
-        return allowed;
+        return probe;
     }
 
     /**
-     * Check if action is allowed and throw exception if not
+     * Consume one token and throw exception if the limit is exceeded
      *
      * @param key       Unique identifier
      * @param limitType Type of rate limit
+     * @return Probe of the successful consumption, for rate limit headers
      * @throws RateLimitExceededException if limit is exceeded
      */
-    public void checkLimit(String key, RateLimitType limitType) {
-        if (!isAllowed(key, limitType)) {
+    public ConsumptionProbe checkLimit(String key, RateLimitType limitType) {
+        ConsumptionProbe probe = tryConsume(key, limitType);
+        if (!probe.isConsumed()) {
             throw new RateLimitExceededException(
                     "Rate limit exceeded for " + limitType.name() +
-                            ". Please try again later.");
+                            ". Please try again later.",
+                    Duration.ofNanos(probe.getNanosToWaitForRefill()));
         }
+        return probe;
     }
 
     /**
@@ -118,9 +193,7 @@ public class RateLimitingService {
      * @return Number of remaining requests
      */
     public long getRemainingTokens(String key, RateLimitType limitType) {
-        String bucketKey = limitType.name() + ":" + key;
-        Bucket bucket = resolveBucket(bucketKey, limitType);
-        return bucket.getAvailableTokens();
+        return resolveBucket(key, limitType).getAvailableTokens();
     }
 
     /**
@@ -131,8 +204,11 @@ public class RateLimitingService {
      * @param limitType Type of rate limit
      */
     public void resetLimit(String key, RateLimitType limitType) {
-        String bucketKey = limitType.name() + ":" + key;
-        bucketCache.remove(bucketKey);
+        BucketKey bucketKey = new BucketKey(limitType, key);
+        bucketCache.invalidate(bucketKey);
+        if (proxyManager != null) {
+            proxyManager.removeProxy(bucketKey.redisKey());
+        }
         log.info("Rate limit reset for key: {} (type: {})", key, limitType);
     }
 
@@ -140,31 +216,103 @@ public class RateLimitingService {
      * Resolve or create a bucket for the given key
      */
     private Bucket resolveBucket(String key, RateLimitType limitType) {
-        return bucketCache.computeIfAbsent(key, k -> createBucket(limitType));
+        return bucketCache.get(new BucketKey(limitType, key), this::createBucket);
     }
 
     /**
      * Create a new bucket with the specified rate limit configuration
      */
+    private Bucket createBucket(BucketKey bucketKey) {
+        Bandwidth limit = createBandwidth(bucketKey.limitType());
+
+        if (proxyManager == null) {
+            return Bucket.builder()
+                    .addLimit(limit)
+                    .build();
+        }
+
+        BucketConfiguration configuration = BucketConfiguration.builder()
+                .addLimit(limit)
+                .build();
+        RemoteBucketBuilder<byte[]> builder = proxyManager.builder();
+
+        // Lease a share of the tokens locally so most checks skip the Redis round trip.
+        // Strict limits (login, register, email) are too small to lease and stay exact.
+        long leaseTokens = Math.min(maxLeaseTokens, bucketKey.limitType().getCapacity() / 10);
+        if (leaseTokens > 1) {
+            builder = builder.withOptimization(
+                    Optimizations.delaying(new DelayParameters(leaseTokens, leaseTimeout)));
+        }
+
+        return builder.build(bucketKey.redisKey(), () -> configuration);
+    }
+
     @SuppressWarnings("deprecation")
-    private Bucket createBucket(RateLimitType limitType) {
-        Bandwidth limit = Bandwidth.classic(
+    private Bandwidth createBandwidth(RateLimitType limitType) {
+        return Bandwidth.classic(
                 limitType.getCapacity(),
                 Refill.intervally(
                         limitType.getCapacity(),
                         limitType.getRefillPeriod()));
+    }
 
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
+    private static Counter requestCounter(MeterRegistry meterRegistry, RateLimitType type, String result) {
+        return Counter.builder("nitor.ratelimit.requests")
+                .description("Rate limit checks by limit type and outcome")
+                .tag("type", type.name())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cache key for a bucket: one per limit type and client key
+     */
+    private record BucketKey(RateLimitType limitType, String key) {
+
+        byte[] redisKey() {
+            return ("rate-limit:" + limitType.name() + ":" + key).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Evicts a local bucket once it has been idle for its refill period
+     */
+    private static class IdleBucketExpiry implements Expiry<BucketKey, Bucket> {
+
+        @Override
+        public long expireAfterCreate(BucketKey key, Bucket bucket, long currentTime) {
+            return key.limitType().getRefillPeriod().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(BucketKey key, Bucket bucket, long currentTime, long currentDuration) {
+            return key.limitType().getRefillPeriod().toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(BucketKey key, Bucket bucket, long currentTime, long currentDuration) {
+            return key.limitType().getRefillPeriod().toNanos();
+        }
     }
 
     /**
      * Custom exception for rate limit violations
      */
     public static class RateLimitExceededException extends RuntimeException {
+
+        private final Duration retryAfter;
+
         public RateLimitExceededException(String message) {
+            this(message, Duration.ZERO);
+        }
+
+        public RateLimitExceededException(String message, Duration retryAfter) {
             super(message);
+            this.retryAfter = retryAfter;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
         }
     }
 }
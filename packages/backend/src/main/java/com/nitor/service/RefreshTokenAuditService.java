@@ -0,0 +1,106 @@
+package com.nitor.service;
+
+import com.nitor.model.RefreshToken;
+import com.nitor.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Optional durable audit trail of refresh tokens in Postgres
+ *
+ * Written asynchronously so login and refresh never wait on the database;
+ * the authoritative token state lives in Redis (see RefreshTokenStore).
+ * Audit failures are logged and never fail the calling request.
+ */
+@Service
+@Slf4j
+@SuppressWarnings("null")
+public class RefreshTokenAuditService {
+
+    private static final int CLEANUP_BATCH_SIZE = 1000;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final boolean enabled;
+    private final Duration retention;
+
+    public RefreshTokenAuditService(
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${app.jwt.refresh-token.audit.enabled:false}") boolean enabled,
+            @Value("${app.jwt.refresh-token.audit.retention:P90D}") Duration retention) {
+
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.enabled = enabled;
+        this.retention = retention;
+    }
+
+    /**
+     * Record a newly issued token
+     */
+    @Async
+    @Transactional
+    public void recordIssued(UUID userId, String tokenHash, String deviceId, LocalDateTime expiresAt) {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            refreshTokenRepository.save(RefreshToken.builder()
+                    .userId(userId)
+                    .tokenHash(tokenHash)
+                    .deviceInfo(deviceId)
+                    .expiresAt(expiresAt)
+                    .revoked(false)
+                    .build());
+        } catch (Exception e) {
+            log.error("Failed to record issued refresh token for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * Record that tokens were revoked (rotation, logout or revoke-all)
+     */
+    @Async
+    @Transactional
+    public void recordRevoked(Collection<String> tokenHashes) {
+        if (!enabled || tokenHashes.isEmpty()) {
+            return;
+        }
+
+        try {
+            refreshTokenRepository.markRevoked(tokenHashes, LocalDateTime.now());
+        } catch (Exception e) {
+            log.error("Failed to record {} revoked refresh tokens: {}", tokenHashes.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Trim audit rows past the retention period
+     * Deletes in small batches so the table is never locked for long
+     * Runs daily at 3 AM
+     */
+    @Scheduled(cron = "0 0 3 * * ?")
+    public void purgeExpiredAuditRows() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        long total = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(cutoff, CLEANUP_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == CLEANUP_BATCH_SIZE);
+
+        log.info("Purged {} refresh token audit rows older than {}", total, cutoff);
+    }
+}
@@ -2,179 +2,170 @@ package com.nitor.service;
 
 import com.nitor.exception.BadRequestException;
 import com.nitor.exception.ResourceNotFoundException;
-import com.nitor.model.RefreshToken;
 import com.nitor.model.User;
-import com.nitor.repository.RefreshTokenRepository;
 import com.nitor.repository.UserRepository;
 import com.nitor.security.JwtUtil;
+import com.nitor.security.RefreshTokenStore;
+import com.nitor.security.RefreshTokenStore.RefreshSession;
+import com.nitor.util.HashUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Base64;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
+/**
+ * Issues, rotates and revokes refresh tokens
+ *
+ * Tokens are stored in Redis by hash with a native TTL (see RefreshTokenStore).
+ * In single-session mode (default) a new login revokes all other sessions of
+ * the user; in multi-session mode only the previous session on the same device
+ * is replaced.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @SuppressWarnings("null")
+@Timed("nitor.service")
 public class RefreshTokenService {
 
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
+    private final RefreshTokenAuditService refreshTokenAuditService;
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
 
-    @Value("${jwt.refresh-expiration:604800000}") // 7 days in milliseconds
+    @Value("${app.jwt.refresh-expiration:604800000}") // 7 days in milliseconds
     private long refreshTokenExpiration;
 
+    @Value("${app.jwt.refresh-token.multi-session:false}")
+    private boolean multiSession;
+
     private static final int TOKEN_LENGTH = 64;
+    private static final String DEFAULT_DEVICE = "default";
+
+    private final SecureRandom secureRandom = new SecureRandom();
 
     /**
-     * Creates a new refresh token for a user
+     * Creates a new refresh token for a user on the default device
      */
-    @Transactional
-    public RefreshToken createRefreshToken(UUID userId) {
-        log.info("Creating refresh token for user: {}", userId);
-
-        // Verify user exists
-        userRepository.findById(Objects.requireNonNull(userId))
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId.toString()));
-
-        // Revoke all existing tokens for this user (single device policy)
-        // For multi-device support, remove this line and implement device tracking
-        refreshTokenRepository.revokeAllUserTokens(userId);
-
-        // Generate secure random token
-        String token = generateSecureToken();
-
-        // Calculate expiration
-        LocalDateTime expiresAt = LocalDateTime.now()
-                .plusSeconds(refreshTokenExpiration / 1000);
-
-        RefreshToken refreshToken = RefreshToken.builder()
-                .userId(userId)
-                .token(token)
-                .expiresAt(expiresAt)
-                .revoked(false)
-                .build();
-
-        refreshToken = Objects.requireNonNull(refreshTokenRepository.save(refreshToken));
-        log.info("Refresh token created for user: {}", userId);
-
-        return refreshToken;
+    public String createRefreshToken(UUID userId) {
+        return createRefreshToken(userId, null);
     }
 
     /**
-     * Validates a refresh token and returns it if valid
+     * Creates a new refresh token for a user on a device
+     *
+     * @param userId   User the token is issued to
+     * @param deviceId Client supplied device identifier, null for the default device
+     * @return The raw token, only ever handed to the client
      */
     @Transactional(readOnly = true)
-    public RefreshToken validateRefreshToken(String token) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(token)
-                .orElseThrow(() -> new BadRequestException("Invalid refresh token"));
-
-        if (refreshToken.getRevoked()) {
-            log.warn("Attempted use of revoked refresh token");
-            throw new BadRequestException("Refresh token has been revoked");
-        }
-
-        if (refreshToken.isExpired()) {
-            log.warn("Attempted use of expired refresh token");
-            throw new BadRequestException("Refresh token has expired");
-        }
-
-        return refreshToken;
-    }
+    public String createRefreshToken(UUID userId, String deviceId) {
+        log.info("Creating refresh token for user: {}", userId);
 
-    /**
-     * Rotates a refresh token - creates a new one and revokes the old one
-     * This is critical for security to prevent token replay attacks
-     */
-    @Transactional
-    public RefreshToken rotateRefreshToken(String oldToken) {
-        log.info("Rotating refresh token");
+        // Verify user exists
+        userRepository.findById(Objects.requireNonNull(userId))
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId.toString()));
 
-        // Validate the old token
-        RefreshToken oldRefreshToken = validateRefreshToken(oldToken);
+        String device = StringUtils.hasText(deviceId) ? deviceId : DEFAULT_DEVICE;
 
-        // Revoke the old token
-        oldRefreshToken.setRevoked(true);
-        refreshTokenRepository.save(oldRefreshToken);
+        if (multiSession) {
+            // Replace only the previous session on this device
+            refreshTokenStore.findTokenHash(userId, device)
+                    .flatMap(tokenHash -> refreshTokenStore.consume(tokenHash).map(session -> tokenHash))
+                    .ifPresent(tokenHash -> refreshTokenAuditService.recordRevoked(List.of(tokenHash)));
+        } else {
+            // Single session policy: a new login ends every other session
+            refreshTokenAuditService.recordRevoked(refreshTokenStore.revokeAll(userId));
+        }
 
-        // Create and return a new token
-        RefreshToken newRefreshToken = createRefreshToken(oldRefreshToken.getUserId());
+        String token = issueToken(userId, device);
+        log.info("Refresh token created for user: {}", userId);
 
-        log.info("Refresh token rotated successfully for user: {}", oldRefreshToken.getUserId());
-        return newRefreshToken;
+        return token;
     }
 
     /**
      * Generates a new access token from a valid refresh token
-     * Also rotates the refresh token for security
+     * Also rotates the refresh token for security: the old token is consumed
+     * atomically, so a replayed token is rejected
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public TokenPair refreshAccessToken(String refreshTokenString) {
         log.info("Refreshing access token");
 
-        // Validate and rotate the refresh token
-        RefreshToken oldRefreshToken = validateRefreshToken(refreshTokenString);
-        RefreshToken newRefreshToken = rotateRefreshToken(refreshTokenString);
+        String tokenHash = HashUtils.sha256Hex(refreshTokenString);
+        RefreshSession session = refreshTokenStore.consume(tokenHash)
+                .orElseThrow(() -> {
+                    log.warn("Attempted use of invalid, expired or already used refresh token");
+                    return new BadRequestException("Invalid refresh token");
+                });
+        refreshTokenAuditService.recordRevoked(List.of(tokenHash));
 
         // Get user details
-        User user = userRepository.findById(Objects.requireNonNull(oldRefreshToken.getUserId()))
+        User user = userRepository.findById(Objects.requireNonNull(session.userId()))
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        // Generate new access token
+        if (!user.getIsActive()) {
+            throw new BadRequestException("Account is deactivated");
+        }
+
+        // Generate new tokens, keeping the session on the same device
         String accessToken = jwtUtil.generateAccessToken(user.getId(), user.getEmail());
+        String newRefreshToken = issueToken(user.getId(), session.deviceId());
 
         log.info("Access token refreshed for user: {}", user.getId());
 
-        return new TokenPair(accessToken, newRefreshToken.getToken());
+        return new TokenPair(accessToken, newRefreshToken);
     }
 
     /**
      * Revokes a specific refresh token
      */
-    @Transactional
     public void revokeToken(String token) {
         log.info("Revoking refresh token");
-        refreshTokenRepository.revokeToken(token);
+        String tokenHash = HashUtils.sha256Hex(token);
+        if (refreshTokenStore.consume(tokenHash).isPresent()) {
+            refreshTokenAuditService.recordRevoked(List.of(tokenHash));
+        }
     }
 
     /**
      * Revokes all refresh tokens for a user (useful for logout from all devices)
      */
-    @Transactional
     public void revokeAllUserTokens(UUID userId) {
         log.info("Revoking all refresh tokens for user: {}", userId);
-        refreshTokenRepository.revokeAllUserTokens(userId);
+        refreshTokenAuditService.recordRevoked(refreshTokenStore.revokeAll(userId));
     }
 
-    /**
-     * Scheduled task to clean up expired and revoked tokens
-     * Runs daily at 3 AM
-     */
-    @Scheduled(cron = "0 0 3 * * ?")
-    @Transactional
-    public void cleanupExpiredTokens() {
-        log.info("Running scheduled cleanup of expired refresh tokens");
-        LocalDateTime now = LocalDateTime.now();
-        refreshTokenRepository.deleteExpiredAndRevokedTokens(now);
-        log.info("Expired refresh tokens cleanup completed");
+    private String issueToken(UUID userId, String deviceId) {
+        String token = generateSecureToken();
+        String tokenHash = HashUtils.sha256Hex(token);
+        Duration ttl = Duration.ofMillis(refreshTokenExpiration);
+
+        refreshTokenStore.save(tokenHash, new RefreshSession(userId, deviceId, Instant.now()), ttl);
+        refreshTokenAuditService.recordIssued(userId, tokenHash, deviceId, LocalDateTime.now().plus(ttl));
+
+        return token;
     }
 
     /**
      * Generates a cryptographically secure random token
      */
     private String generateSecureToken() {
-        SecureRandom random = new SecureRandom();
         byte[] bytes = new byte[TOKEN_LENGTH];
-        random.nextBytes(bytes);
+        secureRandom.nextBytes(bytes);
         return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
     }
 
@@ -4,6 +4,7 @@ import com.nitor.model.Content;
 import com.nitor.model.Profile;
 import com.nitor.repository.ContentRepository;
 import com.nitor.repository.ProfileRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -15,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 @Slf4j
+@Timed("nitor.service")
 public class SearchService {
 
     private final ContentRepository contentRepository;
@@ -4,6 +4,7 @@ import com.nitor.exception.BadRequestException;
 import com.nitor.exception.ResourceNotFoundException;
 import com.nitor.model.TwoFactorAuth;
 import com.nitor.repository.TwoFactorAuthRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -21,6 +22,7 @@ import java.util.stream.IntStream;
 @RequiredArgsConstructor
 @Slf4j
 @SuppressWarnings("null")
+@Timed("nitor.service")
 public class TwoFactorAuthService {
 
     private final TwoFactorAuthRepository twoFactorAuthRepository;
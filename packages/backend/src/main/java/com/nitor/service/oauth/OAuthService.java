@@ -10,10 +10,12 @@ import com.nitor.model.User;
 import com.nitor.repository.ProfileRepository;
 import com.nitor.repository.UserRepository;
 import com.nitor.security.JwtUtil;
+import com.nitor.service.PlatformStatsService;
 import com.nitor.service.RefreshTokenService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.*;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -27,9 +29,9 @@ import java.util.Objects;
 import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 @SuppressWarnings("null")
+@Timed("nitor.service")
 public class OAuthService {
 
     private final UserRepository userRepository;
@@ -37,7 +39,8 @@ public class OAuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final RefreshTokenService refreshTokenService;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final PlatformStatsService platformStatsService;
+    private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     // Google OAuth
@@ -97,6 +100,25 @@ public class OAuthService {
     @Value("${oauth.linkedin.user-info-uri:}")
     private String linkedinUserInfoUri;
 
+    public OAuthService(
+            UserRepository userRepository,
+            ProfileRepository profileRepository,
+            PasswordEncoder passwordEncoder,
+            JwtUtil jwtUtil,
+            RefreshTokenService refreshTokenService,
+            PlatformStatsService platformStatsService,
+            RestTemplateBuilder restTemplateBuilder) {
+
+        this.userRepository = userRepository;
+        this.profileRepository = profileRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtUtil = jwtUtil;
+        this.refreshTokenService = refreshTokenService;
+        this.platformStatsService = platformStatsService;
+        // Built by Boot's builder so provider calls are recorded as http.client.requests
+        this.restTemplate = restTemplateBuilder.build();
+    }
+
     @Transactional
     public AuthResponse handleOAuthCallback(String provider, String code) {
         log.info("Handling OAuth callback for provider: {}", provider);
@@ -121,7 +143,7 @@ public class OAuthService {
 
             // 5. Generate JWT tokens
             String jwtAccessToken = jwtUtil.generateAccessToken(user.getId(), user.getEmail());
-            String refreshToken = refreshTokenService.createRefreshToken(user.getId()).getToken();
+            String refreshToken = refreshTokenService.createRefreshToken(user.getId());
 
             log.info("OAuth authentication successful for user: {}", user.getEmail());
 
@@ -307,6 +329,7 @@ public class OAuthService {
                             .build();
 
                     newUser = Objects.requireNonNull(userRepository.save(newUser));
+                    platformStatsService.userRegistered(true);
 
                     Profile newProfile = Profile.builder()
                             .id(newUser.getId())
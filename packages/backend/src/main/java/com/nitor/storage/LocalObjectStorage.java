@@ -0,0 +1,133 @@
+package com.nitor.storage;
+
+import com.nitor.exception.BadRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * Storage on the local filesystem, for single-node deployments and tests
+ *
+ * Objects live under app.storage.local.root at their key; the content type is
+ * kept next to them under .meta/. Writes go to a temporary file that is moved
+ * into place, so readers never see a partial object. Downloads are served by
+ * FileController from {@link #getPath}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+@Slf4j
+public class LocalObjectStorage implements ObjectStorage {
+
+    private static final String META_DIR = ".meta";
+
+    private final Path root;
+    private final String baseUrl;
+
+    public LocalObjectStorage(
+            @Value("${app.storage.local.root:./data/files}") String root,
+            @Value("${app.storage.local.base-url:http://localhost:8080/api/files}") String baseUrl) throws IOException {
+
+        this.root = Files.createDirectories(Path.of(root)).toRealPath();
+        this.baseUrl = baseUrl;
+
+        log.info("Object storage: local directory {}", this.root);
+    }
+
+    @Override
+    public void put(String key, InputStream content, long size, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            long written = Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            if (size >= 0 && written != size) {
+                throw new IOException("Expected " + size + " bytes for " + key + " but got " + written);
+            }
+
+            Path meta = metaPath(key);
+            Files.createDirectories(meta.getParent());
+            Files.writeString(meta, contentType != null ? contentType : "application/octet-stream");
+
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) throws IOException {
+        Path path = resolve(key);
+        try {
+            long size = Files.size(path);
+            long lastModified = Files.getLastModifiedTime(path).toMillis();
+            return Optional.of(new StoredObject(key, size, getContentType(key), etag(size, lastModified)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+        Files.deleteIfExists(metaPath(key));
+    }
+
+    @Override
+    public String getUrl(String key) {
+        return baseUrl + "/" + key;
+    }
+
+    /**
+     * File holding the object; the caller checks that it exists
+     */
+    public Path getPath(String key) {
+        return resolve(key);
+    }
+
+    public String getContentType(String key) throws IOException {
+        try {
+            return Files.readString(metaPath(key), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return "application/octet-stream";
+        }
+    }
+
+    /**
+     * Strong ETag from size and modification time (objects are never rewritten in place)
+     */
+    public static String etag(long size, long lastModified) {
+        return "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    /**
+     * Map a key to a path under the root, rejecting anything that escapes it
+     */
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (key.isBlank() || key.startsWith(".") || key.startsWith("/") || !path.startsWith(root)
+                || path.equals(root) || root.relativize(path).startsWith(META_DIR)) {
+            throw new BadRequestException("Invalid object key");
+        }
+        return path;
+    }
+
+    private Path metaPath(String key) {
+        return root.resolve(META_DIR).resolve(root.relativize(resolve(key)));
+    }
+}
@@ -0,0 +1,179 @@
+package com.nitor.storage;
+
+import io.micrometer.core.annotation.Timed;
+import io.minio.CopyObjectArgs;
+import io.minio.CopySource;
+import io.minio.GetObjectArgs;
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.MinioClient;
+import io.minio.PostPolicy;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+import io.minio.http.Method;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+/**
+ * MinIO (S3 compatible) storage; objects are served by MinIO itself
+ *
+ * Inputs of unknown length are sent as multipart uploads, buffering one part
+ * (app.upload.part-size) at a time.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "minio", matchIfMissing = true)
+@Slf4j
+@Timed(value = "nitor.client", extraTags = { "client", "minio" })
+public class MinioObjectStorage implements ObjectStorage {
+
+    private final MinioClient minioClient;
+    private final String bucketName;
+    private final String endpoint;
+    private final long partSize;
+
+    public MinioObjectStorage(
+            MinioClient minioClient,
+            @Value("${app.minio.endpoint}") String endpoint,
+            @Value("${app.minio.bucket-name}") String bucketName,
+            @Value("${app.upload.part-size:10MB}") DataSize partSize) {
+
+        this.minioClient = minioClient;
+        this.endpoint = endpoint;
+        this.bucketName = bucketName;
+        this.partSize = partSize.toBytes();
+
+        log.info("Object storage: MinIO bucket {}", bucketName);
+    }
+
+    @Override
+    public void put(String key, InputStream content, long size, String contentType) throws IOException {
+        try {
+            minioClient.putObject(PutObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(key)
+                    .stream(content, size, size >= 0 ? -1 : partSize)
+                    .contentType(contentType)
+                    .build());
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to store " + key, e);
+        }
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        try {
+            return minioClient.getObject(GetObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(key)
+                    .build());
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to read " + key, e);
+        }
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) throws IOException {
+        try {
+            StatObjectResponse stat = minioClient.statObject(StatObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(key)
+                    .build());
+            return Optional.of(new StoredObject(key, stat.size(), stat.contentType(), stat.etag()));
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                return Optional.empty();
+            }
+            throw new IOException("Failed to stat " + key, e);
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to stat " + key, e);
+        }
+    }
+
+    @Override
+    public void copy(String sourceKey, String targetKey) throws IOException {
+        try {
+            minioClient.copyObject(CopyObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(targetKey)
+                    .source(CopySource.builder()
+                            .bucket(bucketName)
+                            .object(sourceKey)
+                            .build())
+                    .build());
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to copy " + sourceKey + " to " + targetKey, e);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            minioClient.removeObject(RemoveObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(key)
+                    .build());
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to delete " + key, e);
+        }
+    }
+
+    @Override
+    public String getUrl(String key) {
+        return String.format("%s/%s/%s", endpoint, bucketName, key);
+    }
+
+    @Override
+    public boolean supportsPresignedUploads() {
+        return true;
+    }
+
+    @Override
+    public PresignedRequest presignPut(String key, Duration expiry) throws IOException {
+        try {
+            return new PresignedRequest(minioClient.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                    .method(Method.PUT)
+                    .bucket(bucketName)
+                    .object(key)
+                    .expiry((int) expiry.toSeconds())
+                    .build()), null);
+        } catch (Exception e) {
+            throw new IOException("Failed to presign " + key, e);
+        }
+    }
+
+    @Override
+    public PresignedRequest presignPost(String key, String contentType, long maxSize, Duration expiry)
+            throws IOException {
+        PostPolicy policy = new PostPolicy(bucketName, ZonedDateTime.now().plus(expiry));
+        policy.addEqualsCondition("key", key);
+        policy.addEqualsCondition("Content-Type", contentType);
+        policy.addContentLengthRangeCondition(1, maxSize);
+
+        try {
+            return new PresignedRequest(endpoint + "/" + bucketName, minioClient.getPresignedPostFormData(policy));
+        } catch (Exception e) {
+            throw new IOException("Failed to presign " + key, e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.nitor.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Object storage backend for uploaded files
+ *
+ * Keys are slash-separated paths ("objects/{hash}/image.png"). Objects are
+ * written once and never modified, so their URLs can be cached indefinitely.
+ * The backend is chosen with app.storage.type (minio or local).
+ */
+public interface ObjectStorage {
+
+    /**
+     * Store an object
+     *
+     * @param size Length in bytes, or -1 to stream an input of unknown length
+     */
+    void put(String key, InputStream content, long size, String contentType) throws IOException;
+
+    InputStream get(String key) throws IOException;
+
+    Optional<StoredObject> stat(String key) throws IOException;
+
+    /**
+     * Copy an object to another key, keeping its content type
+     *
+     * The default streams it through this process; backends that can copy
+     * server-side override it.
+     */
+    default void copy(String sourceKey, String targetKey) throws IOException {
+        StoredObject source = stat(sourceKey)
+                .orElseThrow(() -> new NoSuchFileException(sourceKey));
+        try (InputStream content = get(sourceKey)) {
+            put(targetKey, content, source.size(), source.contentType());
+        }
+    }
+
+    /**
+     * Remove an object; missing objects are ignored
+     */
+    void delete(String key) throws IOException;
+
+    /**
+     * URL clients use to download the object
+     */
+    String getUrl(String key);
+
+    /**
+     * Whether clients can upload straight to the backend with presigned requests
+     */
+    default boolean supportsPresignedUploads() {
+        return false;
+    }
+
+    default PresignedRequest presignPut(String key, Duration expiry) throws IOException {
+        throw new UnsupportedOperationException("Presigned uploads are not supported by this backend");
+    }
+
+    /**
+     * Presigned POST form; the backend enforces key, content type and size range
+     */
+    default PresignedRequest presignPost(String key, String contentType, long maxSize, Duration expiry)
+            throws IOException {
+        throw new UnsupportedOperationException("Presigned uploads are not supported by this backend");
+    }
+
+    record StoredObject(String key, long size, String contentType, String etag) {
+    }
+
+    /**
+     * @param formData Form fields for a POST upload, null for PUT
+     */
+    record PresignedRequest(String url, Map<String, String> formData) {
+    }
+}
@@ -0,0 +1,481 @@
+package com.nitor.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming BibTeX (and BibLaTeX) reader
+ *
+ * Reads @type{key, field = value, ...} entries one at a time. Values may be
+ * braced, quoted, numbers or @string macros joined with '#'. Common LaTeX
+ * accents and escapes are turned into Unicode; other commands and braces are
+ * dropped. @comment and @preamble blocks are skipped. A malformed entry is
+ * counted as skipped and reading resumes at the next '@'.
+ */
+public class BibTeXReader implements BibliographyReader {
+
+    private static final int MAX_MACROS = 1000;
+
+    private static final Set<String> KEPT_FIELDS = Set.of(
+            "title", "author", "journal", "journaltitle", "booktitle",
+            "year", "month", "date", "doi", "url", "abstract");
+
+    private static final Set<String> CONFERENCE_TYPES = Set.of("inproceedings", "conference");
+
+    private static final Map<Character, Character> ACCENTS = Map.ofEntries(
+            Map.entry('`', '\u0300'), Map.entry('\'', '\u0301'), Map.entry('^', '\u0302'),
+            Map.entry('~', '\u0303'), Map.entry('=', '\u0304'), Map.entry('.', '\u0307'),
+            Map.entry('"', '\u0308'), Map.entry('c', '\u0327'), Map.entry('v', '\u030c'),
+            Map.entry('u', '\u0306'), Map.entry('H', '\u030b'), Map.entry('r', '\u030a'),
+            Map.entry('k', '\u0328'));
+
+    private static final Map<String, String> SYMBOLS = Map.ofEntries(
+            Map.entry("ss", "\u00df"), Map.entry("o", "\u00f8"), Map.entry("O", "\u00d8"),
+            Map.entry("ae", "\u00e6"), Map.entry("AE", "\u00c6"), Map.entry("oe", "\u0153"),
+            Map.entry("OE", "\u0152"), Map.entry("aa", "\u00e5"), Map.entry("AA", "\u00c5"),
+            Map.entry("l", "\u0142"), Map.entry("L", "\u0141"), Map.entry("i", "i"), Map.entry("j", "j"));
+
+    private final Reader in;
+    private final Map<String, String> macros = new HashMap<>();
+    private int peeked = -2;
+    private long skippedEntries;
+
+    public BibTeXReader(Reader in) {
+        this.in = in instanceof BufferedReader ? in : new BufferedReader(in);
+    }
+
+    @Override
+    public Entry next() throws IOException {
+        while (skipTo('@')) {
+            try {
+                String type = readIdentifier().toLowerCase(Locale.ROOT);
+                skipWhitespace();
+                int open = read();
+                if (open != '{' && open != '(') {
+                    throw new MalformedEntryException();
+                }
+                int close = open == '{' ? '}' : ')';
+
+                switch (type) {
+                    case "comment", "preamble" -> skipBlock(open, close);
+                    case "string" -> readMacro(close);
+                    default -> {
+                        return readEntry(type, close);
+                    }
+                }
+            } catch (MalformedEntryException e) {
+                skippedEntries++;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long getSkippedEntries() {
+        return skippedEntries;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private Entry readEntry(String type, int close) throws IOException {
+        // Citation key: one word, then a comma (or the end of an empty entry)
+        skipWhitespace();
+        StringBuilder key = new StringBuilder();
+        while (peek() >= 0 && !Character.isWhitespace(peek()) && peek() != ',' && peek() != close) {
+            key.append((char) read());
+            checkLength(key);
+        }
+        skipWhitespace();
+        int afterKey = read();
+        if (afterKey == close) {
+            return toEntry(type, Map.of());
+        }
+        if (afterKey != ',') {
+            throw new MalformedEntryException();
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        while (true) {
+            skipWhitespace();
+            int c = peek();
+            if (c == close) {
+                read();
+                return toEntry(type, fields);
+            }
+            if (c == ',') {
+                read();
+                continue;
+            }
+
+            String name = readIdentifier().toLowerCase(Locale.ROOT);
+            skipWhitespace();
+            if (name.isEmpty() || read() != '=') {
+                throw new MalformedEntryException();
+            }
+            String value = readValue();
+            if (KEPT_FIELDS.contains(name)) {
+                fields.put(name, value);
+            }
+        }
+    }
+
+    private void readMacro(int close) throws IOException {
+        skipWhitespace();
+        String name = readIdentifier().toLowerCase(Locale.ROOT);
+        skipWhitespace();
+        if (name.isEmpty() || read() != '=') {
+            throw new MalformedEntryException();
+        }
+        String value = readValue();
+        skipWhitespace();
+        if (read() != close) {
+            throw new MalformedEntryException();
+        }
+        if (macros.size() < MAX_MACROS || macros.containsKey(name)) {
+            macros.put(name, value);
+        }
+    }
+
+    /**
+     * Raw value (braces kept) of one field: parts joined with '#'
+     */
+    private String readValue() throws IOException {
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            skipWhitespace();
+            int c = read();
+            if (c == '{') {
+                readDelimited(value, '}');
+            } else if (c == '"') {
+                readDelimited(value, '"');
+            } else if (Character.isDigit(c)) {
+                value.append((char) c);
+                while (Character.isDigit(peek())) {
+                    value.append((char) read());
+                }
+            } else if (isIdentifierChar(c)) {
+                String name = (char) c + readIdentifier();
+                String macro = macros.get(name.toLowerCase(Locale.ROOT));
+                value.append(macro != null ? macro : name);
+            } else {
+                throw new MalformedEntryException();
+            }
+            checkLength(value);
+
+            skipWhitespace();
+            if (peek() != '#') {
+                return value.toString();
+            }
+            read();
+        }
+    }
+
+    /**
+     * Copy up to the unbalanced terminator; nested braces are kept as-is
+     */
+    private void readDelimited(StringBuilder value, char terminator) throws IOException {
+        int depth = 0;
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                throw new MalformedEntryException();
+            }
+            if (depth == 0 && c == terminator) {
+                return;
+            }
+            if (c == '{') {
+                depth++;
+            } else if (c == '}') {
+                if (depth == 0) {
+                    throw new MalformedEntryException();
+                }
+                depth--;
+            }
+            value.append((char) c);
+            checkLength(value);
+        }
+    }
+
+    private void skipBlock(int open, int close) throws IOException {
+        int depth = 1;
+        while (depth > 0) {
+            int c = read();
+            if (c < 0) {
+                throw new MalformedEntryException();
+            }
+            if (c == open) {
+                depth++;
+            } else if (c == close) {
+                depth--;
+            }
+        }
+    }
+
+    private Entry toEntry(String type, Map<String, String> fields) {
+        String journal = fields.containsKey("journal") ? fields.get("journal") : fields.get("journaltitle");
+        String conference = CONFERENCE_TYPES.contains(type) ? fields.get("booktitle") : null;
+
+        String year = fields.get("year");
+        String month = fields.get("month");
+        String date = fields.get("date");
+        if (year == null && date != null) {
+            // BibLaTeX: yyyy, yyyy-mm or yyyy-mm-dd
+            String[] parts = date.trim().split("-");
+            year = parts[0];
+            month = parts.length > 1 ? parts[1] : null;
+        }
+
+        return new Entry(
+                text(fields.get("title")),
+                authors(fields.get("author")),
+                text(journal),
+                text(conference),
+                BibliographyReader.toDate(year, month != null ? text(month) : null),
+                BibliographyReader.normalizeDoi(text(fields.get("doi"))),
+                fields.containsKey("url") ? fields.get("url").trim() : null,
+                text(fields.get("abstract")));
+    }
+
+    /**
+     * Split on " and " outside braces; "Last, First" becomes "First Last"
+     */
+    private static List<String> authors(String raw) {
+        List<String> authors = new ArrayList<>();
+        if (raw == null) {
+            return authors;
+        }
+
+        int depth = 0;
+        int start = 0;
+        String lower = raw.toLowerCase(Locale.ROOT);
+        for (int i = 0; i <= raw.length(); i++) {
+            boolean end = i == raw.length();
+            if (!end) {
+                char c = raw.charAt(i);
+                if (c == '{') {
+                    depth++;
+                } else if (c == '}') {
+                    depth--;
+                }
+            }
+            boolean separator = !end && depth == 0 && Character.isWhitespace(raw.charAt(i))
+                    && lower.startsWith("and", i + 1) && i + 4 < raw.length()
+                    && Character.isWhitespace(raw.charAt(i + 4));
+            if (end || separator) {
+                String name = displayName(raw.substring(start, i));
+                if (name != null && !name.equalsIgnoreCase("others")) {
+                    authors.add(name);
+                }
+                if (separator) {
+                    start = i + 5;
+                    i += 4;
+                }
+            }
+        }
+        return authors;
+    }
+
+    private static String displayName(String raw) {
+        String[] parts = splitTopLevelCommas(raw);
+        String name = switch (parts.length) {
+            case 2 -> parts[1] + " " + parts[0];
+            case 3 -> parts[2] + " " + parts[0] + " " + parts[1];
+            default -> raw;
+        };
+        return text(name);
+    }
+
+    private static String[] splitTopLevelCommas(String raw) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                parts.add(raw.substring(start, i).trim());
+                start = i + 1;
+            }
+        }
+        parts.add(raw.substring(start).trim());
+        return parts.toArray(String[]::new);
+    }
+
+    /**
+     * Plain text of a LaTeX value: accents to Unicode, braces and unknown commands dropped
+     */
+    static String text(String latex) {
+        if (latex == null) {
+            return null;
+        }
+
+        StringBuilder out = new StringBuilder(latex.length());
+        int i = 0;
+        while (i < latex.length()) {
+            char c = latex.charAt(i);
+            if (c == '\\' && i + 1 < latex.length()) {
+                i = command(latex, i + 1, out);
+                continue;
+            }
+            switch (c) {
+                case '{', '}', '$' -> {
+                }
+                case '~' -> out.append(' ');
+                case '-' -> {
+                    int dashes = 1;
+                    while (i + dashes < latex.length() && latex.charAt(i + dashes) == '-' && dashes < 3) {
+                        dashes++;
+                    }
+                    out.append(dashes == 3 ? "\u2014" : dashes == 2 ? "\u2013" : "-");
+                    i += dashes - 1;
+                }
+                default -> out.append(c);
+            }
+            i++;
+        }
+
+        String normalized = Normalizer.normalize(out, Normalizer.Form.NFC).replaceAll("\\s+", " ").trim();
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    /**
+     * Handle the command starting at index (just after the backslash)
+     *
+     * @return Index of the first character after the command
+     */
+    private static int command(String latex, int index, StringBuilder out) {
+        char c = latex.charAt(index);
+
+        if (!Character.isLetter(c)) {
+            if (ACCENTS.containsKey(c)) {
+                return accent(latex, index + 1, ACCENTS.get(c), out);
+            }
+            // Escaped special character: \& \% \_ \{ ...
+            out.append(c);
+            return index + 1;
+        }
+
+        int end = index;
+        while (end < latex.length() && Character.isLetter(latex.charAt(end))) {
+            end++;
+        }
+        String name = latex.substring(index, end);
+
+        if (name.length() == 1 && ACCENTS.containsKey(name.charAt(0))) {
+            return accent(latex, end, ACCENTS.get(name.charAt(0)), out);
+        }
+        if (SYMBOLS.containsKey(name)) {
+            out.append(SYMBOLS.get(name));
+        }
+        // Other commands (\emph, \textit, ...) are dropped; their braced argument stays as text
+        while (end < latex.length() && latex.charAt(end) == ' ' && SYMBOLS.containsKey(name)) {
+            end++;
+        }
+        return end;
+    }
+
+    private static int accent(String latex, int index, char mark, StringBuilder out) {
+        int i = index;
+        while (i < latex.length() && latex.charAt(i) == ' ') {
+            i++;
+        }
+        boolean braced = i < latex.length() && latex.charAt(i) == '{';
+        if (braced) {
+            i++;
+        }
+        if (i >= latex.length()) {
+            return i;
+        }
+
+        if (latex.charAt(i) == '\\') {
+            // \'{\i}: accent over a dotless letter command
+            int end = i + 1;
+            while (end < latex.length() && Character.isLetter(latex.charAt(end))) {
+                end++;
+            }
+            out.append(SYMBOLS.getOrDefault(latex.substring(i + 1, end), ""));
+            i = end;
+        } else {
+            out.append(latex.charAt(i));
+            i++;
+        }
+        out.append(mark);
+
+        if (braced && i < latex.length() && latex.charAt(i) == '}') {
+            i++;
+        }
+        return i;
+    }
+
+    private boolean skipTo(char target) throws IOException {
+        int c;
+        while ((c = read()) >= 0) {
+            if (c == target) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String readIdentifier() throws IOException {
+        StringBuilder identifier = new StringBuilder();
+        while (isIdentifierChar(peek())) {
+            identifier.append((char) read());
+            checkLength(identifier);
+        }
+        return identifier.toString();
+    }
+
+    private static boolean isIdentifierChar(int c) {
+        return c >= 0 && (Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == ':' || c == '.' || c == '+');
+    }
+
+    private void skipWhitespace() throws IOException {
+        while (peek() >= 0 && Character.isWhitespace(peek())) {
+            read();
+        }
+    }
+
+    private void checkLength(StringBuilder value) {
+        if (value.length() > MAX_FIELD_LENGTH) {
+            throw new MalformedEntryException();
+        }
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = in.read();
+        }
+        return peeked;
+    }
+
+    private int read() throws IOException {
+        if (peeked != -2) {
+            int c = peeked;
+            peeked = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private static class MalformedEntryException extends RuntimeException {
+
+        MalformedEntryException() {
+            super(null, null, false, false);
+        }
+    }
+}
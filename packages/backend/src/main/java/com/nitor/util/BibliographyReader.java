@@ -0,0 +1,94 @@
+package com.nitor.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Pull parser over a bibliography file, one entry at a time
+ *
+ * Implementations read from a character stream and keep only the current
+ * entry in memory, so files of any size can be imported. Entries that cannot
+ * be parsed are skipped and counted in {@link #getSkippedEntries()}.
+ */
+public interface BibliographyReader extends Closeable {
+
+    /**
+     * Longest field value kept; longer entries are skipped as malformed
+     */
+    int MAX_FIELD_LENGTH = 65536;
+
+    /**
+     * Next entry, or null at the end of the input
+     */
+    Entry next() throws IOException;
+
+    /**
+     * Entries that were dropped because they could not be parsed
+     */
+    long getSkippedEntries();
+
+    /**
+     * A parsed bibliography entry; any field may be null
+     */
+    record Entry(
+            String title,
+            List<String> authors,
+            String journal,
+            String conference,
+            LocalDate publicationDate,
+            String doi,
+            String url,
+            String abstractText) {
+    }
+
+    /**
+     * Bare lower-case DOI ("10.1000/xyz"), without resolver prefixes
+     */
+    static String normalizeDoi(String doi) {
+        if (doi == null) {
+            return null;
+        }
+        String normalized = doi.trim().toLowerCase(Locale.ROOT);
+        for (String prefix : List.of("https://doi.org/", "http://doi.org/", "https://dx.doi.org/",
+                "http://dx.doi.org/", "doi:")) {
+            if (normalized.startsWith(prefix)) {
+                normalized = normalized.substring(prefix.length()).trim();
+                break;
+            }
+        }
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    /**
+     * Date from a year and an optional month (number, name or abbreviation)
+     */
+    static LocalDate toDate(String year, String month) {
+        if (year == null) {
+            return null;
+        }
+        String digits = year.replaceAll("\\D", "");
+        if (digits.length() < 4) {
+            return null;
+        }
+        int parsedYear = Integer.parseInt(digits.substring(0, 4));
+        return LocalDate.of(parsedYear, toMonth(month), 1);
+    }
+
+    private static int toMonth(String month) {
+        if (month == null || month.isBlank()) {
+            return 1;
+        }
+        String value = month.trim().toLowerCase(Locale.ROOT);
+        if (value.length() <= 2 && value.chars().allMatch(Character::isDigit)) {
+            int number = Integer.parseInt(value);
+            return number >= 1 && number <= 12 ? number : 1;
+        }
+        List<String> names = List.of("jan", "feb", "mar", "apr", "may", "jun",
+                "jul", "aug", "sep", "oct", "nov", "dec");
+        int index = value.length() >= 3 ? names.indexOf(value.substring(0, 3)) : -1;
+        return index >= 0 ? index + 1 : 1;
+    }
+}
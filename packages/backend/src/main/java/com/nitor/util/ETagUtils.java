@@ -0,0 +1,20 @@
+package com.nitor.util;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public class ETagUtils {
+
+    /**
+     * Strong ETag (quoted) for one version of a representation
+     *
+     * The parts should identify the resource and everything its response is
+     * built from, e.g. the type, id and the updatedAt of each row involved.
+     */
+    public static String strong(Object... parts) {
+        String version = Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining("|"));
+        return "\"" + HashUtils.sha256Hex(version).substring(0, 32) + "\"";
+    }
+}
@@ -0,0 +1,197 @@
+package com.nitor.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+/**
+ * Custom Java Flight Recorder events of the hot paths
+ *
+ * The events cost a field check while no recording is running. They show
+ * up under "Nitor" in JDK Mission Control, next to the JDK's own events,
+ * whether recorded through /actuator/jfr or with jcmd JFR.start. Frequent
+ * fast events (cache lookups, rate-limit decisions) default to a 1 ms
+ * threshold so always-on recordings keep only the slow ones; the actuator
+ * recording takes them all.
+ */
+public final class FlightEvents {
+
+    public static final List<Class<? extends Event>> TYPES = List.of(
+            RequestEvent.class, JpaQueryEvent.class, CacheLookupEvent.class, RateLimitEvent.class,
+            WebSocketSendEvent.class);
+
+    private FlightEvents() {
+    }
+
+    /**
+     * "METHOD pattern" of the HTTP request on this thread, the raw path
+     * before handler mapping ran, or null outside a request
+     */
+    public static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        return endpoint(servletAttributes.getRequest());
+    }
+
+    public static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    @Name("com.nitor.Request")
+    @Label("HTTP Request")
+    @Category({ "Nitor", "HTTP" })
+    @Description("One HTTP request, from the outermost filter to the response")
+    @StackTrace(false)
+    public static class RequestEvent extends Event {
+
+        @Label("Endpoint")
+        public String endpoint;
+
+        @Label("Status")
+        public int status;
+
+        @Label("Statements")
+        @Description("JDBC statements executed by Hibernate")
+        public int statements;
+
+        @Label("Database Time")
+        @Timespan(Timespan.NANOSECONDS)
+        public long databaseTime;
+    }
+
+    @Name("com.nitor.JpaQuery")
+    @Label("JPA Repository Call")
+    @Category({ "Nitor", "Database" })
+    @Description("A Spring Data repository method, with the statements it executed")
+    public static class JpaQueryEvent extends Event {
+
+        @Label("Endpoint")
+        public String endpoint;
+
+        @Label("Entity Type")
+        public String entityType;
+
+        @Label("Repository")
+        public String repository;
+
+        @Label("Method")
+        public String method;
+
+        @Label("Statements")
+        public int statements;
+    }
+
+    @Name("com.nitor.CacheLookup")
+    @Label("Cache Lookup")
+    @Category({ "Nitor", "Cache" })
+    @Threshold("1 ms")
+    @StackTrace(false)
+    public static class CacheLookupEvent extends Event {
+
+        @Label("Endpoint")
+        public String endpoint;
+
+        @Label("Cache")
+        public String cache;
+
+        @Label("Entity Type")
+        public String entityType;
+
+        @Label("Keys")
+        public int keys;
+
+        @Label("Misses")
+        @Description("Keys that were not cached (and were loaded, where the cache loads)")
+        public int misses;
+
+        // Not an event field: the lookup is also the cache phase of Server-Timing
+        private transient long timingStart;
+
+        /**
+         * Begins a lookup of {@code keys} keys; call {@link #finish} when done
+         */
+        public static CacheLookupEvent start(String cache, String entityType, int keys) {
+            CacheLookupEvent event = new CacheLookupEvent();
+            event.timingStart = ServerTiming.start();
+            if (event.isEnabled()) {
+                event.cache = cache;
+                event.entityType = entityType;
+                event.keys = keys;
+                event.begin();
+            }
+            return event;
+        }
+
+        public void missed(int count) {
+            misses += count;
+        }
+
+        public void finish() {
+            ServerTiming.stop(ServerTiming.Phase.CACHE, timingStart);
+            if (isEnabled()) {
+                end();
+                if (shouldCommit()) {
+                    endpoint = currentEndpoint();
+                    commit();
+                }
+            }
+        }
+    }
+
+    @Name("com.nitor.RateLimit")
+    @Label("Rate Limit Decision")
+    @Category({ "Nitor", "Security" })
+    @Threshold("1 ms")
+    @StackTrace(false)
+    public static class RateLimitEvent extends Event {
+
+        @Label("Endpoint")
+        public String endpoint;
+
+        @Label("Limit Type")
+        public String limitType;
+
+        @Label("Allowed")
+        public boolean allowed;
+
+        @Label("Remaining Tokens")
+        public long remainingTokens;
+    }
+
+    @Name("com.nitor.WebSocketSend")
+    @Label("WebSocket Send")
+    @Category({ "Nitor", "WebSocket" })
+    @Description("A STOMP frame written to a client session")
+    @StackTrace(false)
+    public static class WebSocketSendEvent extends Event {
+
+        @Label("Destination")
+        public String destination;
+
+        @Label("Message Type")
+        public String messageType;
+
+        @Label("Session")
+        public String sessionId;
+
+        @Label("Payload Size")
+        @DataAmount
+        public long payloadSize;
+    }
+}
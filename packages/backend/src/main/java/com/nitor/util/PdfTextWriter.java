@@ -0,0 +1,339 @@
+package com.nitor.util;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streams line-based text as a simple PDF (A4, Helvetica), one page at a time
+ *
+ * Input lines:
+ * - "# text"    title
+ * - "## text"   section heading, underlined
+ * - "### text"  entry heading
+ * - blank line  paragraph gap (repeated blank lines collapse)
+ * - other       body text, wrapped to the page width
+ *
+ * Only the page being laid out is held in memory; each finished page is
+ * written to the underlying stream right away. close() writes the document
+ * trailer and flushes, but leaves the underlying stream open. Characters
+ * outside Windows-1252 are replaced with '?'.
+ */
+public class PdfTextWriter extends Writer {
+
+    private static final float PAGE_WIDTH = 595;
+    private static final float PAGE_HEIGHT = 842;
+    private static final float MARGIN = 56;
+    private static final float PARAGRAPH_GAP = 6;
+
+    // Object numbers fixed up front; pages and their content are numbered from 5
+    private static final int CATALOG_ID = 1;
+    private static final int PAGES_ID = 2;
+    private static final int REGULAR_FONT_ID = 3;
+    private static final int BOLD_FONT_ID = 4;
+
+    // Helvetica advance widths (1/1000 em) for ' ' through '~'
+    private static final int[] HELVETICA_WIDTHS = {
+            278, 278, 355, 556, 556, 889, 667, 191, 333, 333, 389, 584, 278, 333, 278, 278,
+            556, 556, 556, 556, 556, 556, 556, 556, 556, 556, 278, 278, 584, 584, 584, 556,
+            1015, 667, 667, 722, 722, 667, 611, 778, 722, 278, 500, 667, 556, 833, 722, 778,
+            667, 778, 722, 667, 611, 722, 667, 944, 667, 667, 611, 278, 278, 278, 469, 556,
+            333, 556, 556, 500, 556, 556, 278, 556, 556, 222, 222, 500, 222, 833, 556, 556,
+            556, 556, 333, 500, 278, 556, 500, 722, 500, 500, 500, 334, 260, 334, 584
+    };
+
+    private enum Style {
+        TITLE("F2", 18, 0),
+        HEADING("F2", 13, 10),
+        SUBHEADING("F2", 11, 4),
+        BODY("F1", 10, 0);
+
+        final String font;
+        final float size;
+        final float spaceBefore;
+
+        Style(String font, float size, float spaceBefore) {
+            this.font = font;
+            this.size = size;
+            this.spaceBefore = spaceBefore;
+        }
+
+        float leading() {
+            return size * 1.35f;
+        }
+    }
+
+    private final CountingOutputStream out;
+    private final List<Long> offsets = new ArrayList<>();
+    private final List<Integer> pageIds = new ArrayList<>();
+    private final StringBuilder line = new StringBuilder();
+
+    private StringBuilder page;
+    private float y;
+    private boolean gap;
+    private boolean closed;
+
+    public PdfTextWriter(OutputStream out) throws IOException {
+        this.out = new CountingOutputStream(out);
+        for (int i = 0; i <= BOLD_FONT_ID; i++) {
+            offsets.add(0L);
+        }
+
+        writeAscii("%PDF-1.4\n");
+        this.out.write(new byte[] { '%', (byte) 0xE2, (byte) 0xE3, (byte) 0xCF, (byte) 0xD3, '\n' });
+        writeObject(REGULAR_FONT_ID, font("Helvetica"));
+        writeObject(BOLD_FONT_ID, font("Helvetica-Bold"));
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) throws IOException {
+        ensureOpen();
+        for (int i = offset; i < offset + length; i++) {
+            char c = buffer[i];
+            if (c == '\n') {
+                layoutLine(line.toString());
+                line.setLength(0);
+            } else if (c != '\r') {
+                line.append(c);
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        if (!line.isEmpty()) {
+            layoutLine(line.toString());
+            line.setLength(0);
+        }
+        if (page != null || pageIds.isEmpty()) {
+            finishPage();
+        }
+
+        StringBuilder kids = new StringBuilder();
+        for (int pageId : pageIds) {
+            kids.append(pageId).append(" 0 R ");
+        }
+        writeObject(PAGES_ID, "<< /Type /Pages /Kids [" + kids + "] /Count " + pageIds.size() + " >>");
+        writeObject(CATALOG_ID, "<< /Type /Catalog /Pages " + PAGES_ID + " 0 R >>");
+
+        long xref = out.count;
+        StringBuilder table = new StringBuilder("xref\n0 " + offsets.size() + "\n0000000000 65535 f \n");
+        for (int id = 1; id < offsets.size(); id++) {
+            table.append(String.format(Locale.ROOT, "%010d 00000 n \n", offsets.get(id)));
+        }
+        table.append("trailer\n<< /Size ").append(offsets.size()).append(" /Root ").append(CATALOG_ID)
+                .append(" 0 R >>\nstartxref\n").append(xref).append("\n%%EOF\n");
+        writeAscii(table.toString());
+
+        out.flush();
+        closed = true;
+    }
+
+    private void layoutLine(String raw) throws IOException {
+        String text = raw.strip();
+        if (text.isEmpty()) {
+            gap = true;
+            return;
+        }
+
+        Style style = Style.BODY;
+        if (text.startsWith("### ")) {
+            style = Style.SUBHEADING;
+        } else if (text.startsWith("## ")) {
+            style = Style.HEADING;
+        } else if (text.startsWith("# ")) {
+            style = Style.TITLE;
+        }
+        if (style != Style.BODY) {
+            text = text.substring(text.indexOf(' ') + 1).strip();
+        }
+
+        if (page != null && y < PAGE_HEIGHT - MARGIN) {
+            y -= Math.max(gap ? PARAGRAPH_GAP : 0, style.spaceBefore);
+        }
+        gap = false;
+
+        // Keep headings with at least a couple of lines of what follows
+        if (style != Style.BODY && page != null && y - style.leading() - 2 * Style.BODY.leading() < MARGIN) {
+            finishPage();
+        }
+
+        for (String wrapped : wrap(text, style)) {
+            if (page == null || y - style.leading() < MARGIN) {
+                if (page != null) {
+                    finishPage();
+                }
+                page = new StringBuilder();
+                y = PAGE_HEIGHT - MARGIN;
+            }
+            y -= style.leading();
+            page.append("BT /").append(style.font).append(' ').append(number(style.size)).append(" Tf ")
+                    .append(number(MARGIN)).append(' ').append(number(y))
+                    .append(" Td (").append(escape(wrapped)).append(") Tj ET\n");
+        }
+
+        if (style == Style.HEADING) {
+            float ruleY = y - 3;
+            page.append("0.5 w ").append(number(MARGIN)).append(' ').append(number(ruleY)).append(" m ")
+                    .append(number(PAGE_WIDTH - MARGIN)).append(' ').append(number(ruleY)).append(" l S\n");
+            y -= 4;
+        }
+    }
+
+    private List<String> wrap(String text, Style style) {
+        float maxWidth = PAGE_WIDTH - 2 * MARGIN;
+        List<String> lines = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+
+        for (String word : text.split("\\s+")) {
+            String candidate = current.isEmpty() ? word : current + " " + word;
+            if (width(candidate, style) <= maxWidth) {
+                current.setLength(0);
+                current.append(candidate);
+                continue;
+            }
+            if (!current.isEmpty()) {
+                lines.add(current.toString());
+                current.setLength(0);
+            }
+            // A single word wider than the line is split wherever it overflows
+            for (char c : word.toCharArray()) {
+                if (!current.isEmpty() && width(current.toString() + c, style) > maxWidth) {
+                    lines.add(current.toString());
+                    current.setLength(0);
+                }
+                current.append(c);
+            }
+        }
+        if (!current.isEmpty()) {
+            lines.add(current.toString());
+        }
+        return lines;
+    }
+
+    private static float width(String text, Style style) {
+        float units = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            units += c >= ' ' && c <= '~' ? HELVETICA_WIDTHS[c - ' '] : 556;
+        }
+        // Bold glyphs run about 5% wider than the regular metrics above
+        float scale = style.font.equals("F2") ? 1.05f : 1f;
+        return units * style.size / 1000 * scale;
+    }
+
+    private void finishPage() throws IOException {
+        if (page == null) {
+            page = new StringBuilder();
+        }
+        byte[] content = page.toString().getBytes(StandardCharsets.ISO_8859_1);
+
+        int contentId = offsets.size();
+        offsets.add(0L);
+        offsets.set(contentId, out.count);
+        writeAscii(contentId + " 0 obj\n<< /Length " + content.length + " >>\nstream\n");
+        out.write(content);
+        writeAscii("\nendstream\nendobj\n");
+
+        int pageId = offsets.size();
+        offsets.add(0L);
+        writeObject(pageId, "<< /Type /Page /Parent " + PAGES_ID + " 0 R /MediaBox [0 0 "
+                + (int) PAGE_WIDTH + " " + (int) PAGE_HEIGHT + "] /Resources << /Font << /F1 "
+                + REGULAR_FONT_ID + " 0 R /F2 " + BOLD_FONT_ID + " 0 R >> >> /Contents " + contentId + " 0 R >>");
+        pageIds.add(pageId);
+
+        page = null;
+        out.flush();
+    }
+
+    private void writeObject(int id, String body) throws IOException {
+        offsets.set(id, out.count);
+        writeAscii(id + " 0 obj\n" + body + "\nendobj\n");
+    }
+
+    private void writeAscii(String ascii) throws IOException {
+        out.write(ascii.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String number(float value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static String font(String baseFont) {
+        return "<< /Type /Font /Subtype /Type1 /BaseFont /" + baseFont + " /Encoding /WinAnsiEncoding >>";
+    }
+
+    /**
+     * PDF string literal body; each char is one Windows-1252 byte (written as ISO-8859-1)
+     */
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = toWinAnsi(text.charAt(i));
+            if (c == '\\' || c == '(' || c == ')') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private static char toWinAnsi(char c) {
+        if ((c >= ' ' && c <= '~') || (c >= 0xA0 && c <= 0xFF)) {
+            return c;
+        }
+        return switch (c) {
+            case '\u2018' -> (char) 0x91;
+            case '\u2019' -> (char) 0x92;
+            case '\u201c' -> (char) 0x93;
+            case '\u201d' -> (char) 0x94;
+            case '\u2022' -> (char) 0x95;
+            case '\u2013' -> (char) 0x96;
+            case '\u2014' -> (char) 0x97;
+            case '\u2026' -> (char) 0x85;
+            case '\u20ac' -> (char) 0x80;
+            case '\t' -> ' ';
+            default -> '?';
+        };
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Writer closed");
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
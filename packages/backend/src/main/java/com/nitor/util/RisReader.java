@@ -0,0 +1,187 @@
+package com.nitor.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming RIS reader
+ *
+ * Reads "XX  - value" lines from TY to ER, one record at a time. Lines
+ * without a tag continue the previous value. A record cut off by the end of
+ * the input, or with an oversized value, is counted as skipped.
+ */
+public class RisReader implements BibliographyReader {
+
+    private static final Set<String> CONFERENCE_TYPES = Set.of("CONF", "CPAPER");
+
+    private final BufferedReader in;
+    private long skippedEntries;
+
+    public RisReader(Reader in) {
+        this.in = in instanceof BufferedReader buffered ? buffered : new BufferedReader(in);
+    }
+
+    @Override
+    public Entry next() throws IOException {
+        String type = null;
+        Map<String, List<String>> tags = new HashMap<>();
+        String lastTag = null;
+        boolean oversized = false;
+        long length = 0;
+
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (!line.isEmpty() && line.charAt(0) == '\ufeff') {
+                // Byte order mark at the start of the file
+                line = line.substring(1);
+            }
+            String tag = tagOf(line);
+            if (tag == null) {
+                // Continuation of the previous value
+                List<String> values = lastTag != null ? tags.get(lastTag) : null;
+                if (values != null && !line.isBlank()) {
+                    length += line.length();
+                    if (length > MAX_FIELD_LENGTH) {
+                        oversized = true;
+                        tags.clear();
+                        lastTag = null;
+                        continue;
+                    }
+                    int last = values.size() - 1;
+                    values.set(last, values.get(last) + " " + line.trim());
+                }
+                continue;
+            }
+
+            String value = line.length() > 6 ? line.substring(6).trim() : "";
+            if (tag.equals("TY")) {
+                if (type != null) {
+                    // TY without a closing ER: drop the unterminated record
+                    skippedEntries++;
+                }
+                type = value.toUpperCase(Locale.ROOT);
+                tags.clear();
+                lastTag = null;
+                oversized = false;
+                length = 0;
+            } else if (tag.equals("ER")) {
+                if (type == null) {
+                    continue;
+                }
+                if (oversized) {
+                    skippedEntries++;
+                    type = null;
+                    tags.clear();
+                    continue;
+                }
+                return toEntry(type, tags);
+            } else if (type != null) {
+                length += value.length();
+                if (length > MAX_FIELD_LENGTH) {
+                    oversized = true;
+                    tags.clear();
+                    lastTag = null;
+                    continue;
+                }
+                tags.computeIfAbsent(tag, key -> new ArrayList<>()).add(value);
+                lastTag = tag;
+            }
+        }
+
+        if (type != null) {
+            skippedEntries++;
+        }
+        return null;
+    }
+
+    @Override
+    public long getSkippedEntries() {
+        return skippedEntries;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Two-character tag of a "XX  - " line, or null for other lines
+     */
+    private static String tagOf(String line) {
+        if (line.length() < 5 || line.charAt(2) != ' ' || line.charAt(3) != ' ' || line.charAt(4) != '-') {
+            return null;
+        }
+        String tag = line.substring(0, 2);
+        return Character.isLetterOrDigit(tag.charAt(0)) && Character.isLetterOrDigit(tag.charAt(1)) ? tag : null;
+    }
+
+    private static Entry toEntry(String type, Map<String, List<String>> tags) {
+        boolean conference = CONFERENCE_TYPES.contains(type);
+        String secondary = first(tags, "T2", "BT");
+
+        List<String> authors = new ArrayList<>();
+        for (String tag : List.of("AU", "A1")) {
+            for (String author : tags.getOrDefault(tag, List.of())) {
+                String name = displayName(author);
+                if (name != null) {
+                    authors.add(name);
+                }
+            }
+        }
+
+        // PY/Y1/DA: "2020", "2020/05/12/" or "2020/05//"
+        String date = first(tags, "PY", "Y1", "DA");
+        String year = null;
+        String month = null;
+        if (date != null) {
+            String[] parts = date.split("[/-]");
+            year = parts[0];
+            month = parts.length > 1 ? parts[1] : null;
+        }
+
+        return new Entry(
+                first(tags, "TI", "T1", "CT"),
+                authors,
+                conference ? first(tags, "JO", "JF", "JA") : first(tags, "JO", "JF", "T2", "JA"),
+                conference ? secondary : null,
+                BibliographyReader.toDate(year, month),
+                BibliographyReader.normalizeDoi(first(tags, "DO")),
+                first(tags, "UR", "L2"),
+                first(tags, "AB", "N2"));
+    }
+
+    /**
+     * "Last, First" becomes "First Last"
+     */
+    private static String displayName(String author) {
+        String[] parts = author.split(",", 3);
+        String name = switch (parts.length) {
+            case 2 -> parts[1].trim() + " " + parts[0].trim();
+            case 3 -> parts[1].trim() + " " + parts[0].trim() + " " + parts[2].trim();
+            default -> author.trim();
+        };
+        name = name.trim();
+        return name.isEmpty() ? null : name;
+    }
+
+    private static String first(Map<String, List<String>> tags, String... names) {
+        for (String name : names) {
+            List<String> values = tags.get(name);
+            if (values != null) {
+                for (String value : values) {
+                    if (!value.isBlank()) {
+                        return value.trim();
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
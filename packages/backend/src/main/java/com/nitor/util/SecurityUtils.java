@@ -3,6 +3,7 @@ package com.nitor.util;
 import com.nitor.exception.UnauthorizedException;
 import com.nitor.model.User;
 import com.nitor.repository.UserRepository;
+import com.nitor.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,17 +26,30 @@ public class SecurityUtils {
         }
 
         Object principal = authentication.getPrincipal();
-        if (principal instanceof UserDetails) {
-            // String email = ((UserDetails) principal).getUsername();
-            // Email is stored in UserDetails.username
-            // We need to look up the user by email to get the UUID
-            // This is a limitation - in production, store userId in JWT claims
-            return null; // Will be handled by repositories
+        if (principal instanceof AuthenticatedUser authenticatedUser) {
+            // User ID comes straight from the verified JWT claims
+            return authenticatedUser.getUserId();
         }
 
         throw new UnauthorizedException("Invalid authentication principal");
     }
 
+    /**
+     * Resolve the user ID of a principal
+     *
+     * JWT-authenticated principals carry the ID, so only other principal types
+     * (e.g. mock users in tests) fall back to a lookup by email.
+     */
+    public UUID getUserId(UserDetails userDetails) {
+        if (userDetails == null) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        if (userDetails instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser.getUserId();
+        }
+        return getUserIdFromEmail(userDetails.getUsername());
+    }
+
     public UUID getUserIdFromEmail(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UnauthorizedException("User not found"));
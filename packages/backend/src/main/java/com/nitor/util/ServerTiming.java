@@ -0,0 +1,130 @@
+package com.nitor.util;
+
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Per-request phase timings for the Server-Timing response header
+ *
+ * One instance per request, on the request thread, holding a duration and a
+ * count per phase. Instrumented code brackets a phase with {@link #start()}
+ * and {@link #stop}; both are a thread-local read when no request is being
+ * timed. Phases can overlap (a cache miss that loads from the database
+ * counts in cache and db), so they do not add up to the total. Database
+ * figures come from the request's StatementStats scope.
+ */
+public final class ServerTiming implements AutoCloseable {
+
+    public enum Phase {
+        AUTH("auth", "JWT authentication"),
+        RATE_LIMIT("ratelimit", "Rate limiting"),
+        CACHE("cache", "Cache lookups"),
+        SERIALIZATION("serialize", "JSON serialisation"),
+        EXTERNAL("external", "External calls");
+
+        private final String metric;
+        private final String description;
+
+        Phase(String metric, String description) {
+            this.metric = metric;
+            this.description = description;
+        }
+    }
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+    private static final Phase[] PHASES = Phase.values();
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private final long startNanos = System.nanoTime();
+    private final long[] nanos = new long[PHASES.length];
+    private final int[] counts = new int[PHASES.length];
+    private final BooleanSupplier reportedDecision;
+    private Boolean reported;
+
+    private ServerTiming(BooleanSupplier reportedDecision) {
+        this.reportedDecision = reportedDecision;
+    }
+
+    /**
+     * Starts timing the current request; {@code reported} decides, once and
+     * when first asked, whether the header is sent
+     */
+    public static ServerTiming open(BooleanSupplier reported) {
+        ServerTiming timing = new ServerTiming(reported);
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Start of a phase, to be passed to {@link #stop}
+     */
+    public static long start() {
+        return CURRENT.get() != null ? System.nanoTime() : NOT_TIMED;
+    }
+
+    public static void stop(Phase phase, long start) {
+        if (start == NOT_TIMED) {
+            return;
+        }
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.record(phase, System.nanoTime() - start);
+        }
+    }
+
+    public void record(Phase phase, long elapsedNanos) {
+        nanos[phase.ordinal()] += elapsedNanos;
+        counts[phase.ordinal()]++;
+    }
+
+    public boolean isReported() {
+        if (reported == null) {
+            reported = reportedDecision.getAsBoolean();
+        }
+        return reported;
+    }
+
+    /**
+     * Header value for what was timed so far, e.g.
+     * {@code auth;dur=0.41;desc="JWT authentication", db;dur=2.10;desc="3 statements", total;dur=5.62}
+     */
+    public String header() {
+        StringBuilder header = new StringBuilder(256);
+        for (Phase phase : PHASES) {
+            int count = counts[phase.ordinal()];
+            if (count > 0) {
+                String description = phase == Phase.CACHE || phase == Phase.EXTERNAL
+                        ? phase.description + " (" + count + ")"
+                        : phase.description;
+                append(header, phase.metric, nanos[phase.ordinal()], description);
+            }
+        }
+        StatementStats statements = StatementStats.current();
+        if (statements != null) {
+            append(header, "db", statements.nanos(), statements.statements() + " statements");
+        }
+        append(header, "total", System.nanoTime() - startNanos, null);
+        return header.toString();
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    private static void append(StringBuilder header, String metric, long nanos, String description) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        header.append(metric).append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1e6));
+        if (description != null) {
+            header.append(";desc=\"").append(description).append('"');
+        }
+    }
+}
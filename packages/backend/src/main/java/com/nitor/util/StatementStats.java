@@ -0,0 +1,136 @@
+package com.nitor.util;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC statements run by Hibernate on the current thread while a scope is open
+ *
+ * StatementStatsConfig hooks Hibernate so that every prepared statement
+ * reports its SQL and every execution its duration; outside an open scope
+ * the reports are ignored. Scopes nest and a statement counts towards every
+ * open scope on the thread, so a test can measure a MockMvc call while the
+ * request filter measures the same request. Plain JdbcTemplate calls and
+ * work handed to other threads are not seen.
+ */
+public final class StatementStats implements AutoCloseable {
+
+    private static final ThreadLocal<StatementStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final StatementStats parent;
+    // Keyed by the SQL as prepared; Hibernate reuses the same strings, so shapes are only built on demand
+    private final Map<String, Integer> prepared = new HashMap<>();
+    private int statements;
+    private long nanos;
+    private boolean closed;
+
+    private StatementStats(StatementStats parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Opens a scope on the current thread; close it in a finally block
+     */
+    public static StatementStats open() {
+        StatementStats stats = new StatementStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * The innermost open scope of the current thread, or null
+     */
+    public static StatementStats current() {
+        return CURRENT.get();
+    }
+
+    public static void statementPrepared(String sql) {
+        for (StatementStats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.prepared.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public static void statementExecuted(long elapsedNanos) {
+        for (StatementStats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.statements++;
+            stats.nanos += elapsedNanos;
+        }
+    }
+
+    /**
+     * Statements (and JDBC batches) executed
+     */
+    public int statements() {
+        return statements;
+    }
+
+    /**
+     * Time spent executing them, excluding reading their result sets
+     */
+    public Duration time() {
+        return Duration.ofNanos(nanos);
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    /**
+     * How often each statement shape was prepared, in first-seen order
+     *
+     * A shape is the SQL with comments dropped, literals and IN lists
+     * replaced by a placeholder and whitespace collapsed, so the same query
+     * for different rows maps to one shape.
+     */
+    public Map<String, Integer> shapes() {
+        Map<String, Integer> shapes = new LinkedHashMap<>();
+        prepared.forEach((sql, count) -> shapes.merge(shape(sql), count, Integer::sum));
+        return shapes;
+    }
+
+    /**
+     * Shapes prepared at least {@code threshold} times - the signature of an N+1
+     */
+    public Map<String, Integer> repeated(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes().forEach((shape, count) -> {
+            if (count >= threshold) {
+                repeated.put(shape, count);
+            }
+        });
+        return repeated;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // Scopes close innermost first; anything else means a scope leaked on this thread
+        if (CURRENT.get() == this) {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+
+    static String shape(String sql) {
+        String shape = COMMENT.matcher(sql).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,181 @@
+package com.nitor.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Minimal logic-less template, compiled once and rendered straight to a Writer
+ *
+ * Tags:
+ * - {{name}}              value, passed through the escaper; {{.}} is the current item
+ * - {{#name}}...{{/name}} repeated for each element of a collection, once for any
+ *                         other non-empty value, skipped for null, false or empty
+ * - {{^name}}...{{/name}} rendered only when the value is null, false or empty
+ *
+ * Values come from maps; a name is looked up in the innermost section first,
+ * then outwards. Section tags alone on a line remove the whole line. A
+ * compiled template is immutable and safe to share between threads.
+ */
+public final class TextTemplate {
+
+    private final List<Node> nodes;
+
+    private TextTemplate(List<Node> nodes) {
+        this.nodes = nodes;
+    }
+
+    /**
+     * Compile a template from a classpath resource (UTF-8)
+     */
+    public static TextTemplate load(String location) {
+        try (InputStream in = TextTemplate.class.getClassLoader().getResourceAsStream(location)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Template not found: " + location);
+            }
+            return compile(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read template " + location, e);
+        }
+    }
+
+    public static TextTemplate compile(String source) {
+        Deque<Section> open = new ArrayDeque<>();
+        List<Node> root = new ArrayList<>();
+        List<Node> current = root;
+        int position = 0;
+
+        while (position < source.length()) {
+            int start = source.indexOf("{{", position);
+            if (start < 0) {
+                current.add(new Text(source.substring(position)));
+                break;
+            }
+            int end = source.indexOf("}}", start);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed tag at offset " + start);
+            }
+
+            String tag = source.substring(start + 2, end).trim();
+            char kind = tag.isEmpty() ? ' ' : tag.charAt(0);
+            boolean sectionTag = kind == '#' || kind == '^' || kind == '/';
+
+            int textEnd = start;
+            int next = end + 2;
+            if (sectionTag) {
+                // A section tag alone on its line takes the line with it
+                int lineStart = source.lastIndexOf('\n', start - 1) + 1;
+                int lineEnd = source.indexOf('\n', next);
+                String before = source.substring(lineStart, start);
+                String after = source.substring(next, lineEnd < 0 ? source.length() : lineEnd);
+                if (before.isBlank() && after.isBlank()) {
+                    textEnd = lineStart;
+                    next = lineEnd < 0 ? source.length() : lineEnd + 1;
+                }
+            }
+            if (textEnd > position) {
+                current.add(new Text(source.substring(position, textEnd)));
+            }
+
+            if (kind == '#' || kind == '^') {
+                Section section = new Section(tag.substring(1).trim(), kind == '^', new ArrayList<>());
+                current.add(section);
+                open.push(section);
+                current = section.children();
+            } else if (kind == '/') {
+                String name = tag.substring(1).trim();
+                if (open.isEmpty() || !open.peek().name().equals(name)) {
+                    throw new IllegalArgumentException("Unexpected closing tag {{/" + name + "}}");
+                }
+                open.pop();
+                current = open.isEmpty() ? root : open.peek().children();
+            } else {
+                current.add(new Variable(tag));
+            }
+            position = next;
+        }
+
+        if (!open.isEmpty()) {
+            throw new IllegalArgumentException("Unclosed section {{#" + open.peek().name() + "}}");
+        }
+        return new TextTemplate(List.copyOf(root));
+    }
+
+    public void render(Map<String, ?> context, Writer out, UnaryOperator<String> escaper) throws IOException {
+        Deque<Object> scopes = new ArrayDeque<>();
+        scopes.push(context);
+        render(nodes, scopes, out, escaper);
+    }
+
+    private static void render(List<Node> nodes, Deque<Object> scopes, Writer out, UnaryOperator<String> escaper)
+            throws IOException {
+
+        for (Node node : nodes) {
+            if (node instanceof Text text) {
+                out.write(text.value());
+            } else if (node instanceof Variable variable) {
+                Object value = lookup(scopes, variable.name());
+                if (value != null) {
+                    out.write(escaper.apply(String.valueOf(value)));
+                }
+            } else if (node instanceof Section section) {
+                Object value = lookup(scopes, section.name());
+                if (section.inverted()) {
+                    if (isEmpty(value)) {
+                        render(section.children(), scopes, out, escaper);
+                    }
+                } else if (!isEmpty(value)) {
+                    Iterator<?> items = value instanceof Collection<?> collection
+                            ? collection.iterator()
+                            : List.of(value).iterator();
+                    while (items.hasNext()) {
+                        scopes.push(items.next());
+                        render(section.children(), scopes, out, escaper);
+                        scopes.pop();
+                    }
+                }
+            }
+        }
+    }
+
+    private static Object lookup(Deque<Object> scopes, String name) {
+        if (name.equals(".")) {
+            return scopes.peek();
+        }
+        for (Object scope : scopes) {
+            if (scope instanceof Map<?, ?> map && map.containsKey(name)) {
+                return map.get(name);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isEmpty(Object value) {
+        return value == null
+                || Boolean.FALSE.equals(value)
+                || (value instanceof Collection<?> collection && collection.isEmpty())
+                || (value instanceof CharSequence text && text.isEmpty());
+    }
+
+    private sealed interface Node permits Text, Variable, Section {
+    }
+
+    private record Text(String value) implements Node {
+    }
+
+    private record Variable(String name) implements Node {
+    }
+
+    private record Section(String name, boolean inverted, List<Node> children) implements Node {
+    }
+}
@@ -0,0 +1,39 @@
+-- Nitor Database Schema - CV Sections
+-- Version: 10.0.0
+-- Description: Align publications, skills and awards with their entities so the CV can include them
+
+-- ============================================================================
+-- PUBLICATIONS
+-- ============================================================================
+
+-- One array element per author (was a single free-text column)
+ALTER TABLE publications ALTER COLUMN authors TYPE TEXT[]
+    USING CASE WHEN authors IS NULL THEN NULL ELSE string_to_array(authors, ';') END;
+
+-- Columns created by Hibernate from an earlier version of the entity
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'publications' AND column_name = 'publisher') THEN
+        ALTER TABLE publications ALTER COLUMN publisher DROP NOT NULL;
+    END IF;
+END $$;
+
+-- ============================================================================
+-- SKILLS
+-- ============================================================================
+
+ALTER TABLE skills ADD COLUMN IF NOT EXISTS years_of_experience INT;
+ALTER TABLE skills ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+
+CREATE TRIGGER update_skills_updated_at BEFORE UPDATE ON skills
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+-- ============================================================================
+-- AWARDS
+-- ============================================================================
+
+ALTER TABLE awards ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+
+CREATE TRIGGER update_awards_updated_at BEFORE UPDATE ON awards
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
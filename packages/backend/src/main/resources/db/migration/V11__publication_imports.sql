@@ -0,0 +1,36 @@
+-- Nitor Database Schema - Publication Imports
+-- Version: 11.0.0
+-- Description: Progress tracking for BibTeX/RIS bulk imports and DOI lookups for deduplication
+
+-- ============================================================================
+-- PUBLICATION IMPORT JOBS
+-- ============================================================================
+
+CREATE TABLE publication_import_jobs (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    user_id UUID NOT NULL REFERENCES profiles(id) ON DELETE CASCADE,
+    format VARCHAR(10) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    file_name VARCHAR(255),
+    total_bytes BIGINT NOT NULL DEFAULT 0,
+    processed_bytes BIGINT NOT NULL DEFAULT 0,
+    processed_entries BIGINT NOT NULL DEFAULT 0,
+    imported_entries BIGINT NOT NULL DEFAULT 0,
+    duplicate_entries BIGINT NOT NULL DEFAULT 0,
+    invalid_entries BIGINT NOT NULL DEFAULT 0,
+    error_message TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+CREATE INDEX idx_publication_import_jobs_user ON publication_import_jobs(user_id, created_at DESC);
+CREATE INDEX idx_publication_import_jobs_status ON publication_import_jobs(status);
+
+-- ============================================================================
+-- PUBLICATIONS
+-- ============================================================================
+
+-- Imports look up a user's existing DOIs (case-insensitive), and entries without a DOI by title
+CREATE INDEX idx_publications_user_doi ON publications(user_id, LOWER(doi));
+CREATE INDEX idx_publications_user_title ON publications(user_id, LOWER(title)) WHERE doi IS NULL;
@@ -0,0 +1,11 @@
+-- Nitor Database Schema - Job Heartbeats
+-- Version: 12.0.0
+-- Description: Last sign of life of running background jobs, so a starting instance only fails abandoned ones
+
+-- ============================================================================
+-- MODERATION AND PUBLICATION IMPORT JOBS
+-- ============================================================================
+
+-- Set when the job starts and on every progress update
+ALTER TABLE moderation_jobs ADD COLUMN heartbeat_at TIMESTAMP;
+ALTER TABLE publication_import_jobs ADD COLUMN heartbeat_at TIMESTAMP;
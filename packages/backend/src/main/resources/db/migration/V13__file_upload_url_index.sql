@@ -0,0 +1,10 @@
+-- Nitor Database Schema - Upload URL Index
+-- Version: 13.0.0
+-- Description: Look up uploads by URL, so author cards can show an avatar's thumbnail instead of the original
+
+-- ============================================================================
+-- FILE UPLOADS
+-- ============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_file_uploads_file_url ON file_uploads(file_url)
+    WHERE variant_status = 'READY';
@@ -0,0 +1,10 @@
+-- Nitor Database Schema - Token Epoch
+-- Version: 4.0.0
+-- Description: Per-user token epoch used to revoke stateless access tokens
+
+-- ============================================================================
+-- USERS
+-- ============================================================================
+
+-- Access tokens issued before this timestamp are rejected
+ALTER TABLE users ADD COLUMN tokens_valid_after TIMESTAMP;
@@ -0,0 +1,18 @@
+-- Nitor Database Schema - Refresh Token Audit
+-- Version: 5.0.0
+-- Description: Refresh tokens live in Redis; this table becomes an optional audit trail
+
+-- ============================================================================
+-- REFRESH TOKENS
+-- ============================================================================
+
+-- Existing rows hold raw tokens; drop them instead of keeping usable secrets around
+DELETE FROM refresh_tokens;
+
+-- Only the SHA-256 of a token is recorded from now on
+ALTER TABLE refresh_tokens RENAME COLUMN token TO token_hash;
+ALTER TABLE refresh_tokens ALTER COLUMN token_hash TYPE VARCHAR(64);
+DROP INDEX IF EXISTS idx_refresh_tokens_token;
+
+ALTER TABLE refresh_tokens ADD COLUMN IF NOT EXISTS revoked BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE refresh_tokens ADD COLUMN IF NOT EXISTS revoked_at TIMESTAMP;
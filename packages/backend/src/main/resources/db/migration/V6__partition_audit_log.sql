@@ -0,0 +1,64 @@
+-- Nitor Database Schema - Partitioned Audit Log
+-- Version: 6.0.0
+-- Description: Move audit_log to monthly range partitions on created_at
+
+-- ============================================================================
+-- AUDIT LOG
+-- ============================================================================
+
+ALTER TABLE audit_log RENAME TO audit_log_old;
+ALTER INDEX IF EXISTS idx_audit_log_user RENAME TO idx_audit_log_old_user;
+ALTER INDEX IF EXISTS idx_audit_log_action RENAME TO idx_audit_log_old_action;
+ALTER INDEX IF EXISTS idx_audit_log_created RENAME TO idx_audit_log_old_created;
+ALTER INDEX IF EXISTS idx_audit_log_entity RENAME TO idx_audit_log_old_entity;
+
+-- The partition key has to be part of the primary key
+CREATE TABLE audit_log (
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    user_id UUID REFERENCES users(id) ON DELETE SET NULL,
+    action VARCHAR(100) NOT NULL,
+    entity_type VARCHAR(50),
+    entity_id UUID,
+    ip_address VARCHAR(45),
+    user_agent TEXT,
+    details TEXT,
+    metadata JSONB,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_audit_log_user ON audit_log(user_id);
+CREATE INDEX idx_audit_log_action ON audit_log(action);
+CREATE INDEX idx_audit_log_created ON audit_log(created_at DESC);
+CREATE INDEX idx_audit_log_entity ON audit_log(entity_type, entity_id);
+
+-- One partition per month, from the oldest existing entry to three months ahead.
+-- Later months are created by the application (AuditLogPartitionService).
+DO $$
+DECLARE
+    month_start DATE;
+    last_month DATE := date_trunc('month', CURRENT_DATE + INTERVAL '3 months')::DATE;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(created_at), CURRENT_TIMESTAMP))::DATE
+    INTO month_start
+    FROM audit_log_old;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF audit_log FOR VALUES FROM (%L) TO (%L)',
+            'audit_log_y' || to_char(month_start, 'YYYY') || 'm' || to_char(month_start, 'MM'),
+            month_start,
+            (month_start + INTERVAL '1 month')::DATE);
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+-- Older schema versions may not have the details column yet (it was added by Hibernate)
+ALTER TABLE audit_log_old ADD COLUMN IF NOT EXISTS details TEXT;
+
+INSERT INTO audit_log (id, user_id, action, entity_type, entity_id, ip_address, user_agent, details, metadata, created_at)
+SELECT id, user_id, action, entity_type, entity_id, ip_address, user_agent, details, metadata,
+       COALESCE(created_at, CURRENT_TIMESTAMP)
+FROM audit_log_old;
+
+DROP TABLE audit_log_old;
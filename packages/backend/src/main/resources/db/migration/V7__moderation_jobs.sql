@@ -0,0 +1,26 @@
+-- Nitor Database Schema - Bulk Moderation Jobs
+-- Version: 7.0.0
+-- Description: Progress tracking for chunked bulk moderation jobs
+
+-- ============================================================================
+-- MODERATION JOBS
+-- ============================================================================
+
+CREATE TABLE moderation_jobs (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    admin_id UUID REFERENCES users(id) ON DELETE SET NULL,
+    action VARCHAR(30) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    reason TEXT,
+    chunk_size INTEGER NOT NULL,
+    total_items BIGINT,
+    processed_items BIGINT NOT NULL DEFAULT 0,
+    affected_items BIGINT NOT NULL DEFAULT 0,
+    error_message TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+CREATE INDEX idx_moderation_jobs_admin ON moderation_jobs(admin_id);
+CREATE INDEX idx_moderation_jobs_status ON moderation_jobs(status);
@@ -0,0 +1,27 @@
+-- Nitor Database Schema - File Upload Status
+-- Version: 8.0.0
+-- Description: Align file_uploads with the FileUpload entity and track direct-to-storage uploads
+
+-- ============================================================================
+-- FILE UPLOADS
+-- ============================================================================
+
+ALTER TABLE file_uploads RENAME COLUMN filename TO file_name;
+ALTER TABLE file_uploads RENAME COLUMN original_filename TO original_name;
+
+-- Uploads belong to the account, not the profile
+ALTER TABLE file_uploads DROP CONSTRAINT IF EXISTS file_uploads_user_id_fkey;
+ALTER TABLE file_uploads ADD CONSTRAINT file_uploads_user_id_fkey
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
+
+-- Size is only known once a presigned upload has completed
+ALTER TABLE file_uploads ALTER COLUMN file_size SET DEFAULT 0;
+
+ALTER TABLE file_uploads ADD COLUMN IF NOT EXISTS file_url VARCHAR(1000);
+ALTER TABLE file_uploads ADD COLUMN IF NOT EXISTS upload_status VARCHAR(20) NOT NULL DEFAULT 'COMPLETED';
+ALTER TABLE file_uploads ADD COLUMN IF NOT EXISTS expires_at TIMESTAMP;
+ALTER TABLE file_uploads ADD COLUMN IF NOT EXISTS completed_at TIMESTAMP;
+
+-- Finds abandoned presigned uploads
+CREATE INDEX IF NOT EXISTS idx_file_uploads_pending ON file_uploads(expires_at) WHERE upload_status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_file_uploads_created ON file_uploads(created_at);
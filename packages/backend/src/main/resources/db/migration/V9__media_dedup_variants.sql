@@ -0,0 +1,16 @@
+-- Nitor Database Schema - Media Deduplication and Variants
+-- Version: 9.0.0
+-- Description: Content hashes for deduplicating uploads and thumbnail variant tracking
+
+-- ============================================================================
+-- FILE UPLOADS
+-- ============================================================================
+
+-- SHA-256 of the file contents; identical files share one stored object
+ALTER TABLE file_uploads ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+
+-- NONE (not an image), PENDING, READY or FAILED
+ALTER TABLE file_uploads ADD COLUMN IF NOT EXISTS variant_status VARCHAR(20) NOT NULL DEFAULT 'NONE';
+
+CREATE INDEX IF NOT EXISTS idx_file_uploads_content_hash ON file_uploads(content_hash)
+    WHERE upload_status = 'COMPLETED';
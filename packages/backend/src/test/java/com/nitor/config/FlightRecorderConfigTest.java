@@ -0,0 +1,127 @@
+package com.nitor.config;
+
+import com.nitor.model.Profile;
+import com.nitor.repository.ProfileRepository;
+import com.nitor.util.FlightEvents;
+import com.nitor.util.StatementStats;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryFactoryCustomizer;
+import org.springframework.data.repository.core.support.RepositoryFactorySupport;
+import org.springframework.data.repository.core.support.RepositoryProxyPostProcessor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({ "null", "nullness", "unchecked", "rawtypes" })
+class FlightRecorderConfigTest {
+
+    /**
+     * Stands in for a repository method that runs two statements
+     */
+    interface Lookup {
+        String find();
+    }
+
+    @Mock
+    private RepositoryFactoryBeanSupport factoryBean;
+
+    @Mock
+    private RepositoryFactorySupport factory;
+
+    @Mock
+    private RepositoryInformation information;
+
+    private Lookup repository;
+
+    @BeforeEach
+    void setUp() {
+        BeanPostProcessor postProcessor = FlightRecorderConfig.jpaQueryEventPostProcessor();
+        assertSame(factoryBean, postProcessor.postProcessBeforeInitialization(factoryBean, "profileRepository"));
+
+        // Replays what Spring Data does when it builds the repository proxy
+        ArgumentCaptor<RepositoryFactoryCustomizer> customizer = ArgumentCaptor.forClass(RepositoryFactoryCustomizer.class);
+        verify(factoryBean).addRepositoryFactoryCustomizer(customizer.capture());
+        customizer.getValue().customize(factory);
+        ArgumentCaptor<RepositoryProxyPostProcessor> proxyPostProcessor = ArgumentCaptor
+                .forClass(RepositoryProxyPostProcessor.class);
+        verify(factory).addRepositoryProxyPostProcessor(proxyPostProcessor.capture());
+
+        doReturn(Profile.class).when(information).getDomainType();
+        doReturn(ProfileRepository.class).when(information).getRepositoryInterface();
+        ProxyFactory proxyFactory = new ProxyFactory((Lookup) () -> {
+            StatementStats.statementExecuted(1_000);
+            StatementStats.statementExecuted(1_000);
+            return "found";
+        });
+        proxyFactory.addInterface(Lookup.class);
+        proxyPostProcessor.getValue().postProcess(proxyFactory, information);
+        repository = (Lookup) proxyFactory.getProxy();
+    }
+
+    @Test
+    void repositoryCall_WhileRecording_EmitsEventWithItsStatements() throws Exception {
+        // Given
+        Path file = Files.createTempFile("flight-recorder-config-", ".jfr");
+        try {
+            List<RecordedEvent> events;
+            try (Recording recording = new Recording();
+                    StatementStats stats = StatementStats.open()) {
+                recording.enable(FlightEvents.JpaQueryEvent.class).withThreshold(Duration.ZERO);
+                recording.start();
+
+                // When
+                assertEquals("found", repository.find());
+
+                recording.stop();
+                recording.dump(file);
+            }
+            events = RecordingFile.readAllEvents(file);
+
+            // Then
+            RecordedEvent event = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("com.nitor.JpaQuery"))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals("Profile", event.getString("entityType"));
+            assertEquals("ProfileRepository", event.getString("repository"));
+            assertEquals("find", event.getString("method"));
+            assertEquals(2, event.getInt("statements"));
+            assertNull(event.getString("endpoint"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void repositoryCall_WithoutRecording_OnlyProceeds() {
+        // When & Then
+        assertEquals("found", repository.find());
+    }
+
+    @Test
+    void otherBeans_AreReturnedUntouched() {
+        // Given
+        Object bean = new Object();
+
+        // When & Then
+        assertSame(bean, FlightRecorderConfig.jpaQueryEventPostProcessor().postProcessBeforeInitialization(bean, "other"));
+    }
+}
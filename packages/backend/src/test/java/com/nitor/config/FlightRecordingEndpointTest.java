@@ -0,0 +1,174 @@
+package com.nitor.config;
+
+import com.nitor.security.AuthenticatedUser;
+import com.nitor.service.AdminService;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.RecordingState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({ "null", "nullness" })
+class FlightRecordingEndpointTest {
+
+    private static final UUID ADMIN_ID = UUID.randomUUID();
+
+    @Mock
+    private AdminService adminService;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void record_NotAnAdmin_Forbidden() throws Exception {
+        // Given
+        UUID userId = UUID.randomUUID();
+        authenticate(userId);
+        when(adminService.isAdmin(userId)).thenReturn(false);
+
+        // When
+        WebEndpointResponse<Resource> response = endpoint("profile").record(Duration.ofSeconds(1));
+
+        // Then
+        assertEquals(403, response.getStatus());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void record_Anonymous_Forbidden() throws Exception {
+        // When
+        WebEndpointResponse<Resource> response = endpoint("profile").record(null);
+
+        // Then
+        assertEquals(403, response.getStatus());
+        verifyNoInteractions(adminService);
+    }
+
+    @Test
+    void record_DurationOutOfRange_BadRequest() throws Exception {
+        // Given
+        asAdmin();
+        FlightRecordingEndpoint endpoint = endpoint("profile");
+
+        // When & Then
+        assertEquals(400, endpoint.record(Duration.ZERO).getStatus());
+        assertEquals(400, endpoint.record(Duration.ofSeconds(-1)).getStatus());
+        assertEquals(400, endpoint.record(Duration.ofMinutes(6)).getStatus());
+    }
+
+    @Test
+    void record_WhileAnotherRecordingRuns_TooManyRequests() throws Exception {
+        // Given - a recording running on another thread
+        asAdmin();
+        FlightRecordingEndpoint endpoint = endpoint("profile");
+        CompletableFuture<WebEndpointResponse<Resource>> running = CompletableFuture.supplyAsync(() -> {
+            authenticate(ADMIN_ID);
+            try {
+                return endpoint.record(Duration.ofSeconds(2));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        });
+        awaitRunningRecording();
+
+        // When
+        WebEndpointResponse<Resource> response = endpoint.record(Duration.ofSeconds(1));
+
+        // Then
+        assertEquals(429, response.getStatus());
+        WebEndpointResponse<Resource> first = running.get();
+        assertEquals(200, first.getStatus());
+        first.getBody().getInputStream().close();
+    }
+
+    @Test
+    void record_DeletesTheFileOnceTheResponseIsRead() throws Exception {
+        // Given
+        asAdmin();
+
+        // When
+        WebEndpointResponse<Resource> response = endpoint("profile").record(Duration.ofMillis(100));
+
+        // Then
+        assertEquals(200, response.getStatus());
+        Resource resource = response.getBody();
+        Path file = resource.getFile().toPath();
+        assertFalse(resource.isFile());
+        assertTrue(Files.exists(file));
+        try (InputStream in = resource.getInputStream()) {
+            assertTrue(in.readAllBytes().length > 0);
+        }
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void record_Failure_DeletesTheFileAndAllowsTheNextRecording() throws Exception {
+        // Given - settings that cannot be loaded
+        asAdmin();
+        FlightRecordingEndpoint endpoint = endpoint("missing-settings.jfc");
+        List<Path> before = recordingFiles();
+
+        // When & Then - the second call fails the same way, rather than with 429
+        assertThrows(IOException.class, () -> endpoint.record(Duration.ofMillis(100)));
+        assertThrows(IOException.class, () -> endpoint.record(Duration.ofMillis(100)));
+        assertEquals(before, recordingFiles());
+    }
+
+    private FlightRecordingEndpoint endpoint(String settings) {
+        return new FlightRecordingEndpoint(adminService, Duration.ofSeconds(30), Duration.ofMinutes(5), settings,
+                Duration.ofMillis(10));
+    }
+
+    private void asAdmin() {
+        authenticate(ADMIN_ID);
+        when(adminService.isAdmin(ADMIN_ID)).thenReturn(true);
+    }
+
+    private static void authenticate(UUID userId) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, "user@nitor.io");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private static void awaitRunningRecording() throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            boolean running = FlightRecorder.getFlightRecorder().getRecordings().stream()
+                    .anyMatch(r -> "nitor-actuator".equals(r.getName()) && r.getState() == RecordingState.RUNNING);
+            if (running) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("recording did not start");
+    }
+
+    private static List<Path> recordingFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(p -> p.getFileName().toString().matches("nitor-.*\\.jfr")).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.nitor.config;
+
+import com.nitor.interceptor.RateLimitInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings({ "null", "nullness" })
+class WebConfigTest {
+
+    private final RateLimitInterceptor rateLimitInterceptor = mock(RateLimitInterceptor.class);
+
+    @Test
+    void rateLimitEnabled_RegistersInterceptorForApi() {
+        // When
+        List<Object> interceptors = interceptors(new WebConfig(rateLimitInterceptor, true));
+
+        // Then
+        assertEquals(1, interceptors.size());
+        MappedInterceptor mapped = (MappedInterceptor) interceptors.get(0);
+        assertSame(rateLimitInterceptor, mapped.getInterceptor());
+        assertTrue(mapped.matches(request("/api/auth/login")));
+        assertFalse(mapped.matches(request("/actuator/health")));
+    }
+
+    @Test
+    void rateLimitDisabled_RegistersNoInterceptor() {
+        // When
+        List<Object> interceptors = interceptors(new WebConfig(rateLimitInterceptor, false));
+
+        // Then - nothing stands between /api/auth/login and a load test's sessions
+        assertTrue(interceptors.isEmpty());
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        ServletRequestPathUtils.parseAndCache(request);
+        return request;
+    }
+
+    private static List<Object> interceptors(WebConfig config) {
+        ExposedRegistry registry = new ExposedRegistry();
+        config.addInterceptors(registry);
+        return registry.getInterceptors();
+    }
+
+    // Widens the protected accessor
+    private static final class ExposedRegistry extends InterceptorRegistry {
+        @Override
+        protected List<Object> getInterceptors() {
+            return super.getInterceptors();
+        }
+    }
+}
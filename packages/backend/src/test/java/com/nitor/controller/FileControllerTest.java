@@ -0,0 +1,196 @@
+package com.nitor.controller;
+
+import com.nitor.exception.GlobalExceptionHandler;
+import com.nitor.storage.LocalObjectStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SuppressWarnings({ "null", "nullness" })
+class FileControllerTest {
+
+    private static final String URL = "/api/files/content/abc_notes.txt";
+    private static final byte[] BODY = "0123456789".getBytes();
+
+    @TempDir
+    Path root;
+
+    private LocalObjectStorage storage;
+    private MockMvc mockMvc;
+    private String etag;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        storage = new LocalObjectStorage(root.toString(), "http://localhost:8080/api/files");
+        storage.put("content/abc_notes.txt", new ByteArrayInputStream(BODY), BODY.length, "text/plain");
+        mockMvc = MockMvcBuilders.standaloneSetup(new FileController(storage, "public, max-age=60"))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        etag = mockMvc.perform(get(URL)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void get_WholeFile_WithValidators() throws Exception {
+        // When & Then
+        mockMvc.perform(get(URL))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=60"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, BODY.length))
+                .andExpect(content().bytes(BODY));
+        assertTrue(etag.startsWith("\""), etag);
+    }
+
+    @Test
+    void get_MatchingIfNoneMatch_NotModified() throws Exception {
+        // When & Then - weak and listed tags match too
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(BODY));
+    }
+
+    @Test
+    void get_Range_PartialContent() throws Exception {
+        // When & Then
+        mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+                .andExpect(content().string("2345"));
+
+        mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"))
+                .andExpect(content().string("789"));
+    }
+
+    @Test
+    void get_IfRange_SendsTheRangeOnlyWhileTheTagMatches() throws Exception {
+        // When & Then
+        mockMvc.perform(get(URL)
+                .header(HttpHeaders.RANGE, "bytes=5-")
+                .header(HttpHeaders.IF_RANGE, etag))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("56789"));
+
+        mockMvc.perform(get(URL)
+                .header(HttpHeaders.RANGE, "bytes=5-")
+                .header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().bytes(BODY));
+    }
+
+    @Test
+    void get_MultipleRanges_WholeFile() throws Exception {
+        // When & Then
+        mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=0-1,4-5"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(BODY));
+    }
+
+    @Test
+    void get_UnsatisfiableRange_416() throws Exception {
+        // When & Then
+        mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=20-30"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void get_UploadedHtml_DownloadsAsSandboxedAttachment() throws Exception {
+        // Given
+        byte[] page = "<script>alert(localStorage.token)</script>".getBytes();
+        storage.put("content/def_page.html", new ByteArrayInputStream(page), page.length, "text/html");
+
+        // When
+        MockHttpServletResponse response = mockMvc.perform(get("/api/files/content/def_page.html"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/octet-stream"))
+                .andExpect(header().string("Content-Security-Policy", "sandbox"))
+                .andExpect(header().string("X-Content-Type-Options", "nosniff"))
+                .andExpect(content().bytes(page))
+                .andReturn()
+                .getResponse();
+
+        // Then
+        ContentDisposition disposition = ContentDisposition.parse(response.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+        assertTrue(disposition.isAttachment());
+        assertEquals("def_page.html", disposition.getFilename());
+    }
+
+    @Test
+    void get_Svg_DownloadsAsAttachment() throws Exception {
+        // Given
+        byte[] svg = "<svg xmlns=\"http://www.w3.org/2000/svg\"><script/></svg>".getBytes();
+        storage.put("avatars/logo", new ByteArrayInputStream(svg), svg.length, "image/svg+xml");
+
+        // When
+        MockHttpServletResponse response = mockMvc.perform(get("/api/files/avatars/logo"))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/octet-stream"))
+                .andReturn()
+                .getResponse();
+
+        // Then
+        assertTrue(ContentDisposition.parse(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).isAttachment());
+    }
+
+    @Test
+    void get_RasterImage_ServedInline() throws Exception {
+        // Given
+        byte[] png = { (byte) 0x89, 'P', 'N', 'G' };
+        storage.put("avatars/face.png", new ByteArrayInputStream(png), png.length, "Image/PNG; charset=binary");
+
+        // When & Then
+        mockMvc.perform(get("/api/files/avatars/face.png"))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_DISPOSITION))
+                .andExpect(header().string("Content-Security-Policy", "sandbox"));
+    }
+
+    @Test
+    void get_MissingFile_NotFound() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/files/content/missing.txt"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void transfer_NoProgress_FailsInsteadOfSpinning() throws Exception {
+        // Given - a file truncated after its length was read
+        FileChannel channel = mock(FileChannel.class);
+        WritableByteChannel out = Channels.newChannel(new ByteArrayOutputStream());
+        when(channel.transferTo(anyLong(), anyLong(), any())).thenReturn(4L, 0L);
+
+        // When & Then
+        EOFException e = assertThrows(EOFException.class, () -> FileController.transfer(channel, 0, 9, out));
+        assertEquals("File ended at byte 4 of 10", e.getMessage());
+        verify(channel).transferTo(4, 6, out);
+    }
+}
@@ -9,11 +9,13 @@ import com.nitor.model.Profile;
 import com.nitor.repository.ContentRepository;
 import com.nitor.repository.ProfileRepository;
 import com.nitor.repository.UserRepository;
+import com.nitor.security.RefreshTokenStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -51,6 +53,10 @@ class ContentIntegrationTest {
         @Autowired
         private ContentRepository contentRepository;
 
+        // Registration issues a refresh token; these tests never use it, so no Redis is needed
+        @MockBean
+        private RefreshTokenStore refreshTokenStore;
+
         private String accessToken;
         private UUID userId;
 
@@ -124,6 +130,37 @@ class ContentIntegrationTest {
                                 .andExpect(jsonPath("$.body").value("Test content to retrieve"));
         }
 
+        @Test
+        void testGetContent_NotModified() throws Exception {
+                // Given
+                Profile authorProfile = profileRepository.findById(userId).orElseThrow();
+                Content content = contentRepository.save(Content.builder()
+                                .author(authorProfile)
+                                .body("Cached content")
+                                .type(Content.ContentType.POST)
+                                .visibility(Content.ContentVisibility.PUBLIC)
+                                .build());
+
+                MvcResult first = mockMvc.perform(get("/api/content/" + content.getId()))
+                                .andExpect(status().isOk())
+                                .andExpect(header().exists("ETag"))
+                                .andReturn();
+                String etag = first.getResponse().getHeader("ETag");
+
+                // When & Then - same version is not sent again
+                mockMvc.perform(get("/api/content/" + content.getId())
+                                .header("If-None-Match", etag))
+                                .andExpect(status().isNotModified())
+                                .andExpect(header().string("ETag", etag))
+                                .andExpect(content().string(""));
+
+                // A stale tag gets the full body
+                mockMvc.perform(get("/api/content/" + content.getId())
+                                .header("If-None-Match", "\"stale\""))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.body").value("Cached content"));
+        }
+
         @Test
         void testGetFeed_Success() throws Exception {
                 // Given - create multiple content posts
@@ -151,6 +188,28 @@ class ContentIntegrationTest {
                                 .andExpect(jsonPath("$.content.length()").value(5));
         }
 
+        @Test
+        void testGetFeed_StatementBudget() throws Exception {
+                // Given - a page of posts, written out so their inserts are not measured
+                Profile authorProfile = profileRepository.findById(userId).orElseThrow();
+                for (int i = 0; i < 8; i++) {
+                        contentRepository.save(Content.builder()
+                                        .author(authorProfile)
+                                        .body("Budget post " + i)
+                                        .type(Content.ContentType.POST)
+                                        .visibility(Content.ContentVisibility.PUBLIC)
+                                        .build());
+                }
+                contentRepository.flush();
+
+                // When & Then - ETag versions, the page and one batch of authors, whatever the page size
+                StatementBudget.assertAtMost(3, () -> mockMvc.perform(get("/api/content/feed")
+                                .param("page", "0")
+                                .param("size", "10"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content.length()").value(8)));
+        }
+
         @Test
         void testDeleteContent_Success() throws Exception {
                 // Given - create content
@@ -195,7 +254,7 @@ class ContentIntegrationTest {
                 content = contentRepository.save(content);
 
                 // When & Then - endorse the content
-                mockMvc.perform(post("/api/interactions/content/" + content.getId() + "/endorse")
+                mockMvc.perform(post("/api/content/" + content.getId() + "/endorse")
                                 .header("Authorization", "Bearer " + accessToken))
                                 .andExpect(status().isCreated())
                                 .andExpect(jsonPath("$.contentId").value(content.getId().toString()))
@@ -219,11 +278,9 @@ class ContentIntegrationTest {
                 content = contentRepository.save(content);
 
                 // When & Then - bookmark the content
-                mockMvc.perform(post("/api/interactions/content/" + content.getId() + "/bookmark")
+                mockMvc.perform(post("/api/content/" + content.getId() + "/bookmark")
                                 .header("Authorization", "Bearer " + accessToken))
-                                .andExpect(status().isCreated())
-                                .andExpect(jsonPath("$.contentId").value(content.getId().toString()))
-                                .andExpect(jsonPath("$.userId").exists());
+                                .andExpect(status().isCreated());
         }
 
         @Test
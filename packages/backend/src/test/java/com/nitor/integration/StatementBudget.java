@@ -0,0 +1,56 @@
+package com.nitor.integration;
+
+import com.nitor.util.StatementStats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement budgets for integration tests
+ *
+ * Wraps a MockMvc call (or any code on the test thread) and fails when it
+ * runs more JDBC statements than allowed, or prepares one statement shape
+ * repeatedly. Flush pending writes before measuring, or their inserts count
+ * against the budget. Example:
+ *
+ * <pre>
+ * StatementBudget.assertAtMost(3, () -&gt; mockMvc.perform(get("/api/content/feed")));
+ * </pre>
+ */
+final class StatementBudget {
+
+    @FunctionalInterface
+    interface Action {
+        void run() throws Exception;
+    }
+
+    private StatementBudget() {
+    }
+
+    /**
+     * Runs the action and returns what it executed
+     */
+    static StatementStats measure(Action action) throws Exception {
+        StatementStats stats = StatementStats.open();
+        try {
+            action.run();
+        } finally {
+            stats.close();
+        }
+        return stats;
+    }
+
+    /**
+     * Runs the action, asserting at most {@code maxStatements} statements and
+     * no statement shape prepared more than once
+     */
+    static StatementStats assertAtMost(int maxStatements, Action action) throws Exception {
+        StatementStats stats = measure(action);
+        assertThat(stats.statements())
+                .as("statements executed; shapes prepared: %s", stats.shapes())
+                .isLessThanOrEqualTo(maxStatements);
+        assertThat(stats.repeated(2))
+                .as("statement shapes prepared more than once (N+1)")
+                .isEmpty();
+        return stats;
+    }
+}
@@ -0,0 +1,99 @@
+package com.nitor.interceptor;
+
+import com.nitor.security.AuthenticatedUser;
+import com.nitor.service.AdminService;
+import com.nitor.util.ServerTiming;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({ "null", "nullness" })
+class ServerTimingFilterTest {
+
+    @Mock
+    private AdminService adminService;
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    // Spends some time in the auth phase, then writes and commits a body
+    private final FilterChain writingChain = (req, res) -> {
+        long start = ServerTiming.start();
+        ServerTiming.stop(ServerTiming.Phase.AUTH, start);
+        res.getWriter().write("{}");
+        res.flushBuffer();
+    };
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/content/feed");
+        response = new MockHttpServletResponse();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void enabled_AddsHeaderBeforeTheBodyIsCommitted() throws Exception {
+        // Given
+        ServerTimingFilter filter = new ServerTimingFilter(adminService, true, false);
+
+        // When
+        filter.doFilter(request, response, writingChain);
+
+        // Then
+        String header = response.getHeader(ServerTimingFilter.HEADER);
+        assertNotNull(header);
+        assertTrue(header.startsWith("auth;dur="), header);
+        assertTrue(header.contains("total;dur="), header);
+        assertEquals("{}", response.getContentAsString());
+        assertNull(ServerTiming.current());
+    }
+
+    @Test
+    void adminsOnly_AnonymousRequest_GetsNoHeader() throws Exception {
+        // Given
+        ServerTimingFilter filter = new ServerTimingFilter(adminService, false, true);
+
+        // When
+        filter.doFilter(request, response, writingChain);
+
+        // Then
+        assertNull(response.getHeader(ServerTimingFilter.HEADER));
+        verifyNoInteractions(adminService);
+    }
+
+    @Test
+    void adminsOnly_AdminWithEmptyResponse_GetsHeaderAfterTheChain() throws Exception {
+        // Given
+        UUID adminId = UUID.randomUUID();
+        AuthenticatedUser admin = new AuthenticatedUser(adminId, "admin@nitor.io");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+        when(adminService.isAdmin(adminId)).thenReturn(true);
+        ServerTimingFilter filter = new ServerTimingFilter(adminService, false, true);
+
+        // When - e.g. a 304, nothing written
+        filter.doFilter(request, response, (req, res) -> {
+        });
+
+        // Then
+        assertTrue(response.getHeader(ServerTimingFilter.HEADER).startsWith("total;dur="));
+    }
+}
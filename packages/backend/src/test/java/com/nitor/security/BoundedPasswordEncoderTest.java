@@ -0,0 +1,99 @@
+package com.nitor.security;
+
+import com.nitor.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_DelegateOnHashingThread() {
+        // Given
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 4, Duration.ofSeconds(5),
+                meterRegistry);
+
+        // When
+        String hash = encoder.encode("Password123!");
+
+        // Then
+        assertTrue(encoder.matches("Password123!", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(1, meterRegistry.get("nitor.password.hash.duration").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("nitor.password.hash.duration").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void upgradeEncoding_DetectsLowerCost() {
+        // Given
+        String oldHash = new BCryptPasswordEncoder(4).encode("Password123!");
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 4, Duration.ofSeconds(5),
+                meterRegistry);
+
+        // Then
+        assertTrue(encoder.upgradeEncoding(oldHash));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("Password123!")));
+    }
+
+    @Test
+    void encode_QueueFull_RejectsImmediately() throws Exception {
+        // Given: one thread, no waiting room, and the thread is busy
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> encoder.encode("first"));
+            started.await(5, TimeUnit.SECONDS);
+            callers.submit(() -> encoder.encode("queued"));
+            while (meterRegistry.get("nitor.password.hash.queue.size").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            // When & Then
+            assertThrows(ServiceUnavailableException.class, () -> encoder.encode("rejected"));
+            assertEquals(1, meterRegistry.get("nitor.password.hash.rejected").counter().count());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+    }
+}
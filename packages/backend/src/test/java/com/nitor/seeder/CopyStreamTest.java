@@ -0,0 +1,145 @@
+package com.nitor.seeder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({ "null", "nullness" })
+class CopyStreamTest {
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PGConnection pgConnection;
+
+    @Mock
+    private CopyManager copyManager;
+
+    @Mock
+    private CopyIn copyIn;
+
+    private final ByteArrayOutputStream sent = new ByteArrayOutputStream();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn("COPY comments (id, body, created_at) FROM STDIN")).thenReturn(copyIn);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Thread.interrupted();
+    }
+
+    @Test
+    void add_EscapesTextFormatSpecialCharacters() throws Exception {
+        // Given
+        recordWrites();
+        UUID id = new UUID(1, 2);
+
+        // When
+        try (CopyStream out = new CopyStream(connection, "comments", "id", "body", "created_at")) {
+            out.add(id).add("tab\there, line\nbreak\r\nand back\\slash \\N").add((LocalDateTime) null).endRow();
+            out.add((UUID) null).add((String) null).add(LocalDateTime.of(2026, 1, 2, 3, 4, 5)).endRow();
+            out.finish();
+        }
+
+        // Then - one line per row, tab separated, \N for null
+        assertEquals(id + "\ttab\\there, line\\nbreak\\r\\nand back\\\\slash \\\\N\t\\N\n"
+                + "\\N\t\\N\t2026-01-02T03:04:05\n", sent.toString(StandardCharsets.UTF_8));
+        verify(copyIn, never()).cancelCopy();
+    }
+
+    @Test
+    void add_WritesNumbersBooleansAndUtf8AsIs() throws Exception {
+        // Given
+        recordWrites();
+
+        // When
+        try (CopyStream out = new CopyStream(connection, "comments", "id", "body", "created_at")) {
+            out.add(42).add(true).add(false).endRow();
+            out.add("caf\u00e9 \u2013 \u4e2d").endRow();
+            out.finish();
+        }
+
+        // Then
+        assertEquals("42\tt\tf\ncaf\u00e9 \u2013 \u4e2d\n", sent.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void finish_ReturnsTheRowCountOfTheServer() throws Exception {
+        // Given
+        when(copyIn.endCopy()).thenReturn(2L);
+
+        // When & Then
+        try (CopyStream out = new CopyStream(connection, "comments", "id", "body", "created_at")) {
+            out.add(1).endRow();
+            out.add(2).endRow();
+            assertEquals(2, out.finish());
+        }
+        verify(copyIn, times(1)).writeToCopy(any(byte[].class), eq(0), anyInt());
+    }
+
+    @Test
+    void close_Unfinished_CancelsTheCopy() throws Exception {
+        // Given
+        when(copyIn.isActive()).thenReturn(true);
+
+        // When
+        try (CopyStream out = new CopyStream(connection, "comments", "id", "body", "created_at")) {
+            out.add("never sent").endRow();
+        }
+
+        // Then
+        verify(copyIn).cancelCopy();
+        verify(copyIn, never()).writeToCopy(any(byte[].class), anyInt(), anyInt());
+        verify(copyIn, never()).endCopy();
+    }
+
+    @Test
+    void finish_OnAnInterruptedThread_FailsWithoutSending() throws Exception {
+        // Given
+        when(copyIn.isActive()).thenReturn(true);
+
+        // When
+        try (CopyStream out = new CopyStream(connection, "comments", "id", "body", "created_at")) {
+            out.add("row").endRow();
+            Thread.currentThread().interrupt();
+
+            // Then
+            SQLException e = assertThrows(SQLException.class, out::finish);
+            assertEquals("COPY into comments interrupted", e.getMessage());
+        }
+        verify(copyIn, never()).writeToCopy(any(byte[].class), anyInt(), anyInt());
+        verify(copyIn).cancelCopy();
+    }
+
+    private void recordWrites() throws SQLException {
+        doAnswer(invocation -> {
+            byte[] bytes = invocation.getArgument(0);
+            sent.write(bytes, invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+    }
+}
@@ -0,0 +1,106 @@
+package com.nitor.seeder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({ "null", "nullness" })
+class SyntheticDataGeneratorTest {
+
+    private static final int DRAWS = 200_000;
+
+    @Test
+    void zipf_StaysInRangeAndFavoursLowRanks() {
+        // Given
+        SplittableRandom random = new SplittableRandom(1);
+        long[] counts = new long[1000];
+
+        // When
+        for (int i = 0; i < DRAWS; i++) {
+            counts[(int) SyntheticDataGenerator.zipf(random, counts.length, 1.1)]++;
+        }
+
+        // Then - inverting the continuous power law, rank r covers [r + 1, r + 2) of its support
+        for (int r : new int[] { 0, 1, 9, 99 }) {
+            double expected = share(r, counts.length, 1.1);
+            double actual = (double) counts[r] / DRAWS;
+            assertEquals(expected, actual, expected * 0.1, "share of rank " + r);
+        }
+        assertTrue(counts[0] > counts[1] && counts[1] > counts[9] && counts[9] > counts[99]);
+        assertTrue(counts[counts.length - 1] > 0, "the last rank is reachable");
+    }
+
+    @Test
+    void zipf_ExponentOneAndEdges() {
+        // Given
+        SplittableRandom random = new SplittableRandom(2);
+
+        // When & Then
+        for (int i = 0; i < 10_000; i++) {
+            long rank = SyntheticDataGenerator.zipf(random, 10, 1.0);
+            assertTrue(rank >= 0 && rank < 10, "rank " + rank);
+            assertEquals(0, SyntheticDataGenerator.zipf(random, 1, 1.1));
+            assertTrue(SyntheticDataGenerator.zipf(random, 10, 0.0) < 10);
+        }
+    }
+
+    @Test
+    void zipf_SameSeedSameSequence() {
+        // Given
+        SplittableRandom a = new SplittableRandom(42);
+        SplittableRandom b = new SplittableRandom(42);
+
+        // When & Then
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(SyntheticDataGenerator.zipf(a, 100_000, 1.1), SyntheticDataGenerator.zipf(b, 100_000, 1.1));
+        }
+    }
+
+    @Test
+    void degree_HasTheRequestedMeanAndAHeavyTail() {
+        // Given
+        SplittableRandom random = new SplittableRandom(3);
+        long sum = 0;
+        int max = 0;
+        int belowMean = 0;
+
+        // When
+        for (int i = 0; i < DRAWS; i++) {
+            int degree = SyntheticDataGenerator.degree(random, 40, Long.MAX_VALUE);
+            sum += degree;
+            max = Math.max(max, degree);
+            if (degree < 40) {
+                belowMean++;
+            }
+        }
+
+        // Then - Pareto with shape 2: minimum mean / 2, most values below the mean, a few far above it
+        double mean = (double) sum / DRAWS;
+        assertTrue(mean > 37 && mean < 42, "mean " + mean);
+        assertTrue(belowMean > DRAWS * 0.7, "below mean: " + belowMean);
+        assertTrue(max > 40 * 20, "max " + max);
+    }
+
+    @Test
+    void degree_RespectsMinimumCapAndEmptyInputs() {
+        // Given
+        SplittableRandom random = new SplittableRandom(4);
+
+        // When & Then
+        for (int i = 0; i < 10_000; i++) {
+            int degree = SyntheticDataGenerator.degree(random, 10, 25);
+            assertTrue(degree >= 5 && degree <= 25, "degree " + degree);
+        }
+        assertEquals(0, SyntheticDataGenerator.degree(random, 0, 100));
+        assertEquals(0, SyntheticDataGenerator.degree(random, -1, 100));
+        assertEquals(0, SyntheticDataGenerator.degree(random, 10, 0));
+    }
+
+    // Probability zipf(random, n, exponent) returns rank r (exponent != 1)
+    private static double share(int r, long n, double exponent) {
+        double a = 1 - exponent;
+        return (Math.pow(r + 2, a) - Math.pow(r + 1, a)) / (Math.pow(n + 1, a) - 1);
+    }
+}
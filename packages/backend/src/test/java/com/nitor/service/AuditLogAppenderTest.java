@@ -0,0 +1,135 @@
+package com.nitor.service;
+
+import com.nitor.model.AuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({ "null", "nullness" })
+class AuditLogAppenderTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void append_InTransaction_QueuesOnlyAfterCommit() {
+        // Given - the writer thread is not started, so queued entries stay queued
+        AuditLogAppender appender = appender(10, "drop");
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        appender.append(entry("CONTENT_CREATED"));
+
+        // Then
+        assertEquals(0, queueSize());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, queueSize());
+    }
+
+    @Test
+    void append_InRolledBackTransaction_QueuesNothing() {
+        // Given
+        AuditLogAppender appender = appender(10, "drop");
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        appender.append(entry("CONTENT_DELETED"));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        assertEquals(0, queueSize());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void append_WithoutTransaction_QueuesImmediately() {
+        // Given
+        AuditLogAppender appender = appender(10, "drop");
+
+        // When
+        appender.append(UUID.randomUUID(), "USER_LOGIN", "USER", UUID.randomUUID(), null);
+
+        // Then
+        assertEquals(1, queueSize());
+    }
+
+    @Test
+    void append_QueueFullAfterCommit_CallerRunsInItsOwnTransaction() {
+        // Given
+        AuditLogAppender appender = appender(1, "caller-runs");
+        appender.append(entry("FIRST"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        appender.append(entry("OVERFLOW"));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Then - not in the committed transaction that is still bound during afterCommit
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList(), eq(1), any());
+        verify(transactionManager).commit(any());
+        assertEquals(1, queueSize());
+    }
+
+    @Test
+    void append_QueueFull_DropsAndCounts() {
+        // Given
+        AuditLogAppender appender = appender(1, "drop");
+        appender.append(entry("FIRST"));
+
+        // When
+        appender.append(entry("DROPPED"));
+
+        // Then
+        assertEquals(1, queueSize());
+        assertEquals(1, meterRegistry.get("nitor.audit.dropped").counter().count());
+        verifyNoInteractions(jdbcTemplate, transactionManager);
+    }
+
+    private AuditLogAppender appender(int capacity, String overflow) {
+        return new AuditLogAppender(jdbcTemplate, transactionManager, meterRegistry, capacity, 100,
+                Duration.ofSeconds(1), overflow);
+    }
+
+    private double queueSize() {
+        return meterRegistry.get("nitor.audit.queue.size").gauge().value();
+    }
+
+    private static AuditLog entry(String action) {
+        return AuditLog.builder()
+                .userId(UUID.randomUUID())
+                .action(action)
+                .entityType("CONTENT")
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.nitor.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({ "null", "nullness" })
+class BatchLoaderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BatchLoader batchLoader;
+    private List<Set<Integer>> loads;
+    private Function<Set<Integer>, Map<Integer, String>> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        batchLoader = new BatchLoader(meterRegistry);
+        loads = new ArrayList<>();
+        // Odd ids exist, even ids do not
+        loader = keys -> {
+            loads.add(Set.copyOf(keys));
+            return keys.stream()
+                    .filter(key -> key % 2 == 1)
+                    .collect(Collectors.toMap(key -> key, key -> "value-" + key));
+        };
+    }
+
+    @Test
+    void get_LoadsAllPrimedKeysInOneCall() {
+        BatchLoader.Batch<Integer, String> batch = batchLoader.batch("test", loader).prime(List.of(1, 2, 3));
+
+        assertEquals("value-1", batch.get(1));
+        assertNull(batch.get(2));
+        assertEquals("value-3", batch.get(3));
+
+        assertEquals(List.of(Set.of(1, 2, 3)), loads);
+    }
+
+    @Test
+    void get_NeverReloadsResolvedKeys() {
+        BatchLoader.Batch<Integer, String> batch = batchLoader.batch("test", loader);
+
+        batch.getAll(List.of(1, 2));
+        batch.prime(List.of(1, 2, 5));
+        assertEquals("value-5", batch.get(5));
+
+        assertEquals(List.of(Set.of(1, 2), Set.of(5)), loads);
+        assertSame(batch, batchLoader.batch("test", loader));
+    }
+
+    @Test
+    void recordSavedQueries_CountsKeysMinusLoads() {
+        batchLoader.batch("test", loader).getAll(List.of(1, 3, 5, 7));
+        batchLoader.batch("other", loader).get(9);
+
+        batchLoader.recordSavedQueries();
+
+        assertEquals(3.0, meterRegistry.get("nitor.batch.queries.saved").summary().totalAmount());
+    }
+}
@@ -0,0 +1,167 @@
+package com.nitor.service;
+
+import com.nitor.dto.cv.CVResponse;
+import com.nitor.model.Education;
+import com.nitor.model.Profile;
+import com.nitor.repository.AwardRepository;
+import com.nitor.repository.EducationRepository;
+import com.nitor.repository.ExperienceRepository;
+import com.nitor.repository.ProfileRepository;
+import com.nitor.repository.ProjectRepository;
+import com.nitor.repository.PublicationRepository;
+import com.nitor.repository.SkillRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({ "null", "nullness" })
+class CVServiceTest {
+
+    @Mock
+    private ProfileRepository profileRepository;
+
+    @Mock
+    private EducationRepository educationRepository;
+
+    @Mock
+    private ExperienceRepository experienceRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private PublicationRepository publicationRepository;
+
+    @Mock
+    private SkillRepository skillRepository;
+
+    @Mock
+    private AwardRepository awardRepository;
+
+    private CVService cvService;
+    private UUID userId;
+    private Profile profile;
+
+    @BeforeEach
+    void setUp() {
+        cvService = new CVService(profileRepository, educationRepository, experienceRepository, projectRepository,
+                publicationRepository, skillRepository, awardRepository, 100, Duration.ofMinutes(30), 2,
+                new SimpleMeterRegistry());
+        userId = UUID.randomUUID();
+        profile = Profile.builder().id(userId).fullName("Ada Lovelace").handle("ada").build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cvService.destroy();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getUserCV_SameETag_ServedFromCache() {
+        // Given
+        givenEmptySections();
+
+        // When
+        CVResponse first = cvService.getUserCV(userId, "\"v1\"");
+        CVResponse second = cvService.getUserCV(userId, "\"v1\"");
+
+        // Then
+        assertSame(first, second);
+        assertEquals("Ada Lovelace", second.getProfile().getFullName());
+        verify(educationRepository, times(1)).findCVSection(userId);
+    }
+
+    @Test
+    void getUserCV_NewETag_Reloads() {
+        // Given - an edit on another instance changed the version
+        givenEmptySections();
+        CVResponse first = cvService.getUserCV(userId, "\"v1\"");
+        profile.setFullName("Ada King");
+
+        // When
+        CVResponse second = cvService.getUserCV(userId, "\"v2\"");
+
+        // Then
+        assertNotSame(first, second);
+        assertEquals("Ada King", second.getProfile().getFullName());
+        verify(educationRepository, times(2)).findCVSection(userId);
+    }
+
+    @Test
+    void deleteEducation_EvictsOnlyOnceTheTransactionCommits() {
+        // Given
+        givenEmptySections();
+        UUID educationId = UUID.randomUUID();
+        when(educationRepository.findById(educationId))
+                .thenReturn(Optional.of(Education.builder().id(educationId).user(profile).build()));
+        cvService.getUserCV(userId, "\"v1\"");
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        cvService.deleteEducation(educationId, userId);
+
+        // Then - still cached until commit, reloaded after
+        cvService.getUserCV(userId, "\"v1\"");
+        verify(educationRepository, times(1)).findCVSection(userId);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        cvService.getUserCV(userId, "\"v1\"");
+        verify(educationRepository, times(2)).findCVSection(userId);
+    }
+
+    @Test
+    void getCVETag_ChangesWithEachSection() {
+        // Given
+        ProfileRepository.CVVersion version = mock(ProfileRepository.CVVersion.class);
+        when(profileRepository.findCVVersionById(userId)).thenReturn(Optional.of(version));
+        when(version.getEducationCount()).thenReturn(1L, 1L, 0L);
+        when(version.getAwardCount()).thenReturn(0L, 1L, 1L);
+
+        // When
+        String original = cvService.getCVETag(userId);
+        String awardAdded = cvService.getCVETag(userId);
+        String educationDeleted = cvService.getCVETag(userId);
+
+        // Then
+        assertNotEquals(original, awardAdded);
+        assertNotEquals(awardAdded, educationDeleted);
+        assertNotEquals(original, educationDeleted);
+    }
+
+    @Test
+    void getCVETag_MissingProfile_IsNull() {
+        // Given
+        when(profileRepository.findCVVersionById(userId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertNull(cvService.getCVETag(userId));
+    }
+
+    private void givenEmptySections() {
+        when(profileRepository.findById(userId)).thenReturn(Optional.of(profile));
+        when(educationRepository.findCVSection(userId)).thenReturn(List.of());
+        when(experienceRepository.findCVSection(userId)).thenReturn(List.of());
+        when(projectRepository.findCVSection(userId)).thenReturn(List.of());
+        when(publicationRepository.findCVSection(userId)).thenReturn(List.of());
+        when(skillRepository.findCVSection(userId)).thenReturn(List.of());
+        when(awardRepository.findCVSection(userId)).thenReturn(List.of());
+    }
+}
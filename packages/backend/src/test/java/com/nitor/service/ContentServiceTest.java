@@ -0,0 +1,121 @@
+package com.nitor.service;
+
+import com.nitor.exception.ResourceNotFoundException;
+import com.nitor.model.Content;
+import com.nitor.model.Profile;
+import com.nitor.repository.ContentRepository;
+import com.nitor.repository.ProfileRepository;
+import com.nitor.repository.ReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({ "null", "nullness" })
+class ContentServiceTest {
+
+    @Mock
+    private ContentRepository contentRepository;
+
+    @Mock
+    private ProfileRepository profileRepository;
+
+    @Mock
+    private ProfileSummaryCache profileSummaryCache;
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    @Mock
+    private PlatformStatsService platformStatsService;
+
+    @Mock
+    private AuditLogAppender auditLogAppender;
+
+    @InjectMocks
+    private ContentService contentService;
+
+    private UUID authorId;
+    private Content content;
+
+    @BeforeEach
+    void setUp() {
+        authorId = UUID.randomUUID();
+        content = Content.builder()
+                .id(UUID.randomUUID())
+                .author(Profile.builder().id(authorId).build())
+                .body("A post")
+                .type(Content.ContentType.POST)
+                .isDeleted(false)
+                .build();
+    }
+
+    @Test
+    void deleteContent_ByAuthor_CountsRemoval() {
+        // Given
+        when(contentRepository.findById(content.getId())).thenReturn(Optional.of(content));
+
+        // When
+        contentService.deleteContent(content.getId(), authorId);
+
+        // Then
+        assertTrue(content.getIsDeleted());
+        verify(contentRepository).save(content);
+        verify(platformStatsService).contentRemoved();
+    }
+
+    @Test
+    void deleteContent_AlreadyDeleted_DoesNotCountTwice() {
+        // Given
+        content.setIsDeleted(true);
+        when(contentRepository.findById(content.getId())).thenReturn(Optional.of(content));
+
+        // When
+        contentService.deleteContent(content.getId(), authorId);
+
+        // Then
+        verify(platformStatsService, never()).contentRemoved();
+    }
+
+    @Test
+    void deleteContent_NotAuthor_ThrowsAndCountsNothing() {
+        // Given
+        when(contentRepository.findById(content.getId())).thenReturn(Optional.of(content));
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class,
+                () -> contentService.deleteContent(content.getId(), UUID.randomUUID()));
+        verify(contentRepository, never()).save(any());
+        verifyNoInteractions(platformStatsService);
+    }
+
+    @Test
+    void getContentETag_FollowsTheCachedAuthorCard() {
+        // Given - the author card is reloaded with a newer version between the two requests
+        ContentRepository.ContentVersion version = mock(ContentRepository.ContentVersion.class);
+        when(version.getUpdatedAt()).thenReturn(LocalDateTime.of(2026, 1, 1, 12, 0));
+        when(version.getAuthorId()).thenReturn(authorId);
+        when(contentRepository.findVersionById(content.getId())).thenReturn(Optional.of(version));
+        when(profileSummaryCache.getVersion(authorId))
+                .thenReturn(LocalDateTime.of(2026, 1, 1, 12, 0), LocalDateTime.of(2026, 1, 2, 12, 0));
+
+        // When
+        String before = contentService.getContentETag(content.getId());
+        String after = contentService.getContentETag(content.getId());
+
+        // Then
+        assertNotEquals(before, after);
+        verify(profileSummaryCache, times(2)).getVersion(authorId);
+    }
+}
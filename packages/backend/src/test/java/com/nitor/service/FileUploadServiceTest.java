@@ -0,0 +1,160 @@
+package com.nitor.service;
+
+import com.nitor.dto.upload.FileUploadResponse;
+import com.nitor.dto.upload.UploadPurpose;
+import com.nitor.exception.BadRequestException;
+import com.nitor.model.FileUpload;
+import com.nitor.repository.FileUploadRepository;
+import com.nitor.storage.ObjectStorage;
+import com.nitor.util.HashUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({ "null", "nullness" })
+class FileUploadServiceTest {
+
+    private static final int MAX_SIZE = 16;
+
+    @Mock
+    private ObjectStorage storage;
+
+    @Mock
+    private FileUploadRepository fileUploadRepository;
+
+    @Mock
+    private MediaProcessingService mediaProcessingService;
+
+    private FileUploadService fileUploadService;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fileUploadService = new FileUploadService(
+                storage,
+                fileUploadRepository,
+                mediaProcessingService,
+                DataSize.ofBytes(MAX_SIZE),
+                Duration.ofMinutes(15));
+        userId = UUID.randomUUID();
+
+        lenient().when(fileUploadRepository.save(any(FileUpload.class))).thenAnswer(invocation -> {
+            FileUpload upload = invocation.getArgument(0);
+            if (upload.getId() == null) {
+                upload.setId(UUID.randomUUID());
+            }
+            return upload;
+        });
+
+        // Consume the body the way a real backend does
+        lenient().doAnswer(invocation -> {
+            InputStream content = invocation.getArgument(1);
+            content.readAllBytes();
+            return null;
+        }).when(storage).put(anyString(), any(InputStream.class), anyLong(), any());
+        lenient().when(storage.getUrl(anyString()))
+                .thenAnswer(invocation -> "http://localhost:9000/nitor-files/" + invocation.getArgument(0));
+    }
+
+    @Test
+    void streamUpload_CompletesAndRecordsSize() {
+        byte[] body = "hello world".getBytes();
+
+        FileUploadResponse response = fileUploadService.streamUpload(userId, UploadPurpose.CONTENT,
+                "../notes.txt", "text/plain", -1, new ByteArrayInputStream(body));
+
+        assertEquals(FileUpload.UploadStatus.COMPLETED, response.getUploadStatus());
+        assertEquals(body.length, response.getFileSize());
+        assertEquals("notes.txt", response.getOriginalName());
+        assertTrue(response.getFileUrl().startsWith("http://localhost:9000/nitor-files/content/"));
+        verify(mediaProcessingService, never()).submit(any());
+    }
+
+    @Test
+    void streamUpload_HashesWhileStreamingAndDeduplicates() throws Exception {
+        byte[] body = "same poster".getBytes();
+        ArgumentCaptor<FileUpload> deduplicated = ArgumentCaptor.forClass(FileUpload.class);
+
+        fileUploadService.streamUpload(userId, UploadPurpose.CONTENT, "poster.png", "image/png", body.length,
+                new ByteArrayInputStream(body));
+
+        verify(mediaProcessingService).deduplicate(deduplicated.capture());
+        assertEquals(HexFormat.of().formatHex(HashUtils.sha256().digest(body)),
+                deduplicated.getValue().getContentHash());
+        assertEquals(FileUpload.VariantStatus.PENDING, deduplicated.getValue().getVariantStatus());
+        verify(mediaProcessingService).submit(deduplicated.getValue().getId());
+    }
+
+    @Test
+    void uploadMultipart_GoesThroughTheHashedPipeline() throws Exception {
+        byte[] body = "avatar".getBytes();
+        MockMultipartFile file = new MockMultipartFile("file", "me.png", "image/png", body);
+        ArgumentCaptor<FileUpload> deduplicated = ArgumentCaptor.forClass(FileUpload.class);
+
+        FileUploadResponse response = fileUploadService.uploadMultipart(userId, UploadPurpose.AVATAR, file);
+
+        verify(mediaProcessingService).deduplicate(deduplicated.capture());
+        assertEquals(HexFormat.of().formatHex(HashUtils.sha256().digest(body)),
+                deduplicated.getValue().getContentHash());
+        assertEquals("avatar", deduplicated.getValue().getFileType());
+        assertEquals(FileUpload.UploadStatus.COMPLETED, response.getUploadStatus());
+        assertEquals("me.png", response.getOriginalName());
+        verify(mediaProcessingService).submit(response.getId());
+    }
+
+    @Test
+    void streamUpload_FailsWhenTheContentAddressedCopyFails() throws Exception {
+        byte[] body = "poster".getBytes();
+        ArgumentCaptor<FileUpload> saved = ArgumentCaptor.forClass(FileUpload.class);
+        doThrow(new IOException("storage down")).when(mediaProcessingService).deduplicate(any());
+
+        assertThrows(RuntimeException.class, () -> fileUploadService.streamUpload(userId, UploadPurpose.CONTENT,
+                "poster.png", "image/png", body.length, new ByteArrayInputStream(body)));
+
+        verify(fileUploadRepository, times(2)).save(saved.capture());
+        assertEquals(FileUpload.UploadStatus.FAILED, saved.getValue().getUploadStatus());
+        verify(storage).delete(saved.getValue().getStoragePath());
+        verify(mediaProcessingService, never()).submit(any());
+    }
+
+    @Test
+    void streamUpload_FailsWhenBodyExceedsLimit() {
+        ArgumentCaptor<FileUpload> saved = ArgumentCaptor.forClass(FileUpload.class);
+
+        assertThrows(BadRequestException.class, () -> fileUploadService.streamUpload(userId,
+                UploadPurpose.CONTENT, "big.bin", "application/octet-stream", -1,
+                new ByteArrayInputStream(new byte[MAX_SIZE + 1])));
+
+        verify(fileUploadRepository, times(2)).save(saved.capture());
+        assertEquals(FileUpload.UploadStatus.FAILED, saved.getValue().getUploadStatus());
+    }
+
+    @Test
+    void streamUpload_RejectsDeclaredLengthOverLimit() {
+        assertThrows(BadRequestException.class, () -> fileUploadService.streamUpload(userId,
+                UploadPurpose.AVATAR, "avatar.png", "image/png", MAX_SIZE + 1,
+                new ByteArrayInputStream(new byte[0])));
+
+        verifyNoInteractions(storage);
+    }
+}
@@ -1,11 +1,10 @@
 package com.nitor.service;
 
+import com.nitor.dto.profile.ProfileResponse;
 import com.nitor.exception.BadRequestException;
 import com.nitor.exception.ResourceNotFoundException;
 import com.nitor.model.Follow;
-import com.nitor.model.Profile;
 import com.nitor.repository.FollowRepository;
-import com.nitor.repository.ProfileRepository;
 import com.nitor.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,7 +13,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,7 +30,7 @@ class FollowServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private ProfileRepository profileRepository;
+    private ProfileSummaryCache profileSummaryCache;
 
     @InjectMocks
     private FollowService followService;
@@ -40,8 +38,8 @@ class FollowServiceTest {
     private UUID followerId;
     private UUID followingId;
     private Follow testFollow;
-    private Profile followerProfile;
-    private Profile followingProfile;
+    private ProfileResponse followerProfile;
+    private ProfileResponse followingProfile;
 
     @BeforeEach
     void setUp() {
@@ -54,13 +52,13 @@ class FollowServiceTest {
                 .followingId(followingId)
                 .build();
 
-        followerProfile = Profile.builder()
+        followerProfile = ProfileResponse.builder()
                 .id(followerId)
                 .fullName("Follower User")
                 .handle("follower")
                 .build();
 
-        followingProfile = Profile.builder()
+        followingProfile = ProfileResponse.builder()
                 .id(followingId)
                 .fullName("Following User")
                 .handle("following")
@@ -74,8 +72,8 @@ class FollowServiceTest {
         when(userRepository.existsById(followingId)).thenReturn(true);
         when(followRepository.existsByFollowerIdAndFollowingId(followerId, followingId)).thenReturn(false);
         when(followRepository.save(any(Follow.class))).thenReturn(testFollow);
-        when(profileRepository.findByUserId(followerId)).thenReturn(Optional.of(followerProfile));
-        when(profileRepository.findByUserId(followingId)).thenReturn(Optional.of(followingProfile));
+        when(profileSummaryCache.get(followerId)).thenReturn(followerProfile);
+        when(profileSummaryCache.get(followingId)).thenReturn(followingProfile);
 
         // When
         var response = followService.followUser(followerId, followingId);
@@ -84,6 +82,8 @@ class FollowServiceTest {
         assertNotNull(response);
         assertEquals(followerId, response.getFollowerId());
         assertEquals(followingId, response.getFollowingId());
+        assertEquals("Follower User", response.getFollowerFullName());
+        assertEquals("following", response.getFollowingHandle());
         verify(followRepository).save(any(Follow.class));
     }
 
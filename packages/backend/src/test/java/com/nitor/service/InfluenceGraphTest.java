@@ -0,0 +1,119 @@
+package com.nitor.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InfluenceGraphTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void pageRank_RanksFollowedProfileHighest() {
+        // 1, 2 and 3 follow 0; 0 follows 1
+        InfluenceGraph graph = InfluenceGraph.builder(4)
+                .addEdge(1, 0, 1)
+                .addEdge(2, 0, 1)
+                .addEdge(3, 0, 1)
+                .addEdge(0, 1, 1)
+                .build();
+
+        double[] rank = graph.pageRank(0.85, 100, 1e-9, null, pool).rank();
+
+        assertEquals(1.0, Arrays.stream(rank).sum(), 1e-9);
+        assertTrue(rank[0] > rank[1]);
+        assertTrue(rank[1] > rank[2]);
+        assertEquals(rank[2], rank[3], 1e-12);
+    }
+
+    @Test
+    void pageRank_IgnoresSelfLoopsAndUnknownProfiles() {
+        InfluenceGraph graph = InfluenceGraph.builder(2)
+                .addEdge(0, 0, 1)
+                .addEdge(-1, 1, 1)
+                .addEdge(0, 1, 0)
+                .build();
+
+        assertEquals(0, graph.edgeCount());
+        double[] rank = graph.pageRank(0.85, 100, 1e-9, null, pool).rank();
+        assertEquals(0.5, rank[0], 1e-9);
+        assertEquals(0.5, rank[1], 1e-9);
+    }
+
+    @Test
+    void pageRank_WarmStartConvergesToSameRanks() {
+        // Large enough to be split across fork/join partitions
+        int size = 20000;
+        Random random = new Random(42);
+        InfluenceGraph.Builder builder = InfluenceGraph.builder(size);
+        for (int i = 0; i < size * 5; i++) {
+            builder.addEdge(random.nextInt(size), random.nextInt(size / 10), 1 + random.nextInt(3));
+        }
+        InfluenceGraph graph = builder.build();
+
+        double[] cold = graph.pageRank(0.85, 200, 1e-12, null, pool).rank();
+        double[] warm = graph.pageRank(0.85, 200, 1e-12, cold, pool).rank();
+
+        assertEquals(1.0, Arrays.stream(cold).sum(), 1e-6);
+        for (int i = 0; i < size; i += 997) {
+            assertEquals(cold[i], warm[i], 1e-9);
+        }
+    }
+
+    @Test
+    void pageRank_FloorIncludesDanglingShare() {
+        // 0 follows 1; 1, 2 and 3 follow nobody, and nobody follows 0, 2 or 3
+        InfluenceGraph graph = InfluenceGraph.builder(4)
+                .addEdge(0, 1, 1)
+                .build();
+
+        InfluenceGraph.Ranks ranks = graph.pageRank(0.85, 100, 1e-12, null, pool);
+
+        // Well above the teleport share alone (0.15 / 4), as dangling rank is spread to everyone
+        assertTrue(ranks.floor() * 4 > 0.5);
+        assertEquals(ranks.floor(), ranks.rank()[0], 1e-12);
+        assertEquals(ranks.floor(), ranks.rank()[2], 1e-12);
+        assertEquals(ranks.floor(), ranks.rank()[3], 1e-12);
+        assertTrue(ranks.rank()[1] > ranks.floor());
+    }
+
+    @Test
+    void pageRank_NoEdges_EveryRankIsTheFloor() {
+        InfluenceGraph.Ranks ranks = InfluenceGraph.builder(3).build().pageRank(0.85, 100, 1e-12, null, pool);
+
+        for (double rank : ranks.rank()) {
+            assertEquals(ranks.floor(), rank, 1e-12);
+        }
+        assertEquals(0, NitorScoreService.score((ranks.rank()[0] - ranks.floor()) * 3, 0, 0).signum());
+    }
+
+    @Test
+    void score_StaysWithinRange() {
+        assertEquals(new BigDecimal("0.00"), NitorScoreService.score(0, 0, 0));
+        assertEquals(new BigDecimal("0.00"), NitorScoreService.score(-0.01, 0, 0));
+
+        BigDecimal average = NitorScoreService.score(1, 0, 0);
+        BigDecimal influential = NitorScoreService.score(50, 0, 0);
+        BigDecimal published = NitorScoreService.score(1, 10, 200);
+        assertTrue(influential.compareTo(average) > 0);
+        assertTrue(published.compareTo(average) > 0);
+        assertTrue(NitorScoreService.score(1e9, 1_000_000, 1_000_000_000).compareTo(new BigDecimal("100.00")) <= 0);
+    }
+}
@@ -0,0 +1,163 @@
+package com.nitor.service;
+
+import com.nitor.model.FileUpload;
+import com.nitor.repository.FileUploadRepository;
+import com.nitor.storage.ObjectStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({ "null", "nullness" })
+class MediaProcessingServiceTest {
+
+    private static final String HASH = "ab".repeat(32);
+
+    @Mock
+    private ObjectStorage storage;
+
+    @Mock
+    private FileUploadRepository fileUploadRepository;
+
+    private MediaProcessingService mediaProcessingService;
+
+    @BeforeEach
+    void setUp() {
+        mediaProcessingService = new MediaProcessingService(storage, fileUploadRepository, new SimpleMeterRegistry(),
+                new int[] { 64, 256 }, 1_000_000, 1, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mediaProcessingService.destroy();
+    }
+
+    @Test
+    void deduplicate_FirstCopy_MovesToTheContentAddressedKey() throws Exception {
+        // Given
+        FileUpload upload = upload("content/1111_poster.png", "image/png");
+        when(fileUploadRepository.findFirstByContentHashAndMimeTypeAndUploadStatusAndIdNotOrderByCreatedAtAsc(
+                HASH, "image/png", FileUpload.UploadStatus.COMPLETED, upload.getId()))
+                .thenReturn(Optional.empty());
+
+        // When
+        mediaProcessingService.deduplicate(upload);
+
+        // Then - the uploader's file name stays in the row only
+        assertEquals("objects/" + HASH + "/image.png", upload.getStoragePath());
+        assertEquals("poster.png", upload.getOriginalName());
+        verify(storage).copy("content/1111_poster.png", "objects/" + HASH + "/image.png");
+        verify(storage).delete("content/1111_poster.png");
+    }
+
+    @Test
+    void deduplicate_SameHashAndType_ReusesTheObjectAndItsVariants() throws Exception {
+        // Given - another user uploaded the same bytes under a different name
+        FileUpload upload = upload("content/2222_my-logo.png", "image/png");
+        upload.setVariantStatus(FileUpload.VariantStatus.PENDING);
+        FileUpload existing = upload("objects/" + HASH + "/image.png", "image/png");
+        existing.setVariantStatus(FileUpload.VariantStatus.READY);
+        when(fileUploadRepository.findFirstByContentHashAndMimeTypeAndUploadStatusAndIdNotOrderByCreatedAtAsc(
+                HASH, "image/png", FileUpload.UploadStatus.COMPLETED, upload.getId()))
+                .thenReturn(Optional.of(existing));
+
+        // When
+        mediaProcessingService.deduplicate(upload);
+
+        // Then
+        assertEquals("objects/" + HASH + "/image.png", upload.getStoragePath());
+        assertEquals(FileUpload.VariantStatus.READY, upload.getVariantStatus());
+        verify(storage, never()).copy(any(), any());
+        verify(storage).delete("content/2222_my-logo.png");
+    }
+
+    @Test
+    void deduplicate_SameBytesOtherType_GetsItsOwnObject() throws Exception {
+        // Given - nothing completed yet with this hash as text/html
+        FileUpload upload = upload("content/3333_page.html", "text/html; charset=UTF-8");
+        when(fileUploadRepository.findFirstByContentHashAndMimeTypeAndUploadStatusAndIdNotOrderByCreatedAtAsc(
+                HASH, "text/html; charset=UTF-8", FileUpload.UploadStatus.COMPLETED, upload.getId()))
+                .thenReturn(Optional.empty());
+
+        // When
+        mediaProcessingService.deduplicate(upload);
+
+        // Then
+        assertEquals("objects/" + HASH + "/text.html__charset_utf-8", upload.getStoragePath());
+        verify(storage).copy("content/3333_page.html", upload.getStoragePath());
+    }
+
+    @Test
+    void deduplicate_CopyFails_LeavesTheUploadWhereItWas() throws Exception {
+        // Given
+        FileUpload upload = upload("content/4444_poster.png", "image/png");
+        when(fileUploadRepository.findFirstByContentHashAndMimeTypeAndUploadStatusAndIdNotOrderByCreatedAtAsc(
+                any(), any(), any(), any()))
+                .thenReturn(Optional.empty());
+        doThrow(new IOException("storage down")).when(storage).copy(any(), any());
+
+        // When & Then
+        assertThrows(IOException.class, () -> mediaProcessingService.deduplicate(upload));
+        assertEquals("content/4444_poster.png", upload.getStoragePath());
+        verify(storage, never()).delete(any());
+    }
+
+    @Test
+    void getThumbnailUrls_SmallestReadyVariantCoveringTheSize() {
+        // Given
+        String url = "http://localhost:9000/nitor-files/objects/" + HASH + "/image.png";
+        FileUploadRepository.VariantSource source = mock(FileUploadRepository.VariantSource.class);
+        when(source.getFileUrl()).thenReturn(url);
+        when(source.getContentHash()).thenReturn(HASH);
+        when(fileUploadRepository.findVariantSources(Set.of(url, "https://example.org/a.png")))
+                .thenReturn(List.of(source));
+        when(storage.getUrl(any())).thenAnswer(invocation -> "http://localhost:9000/nitor-files/"
+                + invocation.getArgument(0));
+
+        // When
+        Map<String, String> covering = mediaProcessingService.getThumbnailUrls(
+                List.of(url, "https://example.org/a.png"), 100);
+        Map<String, String> largest = mediaProcessingService.getThumbnailUrls(
+                List.of(url, "https://example.org/a.png"), 512);
+
+        // Then - links without variants are left out
+        assertEquals(Map.of(url, "http://localhost:9000/nitor-files/variants/" + HASH + "/256"), covering);
+        assertEquals(Map.of(url, "http://localhost:9000/nitor-files/variants/" + HASH + "/256"), largest);
+        assertEquals(Map.of(url, "http://localhost:9000/nitor-files/variants/" + HASH + "/64"),
+                mediaProcessingService.getThumbnailUrls(List.of(url, "https://example.org/a.png"), 64));
+    }
+
+    @Test
+    void getThumbnailUrls_NoUrls_NoQuery() {
+        // When & Then
+        assertEquals(Map.of(), mediaProcessingService.getThumbnailUrls(Collections.singletonList(null), 64));
+        verifyNoInteractions(fileUploadRepository);
+    }
+
+    private static FileUpload upload(String storagePath, String mimeType) {
+        return FileUpload.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .originalName(storagePath.substring(storagePath.indexOf('_') + 1))
+                .storagePath(storagePath)
+                .mimeType(mimeType)
+                .contentHash(HASH)
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.nitor.service;
+
+import com.nitor.dto.admin.BulkModerationRequest;
+import com.nitor.model.AuditLog;
+import com.nitor.model.ModerationJob;
+import com.nitor.repository.ContentRepository;
+import com.nitor.repository.ModerationJobRepository;
+import com.nitor.repository.UserRepository;
+import com.nitor.security.AccountStatusCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({ "null", "nullness", "unchecked" })
+class ModerationJobRunnerTest {
+
+    @Mock
+    private ModerationJobRepository jobRepository;
+
+    @Mock
+    private ContentRepository contentRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AuditLogAppender auditLogAppender;
+
+    @Mock
+    private AccountStatusCache accountStatusCache;
+
+    @Mock
+    private PlatformStatsService platformStatsService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ModerationJobRunner runner;
+    private ModerationJob job;
+    private List<UUID> ids;
+
+    @BeforeEach
+    void setUp() {
+        runner = new ModerationJobRunner(jobRepository, contentRepository, userRepository, auditLogAppender,
+                accountStatusCache, platformStatsService, transactionManager);
+
+        job = ModerationJob.builder()
+                .id(UUID.randomUUID())
+                .adminId(UUID.randomUUID())
+                .action(ModerationJob.Action.REMOVE_CONTENT)
+                .status(ModerationJob.Status.PENDING)
+                .chunkSize(10)
+                .build();
+        ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        when(jobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        when(jobRepository.markRunning(eq(job.getId()), eq(3L), any())).thenReturn(1);
+    }
+
+    @Test
+    void run_AuditsOnlyRowsTheChunkChanged() {
+        // Given - the first item was already removed
+        List<UUID> notDeleted = ids.subList(1, 3);
+        when(contentRepository.lockNotDeletedIdIn(ids)).thenReturn(notDeleted);
+        when(jobRepository.finish(eq(job.getId()), eq(ModerationJob.Status.COMPLETED), isNull(), any()))
+                .thenReturn(1);
+
+        // When
+        runner.run(job.getId(), request());
+
+        // Then
+        verify(contentRepository).softDeleteByIdIn(notDeleted);
+        verify(platformStatsService).contentRemoved(2);
+        ArgumentCaptor<List<AuditLog>> audited = ArgumentCaptor.forClass(List.class);
+        verify(auditLogAppender).appendDurable(audited.capture());
+        assertEquals(notDeleted, audited.getValue().stream().map(AuditLog::getEntityId).toList());
+        verify(jobRepository).addProgress(eq(job.getId()), eq(3L), eq(2L), any());
+    }
+
+    @Test
+    void run_CancelledAfterLastChunk_KeepsCancellation() {
+        // Given - the cancel lands between the last chunk and finish
+        when(contentRepository.lockNotDeletedIdIn(ids)).thenReturn(ids);
+        when(jobRepository.finish(eq(job.getId()), eq(ModerationJob.Status.COMPLETED), isNull(), any()))
+                .thenReturn(0);
+
+        // When
+        runner.run(job.getId(), request());
+
+        // Then - only the conditional update was attempted, the entity is never saved over
+        verify(jobRepository).finish(eq(job.getId()), eq(ModerationJob.Status.COMPLETED), isNull(), any());
+        verify(jobRepository, never()).save(any());
+    }
+
+    private BulkModerationRequest request() {
+        return BulkModerationRequest.builder()
+                .action(ModerationJob.Action.REMOVE_CONTENT)
+                .ids(ids)
+                .reason("spam")
+                .build();
+    }
+}
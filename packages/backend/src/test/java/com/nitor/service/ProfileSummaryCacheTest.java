@@ -0,0 +1,125 @@
+package com.nitor.service;
+
+import com.nitor.dto.profile.ProfileResponse;
+import com.nitor.model.Profile;
+import com.nitor.repository.ProfileRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({ "null", "nullness" })
+class ProfileSummaryCacheTest {
+
+    private static final LocalDateTime V1 = LocalDateTime.of(2026, 1, 1, 12, 0);
+    private static final LocalDateTime V2 = V1.plusMinutes(1);
+
+    @Mock
+    private ProfileRepository profileRepository;
+
+    @Mock
+    private MediaProcessingService mediaProcessingService;
+
+    private ProfileSummaryCache cache;
+    private UUID profileId;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProfileSummaryCache(profileRepository, mediaProcessingService, 100, Duration.ofMinutes(5), 256,
+                new SimpleMeterRegistry());
+        profileId = UUID.randomUUID();
+    }
+
+    @Test
+    void getVersion_IsTheVersionOfTheCachedCard() {
+        // Given
+        when(profileRepository.findById(profileId))
+                .thenReturn(Optional.of(profile("Ada Lovelace", V1)), Optional.of(profile("Ada King", V2)));
+        cache.get(profileId);
+
+        // When - the profile changed on another instance; this one still serves the old card
+        LocalDateTime cached = cache.getVersion(profileId);
+        cache.evict(profileId);
+        LocalDateTime reloaded = cache.getVersion(profileId);
+
+        // Then
+        assertEquals(V1, cached);
+        assertEquals(V2, reloaded);
+        assertEquals("Ada King", cache.get(profileId).getFullName());
+        verify(profileRepository, times(2)).findById(profileId);
+    }
+
+    @Test
+    void getVersions_LoadsMissingCardsInOneQuery() {
+        // Given
+        UUID otherId = UUID.randomUUID();
+        Profile other = profile("Grace Hopper", V2);
+        other.setId(otherId);
+        when(profileRepository.findAllById(Set.of(profileId, otherId)))
+                .thenReturn(List.of(profile("Ada Lovelace", V1), other));
+
+        // When
+        Map<UUID, LocalDateTime> versions = cache.getVersions(List.of(profileId, otherId, profileId));
+
+        // Then - and the cards are cached for the body
+        assertEquals(Map.of(profileId, V1, otherId, V2), versions);
+        assertEquals("Grace Hopper", cache.getAll(List.of(otherId)).get(otherId).getFullName());
+        verify(profileRepository).findAllById(any());
+        verifyNoMoreInteractions(profileRepository);
+    }
+
+    @Test
+    void getVersion_MissingProfile_IsNull() {
+        // Given
+        when(profileRepository.findById(profileId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertNull(cache.getVersion(profileId));
+        assertNull(cache.get(profileId));
+    }
+
+    @Test
+    void getAll_AvatarWithThumbnails_LinksTheThumbnail() {
+        // Given - one uploaded avatar with variants, one link to another site
+        UUID otherId = UUID.randomUUID();
+        Profile uploaded = profile("Ada Lovelace", V1);
+        uploaded.setAvatarUrl("http://localhost:9000/nitor-files/objects/ab/image.png");
+        Profile linked = profile("Grace Hopper", V1);
+        linked.setId(otherId);
+        linked.setAvatarUrl("https://example.org/grace.png");
+        when(profileRepository.findAllById(Set.of(profileId, otherId))).thenReturn(List.of(uploaded, linked));
+        when(mediaProcessingService.getThumbnailUrls(
+                List.of(uploaded.getAvatarUrl(), linked.getAvatarUrl()), 256))
+                .thenReturn(Map.of(uploaded.getAvatarUrl(), "http://localhost:9000/nitor-files/variants/ab/256"));
+
+        // When
+        Map<UUID, ProfileResponse> cards = cache.getAll(List.of(profileId, otherId));
+
+        // Then
+        assertEquals("http://localhost:9000/nitor-files/variants/ab/256", cards.get(profileId).getAvatarUrl());
+        assertEquals("https://example.org/grace.png", cards.get(otherId).getAvatarUrl());
+    }
+
+    private Profile profile(String fullName, LocalDateTime updatedAt) {
+        return Profile.builder()
+                .id(profileId)
+                .fullName(fullName)
+                .handle("handle")
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.nitor.service;
+
+import com.nitor.service.RateLimitingService.RateLimitExceededException;
+import com.nitor.service.RateLimitingService.RateLimitType;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings({ "null", "nullness", "unchecked" })
+class RateLimitingServiceTest {
+
+    private RateLimitingService rateLimitingService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        ObjectProvider<ProxyManager<byte[]>> noProxyManager = mock(ObjectProvider.class);
+        when(noProxyManager.getIfAvailable()).thenReturn(null);
+
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimitingService = new RateLimitingService(noProxyManager, 1000, 10, Duration.ofSeconds(1),
+                meterRegistry);
+    }
+
+    @Test
+    void checkLimit_ReturnsRemainingTokensFromSingleProbe() {
+        // When
+        ConsumptionProbe probe = rateLimitingService.checkLimit("10.0.0.1", RateLimitType.AUTH_LOGIN);
+
+        // Then
+        assertTrue(probe.isConsumed());
+        assertEquals(RateLimitType.AUTH_LOGIN.getCapacity() - 1, probe.getRemainingTokens());
+    }
+
+    @Test
+    void checkLimit_ExceedingCapacity_ThrowsWithRetryAfter() {
+        // Given
+        for (int i = 0; i < RateLimitType.AUTH_LOGIN.getCapacity(); i++) {
+            rateLimitingService.checkLimit("10.0.0.2", RateLimitType.AUTH_LOGIN);
+        }
+
+        // When & Then
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class,
+                () -> rateLimitingService.checkLimit("10.0.0.2", RateLimitType.AUTH_LOGIN));
+        assertTrue(ex.getRetryAfter().compareTo(Duration.ZERO) > 0);
+    }
+
+    @Test
+    void tryConsume_CountsAllowedAndRejectedPerType() {
+        // Given
+        for (int i = 0; i <= RateLimitType.AUTH_LOGIN.getCapacity(); i++) {
+            rateLimitingService.tryConsume("10.0.0.6", RateLimitType.AUTH_LOGIN);
+        }
+
+        // Then
+        assertEquals(RateLimitType.AUTH_LOGIN.getCapacity(), meterRegistry.get("nitor.ratelimit.requests")
+                .tags("type", "AUTH_LOGIN", "result", "allowed").counter().count());
+        assertEquals(1, meterRegistry.get("nitor.ratelimit.requests")
+                .tags("type", "AUTH_LOGIN", "result", "rejected").counter().count());
+        assertEquals(0, meterRegistry.get("nitor.ratelimit.requests")
+                .tags("type", "SEARCH", "result", "rejected").counter().count());
+    }
+
+    @Test
+    void buckets_AreIsolatedPerKeyAndType() {
+        // Given
+        for (int i = 0; i < RateLimitType.AUTH_REGISTER.getCapacity(); i++) {
+            rateLimitingService.checkLimit("10.0.0.3", RateLimitType.AUTH_REGISTER);
+        }
+
+        // Then
+        assertFalse(rateLimitingService.isAllowed("10.0.0.3", RateLimitType.AUTH_REGISTER));
+        assertTrue(rateLimitingService.isAllowed("10.0.0.3", RateLimitType.SEARCH));
+        assertTrue(rateLimitingService.isAllowed("10.0.0.4", RateLimitType.AUTH_REGISTER));
+    }
+
+    @Test
+    void resetLimit_RestoresFullCapacity() {
+        // Given
+        rateLimitingService.checkLimit("10.0.0.5", RateLimitType.SEARCH);
+
+        // When
+        rateLimitingService.resetLimit("10.0.0.5", RateLimitType.SEARCH);
+
+        // Then
+        assertEquals(RateLimitType.SEARCH.getCapacity(),
+                rateLimitingService.getRemainingTokens("10.0.0.5", RateLimitType.SEARCH));
+    }
+}
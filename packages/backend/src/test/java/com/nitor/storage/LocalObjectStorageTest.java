@@ -0,0 +1,80 @@
+package com.nitor.storage;
+
+import com.nitor.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalObjectStorageTest {
+
+    @TempDir
+    Path root;
+
+    private LocalObjectStorage storage;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        storage = new LocalObjectStorage(root.toString(), "http://localhost:8080/api/files");
+    }
+
+    @Test
+    void putThenGet_RoundTripsContentAndType() throws Exception {
+        byte[] body = "poster".getBytes();
+
+        storage.put("content/abc_poster.png", new ByteArrayInputStream(body), -1, "image/png");
+
+        try (InputStream in = storage.get("content/abc_poster.png")) {
+            assertArrayEquals(body, in.readAllBytes());
+        }
+        ObjectStorage.StoredObject stat = storage.stat("content/abc_poster.png").orElseThrow();
+        assertEquals(body.length, stat.size());
+        assertEquals("image/png", stat.contentType());
+        assertEquals("http://localhost:8080/api/files/content/abc_poster.png",
+                storage.getUrl("content/abc_poster.png"));
+    }
+
+    @Test
+    void put_RejectsLengthMismatchWithoutLeavingAnObject() {
+        assertThrows(Exception.class, () ->
+                storage.put("content/short.bin", new ByteArrayInputStream(new byte[3]), 10, null));
+
+        assertFalse(Files.exists(root.resolve("content/short.bin")));
+    }
+
+    @Test
+    void delete_RemovesObject() throws Exception {
+        storage.put("avatars/a.png", new ByteArrayInputStream(new byte[1]), 1, "image/png");
+
+        storage.delete("avatars/a.png");
+
+        assertTrue(storage.stat("avatars/a.png").isEmpty());
+    }
+
+    @Test
+    void copy_KeepsContentAndType() throws Exception {
+        byte[] body = "poster".getBytes();
+        storage.put("content/abc_poster.png", new ByteArrayInputStream(body), body.length, "image/png");
+
+        storage.copy("content/abc_poster.png", "objects/0123/image.png");
+
+        try (InputStream in = storage.get("objects/0123/image.png")) {
+            assertArrayEquals(body, in.readAllBytes());
+        }
+        assertEquals("image/png", storage.getContentType("objects/0123/image.png"));
+        assertThrows(NoSuchFileException.class, () -> storage.copy("content/missing.png", "objects/4567/image.png"));
+    }
+
+    @Test
+    void keysOutsideRoot_AreRejected() {
+        assertThrows(BadRequestException.class, () -> storage.getPath("../etc/passwd"));
+        assertThrows(BadRequestException.class, () -> storage.getPath(".meta/content/a.png"));
+    }
+}
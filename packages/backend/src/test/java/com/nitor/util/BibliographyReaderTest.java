@@ -0,0 +1,98 @@
+package com.nitor.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BibliographyReaderTest {
+
+    @Test
+    void bibTeX_ParsesEntriesMacrosAndAccents() throws IOException {
+        String bib = """
+                @string{nat = "Nature"}
+                @comment{exported {by} a tool}
+                @article{smith2020,
+                  author = {Smith, John and M{\\"u}ller, Anna and {Barnes and Noble}},
+                  title = {{Deep} Learning -- A Review},
+                  journal = nat # " Physics",
+                  year = 2020, month = may,
+                  doi = {https://doi.org/10.1000/ABC.123},
+                }
+                @inproceedings{doe2019, title = "Conference Paper", booktitle = {Proc. ICML},
+                  author = {Doe, Jane and others}, date = {2019-07-02}}
+                """;
+
+        List<BibliographyReader.Entry> entries = readAll(new BibTeXReader(new StringReader(bib)));
+
+        assertEquals(2, entries.size());
+        BibliographyReader.Entry article = entries.get(0);
+        assertEquals("Deep Learning – A Review", article.title());
+        assertEquals(List.of("John Smith", "Anna Müller", "Barnes and Noble"), article.authors());
+        assertEquals("Nature Physics", article.journal());
+        assertEquals(LocalDate.of(2020, 5, 1), article.publicationDate());
+        assertEquals("10.1000/abc.123", article.doi());
+
+        BibliographyReader.Entry paper = entries.get(1);
+        assertEquals(List.of("Jane Doe"), paper.authors());
+        assertEquals("Proc. ICML", paper.conference());
+        assertEquals(LocalDate.of(2019, 7, 1), paper.publicationDate());
+    }
+
+    @Test
+    void bibTeX_SkipsMalformedEntryAndContinues() throws IOException {
+        String bib = """
+                @article{broken title = {x}}
+                @misc{ok, title = {Still read}, author = {A, B}}
+                """;
+        BibTeXReader reader = new BibTeXReader(new StringReader(bib));
+
+        List<BibliographyReader.Entry> entries = readAll(reader);
+
+        assertEquals(1, entries.size());
+        assertEquals("Still read", entries.get(0).title());
+        assertEquals(1, reader.getSkippedEntries());
+    }
+
+    @Test
+    void ris_ParsesRecordsAndContinuationLines() throws IOException {
+        String ris = """
+                TY  - JOUR
+                AU  - Smith, John
+                TI  - A title
+                  continued here
+                JO  - Journal X
+                PY  - 2021/03/15/
+                DO  - 10.1/XYZ
+                ER  -\s
+                TY  - JOUR
+                TI  - Cut off
+                """;
+        RisReader reader = new RisReader(new StringReader(ris));
+
+        List<BibliographyReader.Entry> entries = readAll(reader);
+
+        assertEquals(1, entries.size());
+        BibliographyReader.Entry entry = entries.get(0);
+        assertEquals("A title continued here", entry.title());
+        assertEquals(List.of("John Smith"), entry.authors());
+        assertEquals("Journal X", entry.journal());
+        assertEquals(LocalDate.of(2021, 3, 1), entry.publicationDate());
+        assertEquals("10.1/xyz", entry.doi());
+        assertEquals(1, reader.getSkippedEntries());
+    }
+
+    private static List<BibliographyReader.Entry> readAll(BibliographyReader reader) throws IOException {
+        List<BibliographyReader.Entry> entries = new ArrayList<>();
+        BibliographyReader.Entry entry;
+        while ((entry = reader.next()) != null) {
+            entries.add(entry);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,148 @@
+package com.nitor.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({ "null", "nullness" })
+class PdfTextWriterTest {
+
+    private static final Pattern XREF_ENTRY = Pattern.compile("(\\d{10}) 00000 n \n");
+    private static final Pattern STREAM = Pattern.compile("<< /Length (\\d+) >>\nstream\n");
+
+    @Test
+    void xref_PointsAtEveryObjectAndStartxrefAtTheTable() throws Exception {
+        // Given
+        String pdf = render("# Title\n## Section\nSome body text\n");
+
+        // When
+        int xref = Integer.parseInt(pdf.substring(pdf.indexOf("startxref\n") + 10, pdf.lastIndexOf("\n%%EOF")));
+        String table = pdf.substring(xref, pdf.indexOf("trailer\n"));
+        int size = Integer.parseInt(table.split("\n")[1].split(" ")[1]);
+
+        // Then
+        assertTrue(pdf.startsWith("%PDF-1.4\n"));
+        assertTrue(table.startsWith("xref\n0 "), table);
+        Matcher entry = XREF_ENTRY.matcher(table);
+        int id = 1;
+        while (entry.find()) {
+            int offset = Integer.parseInt(entry.group(1));
+            assertTrue(pdf.startsWith(id + " 0 obj\n", offset), "object " + id + " at " + offset);
+            id++;
+        }
+        assertEquals(size, id);
+        assertTrue(pdf.contains("/Size " + size + " /Root 1 0 R"));
+    }
+
+    @Test
+    void streams_LengthMatchesTheirContent() throws Exception {
+        // Given
+        String pdf = render("# Caf\u00e9 \u2013 r\u00e9sum\u00e9\n" + "word ".repeat(400) + "\n");
+
+        // When & Then
+        Matcher stream = STREAM.matcher(pdf);
+        int streams = 0;
+        while (stream.find()) {
+            int length = Integer.parseInt(stream.group(1));
+            assertTrue(pdf.startsWith("\nendstream\n", stream.end() + length), "stream at " + stream.start());
+            streams++;
+        }
+        assertEquals(1, streams);
+    }
+
+    @Test
+    void text_EscapesDelimitersAndMapsToWinAnsi() throws Exception {
+        // When
+        String pdf = render("Value (approx) \\ 5 \u2013 \u201cquoted\u201d \u4e2d\n");
+
+        // Then
+        assertTrue(pdf.contains("(Value \\(approx\\) \\\\ 5 \u0096 \u0093quoted\u0094 ?) Tj"), pdf);
+    }
+
+    @Test
+    void longText_BreaksIntoPagesListedInTheTree() throws Exception {
+        // Given
+        StringBuilder text = new StringBuilder("# Title\n");
+        for (int i = 0; i < 200; i++) {
+            text.append("Line ").append(i).append('\n');
+        }
+
+        // When
+        String pdf = render(text.toString());
+
+        // Then - 10pt body lines are 13.5pt apart, about 54 to a page
+        int pages = count(pdf, "/Type /Page /Parent");
+        assertEquals(4, pages);
+        assertTrue(pdf.contains("/Count " + pages + " >>"));
+        assertTrue(pdf.contains("(Line 199) Tj"));
+        assertEquals(pages, count(pdf, "endstream\n"));
+    }
+
+    @Test
+    void heading_NearTheBottom_MovesToTheNextPage() throws Exception {
+        // Given - room for the heading itself, but not for two lines after it
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 51; i++) {
+            text.append("Line ").append(i).append('\n');
+        }
+        text.append("## Next section\nFirst line\n");
+
+        // When
+        String pdf = render(text.toString());
+
+        // Then
+        int secondPage = pdf.indexOf("stream\n", pdf.indexOf("endstream"));
+        assertTrue(secondPage > 0);
+        assertTrue(pdf.indexOf("(Next section) Tj") > secondPage, "heading stays with its text");
+    }
+
+    @Test
+    void empty_StillWritesOnePage() throws Exception {
+        // When
+        String pdf = render("");
+
+        // Then
+        assertEquals(1, count(pdf, "/Type /Page /Parent"));
+        assertTrue(pdf.endsWith("%%EOF\n"));
+    }
+
+    @Test
+    void close_LeavesTheStreamOpenAndRejectsFurtherWrites() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Writer writer = new PdfTextWriter(out);
+
+        // When
+        writer.write("text");
+        writer.close();
+        writer.close();
+
+        // Then
+        assertEquals(1, count(out.toString(StandardCharsets.ISO_8859_1), "%%EOF"));
+        assertThrows(IOException.class, () -> writer.write("more"));
+    }
+
+    private static String render(String text) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Writer writer = new PdfTextWriter(out)) {
+            writer.write(text);
+        }
+        // One char per byte, so string offsets are byte offsets
+        return out.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    private static int count(String text, String part) {
+        int count = 0;
+        for (int i = text.indexOf(part); i >= 0; i = text.indexOf(part, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
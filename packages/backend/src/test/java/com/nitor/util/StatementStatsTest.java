@@ -0,0 +1,51 @@
+package com.nitor.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+@SuppressWarnings({ "null", "nullness" })
+class StatementStatsTest {
+
+    @Test
+    void statementsCountTowardsEveryOpenScope() {
+        // Given
+        StatementStats outer = StatementStats.open();
+        StatementStats inner = StatementStats.open();
+
+        // When
+        StatementStats.statementExecuted(1_000);
+        inner.close();
+        StatementStats.statementExecuted(2_000);
+        outer.close();
+        StatementStats.statementExecuted(4_000);
+
+        // Then
+        assertThat(inner.statements()).isEqualTo(1);
+        assertThat(inner.nanos()).isEqualTo(1_000);
+        assertThat(outer.statements()).isEqualTo(2);
+        assertThat(outer.nanos()).isEqualTo(3_000);
+        assertThat(StatementStats.current()).isNull();
+    }
+
+    @Test
+    void repeated_GroupsStatementsThatDifferOnlyInValues() {
+        // Given
+        try (StatementStats stats = StatementStats.open()) {
+            // When - one lookup per row, as a lazy association in a loop would do
+            for (int i = 0; i < 3; i++) {
+                StatementStats.statementPrepared("/* load Profile */ select p.id from profiles p where p.id=?");
+            }
+            StatementStats.statementPrepared("select c.id from content c where c.author_id in (?,?) limit 10");
+            StatementStats.statementPrepared("select c.id from content c where c.author_id in (?, ?, ?) limit 20");
+            StatementStats.statementPrepared("select count(*) from content c where c.body = 'it''s'");
+
+            // Then
+            assertThat(stats.repeated(2)).containsOnly(
+                    entry("select p.id from profiles p where p.id=?", 3),
+                    entry("select c.id from content c where c.author_id in (?) limit ?", 2));
+            assertThat(stats.shapes()).containsEntry("select count(*) from content c where c.body = ?", 1);
+        }
+    }
+}
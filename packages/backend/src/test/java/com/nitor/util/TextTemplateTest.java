@@ -0,0 +1,50 @@
+package com.nitor.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextTemplateTest {
+
+    @Test
+    void render_ReplacesVariablesThroughEscaper() throws IOException {
+        TextTemplate template = TextTemplate.compile("Hello {{name}}, {{missing}}!");
+
+        assertEquals("Hello <B>, !", render(template, Map.of("name", "b"), value -> "<" + value.toUpperCase() + ">"));
+    }
+
+    @Test
+    void render_RepeatsSectionsAndLooksUpOuterScopes() throws IOException {
+        TextTemplate template = TextTemplate.compile("""
+                {{#items}}
+                - {{label}} of {{owner}}
+                {{/items}}
+                {{^items}}
+                none
+                {{/items}}
+                """);
+
+        assertEquals("- a of x\n- b of x\n", render(template,
+                Map.of("owner", "x", "items", List.of(Map.of("label", "a"), Map.of("label", "b"))), v -> v));
+        assertEquals("none\n", render(template, Map.of("items", List.of()), v -> v));
+    }
+
+    @Test
+    void compile_RejectsUnbalancedSections() {
+        assertThrows(IllegalArgumentException.class, () -> TextTemplate.compile("{{#a}}x"));
+        assertThrows(IllegalArgumentException.class, () -> TextTemplate.compile("{{#a}}x{{/b}}"));
+    }
+
+    private static String render(TextTemplate template, Map<String, ?> context,
+            UnaryOperator<String> escaper) throws IOException {
+        StringWriter out = new StringWriter();
+        template.render(context, out, escaper);
+        return out.toString();
+    }
+}
@@ -0,0 +1,31 @@
+#!/usr/bin/env bash
+# Run the JMH benchmarks and keep the results as results/<commit>.json
+#
+# Usage: ./run-benchmarks.sh [JMH options, e.g. a benchmark regex]
+# Installs the backend and packages target/benchmarks.jar first, so the results
+# match the commit they are named after; SKIP_BUILD=1 reuses the existing jar.
+# Compare two runs:
+#   java -cp target/benchmarks.jar com.nitor.benchmarks.CompareResults results/<old>.json results/<new>.json
+
+set -euo pipefail
+
+cd "$(dirname "$0")"
+
+if [ "${SKIP_BUILD:-0}" != "1" ]; then
+    (cd ../backend && mvn -B -q -DskipTests install)
+    mvn -B -q package
+fi
+
+if [ ! -f target/benchmarks.jar ]; then
+    echo "target/benchmarks.jar not found, run without SKIP_BUILD=1 or 'mvn package' first" >&2
+    exit 1
+fi
+
+commit=$(git rev-parse --short HEAD)
+if [ -n "$(git status --porcelain -- ../backend/src)" ]; then
+    commit="${commit}-dirty"
+fi
+
+mkdir -p results
+java -jar target/benchmarks.jar -rf json -rff "results/${commit}.json" "$@"
+echo "Results written to results/${commit}.json"
@@ -0,0 +1,120 @@
+package com.nitor.benchmarks;
+
+import com.nitor.dto.comment.CommentResponse;
+import com.nitor.model.Comment;
+import com.nitor.model.Content;
+import com.nitor.model.Profile;
+import com.nitor.repository.CommentRepository;
+import com.nitor.repository.ContentRepository;
+import com.nitor.repository.ProfileRepository;
+import com.nitor.service.BatchLoader;
+import com.nitor.service.CommentService;
+import com.nitor.service.MediaProcessingService;
+import com.nitor.service.ProfileSummaryCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cost of assembling a page of comment threads in {@link CommentService}
+ *
+ * Every root comment has a full reply tree (fan-out x depth). Replies are
+ * served by a stubbed repository, one call per tree level as the batch
+ * loader issues them, so the measurement covers the level-by-level walk,
+ * batching and recursive mapping. A fresh {@link BatchLoader} is used per
+ * invocation, as per request in the application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommentTreeBenchmark {
+
+    private static final int ROOTS = 20;
+    private static final int FAN_OUT = 3;
+
+    @Param({ "1", "3" })
+    public int depth;
+
+    private CommentRepository commentRepository;
+    private ContentRepository contentRepository;
+    private ProfileRepository profileRepository;
+    private ProfileSummaryCache profileSummaryCache;
+    private SimpleMeterRegistry meterRegistry;
+    private UUID contentId;
+    private Pageable pageable;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        List<Profile> authors = Fixtures.profiles(50);
+        Content content = Fixtures.contents(1, authors).get(0);
+        contentId = content.getId();
+        pageable = PageRequest.of(0, ROOTS);
+
+        // Replies per parent id, built level by level
+        Map<UUID, List<Comment>> replies = new HashMap<>();
+        List<Comment> roots = new ArrayList<>();
+        int index = 0;
+        for (int i = 0; i < ROOTS; i++) {
+            roots.add(Fixtures.comment(content, null, authors.get(index % authors.size()), index++));
+        }
+        List<Comment> level = roots;
+        for (int d = 0; d < depth; d++) {
+            List<Comment> next = new ArrayList<>();
+            for (Comment parent : level) {
+                List<Comment> children = new ArrayList<>();
+                for (int i = 0; i < FAN_OUT; i++) {
+                    children.add(Fixtures.comment(content, parent, authors.get(index % authors.size()), index++));
+                }
+                replies.put(parent.getId(), children);
+                next.addAll(children);
+            }
+            level = next;
+        }
+        Page<Comment> page = new PageImpl<>(roots, pageable, ROOTS);
+
+        commentRepository = mock(CommentRepository.class);
+        when(commentRepository.findRootCommentsByContentId(any(), any())).thenReturn(page);
+        when(commentRepository.findRepliesByParentIds(anyCollection())).thenAnswer(invocation -> {
+            List<Comment> found = new ArrayList<>();
+            for (UUID parentId : (Collection<UUID>) invocation.getArgument(0)) {
+                found.addAll(replies.getOrDefault(parentId, List.of()));
+            }
+            return found;
+        });
+
+        contentRepository = mock(ContentRepository.class);
+        profileRepository = mock(ProfileRepository.class);
+        when(profileRepository.findAllById(any())).thenReturn(authors);
+        meterRegistry = new SimpleMeterRegistry();
+        profileSummaryCache = new ProfileSummaryCache(profileRepository, mock(MediaProcessingService.class), 20000,
+                Duration.ofMinutes(5), 256, meterRegistry);
+    }
+
+    @Benchmark
+    public Page<CommentResponse> assembleCommentTree() {
+        CommentService commentService = new CommentService(commentRepository, contentRepository,
+                profileRepository, profileSummaryCache, new BatchLoader(meterRegistry));
+        return commentService.getContentComments(contentId, pageable);
+    }
+}
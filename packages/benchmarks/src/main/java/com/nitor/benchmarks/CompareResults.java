@@ -0,0 +1,88 @@
+package com.nitor.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (-rf json) benchmark by benchmark
+ *
+ * Usage: java -cp target/benchmarks.jar com.nitor.benchmarks.CompareResults
+ *        baseline.json current.json [threshold-percent]
+ *
+ * Prints the change of every benchmark/parameter combination present in
+ * both files and exits with status 1 if any got worse by more than the
+ * threshold (default 10%), taking the mode into account: lower is better
+ * for average/sample/single-shot time, higher for throughput.
+ */
+public final class CompareResults {
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+        Map<String, Result> baseline = read(new File(args[0]));
+        Map<String, Result> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result before = baseline.get(entry.getKey());
+            Result after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  (new)%n", entry.getKey(), "-", after.score(), "");
+                continue;
+            }
+
+            double change = (after.score() - before.score()) / before.score() * 100;
+            // Positive = worse, whatever the mode
+            double worse = after.mode().equals("thrpt") ? -change : change;
+            boolean regression = worse > threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%% %s%s%n", entry.getKey(), before.score(),
+                    after.score(), change, after.unit(), regression ? "  REGRESSION" : "");
+        }
+
+        System.out.printf("%d regression(s) above %.1f%%%n", regressions, threshold);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    /**
+     * Results keyed by "benchmark [param=value, ...]"
+     */
+    private static Map<String, Result> read(File file) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(file);
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : root) {
+            Map<String, String> params = new TreeMap<>();
+            JsonNode paramsNode = run.path("params");
+            for (Iterator<Map.Entry<String, JsonNode>> it = paramsNode.fields(); it.hasNext();) {
+                Map.Entry<String, JsonNode> param = it.next();
+                params.put(param.getKey(), param.getValue().asText());
+            }
+
+            String key = run.path("benchmark").asText() + (params.isEmpty() ? "" : " " + params);
+            JsonNode metric = run.path("primaryMetric");
+            results.put(key, new Result(run.path("mode").asText(), metric.path("score").asDouble(),
+                    metric.path("scoreUnit").asText()));
+        }
+        return results;
+    }
+
+    private record Result(String mode, double score, String unit) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.nitor.benchmarks;
+
+import com.nitor.dto.content.ContentResponse;
+import com.nitor.model.Content;
+import com.nitor.model.Profile;
+import com.nitor.repository.ContentRepository;
+import com.nitor.repository.ProfileRepository;
+import com.nitor.repository.ReportRepository;
+import com.nitor.service.AuditLogAppender;
+import com.nitor.service.ContentService;
+import com.nitor.service.MediaProcessingService;
+import com.nitor.service.PlatformStatsService;
+import com.nitor.service.ProfileSummaryCache;
+import org.openjdk.jmh.annotations.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cost of turning a feed page of {@link Content} into {@link ContentResponse}s
+ *
+ * Goes through {@link ContentService#getFeed}, i.e. the per-item mapping plus
+ * the author lookup in {@link ProfileSummaryCache}. A cache of size 0 makes
+ * every page reload its authors from the (stubbed) repository; the default
+ * size serves them from memory, as in steady state.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentMappingBenchmark {
+
+    @Param({ "20", "100" })
+    public int pageSize;
+
+    @Param({ "0", "20000" })
+    public long summaryCacheSize;
+
+    private ContentService contentService;
+    private Pageable pageable;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        List<Profile> authors = Fixtures.profiles(pageSize / 2);
+        Map<UUID, Profile> authorsById = authors.stream()
+                .collect(Collectors.toMap(Profile::getId, Function.identity()));
+        pageable = PageRequest.of(0, pageSize);
+        Page<Content> page = new PageImpl<>(Fixtures.contents(pageSize, authors), pageable, 10_000);
+
+        ContentRepository contentRepository = mock(ContentRepository.class);
+        when(contentRepository.findAllActiveContent(any())).thenReturn(page);
+
+        ProfileRepository profileRepository = mock(ProfileRepository.class);
+        when(profileRepository.findAllById(any())).thenAnswer(invocation -> ((Collection<UUID>) invocation
+                .getArgument(0)).stream()
+                .map(authorsById::get)
+                .toList());
+
+        ProfileSummaryCache profileSummaryCache =
+                new ProfileSummaryCache(profileRepository, mock(MediaProcessingService.class), summaryCacheSize,
+                        Duration.ofMinutes(5), 256, new SimpleMeterRegistry());
+
+        contentService = new ContentService(
+                contentRepository,
+                profileRepository,
+                profileSummaryCache,
+                mock(ReportRepository.class),
+                mock(PlatformStatsService.class),
+                mock(AuditLogAppender.class));
+    }
+
+    @Benchmark
+    public Page<ContentResponse> mapFeedPage() {
+        return contentService.getFeed(pageable);
+    }
+}
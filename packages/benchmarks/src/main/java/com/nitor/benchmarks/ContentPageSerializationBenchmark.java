@@ -0,0 +1,43 @@
+package com.nitor.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nitor.dto.content.ContentResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing a {@code Page<ContentResponse>} as JSON, as the feed endpoints do
+ *
+ * Uses an ObjectMapper configured like Spring Boot's default one (Java time
+ * module, ISO dates).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentPageSerializationBenchmark {
+
+    @Param({ "20", "100" })
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<ContentResponse> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        page = new PageImpl<>(Fixtures.contentResponses(pageSize), PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
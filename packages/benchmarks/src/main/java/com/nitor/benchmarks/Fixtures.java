@@ -0,0 +1,116 @@
+package com.nitor.benchmarks;
+
+import com.nitor.dto.content.ContentResponse;
+import com.nitor.dto.profile.ProfileResponse;
+import com.nitor.model.Comment;
+import com.nitor.model.Content;
+import com.nitor.model.Profile;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Entities and DTOs shaped like production data, shared by the benchmarks
+ *
+ * Built from a fixed seed so every run measures the same input.
+ */
+final class Fixtures {
+
+    private static final String BODY = "Excited to share our latest findings on protein folding dynamics. "
+            + "We combined cryo-EM with molecular simulation to resolve intermediate states "
+            + "that were previously unobservable. Preprint and dataset linked below. #Biology #OpenScience";
+
+    private Fixtures() {
+    }
+
+    static List<Profile> profiles(int count) {
+        Random random = new Random(42);
+        List<Profile> profiles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            profiles.add(Profile.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()))
+                    .fullName("Researcher " + i)
+                    .handle("researcher" + i)
+                    .institution("University of Helsinki")
+                    .academicTitle("Dr.")
+                    .avatarUrl("https://cdn.nitor.test/avatars/" + i + ".jpg")
+                    .nitorScore(BigDecimal.valueOf(random.nextInt(10000), 2))
+                    .verified(random.nextBoolean())
+                    .build());
+        }
+        return profiles;
+    }
+
+    static List<Content> contents(int count, List<Profile> authors) {
+        Random random = new Random(7);
+        List<Content> contents = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+        for (int i = 0; i < count; i++) {
+            contents.add(Content.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()))
+                    .author(authors.get(random.nextInt(authors.size())))
+                    .type(Content.ContentType.POST)
+                    .body(BODY)
+                    .keywords(new ArrayList<>(List.of("biology", "cryo-em", "simulation")))
+                    .endorsementsCount(random.nextInt(500))
+                    .repostsCount(random.nextInt(50))
+                    .commentsCount(random.nextInt(100))
+                    .viewsCount(random.nextInt(10000))
+                    .createdAt(now.minusMinutes(i))
+                    .updatedAt(now.minusMinutes(i))
+                    .build());
+        }
+        return contents;
+    }
+
+    static Comment comment(Content content, Comment parent, Profile author, int index) {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 0).plusSeconds(index);
+        return Comment.builder()
+                .id(UUID.nameUUIDFromBytes(("comment-" + index).getBytes()))
+                .content(content)
+                .parentComment(parent)
+                .author(author)
+                .body("Interesting result, how does this compare with the 2019 measurements?")
+                .likesCount(index % 7)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
+
+    static ProfileResponse summary(Profile profile) {
+        return ProfileResponse.builder()
+                .id(profile.getId())
+                .fullName(profile.getFullName())
+                .handle(profile.getHandle())
+                .avatarUrl(profile.getAvatarUrl())
+                .institution(profile.getInstitution())
+                .academicTitle(profile.getAcademicTitle())
+                .verified(profile.getVerified())
+                .nitorScore(profile.getNitorScore())
+                .build();
+    }
+
+    static List<ContentResponse> contentResponses(int count) {
+        List<Profile> authors = profiles(Math.max(1, count / 2));
+        return contents(count, authors).stream()
+                .map(content -> ContentResponse.builder()
+                        .id(content.getId())
+                        .author(summary(content.getAuthor()))
+                        .type(content.getType())
+                        .body(content.getBody())
+                        .keywords(content.getKeywords())
+                        .likesCount(content.getEndorsementsCount())
+                        .repostsCount(content.getRepostsCount())
+                        .commentsCount(content.getCommentsCount())
+                        .viewsCount(content.getViewsCount())
+                        .pinned(false)
+                        .createdAt(content.getCreatedAt())
+                        .updatedAt(content.getUpdatedAt())
+                        .build())
+                .toList();
+    }
+}
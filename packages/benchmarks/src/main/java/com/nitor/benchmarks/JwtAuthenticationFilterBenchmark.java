@@ -0,0 +1,93 @@
+package com.nitor.benchmarks;
+
+import com.nitor.model.User;
+import com.nitor.repository.UserRepository;
+import com.nitor.security.AccountStatusCache;
+import com.nitor.security.JwtAuthenticationFilter;
+import com.nitor.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cost of authenticating one request through {@link JwtAuthenticationFilter}
+ *
+ * Compares a cold verified-token cache (size 0, every request verifies the
+ * HMAC) with a warm one. The account status lookup is served by a stubbed
+ * repository so only the JWT path is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    @Param({ "0", "10000" })
+    public long verifiedTokenCacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private JwtUtil jwtUtil;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", 604800000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedTokenCacheSize", verifiedTokenCacheSize);
+        jwtUtil.init();
+
+        UUID userId = UUID.randomUUID();
+        User user = User.builder()
+                .id(userId)
+                .email("bench@nitor.test")
+                .isActive(true)
+                .build();
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById(any())).thenReturn(Optional.of(user));
+
+        AccountStatusCache accountStatusCache = new AccountStatusCache(userRepository, 1000, Duration.ofMinutes(1),
+                new SimpleMeterRegistry());
+        filter = new JwtAuthenticationFilter(jwtUtil, accountStatusCache);
+
+        authorizationHeader = "Bearer " + jwtUtil.generateAccessToken(userId, user.getEmail());
+    }
+
+    @Benchmark
+    public void authenticateRequest(Blackhole blackhole) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/feed");
+        request.addHeader("Authorization", authorizationHeader);
+
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public void verifyToken(Blackhole blackhole) {
+        blackhole.consume(jwtUtil.verifyToken(authorizationHeader.substring(7)));
+    }
+}
@@ -0,0 +1,55 @@
+package com.nitor.benchmarks;
+
+import com.nitor.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing and validating access tokens with {@link JwtUtil}
+ *
+ * Validation runs with a cold verified-token cache (size 0, full HMAC check
+ * and claims parsing on every call) and a warm one (digest plus cache hit).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    @Param({ "0", "10000" })
+    public long verifiedTokenCacheSize;
+
+    private JwtUtil jwtUtil;
+    private UUID userId;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", 604800000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedTokenCacheSize", verifiedTokenCacheSize);
+        jwtUtil.init();
+
+        userId = UUID.randomUUID();
+        token = jwtUtil.generateAccessToken(userId, "bench@nitor.test");
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtUtil.generateAccessToken(userId, "bench@nitor.test");
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+}
@@ -0,0 +1,69 @@
+package com.nitor.benchmarks;
+
+import com.nitor.service.RateLimitingService;
+import com.nitor.service.RateLimitingService.RateLimitType;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import org.openjdk.jmh.annotations.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Throughput of {@link RateLimitingService#isAllowed} with 8 threads
+ *
+ * With one key every thread hits the same bucket (worst-case contention, as
+ * behind a shared NAT address); with 10000 keys threads mostly touch
+ * different buckets and the cost is dominated by the bucket cache lookup.
+ * Buckets run dry after their capacity, so both the allowed and the rejected
+ * path are exercised; the local (in-memory) backend is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class RateLimitingBenchmark {
+
+    @Param({ "1", "10000" })
+    public int keyCount;
+
+    private RateLimitingService rateLimitingService;
+    private String[] keys;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        int next;
+
+        @Setup
+        public void setUp() {
+            next = ThreadLocalRandom.current().nextInt(1 << 20);
+        }
+    }
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        ObjectProvider<ProxyManager<byte[]>> noProxyManager = mock(ObjectProvider.class);
+        rateLimitingService = new RateLimitingService(noProxyManager, 100000, 10, Duration.ofSeconds(1),
+                new SimpleMeterRegistry());
+
+        keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = "10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @Benchmark
+    public boolean isAllowed(ThreadState thread) {
+        String key = keys[(thread.next++ & Integer.MAX_VALUE) % keys.length];
+        return rateLimitingService.isAllowed(key, RateLimitType.API_GENERAL);
+    }
+}
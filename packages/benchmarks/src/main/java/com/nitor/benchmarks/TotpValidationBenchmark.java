@@ -0,0 +1,81 @@
+package com.nitor.benchmarks;
+
+import com.nitor.model.TwoFactorAuth;
+import com.nitor.repository.TwoFactorAuthRepository;
+import com.nitor.service.TwoFactorAuthService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cost of checking a 2FA code with {@link TwoFactorAuthService#validate2FACode}
+ *
+ * A valid code is decided by the TOTP check alone; a wrong code also scans
+ * the backup codes before being rejected. The record lookup is stubbed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TotpValidationBenchmark {
+
+    private TwoFactorAuthService twoFactorAuthService;
+    private UUID userId;
+    private String secretKey;
+    private String validCode;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        byte[] secret = new byte[20];
+        random.nextBytes(secret);
+        secretKey = Base64.getEncoder().encodeToString(secret);
+
+        String[] backupCodes = new String[10];
+        for (int i = 0; i < backupCodes.length; i++) {
+            backupCodes[i] = String.format("%08d", random.nextInt(100000000));
+        }
+
+        userId = UUID.randomUUID();
+        TwoFactorAuth twoFactorAuth = TwoFactorAuth.builder()
+                .userId(userId)
+                .enabled(true)
+                .secretKey(secretKey)
+                .backupCodes(backupCodes)
+                .build();
+
+        TwoFactorAuthRepository repository = mock(TwoFactorAuthRepository.class);
+        when(repository.findByUserId(any())).thenReturn(Optional.of(twoFactorAuth));
+        twoFactorAuthService = new TwoFactorAuthService(repository);
+    }
+
+    /**
+     * Current code, refreshed per iteration so it stays inside its 30 s window
+     */
+    @Setup(Level.Iteration)
+    public void refreshCode() {
+        long timeWindow = System.currentTimeMillis() / 1000 / 30;
+        validCode = ReflectionTestUtils.invokeMethod(twoFactorAuthService, "generateTOTP", secretKey, timeWindow);
+    }
+
+    @Benchmark
+    public boolean validCode() {
+        return twoFactorAuthService.validate2FACode(userId, validCode);
+    }
+
+    @Benchmark
+    public boolean invalidCode() {
+        return twoFactorAuthService.validate2FACode(userId, "not-a-code");
+    }
+}
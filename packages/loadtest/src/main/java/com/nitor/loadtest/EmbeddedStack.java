@@ -0,0 +1,97 @@
+package com.nitor.loadtest;
+
+import com.nitor.NitorApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The backend running in this JVM against throwaway containers
+ *
+ * Postgres and Redis come from Testcontainers, so the schema is built by the
+ * real Flyway migrations and queries run on the real planner. The
+ * application starts with the "synthetic" profile, whose generator seeds the
+ * empty database before the context is returned. Rate limiting is switched
+ * off (all traffic comes from one address) and files go to a temporary local
+ * store instead of MinIO.
+ */
+@Slf4j
+final class EmbeddedStack implements AutoCloseable {
+
+    private final PostgreSQLContainer<?> postgres;
+    private final GenericContainer<?> redis;
+    private ConfigurableApplicationContext context;
+    private String baseUrl;
+
+    EmbeddedStack(LoadTestOptions options) {
+        this.postgres = new PostgreSQLContainer<>(DockerImageName.parse(options.postgresImage)
+                .asCompatibleSubstituteFor("postgres"))
+                .withDatabaseName("nitor")
+                .withUsername("nitor")
+                .withPassword("nitor");
+        this.redis = new GenericContainer<>(DockerImageName.parse(options.redisImage))
+                .withExposedPorts(6379);
+    }
+
+    /**
+     * Starts the containers and the application, seeding {@code users} synthetic users
+     */
+    void start(LoadTestOptions options) throws IOException {
+        long start = System.nanoTime();
+        postgres.start();
+        redis.start();
+        log.info("Containers up: {} and redis on port {}", postgres.getJdbcUrl(), redis.getMappedPort(6379));
+
+        String jdbcUrl = postgres.getJdbcUrl();
+        jdbcUrl += (jdbcUrl.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true";
+        Path storage = Files.createTempDirectory("nitor-loadtest-files");
+
+        // Command line arguments, so they win over the profiles set in application.yml
+        context = SpringApplication.run(NitorApplication.class,
+                "--spring.profiles.active=synthetic",
+                "--server.port=0",
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                "--spring.data.redis.host=" + redis.getHost(),
+                "--spring.data.redis.port=" + redis.getMappedPort(6379),
+                "--app.synthetic.users=" + options.users,
+                "--app.synthetic.seed=" + options.seed,
+                "--app.security.rate-limit.enabled=false",
+                "--app.storage.type=local",
+                "--app.storage.local.root=" + storage,
+                "--management.health.mail.enabled=false",
+                "--spring.main.banner-mode=off",
+                // application.yml logs SQL and security decisions at DEBUG, which would dominate the run
+                "--logging.level.root=WARN",
+                "--logging.level.com.nitor=INFO",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "--logging.file.name=");
+
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        log.info("Application seeded and listening on {} after {} s", baseUrl,
+                (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public void close() {
+        if (context != null) {
+            context.close();
+        }
+        redis.stop();
+        postgres.stop();
+    }
+}
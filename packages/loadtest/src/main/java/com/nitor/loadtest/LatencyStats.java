@@ -0,0 +1,80 @@
+package com.nitor.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and response statuses per endpoint, recorded from client threads
+ *
+ * Latencies go into HdrHistogram {@link Recorder}s in microseconds (up to a
+ * minute, 3 significant digits) so recording never blocks or allocates.
+ * {@link #take()} swaps them out, which is how a stage gets its own
+ * histograms without warmup or leftovers from the previous stage.
+ */
+final class LatencyStats {
+
+    /** Status recorded when no response came back (timeout, refused connection) */
+    static final int NO_RESPONSE = -1;
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<Scenario, Endpoint> endpoints = new EnumMap<>(Scenario.class);
+
+    LatencyStats() {
+        for (Scenario scenario : Scenario.values()) {
+            endpoints.put(scenario, new Endpoint());
+        }
+    }
+
+    void record(Scenario scenario, long latencyNanos, int status) {
+        Endpoint endpoint = endpoints.get(scenario);
+        endpoint.recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_MICROS));
+        endpoint.statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    /**
+     * Everything recorded since the previous call, per endpoint that saw traffic
+     */
+    Map<Scenario, Interval> take() {
+        Map<Scenario, Interval> intervals = new EnumMap<>(Scenario.class);
+        for (Map.Entry<Scenario, Endpoint> entry : endpoints.entrySet()) {
+            Histogram histogram = entry.getValue().recorder.getIntervalHistogram();
+            Map<Integer, Long> statuses = new TreeMap<>();
+            entry.getValue().statuses.forEach((status, count) -> {
+                long taken = count.sumThenReset();
+                if (taken > 0) {
+                    statuses.put(status, taken);
+                }
+            });
+            if (histogram.getTotalCount() > 0) {
+                intervals.put(entry.getKey(), new Interval(histogram, statuses));
+            }
+        }
+        return intervals;
+    }
+
+    /**
+     * Latency histogram (microseconds) and response count per status of one endpoint
+     */
+    record Interval(Histogram histogram, Map<Integer, Long> statuses) {
+
+        long errors() {
+            return statuses.entrySet().stream()
+                    .filter(entry -> entry.getKey() == NO_RESPONSE || entry.getKey() >= 500)
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+        }
+    }
+
+    private static final class Endpoint {
+        private final Recorder recorder = new Recorder(HIGHEST_MICROS, 3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    }
+}
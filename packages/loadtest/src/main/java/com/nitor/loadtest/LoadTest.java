@@ -0,0 +1,93 @@
+package com.nitor.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scenario-based HTTP load test of the backend
+ *
+ * Usage: java -jar target/loadtest.jar [--name=value ...], see README.md.
+ *
+ * Boots the backend on Testcontainers Postgres and Redis with a synthetic
+ * dataset (or targets {@code --base-url}), logs in a pool of sessions, warms
+ * up at the first rate and then runs one stage per rate, reporting latency
+ * percentiles and throughput per endpoint for each.
+ */
+@Slf4j
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        EmbeddedStack stack = options.embedded() ? new EmbeddedStack(options) : null;
+        try {
+            String baseUrl = options.baseUrl;
+            if (stack != null) {
+                stack.start(options);
+                baseUrl = stack.baseUrl();
+            }
+            run(options, baseUrl);
+        } finally {
+            if (stack != null) {
+                stack.close();
+            }
+        }
+        // The embedded application may leave non-daemon threads behind
+        System.exit(0);
+    }
+
+    private static void run(LoadTestOptions options, String baseUrl) throws Exception {
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(options.clientThreads, runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-client-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+
+        try {
+            LatencyStats stats = new LatencyStats();
+            Workload workload = new Workload(client, baseUrl, options, stats);
+            workload.prepare();
+            OpenModelDriver driver = new OpenModelDriver(workload, options.mix, options.maxInFlight, options.seed);
+
+            if (!options.warmup.isZero()) {
+                log.info("Warming up at {} scenarios/s for {}", options.rates.get(0), options.warmup);
+                driver.run(options.rates.get(0), options.warmup);
+            }
+
+            String runName = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            try (Report report = new Report(options.resultsDir.resolve(runName))) {
+                for (double rate : options.rates) {
+                    log.info("Running {} scenarios/s for {}", rate, options.duration);
+                    stats.take();
+                    OpenModelDriver.Stage stage = driver.run(rate, options.duration);
+                    report.add(stage, stats.take());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.nitor.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options of the load harness, given as {@code --name=value}
+ *
+ * Anything not listed here is rejected so a typo does not silently run the
+ * defaults.
+ */
+final class LoadTestOptions {
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("base-url", ""),
+            Map.entry("users", "20000"),
+            Map.entry("rates", "50,100,200"),
+            Map.entry("duration", "PT60S"),
+            Map.entry("warmup", "PT20S"),
+            Map.entry("max-in-flight", "512"),
+            Map.entry("client-threads", "16"),
+            Map.entry("timeout", "PT10S"),
+            Map.entry("sessions", "200"),
+            Map.entry("mix", "login=2,feed=45,endorse=15,comment=8,search=20,follow=10"),
+            Map.entry("scroll-pages", "3"),
+            Map.entry("page-size", "20"),
+            Map.entry("results-dir", "results"),
+            Map.entry("seed", "42"),
+            Map.entry("postgres-image", "postgres:15-alpine"),
+            Map.entry("redis-image", "redis:7-alpine"));
+
+    /** Target URL; empty boots the embedded stack */
+    final String baseUrl;
+    /** Synthetic users seeded, also the range logins are drawn from */
+    final int users;
+    /** Arrival rate of each stage, scenarios per second */
+    final List<Double> rates;
+    final Duration duration;
+    final Duration warmup;
+    /** Scenarios running at once; arrivals beyond it are dropped and counted */
+    final int maxInFlight;
+    final int clientThreads;
+    final Duration timeout;
+    /** Users logged in up front whose tokens the authenticated scenarios use */
+    final int sessions;
+    final Map<Scenario, Integer> mix;
+    final int scrollPages;
+    final int pageSize;
+    final Path resultsDir;
+    final long seed;
+    final String postgresImage;
+    final String redisImage;
+
+    private LoadTestOptions(Map<String, String> values) {
+        this.baseUrl = values.get("base-url");
+        this.users = Integer.parseInt(values.get("users"));
+        this.rates = new ArrayList<>();
+        for (String rate : values.get("rates").split(",")) {
+            rates.add(Double.parseDouble(rate.trim()));
+        }
+        this.duration = Duration.parse(values.get("duration"));
+        this.warmup = Duration.parse(values.get("warmup"));
+        this.maxInFlight = Integer.parseInt(values.get("max-in-flight"));
+        this.clientThreads = Integer.parseInt(values.get("client-threads"));
+        this.timeout = Duration.parse(values.get("timeout"));
+        this.sessions = Integer.parseInt(values.get("sessions"));
+        this.mix = parseMix(values.get("mix"));
+        this.scrollPages = Integer.parseInt(values.get("scroll-pages"));
+        this.pageSize = Integer.parseInt(values.get("page-size"));
+        this.resultsDir = Path.of(values.get("results-dir"));
+        this.seed = Long.parseLong(values.get("seed"));
+        this.postgresImage = values.get("postgres-image");
+        this.redisImage = values.get("redis-image");
+
+        if (users < 1 || sessions < 1 || maxInFlight < 1 || clientThreads < 1 || scrollPages < 1) {
+            throw new IllegalArgumentException("users, sessions, max-in-flight, client-threads and "
+                    + "scroll-pages must be positive");
+        }
+        if (rates.stream().anyMatch(rate -> rate <= 0)) {
+            throw new IllegalArgumentException("rates must be positive");
+        }
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            if (!DEFAULTS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + ", known: " + DEFAULTS.keySet());
+            }
+            values.put(name, arg.substring(eq + 1));
+        }
+        return new LoadTestOptions(values);
+    }
+
+    boolean embedded() {
+        return baseUrl.isBlank();
+    }
+
+    /**
+     * "login=2,feed=45" - scenarios left out get weight 0
+     */
+    private static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected scenario=weight in --mix, got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in --mix: " + entry);
+            }
+            weights.put(Scenario.valueOf(parts[0].trim().toUpperCase()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("--mix has no positive weight");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,108 @@
+package com.nitor.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts scenarios at a fixed average rate regardless of how fast the server answers
+ *
+ * Arrivals follow a Poisson process (exponential gaps), as independent users
+ * would, and are scheduled on an absolute timeline so a slow response never
+ * delays the next arrival - unlike a closed loop of virtual users, which backs
+ * off exactly when the server struggles. In-flight scenarios are capped; an
+ * arrival finding the cap reached is dropped and counted, since queueing it
+ * client-side would hide the overload.
+ */
+final class OpenModelDriver {
+
+    private final Workload workload;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final Scenario[] scenarios;
+    private final int[] cumulativeWeights;
+    private final SplittableRandom random;
+
+    OpenModelDriver(Workload workload, Map<Scenario, Integer> mix, int maxInFlight, long seed) {
+        this.workload = workload;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.scenarios = mix.keySet().toArray(Scenario[]::new);
+        this.cumulativeWeights = new int[scenarios.length];
+        int total = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            total += mix.get(scenarios[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Offers {@code rate} scenarios per second for {@code duration}, then waits
+     * for the ones still running
+     */
+    Stage run(double rate, Duration duration) throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long arrivals = 0;
+        long dropped = 0;
+
+        double next = start;
+        while (true) {
+            next += -Math.log(1 - random.nextDouble()) * meanGapNanos;
+            long arrival = (long) next;
+            if (arrival >= end) {
+                break;
+            }
+            long wait = arrival - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            arrivals++;
+            if (!inFlight.tryAcquire()) {
+                dropped++;
+                continue;
+            }
+            Scenario scenario = pick();
+            try {
+                scenario.run(workload, random.split(), arrival).whenComplete((result, error) -> inFlight.release());
+            } catch (RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
+        }
+
+        long sent = System.nanoTime();
+        // Drain, so the stage's histograms hold all of its requests
+        if (inFlight.tryAcquire(maxInFlight, 1, TimeUnit.MINUTES)) {
+            inFlight.release(maxInFlight);
+        }
+        return new Stage(rate, arrivals, dropped, sent - start);
+    }
+
+    private Scenario pick() {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return scenarios[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    /**
+     * One load level: offered rate, scenarios started and dropped, and the
+     * time over which they arrived
+     */
+    record Stage(double rate, long arrivals, long dropped, long elapsedNanos) {
+
+        double seconds() {
+            return elapsedNanos / 1e9;
+        }
+    }
+}
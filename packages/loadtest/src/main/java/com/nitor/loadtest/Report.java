@@ -0,0 +1,114 @@
+package com.nitor.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-stage latency and throughput, printed as a table and kept as files
+ *
+ * The results directory gets:
+ * <ul>
+ * <li>{@code latency.hlog} - every stage/endpoint histogram in HdrHistogram's
+ * log format (tag {@code <rate>rps-<SCENARIO>}, values in ms), for
+ * HistogramLogAnalyzer or the HdrHistogram plotter</li>
+ * <li>{@code <rate>rps-<SCENARIO>.hgrm} - the full percentile distribution</li>
+ * <li>{@code summary.json} - the numbers of the printed table</li>
+ * </ul>
+ */
+final class Report implements AutoCloseable {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Path directory;
+    private final PrintStream hlog;
+    private final HistogramLogWriter logWriter;
+    private final List<Map<String, Object>> summary = new ArrayList<>();
+
+    Report(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.hlog = new PrintStream(Files.newOutputStream(directory.resolve("latency.hlog")), false, "UTF-8");
+        this.logWriter = new HistogramLogWriter(hlog);
+        long now = System.currentTimeMillis();
+        logWriter.outputLogFormatVersion();
+        logWriter.outputStartTime(now);
+        logWriter.setBaseTime(now);
+        logWriter.outputLegend();
+    }
+
+    void add(OpenModelDriver.Stage stage, Map<Scenario, LatencyStats.Interval> intervals) throws IOException {
+        String label = rateLabel(stage.rate()) + "rps";
+        System.out.printf("%nStage %s: %d scenarios offered over %.1f s, %d dropped at the in-flight cap%n",
+                label, stage.arrivals(), stage.seconds(), stage.dropped());
+        System.out.printf("%-32s %8s %9s %9s %9s %9s %9s %7s  %s%n", "Endpoint", "Count", "Req/s",
+                "p50 ms", "p95 ms", "p99 ms", "max ms", "Errors", "Statuses");
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Map.Entry<Scenario, LatencyStats.Interval> entry : intervals.entrySet()) {
+            Scenario scenario = entry.getKey();
+            Histogram histogram = entry.getValue().histogram();
+            long count = histogram.getTotalCount();
+            double throughput = count / stage.seconds();
+            double p50 = millis(histogram.getValueAtPercentile(50));
+            double p95 = millis(histogram.getValueAtPercentile(95));
+            double p99 = millis(histogram.getValueAtPercentile(99));
+            double max = millis(histogram.getMaxValue());
+            System.out.printf("%-32s %8d %9.1f %9.2f %9.2f %9.2f %9.2f %7d  %s%n", scenario.endpoint, count,
+                    throughput, p50, p95, p99, max, entry.getValue().errors(), entry.getValue().statuses());
+
+            String tag = label + "-" + scenario.name();
+            histogram.setTag(tag);
+            logWriter.outputIntervalHistogram((histogram.getStartTimeStamp() - logWriter.getBaseTime()) / 1000.0,
+                    (histogram.getEndTimeStamp() - logWriter.getBaseTime()) / 1000.0, histogram, MICROS_PER_MILLI);
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(directory.resolve(tag + ".hgrm")),
+                    false, "UTF-8")) {
+                histogram.outputPercentileDistribution(hgrm, MICROS_PER_MILLI);
+            }
+
+            Map<String, Object> numbers = new LinkedHashMap<>();
+            numbers.put("endpoint", scenario.endpoint);
+            numbers.put("count", count);
+            numbers.put("throughput", throughput);
+            numbers.put("p50Ms", p50);
+            numbers.put("p95Ms", p95);
+            numbers.put("p99Ms", p99);
+            numbers.put("maxMs", max);
+            numbers.put("statuses", entry.getValue().statuses());
+            endpoints.put(scenario.name(), numbers);
+        }
+        hlog.flush();
+
+        Map<String, Object> numbers = new LinkedHashMap<>();
+        numbers.put("rate", stage.rate());
+        numbers.put("arrivals", stage.arrivals());
+        numbers.put("dropped", stage.dropped());
+        numbers.put("seconds", stage.seconds());
+        numbers.put("endpoints", endpoints);
+        summary.add(numbers);
+    }
+
+    @Override
+    public void close() throws IOException {
+        hlog.close();
+        new ObjectMapper().writerWithDefaultPrettyPrinter()
+                .writeValue(directory.resolve("summary.json").toFile(), summary);
+        System.out.printf("%nHistograms and summary written to %s%n", directory.toAbsolutePath());
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+
+    private static String rateLabel(double rate) {
+        return rate == Math.rint(rate) ? Long.toString((long) rate) : Double.toString(rate);
+    }
+}
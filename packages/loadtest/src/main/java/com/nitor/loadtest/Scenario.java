@@ -0,0 +1,90 @@
+package com.nitor.loadtest;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * User actions the harness mixes, each hitting one endpoint
+ *
+ * A scenario's first request is timed from its scheduled arrival, not from
+ * when it was sent, so a lagging client shows up as latency instead of
+ * quietly lowering the offered load. Follow-up requests (further feed pages)
+ * are timed from their own send.
+ */
+enum Scenario {
+
+    LOGIN("POST /api/auth/login") {
+        @Override
+        CompletableFuture<?> run(Workload workload, SplittableRandom random, long arrivalNanos) {
+            int user = random.nextInt(workload.users());
+            return workload.post(this, "/api/auth/login", null,
+                    Map.of("email", Workload.email(user), "password", Workload.PASSWORD), arrivalNanos);
+        }
+    },
+
+    FEED("GET /api/content/feed") {
+        @Override
+        CompletableFuture<?> run(Workload workload, SplittableRandom random, long arrivalNanos) {
+            String token = workload.token(random);
+            CompletableFuture<?> scroll = workload.get(this, feedPage(workload, 0), token, arrivalNanos);
+            for (int page = 1; page < workload.scrollPages(); page++) {
+                String path = feedPage(workload, page);
+                scroll = scroll.thenCompose(previous -> workload.get(this, path, token, System.nanoTime()));
+            }
+            return scroll;
+        }
+
+        private String feedPage(Workload workload, int page) {
+            return "/api/content/feed?page=" + page + "&size=" + workload.pageSize();
+        }
+    },
+
+    ENDORSE("POST /api/content/{id}/endorse") {
+        @Override
+        CompletableFuture<?> run(Workload workload, SplittableRandom random, long arrivalNanos) {
+            UUID contentId = workload.contentId(random);
+            return workload.post(this, "/api/content/" + contentId + "/endorse", workload.token(random), null,
+                    arrivalNanos);
+        }
+    },
+
+    COMMENT("POST /api/content/{id}/comments") {
+        @Override
+        CompletableFuture<?> run(Workload workload, SplittableRandom random, long arrivalNanos) {
+            UUID contentId = workload.contentId(random);
+            String body = "Interesting " + Workload.word(random) + " result, how does it compare to "
+                    + Workload.word(random) + "?";
+            return workload.post(this, "/api/content/" + contentId + "/comments", workload.token(random),
+                    Map.of("body", body), arrivalNanos);
+        }
+    },
+
+    SEARCH("GET /api/search/all") {
+        @Override
+        CompletableFuture<?> run(Workload workload, SplittableRandom random, long arrivalNanos) {
+            return workload.get(this, "/api/search/all?q=" + Workload.word(random) + "&size=" + workload.pageSize(),
+                    workload.token(random), arrivalNanos);
+        }
+    },
+
+    FOLLOW("POST /api/follow/{userId}") {
+        @Override
+        CompletableFuture<?> run(Workload workload, SplittableRandom random, long arrivalNanos) {
+            return workload.post(this, "/api/follow/" + workload.authorId(random), workload.token(random), null,
+                    arrivalNanos);
+        }
+    };
+
+    final String endpoint;
+
+    Scenario(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Issues the scenario's requests; the future completes when the last one did
+     */
+    abstract CompletableFuture<?> run(Workload workload, SplittableRandom random, long arrivalNanos);
+}
@@ -0,0 +1,178 @@
+package com.nitor.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * What the scenarios run against: the HTTP client, the logged-in sessions and
+ * the content and author ids discovered from the feed
+ *
+ * Every request goes through {@link #get} or {@link #post}, which record its
+ * latency and status in {@link LatencyStats} under the scenario's endpoint.
+ */
+@Slf4j
+final class Workload {
+
+    /** Password of every user created by the backend's SyntheticDataGenerator */
+    static final String PASSWORD = "password123";
+
+    private static final int LOGIN_BATCH = 16;
+    private static final int DISCOVERY_PAGE_SIZE = 100;
+    private static final int MAX_DISCOVERED_CONTENT = 5000;
+
+    private static final String[] WORDS = {
+            "research", "data", "model", "learning", "network", "climate", "quantum", "neural", "protein",
+            "gene", "energy", "brain", "cancer", "theory", "dynamics", "simulation", "algorithm", "genome",
+            "microbiome", "catalyst", "galaxy", "policy", "language", "cognition", "ecosystem" };
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final LoadTestOptions options;
+    private final LatencyStats stats;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<String> tokens = new ArrayList<>();
+    private final List<UUID> contentIds = new ArrayList<>();
+    private final List<UUID> authorIds = new ArrayList<>();
+
+    Workload(HttpClient client, String baseUrl, LoadTestOptions options, LatencyStats stats) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.options = options;
+        this.stats = stats;
+    }
+
+    /**
+     * Logs in the sessions and collects ids from the first feed pages; not recorded
+     */
+    void prepare() throws IOException, InterruptedException {
+        SplittableRandom random = new SplittableRandom(options.seed);
+        // Small batches: logins are bcrypt-bound and the hashing queue rejects bursts
+        for (int from = 0; from < options.sessions; from += LOGIN_BATCH) {
+            List<CompletableFuture<HttpResponse<byte[]>>> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(from + LOGIN_BATCH, options.sessions); i++) {
+                batch.add(client.sendAsync(request("/api/auth/login", null)
+                        .POST(json(Map.of("email", email(random.nextInt(options.users)),
+                                "password", PASSWORD)))
+                        .build(), HttpResponse.BodyHandlers.ofByteArray()));
+            }
+            for (CompletableFuture<HttpResponse<byte[]>> login : batch) {
+                HttpResponse<byte[]> response = login.join();
+                if (response.statusCode() == 200) {
+                    tokens.add(objectMapper.readTree(response.body()).path("accessToken").asText());
+                }
+            }
+        }
+        if (tokens.isEmpty()) {
+            throw new IllegalStateException("No session could log in at " + baseUrl
+                    + "; is it seeded with the synthetic dataset?");
+        }
+
+        Set<UUID> authors = new LinkedHashSet<>();
+        for (int page = 0; contentIds.size() < MAX_DISCOVERED_CONTENT; page++) {
+            HttpResponse<byte[]> response = client.send(request("/api/content/feed?page=" + page + "&size="
+                    + DISCOVERY_PAGE_SIZE, tokens.get(0)).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+            JsonNode items = objectMapper.readTree(response.body()).path("content");
+            if (response.statusCode() != 200 || items.isEmpty()) {
+                break;
+            }
+            for (JsonNode item : items) {
+                contentIds.add(UUID.fromString(item.path("id").asText()));
+                authors.add(UUID.fromString(item.path("author").path("id").asText()));
+            }
+        }
+        if (contentIds.isEmpty()) {
+            throw new IllegalStateException("The feed at " + baseUrl + " is empty");
+        }
+        authorIds.addAll(authors);
+        log.info("{} sessions logged in, {} content items and {} authors discovered", tokens.size(),
+                contentIds.size(), authorIds.size());
+    }
+
+    CompletableFuture<HttpResponse<byte[]>> get(Scenario scenario, String path, String token, long startNanos) {
+        return send(scenario, request(path, token).GET().build(), startNanos);
+    }
+
+    /**
+     * POST with a JSON body, or an empty one when {@code body} is null
+     */
+    CompletableFuture<HttpResponse<byte[]>> post(Scenario scenario, String path, String token, Object body,
+            long startNanos) {
+        HttpRequest.BodyPublisher publisher = body == null ? HttpRequest.BodyPublishers.noBody() : json(body);
+        return send(scenario, request(path, token).POST(publisher).build(), startNanos);
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> send(Scenario scenario, HttpRequest request, long startNanos) {
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> stats.record(scenario, System.nanoTime() - startNanos,
+                        response == null ? LatencyStats.NO_RESPONSE : response.statusCode()));
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(options.timeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    String token(SplittableRandom random) {
+        return tokens.get(random.nextInt(tokens.size()));
+    }
+
+    UUID contentId(SplittableRandom random) {
+        return contentIds.get(random.nextInt(contentIds.size()));
+    }
+
+    UUID authorId(SplittableRandom random) {
+        return authorIds.get(random.nextInt(authorIds.size()));
+    }
+
+    int users() {
+        return options.users;
+    }
+
+    int scrollPages() {
+        return options.scrollPages;
+    }
+
+    int pageSize() {
+        return options.pageSize;
+    }
+
+    static String email(int user) {
+        return "user" + user + "@example.org";
+    }
+
+    static String word(SplittableRandom random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}